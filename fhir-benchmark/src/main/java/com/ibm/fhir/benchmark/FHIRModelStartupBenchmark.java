@@ -0,0 +1,52 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import com.ibm.fhir.model.util.ModelSupport;
+
+/**
+ * Measures the cold start cost of the model: each fork is a fresh JVM, so the single shot
+ * includes loading the model classes and building the {@link ModelSupport} tables.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class FHIRModelStartupBenchmark {
+    @Benchmark
+    public Object benchmarkModelSupportInit() {
+        ModelSupport.init();
+        return ModelSupport.getModelClasses();
+    }
+
+    /**
+     * The {@link com.ibm.fhir.benchmark.runner.FHIRBenchmarkRunner} warms up each fork,
+     * which would hide the startup cost, so this benchmark is configured here instead.
+     */
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(".*" + FHIRModelStartupBenchmark.class.getSimpleName() + ".*")
+                .verbosity(VerboseMode.NORMAL)
+                .build();
+        new Runner(opt).run();
+    }
+}
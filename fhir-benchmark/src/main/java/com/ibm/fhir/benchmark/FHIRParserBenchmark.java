@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -29,7 +29,15 @@ public class FHIRParserBenchmark {
     @State(Scope.Thread)
     public static class FHIRParsers {
         FHIRParser jsonParser = FHIRParser.parser(Format.JSON);
+        FHIRParser jsonStreamingParser = FHIRParser.parser(Format.JSON);
+        FHIRParser jsonInterningParser = FHIRParser.parser(Format.JSON);
         FHIRParser xmlParser = FHIRParser.parser(Format.XML);
+
+        @Setup
+        public void setUp() {
+            jsonStreamingParser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, true);
+            jsonInterningParser.setProperty(FHIRParser.PROPERTY_INTERN_PRIMITIVES, true);
+        }
     }
     
     @State(Scope.Benchmark)
@@ -61,6 +69,16 @@ public class FHIRParserBenchmark {
         return parsers.jsonParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
     }
     
+    @Benchmark
+    public Resource benchmarkJsonStreamingParser(FHIRParsers parsers, FHIRParserState state) throws Exception {
+        return parsers.jsonStreamingParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
+    }
+
+    @Benchmark
+    public Resource benchmarkJsonInterningParser(FHIRParsers parsers, FHIRParserState state) throws Exception {
+        return parsers.jsonInterningParser.parse(new StringReader(state.JSON_SPEC_EXAMPLE));
+    }
+
     @Benchmark
     public Resource benchmarkXMLParser(FHIRParsers parsers, FHIRParserState state) throws Exception {
         return parsers.xmlParser.parse(new StringReader(state.XML_SPEC_EXAMPLE));
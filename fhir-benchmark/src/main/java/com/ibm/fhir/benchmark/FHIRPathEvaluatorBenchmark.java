@@ -27,6 +27,7 @@ import com.ibm.fhir.model.parser.FHIRParser;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.path.FHIRPathNode;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.CompiledExpression;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
 
 import ca.uhn.fhir.context.FhirContext;
@@ -45,6 +46,7 @@ public class FHIRPathEvaluatorBenchmark {
         public FhirContext context;
         public IFluentPath fluentPath;
         public FHIRPathEvaluator evaluator;
+        public CompiledExpression compiledExpression;
         public EvaluationContext evaluationContext;
         public Collection<FHIRPathNode> initialContext;
         public Resource resource;
@@ -56,6 +58,7 @@ public class FHIRPathEvaluatorBenchmark {
             fluentPath = context.newFluentPath();
             resource = FHIRParser.parser(Format.JSON).parse(new StringReader(JSON_SPEC_EXAMPLE));
             evaluator = FHIRPathEvaluator.evaluator();
+            compiledExpression = FHIRPathEvaluator.compile(EXPRESSION);
             evaluationContext = new EvaluationContext(resource);
             initialContext = singleton(evaluationContext.getTree().getRoot());
             baseResource = context.newJsonParser().parseResource(new StringReader(JSON_SPEC_EXAMPLE));
@@ -67,6 +70,11 @@ public class FHIRPathEvaluatorBenchmark {
         state.evaluator.evaluate(state.evaluationContext, FHIRPathEvaluatorState.EXPRESSION, state.initialContext);
     }
 
+    @Benchmark
+    public void benchmarkCompiledEvaluator(FHIRPathEvaluatorState state) throws Exception {
+        state.evaluator.evaluate(state.evaluationContext, state.compiledExpression, state.initialContext);
+    }
+
     @Benchmark
     public void benchmarkHAPIEvaluator(FHIRPathEvaluatorState state) throws Exception {
         state.fluentPath.evaluate(state.baseResource, FHIRPathEvaluatorState.EXPRESSION, IBase.class);
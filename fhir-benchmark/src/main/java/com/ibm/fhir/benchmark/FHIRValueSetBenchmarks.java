@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -26,12 +26,17 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import com.ibm.fhir.examples.ExamplesUtil;
 import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.CodeSystem;
+import com.ibm.fhir.model.resource.CodeSystem.Concept;
 import com.ibm.fhir.model.resource.ValueSet;
 import com.ibm.fhir.model.resource.ValueSet.Expansion.Contains;
 import com.ibm.fhir.model.type.Code;
 import com.ibm.fhir.model.type.DateTime;
 import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.CodeSystemContentMode;
+import com.ibm.fhir.model.type.code.CodeSystemHierarchyMeaning;
 import com.ibm.fhir.model.type.code.PublicationStatus;
+import com.ibm.fhir.term.util.CodeSystemSupport;
 
 public class FHIRValueSetBenchmarks {
     @Benchmark
@@ -129,6 +134,76 @@ public class FHIRValueSetBenchmarks {
         return state.set.contains(vsState.concept.getSystem().getValue() + "|" + vsState.concept.getCode().getValue());
     }
 
+    @State(Scope.Benchmark)
+    public static class FHIRCodeSystemState {
+        // 8 + 64 + 512 + 4096 + 32768 concepts
+        private static final int BRANCHING = 8;
+        private static final int DEPTH = 5;
+
+        CodeSystem codeSystem;
+        Concept ancestor;
+        Concept descendant;
+        Code descendantCode;
+        Code unrelatedCode;
+
+        @Setup
+        public void setUp() throws Exception {
+            CodeSystem.Builder builder = CodeSystem.builder()
+                    .url(Uri.of("http://ibm.com/fhir/CodeSystem/benchmark"))
+                    .status(PublicationStatus.ACTIVE)
+                    .content(CodeSystemContentMode.COMPLETE)
+                    .hierarchyMeaning(CodeSystemHierarchyMeaning.IS_A);
+            for (int i = 0; i < BRANCHING; i++) {
+                builder.concept(concept("c" + i, DEPTH - 1));
+            }
+            codeSystem = builder.build();
+
+            // the last concepts of the hierarchy are the worst case for a depth-first search
+            ancestor = codeSystem.getConcept().get(BRANCHING - 1);
+            descendant = ancestor;
+            while (!descendant.getConcept().isEmpty()) {
+                descendant = descendant.getConcept().get(BRANCHING - 1);
+            }
+            descendantCode = descendant.getCode();
+            unrelatedCode = Code.of("c0");
+
+            // build the index outside of the measurement
+            CodeSystemSupport.findConcept(codeSystem, descendantCode);
+        }
+
+        private static Concept concept(String code, int depth) {
+            Concept.Builder builder = Concept.builder().code(Code.of(code));
+            if (depth > 0) {
+                for (int i = 0; i < BRANCHING; i++) {
+                    builder.concept(concept(code + "." + i, depth - 1));
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    @Benchmark
+    public Concept findConcept(FHIRCodeSystemState state) throws Exception {
+        return CodeSystemSupport.findConcept(state.codeSystem, state.descendantCode);
+    }
+
+    @Benchmark
+    public boolean isA(FHIRCodeSystemState state) throws Exception {
+        // the is-a, descendent-of and generalizes filters and subsumption testing all reduce to this lookup
+        return CodeSystemSupport.findConcept(state.codeSystem, state.ancestor, state.descendantCode) != null &&
+                CodeSystemSupport.findConcept(state.codeSystem, state.ancestor, state.unrelatedCode) == null;
+    }
+
+    @Benchmark
+    public Set<Concept> closure(FHIRCodeSystemState state) throws Exception {
+        return CodeSystemSupport.getConcepts(state.codeSystem, state.ancestor.getConcept().get(0));
+    }
+
+    @Benchmark
+    public Set<Concept> getConcepts(FHIRCodeSystemState state) throws Exception {
+        return CodeSystemSupport.getConcepts(state.codeSystem);
+    }
+
     public static void main(String[] args) throws Exception {
 //      new FHIRBenchmarkRunner(FHIRValueSetBenchmark.class).run(BenchmarkUtil.getRandomSpecExampleName());
         Options opt = new OptionsBuilder()
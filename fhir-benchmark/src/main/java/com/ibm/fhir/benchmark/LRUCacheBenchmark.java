@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+
+/**
+ * Measures contention on the shared server-level caches by running a mix of reads and
+ * writes from many threads against the synchronized, access-ordered LinkedHashMap which
+ * the caches previously used and against {@link ConcurrentLRUCache}.
+ */
+public class LRUCacheBenchmark {
+    private static final int MAX_ENTRIES = 1024;
+
+    @State(Scope.Benchmark)
+    public static class LRUCacheState {
+        Map<Integer, Integer> synchronizedCache;
+        ConcurrentLRUCache<Integer, Integer> concurrentCache;
+
+        // The number of distinct keys used; a key range larger than the cache forces evictions
+        @Param({"1024", "4096"})
+        public int keyRange;
+
+        // One access in every writeRatio is a put rather than a get
+        @Param({"10"})
+        public int writeRatio;
+
+        @Setup
+        public void setUp() {
+            synchronizedCache = Collections.synchronizedMap(new LinkedHashMap<Integer, Integer>(MAX_ENTRIES, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+            concurrentCache = new ConcurrentLRUCache<>(MAX_ENTRIES);
+            for (int i = 0; i < MAX_ENTRIES; i++) {
+                synchronizedCache.put(i, i);
+                concurrentCache.put(i, i);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer benchmarkSynchronizedLinkedHashMap(LRUCacheState state) {
+        return access(state.synchronizedCache, state);
+    }
+
+    @Benchmark
+    public Integer benchmarkConcurrentLRUCache(LRUCacheState state) {
+        return access(state.concurrentCache, state);
+    }
+
+    private Integer access(Map<Integer, Integer> cache, LRUCacheState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = random.nextInt(state.keyRange);
+        if (random.nextInt(state.writeRatio) == 0) {
+            return cache.put(key, key);
+        }
+        return cache.get(key);
+    }
+
+    /**
+     * The {@link com.ibm.fhir.benchmark.runner.FHIRBenchmarkRunner} runs a single thread,
+     * which would not show any contention, so this benchmark is configured here instead.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        Options opt = new OptionsBuilder()
+                .include(".*" + LRUCacheBenchmark.class.getSimpleName() + ".*")
+                .jvmArgsPrepend("-Xms2g", "-Xmx2g")
+                .verbosity(VerboseMode.NORMAL)
+                .warmupIterations(1)
+                .warmupTime(TimeValue.seconds(10))
+                .measurementIterations(2)
+                .measurementTime(TimeValue.seconds(10))
+                .shouldDoGC(true)
+                .forks(2)
+                .threads(threads)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -1,11 +1,12 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.benchmark;
 
+import java.io.StringReader;
 import java.lang.instrument.Instrumentation;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,7 +14,17 @@ import java.time.LocalTime;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
-
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.ibm.fhir.benchmark.util.BenchmarkUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.visitor.DefaultVisitor;
 import com.ibm.fhir.model.visitor.Visitable;
 
@@ -23,6 +34,13 @@ import com.ibm.fhir.model.visitor.Visitable;
  * 
  * <p>
  * {@code Java -javaagent:target/fhir-benchmark-4.1.1-SNAPSHOT.jar ...}
+ *
+ * <p>
+ * The main method compares the retained size of a batch of parsed resources with and without
+ * {@link FHIRParser#PROPERTY_INTERN_PRIMITIVES}. For example:
+ *
+ * <p>
+ * {@code java -javaagent:target/fhir-benchmark-4.1.1-SNAPSHOT.jar -cp ... com.ibm.fhir.benchmark.ObjectSizeEstimator observation-example-bmi 100000}
  */
 public class ObjectSizeEstimator {
     private static ObjectSizeVisitor visitor = new ObjectSizeVisitor();
@@ -42,6 +60,109 @@ public class ObjectSizeEstimator {
     }
 
 
+    /**
+     * Compute the estimated size of the Visitables by traversing their structures and adding the
+     * estimated size of each distinct object, so that objects shared between (or within) the
+     * Visitables are only counted once
+     */
+    public static long getRetainedSize(Collection<? extends Visitable> visitables) {
+        RetainedSizeVisitor retainedSizeVisitor = new RetainedSizeVisitor();
+        for (Visitable visitable : visitables) {
+            visitable.accept(retainedSizeVisitor);
+        }
+        return retainedSizeVisitor.getResult();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String exampleName = args.length > 0 ? args[0] : "observation-example-bmi";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        String json = BenchmarkUtil.getSpecExample(Format.JSON, exampleName);
+
+        for (boolean intern : new boolean[] { false, true }) {
+            FHIRParser parser = FHIRParser.parser(Format.JSON);
+            parser.setProperty(FHIRParser.PROPERTY_INTERN_PRIMITIVES, intern);
+            List<Resource> resources = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                resources.add(parser.parse(new StringReader(json)));
+            }
+            System.out.println(String.format("%s x %d (%s = %s): %d bytes", exampleName, count,
+                    FHIRParser.PROPERTY_INTERN_PRIMITIVES, intern, getRetainedSize(resources)));
+        }
+    }
+
+    private static class RetainedSizeVisitor extends ObjectSizeVisitor {
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        public boolean visit(String elementName, int elementIndex, Visitable visitable) {
+            // the children of a shared visitable were counted the first time it was visited
+            return visited.add(visitable) && super.visit(elementName, elementIndex, visitable);
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, BigDecimal value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, java.lang.Boolean value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, java.lang.Integer value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, LocalDate value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, LocalTime value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, java.lang.String value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, Year value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, YearMonth value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+
+        @Override
+        public void visit(java.lang.String elementName, ZonedDateTime value) {
+            if (visited.add(value)) {
+                super.visit(elementName, value);
+            }
+        }
+    }
+
     private static class ObjectSizeVisitor extends DefaultVisitor {
         long size = 0;
         
@@ -41,6 +41,11 @@ public class Constants {
      */
     public static final int DEFAULT_COSFILE_MAX_RESOURCESNUMBER = 200000;
 
+    /**
+     * The number of multi-part upload parts which the system export uploads concurrently while it keeps reading.
+     */
+    public static final int DEFAULT_MAX_PART_UPLOADS = 2;
+
     public static final String FHIR_SEARCH_LASTUPDATED = "_lastUpdated";
     public static final byte[] NDJSON_LINESEPERATOR = "\r\n".getBytes();
 
@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.jbatch.bulkdata.export.fast;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
+
+/**
+ * Uploads the parts of a multi-part upload in the background so that the caller can keep filling
+ * the next part while the previous parts are uploaded.
+ *
+ * The caller writes to the {@link #getBuffer() current buffer} and calls {@link #submit(String, String, int)}
+ * when it holds a complete part. The buffer is handed to the executor and replaced by a free buffer.
+ * Buffers are recycled once their part has been uploaded, and at most maxInFlight parts are uploaded
+ * at once: when every buffer is busy, submit blocks until an upload completes. This bounds the memory
+ * used to maxInFlight + 1 buffers.
+ *
+ * {@link #drain()} waits for the submitted parts and returns their PartETags in submission order, which
+ * is the part number order expected when the multi-part upload is completed.
+ *
+ * Not thread-safe; each instance is used by a single reader.
+ */
+public class PartUploader implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(PartUploader.class.getName());
+
+    /**
+     * Uploads a single part of a multi-part upload
+     */
+    @FunctionalInterface
+    public interface PartUpload {
+        PartETag upload(String objectName, String uploadId, int partNumber, InputStream in, int length) throws Exception;
+    }
+
+    /**
+     * A ByteArrayOutputStream which can be read without copying its contents
+     */
+    public static class PartBuffer extends ByteArrayOutputStream {
+        PartBuffer(int initialSize) {
+            super(initialSize);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private final Executor executor;
+    private final PartUpload partUpload;
+    private final int initialBufferSize;
+    private final int maxBuffers;
+
+    // Buffers which have been uploaded and can be filled again
+    private final BlockingQueue<PartBuffer> freeBuffers;
+    private int allocatedBuffers;
+
+    // The buffer being filled by the caller
+    private PartBuffer buffer;
+
+    // The parts which have been submitted but not yet drained, in submission order
+    private final List<Future<PartETag>> pending = new ArrayList<>();
+
+    /**
+     * Public constructor
+     * @param executor the executor used to upload the parts, or null to upload each part when it is submitted
+     * @param maxInFlight the maximum number of parts uploaded at once
+     * @param initialBufferSize the initial size of each buffer
+     * @param partUpload the function which uploads a part
+     */
+    public PartUploader(Executor executor, int maxInFlight, int initialBufferSize, PartUpload partUpload) {
+        this.executor = executor;
+        this.partUpload = partUpload;
+        this.initialBufferSize = initialBufferSize;
+        this.maxBuffers = executor != null ? Math.max(maxInFlight, 1) + 1 : 1;
+        this.freeBuffers = new ArrayBlockingQueue<>(this.maxBuffers);
+        this.buffer = newBuffer();
+    }
+
+    /**
+     * @return the buffer which the next part should be written to
+     */
+    public PartBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return the number of parts which have been submitted but not yet drained
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Upload the contents of the current buffer as the given part. The buffer is replaced by an empty
+     * one, waiting for an earlier upload to complete if all the buffers are in use.
+     * @param objectName
+     * @param uploadId
+     * @param partNumber
+     * @throws InterruptedException
+     */
+    public void submit(String objectName, String uploadId, int partNumber) throws InterruptedException {
+        final PartBuffer part = this.buffer;
+        final CompletableFuture<PartETag> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                future.complete(partUpload.upload(objectName, uploadId, partNumber, part.toInputStream(), part.size()));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                part.reset();
+                freeBuffers.offer(part);
+            }
+        };
+        if (executor == null) {
+            task.run();
+            this.buffer = nextBuffer();
+        } else {
+            // Wait for a free buffer before starting this upload, so that the buffer we
+            // wait for is one of the maxInFlight parts already being uploaded
+            this.buffer = nextBuffer();
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException x) {
+                // The executor won't take any more work (e.g. it is shutting down), so upload this part ourselves
+                logger.fine("Part upload rejected by the executor; uploading part# " + partNumber + " inline");
+                task.run();
+            }
+        }
+        // Only track the future once the task is sure to run, so drain never waits on a task which was never started
+        pending.add(future);
+    }
+
+    /**
+     * Wait for all the submitted parts to be uploaded
+     * @return the PartETags of the uploaded parts, in the order they were submitted
+     * @throws Exception the first failure of any of the uploads, after all the uploads have completed
+     */
+    public List<PartETag> drain() throws Exception {
+        List<PartETag> result = new ArrayList<>(pending.size());
+        Exception failure = null;
+        for (Future<PartETag> future : pending) {
+            try {
+                result.add(future.get());
+            } catch (ExecutionException x) {
+                if (failure == null) {
+                    failure = x.getCause() instanceof Exception ? (Exception) x.getCause() : x;
+                }
+            }
+        }
+        pending.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        // Wait for any uploads still running so that their buffers aren't released under them
+        try {
+            drain();
+        } catch (Exception x) {
+            logger.fine("Discarding part upload failure on close: " + x.getMessage());
+        }
+    }
+
+    private PartBuffer nextBuffer() throws InterruptedException {
+        PartBuffer result = freeBuffers.poll();
+        if (result == null) {
+            if (allocatedBuffers < maxBuffers) {
+                result = newBuffer();
+            } else {
+                // All buffers are being uploaded; wait for one of them to become free
+                result = freeBuffers.take();
+            }
+        }
+        return result;
+    }
+
+    private PartBuffer newBuffer() {
+        allocatedBuffers++;
+        return new PartBuffer(initialBufferSize);
+    }
+}
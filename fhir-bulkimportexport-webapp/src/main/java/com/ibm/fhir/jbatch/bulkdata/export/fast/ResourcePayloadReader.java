@@ -6,9 +6,6 @@
 
 package com.ibm.fhir.jbatch.bulkdata.export.fast;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
 import java.io.Serializable;
 import java.time.Instant;
 import java.time.temporal.TemporalAccessor;
@@ -16,6 +13,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,6 +23,8 @@ import javax.batch.runtime.context.JobContext;
 import javax.batch.runtime.context.StepContext;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
 import com.ibm.cloud.objectstorage.services.s3.model.CreateBucketRequest;
@@ -55,6 +55,10 @@ import com.ibm.fhir.search.date.DateTimeHandler;
  * To address this, we handle both reading and writing in this class, leaving the ItemWriter as a
  * minimal stub. The framework is still leveraged for checkpointing.
  *
+ * Parts are uploaded in the background by a {@link PartUploader}, so the database scan keeps streaming
+ * while earlier parts are uploaded. All the submitted parts are uploaded before {@link #readItem()}
+ * returns, so the parts recorded by each checkpoint have been uploaded.
+ *
  * The {@link #readItem()} call simply returns an Object if there is more data to process. The
  * {@link ResourceExportCheckpointAlgorithm} will always say we need a checkpoint, so the
  * checkpoint will occur immediately after each read/write.
@@ -73,6 +77,7 @@ import com.ibm.fhir.search.date.DateTimeHandler;
 public class ResourcePayloadReader extends AbstractItemReader {
     private final static Logger logger = Logger.getLogger(ResourcePayloadReader.class.getName());
     private static final String CLASS = ResourcePayloadReader.class.getName();
+    private static final String UPLOAD_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
 
     // S3 client API to IBM Cloud Object Storage
     private AmazonS3 cosClient = null;
@@ -243,8 +248,12 @@ public class ResourcePayloadReader extends AbstractItemReader {
     // The nanoTime after which we want to stop processing to avoid a Liberty transaction timeout
     private long txEndTime;
 
+    // Uploads the parts in the background, and owns the buffer we collect data into until we hit
+    // the threshold to push to COS
+    private PartUploader partUploader;
+
     // The buffer space we collect data into until we hit the threshold to push to COS
-    private ByteArrayOutputStream outputStream;
+    private PartUploader.PartBuffer outputStream;
 
     // The sum of the multi-part sizes for parts that have been uploaded
     private long currentObjectSize;
@@ -261,7 +270,8 @@ public class ResourcePayloadReader extends AbstractItemReader {
     // For large exports, we might need to split the data into multiple COS objects
     private int currentUploadNumber = 1;
 
-    // The result tags from parts previously uploaded
+    // The result tags from parts previously uploaded. Parts still being uploaded by the
+    // partUploader are added when they complete
     private List<PartETag> uploadedParts = new ArrayList<>();
 
     // Used to record an exception from the lambda used to process payloads
@@ -278,7 +288,6 @@ public class ResourcePayloadReader extends AbstractItemReader {
      */
     public ResourcePayloadReader() {
         super();
-        this.outputStream = new ByteArrayOutputStream(this.initialBufferSize);
     }
 
     /**
@@ -331,10 +340,6 @@ public class ResourcePayloadReader extends AbstractItemReader {
         if (checkpoint != null) {
             CheckpointUserData cp = (CheckpointUserData)checkpoint;
             loadStateFrom(cp);
-
-            // Just in case the framework tries to reopen an existing instance,
-            // make sure we start with an empty output stream
-            this.outputStream.reset();
         }
 
         // Transient user data is required to signal completion of this partition
@@ -351,6 +356,16 @@ public class ResourcePayloadReader extends AbstractItemReader {
         fhirPersistence = fhirPersistenceHelper.getFHIRPersistenceImplementation();
         resourceType = ModelSupport.getResourceType(fhirResourceType);
 
+        // Parts are uploaded by the container's managed executor while we keep reading. The uploader
+        // is created on each open, so we always start with an empty output stream even if the framework
+        // tries to reopen an existing instance
+        int maxPartUploads = FHIRConfigHelper.getIntProperty(FHIRConfiguration.PROPERTY_BULKDATA_BATCHJOB_MAXPARTUPLOADS,
+                Constants.DEFAULT_MAX_PART_UPLOADS);
+        this.partUploader = new PartUploader(maxPartUploads > 0 ? getUploadExecutor() : null, maxPartUploads, this.initialBufferSize,
+            (objectName, uploadId, partNumber, in, length) -> BulkDataUtils.multiPartUpload(cosClient, cosBucketName, objectName,
+                uploadId, in, length, partNumber));
+        this.outputStream = this.partUploader.getBuffer();
+
         if (cosBucketName == null || cosBucketName.isEmpty()) {
             throw new IllegalStateException("cosBucketName not set");
         }
@@ -439,6 +454,9 @@ public class ResourcePayloadReader extends AbstractItemReader {
             if (uploadId != null && !moreData) {
                 // There's no more data to fetch, so finalize the current upload before we leave
                 completeCurrentUpload();
+            } else {
+                // Make sure the parts we've submitted are uploaded before the checkpoint records them
+                drainUploads();
             }
         } finally {
             txn.end();
@@ -572,17 +590,35 @@ public class ResourcePayloadReader extends AbstractItemReader {
      */
     private void uploadPart() throws Exception {
         // S3 API: Part number must be an integer between 1 and 10000
-        int currentObjectPartNumber = uploadedParts.size() + 1;
+        int currentObjectPartNumber = uploadedParts.size() + partUploader.getPendingCount() + 1;
         if (logger.isLoggable(Level.FINE)) {
             logger.fine(logPrefix() + " Uploading part# " + currentObjectPartNumber + " ["+ outputStream.size() + " bytes] for uploadId '" + this.uploadId + "'");
         }
 
-        byte[] buffer = outputStream.toByteArray();
-        InputStream is = new ByteArrayInputStream(buffer);
-        PartETag uploadResult = BulkDataUtils.multiPartUpload(cosClient, cosBucketName, currentObjectName,
-            this.uploadId, is, buffer.length, currentObjectPartNumber);
-        this.uploadedParts.add(uploadResult);
-        outputStream.reset();
+        // Hand the buffer over to the uploader and continue with an empty one. This
+        // blocks if the uploader already has as many parts in flight as it allows
+        partUploader.submit(currentObjectName, this.uploadId, currentObjectPartNumber);
+        this.outputStream = partUploader.getBuffer();
+    }
+
+    /**
+     * Wait for the parts submitted to the uploader and record their result tags
+     * @throws Exception
+     */
+    private void drainUploads() throws Exception {
+        this.uploadedParts.addAll(partUploader.drain());
+    }
+
+    /**
+     * @return the container's default managed executor service, or null if it is not available
+     */
+    private ExecutorService getUploadExecutor() {
+        try {
+            return InitialContext.doLookup(UPLOAD_EXECUTOR_JNDI_NAME);
+        } catch (NamingException e) {
+            logger.warning(logPrefix() + " Unable to look up '" + UPLOAD_EXECUTOR_JNDI_NAME + "'; uploading parts inline");
+            return null;
+        }
     }
 
     /**
@@ -599,6 +635,9 @@ public class ResourcePayloadReader extends AbstractItemReader {
             uploadPart();
         }
 
+        // the parts must all be uploaded before the upload can be completed
+        drainUploads();
+
         // Ask COS to finalize the upload for the current object.
         try  {
             logger.fine(logPrefix() + " finishing multi-part upload '" + this.uploadId + "'");
@@ -682,6 +721,8 @@ public class ResourcePayloadReader extends AbstractItemReader {
 
     @Override
     public void close() throws Exception {
-        // NOP
+        if (partUploader != null) {
+            partUploader.close();
+        }
     }
 }
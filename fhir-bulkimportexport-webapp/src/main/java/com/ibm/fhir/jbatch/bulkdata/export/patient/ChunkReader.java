@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -57,6 +57,8 @@ import com.ibm.fhir.search.util.SearchUtil;
 public class ChunkReader extends AbstractItemReader {
     private final static Logger logger = Logger.getLogger(ChunkReader.class.getName());
     protected int pageNum = 1;
+    // The cursor returned with the previous page, which lets the persistence layer seek to the next page
+    protected String pageCursor = null;
     // Control the number of records to read in each "item".
     protected int pageSize;
 
@@ -169,7 +171,6 @@ public class ChunkReader extends AbstractItemReader {
                 if (!searchCriteria.isEmpty()) {
                     queryParameters.put(Constants.FHIR_SEARCH_LASTUPDATED, searchCriteria);
                 }
-                queryParameters.put("_sort", Arrays.asList(Constants.FHIR_SEARCH_LASTUPDATED));
 
                 List<String> compartmentSearchCriterias = CompartmentUtil.getCompartmentResourceTypeInclusionCriteria("Patient", resourceType.getSimpleName());
                 if (compartmentSearchCriterias.size() > 1) {
@@ -191,6 +192,9 @@ public class ChunkReader extends AbstractItemReader {
                     do {
                         searchContext.setPageSize(pageSize);
                         searchContext.setPageNumber(compartmentPageNum);
+                        // seek past the previous page of this compartment search (if any)
+                        searchContext.setPageCursor(searchContext.getNextPageCursor());
+                        searchContext.setNextPageCursor(null);
                         FHIRTransactionHelper txn = new FHIRTransactionHelper(fhirPersistence.getTransaction());
                         FHIRPersistenceContext persistenceContext = FHIRPersistenceContextFactory.createPersistenceContext(null, searchContext);
 
@@ -321,10 +325,12 @@ public class ChunkReader extends AbstractItemReader {
             queryParameters.put(Constants.FHIR_SEARCH_LASTUPDATED, searchCreterial);
         }
 
-        queryParameters.put("_sort", Arrays.asList(Constants.FHIR_SEARCH_LASTUPDATED));
+        // Use the default ordering (by logical resource id) so that each page can be read by seeking past the
+        // previous page (using the page cursor) rather than by skipping over all the earlier pages.
         searchContext = SearchUtil.parseQueryParameters(Patient.class, queryParameters);
         searchContext.setPageSize(pageSize);
         searchContext.setPageNumber(pageNum);
+        searchContext.setPageCursor(pageCursor);
         List<Resource> resources = null;
         FHIRTransactionHelper txn = new FHIRTransactionHelper(fhirPersistence.getTransaction());
         txn.begin();
@@ -336,6 +342,7 @@ public class ChunkReader extends AbstractItemReader {
             txn.end();
         }
         pageNum++;
+        pageCursor = searchContext.getNextPageCursor();
 
         if (chunkData == null) {
             chunkData = (TransientUserData)TransientUserData.Builder.builder()
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -9,7 +9,6 @@ package com.ibm.fhir.jbatch.bulkdata.export.system;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -52,6 +51,8 @@ public class ChunkReader extends AbstractItemReader {
     private final static Logger logger = Logger.getLogger(ChunkReader.class.getName());
     boolean isSingleCosObject = false;
     int pageNum = 1;
+    // The cursor returned with the previous page, which lets the persistence layer seek to the next page
+    String pageCursor = null;
     // Control the number of records to read in each "item".
     int pageSize = Constants.DEFAULT_SEARCH_PAGE_SIZE;
     // Search parameters for resource types gotten from fhir.typeFilters job parameter.
@@ -194,6 +195,7 @@ public class ChunkReader extends AbstractItemReader {
             } else {
                 // If there is more typeFilter to process for current resource type, then reset pageNum only and move to the next typeFilter.
                 pageNum = 1;
+                pageCursor = null;
                 indexOfCurrentTypeFilter++;
             }
         }
@@ -224,10 +226,12 @@ public class ChunkReader extends AbstractItemReader {
             queryParameters.put(Constants.FHIR_SEARCH_LASTUPDATED, searchCriteria);
         }
 
-        queryParameters.put("_sort", Arrays.asList(Constants.FHIR_SEARCH_LASTUPDATED));
+        // Use the default ordering (by logical resource id) so that each page can be read by seeking past the
+        // previous page (using the page cursor) rather than by skipping over all the earlier pages.
         searchContext = SearchUtil.parseQueryParameters(resourceType, queryParameters);
         searchContext.setPageSize(pageSize);
         searchContext.setPageNumber(pageNum);
+        searchContext.setPageCursor(pageCursor);
         List<Resource> resources = null;
 
         // Note we're already running inside a transaction (started by the Javabatch framework)
@@ -242,6 +246,7 @@ public class ChunkReader extends AbstractItemReader {
             txn.end();
         }
         pageNum++;
+        pageCursor = searchContext.getNextPageCursor();
 
         if (chunkData == null) {
             chunkData = (TransientUserData)TransientUserData.Builder.builder()
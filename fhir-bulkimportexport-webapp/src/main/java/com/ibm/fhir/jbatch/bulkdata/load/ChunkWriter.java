@@ -23,6 +23,8 @@ import static com.ibm.fhir.jbatch.bulkdata.common.Constants.PARTITION_RESOURCE_T
 
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -47,6 +49,7 @@ import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContextFactory;
 import com.ibm.fhir.persistence.helper.FHIRPersistenceHelper;
@@ -63,6 +66,10 @@ public class ChunkWriter extends AbstractItemWriter {
     AmazonS3 cosClient = null;
     boolean isValidationOn = false;
 
+    // Set when the resources without an id couldn't be created together and the chunk was rolled back
+    // to be retried. The retried chunk creates them one at a time so that only the failing resources fail.
+    boolean isCreateIndividually = false;
+
     @Inject
     StepContext stepCtx;
 
@@ -207,6 +214,9 @@ public class ChunkWriter extends AbstractItemWriter {
                 .getBooleanProperty(FHIRConfiguration.PROPERTY_BULKDATA_IGNORE_IMPORT_OPERATION_OUTCOMES, false);
 
         try {
+            // Resources without an id are collected and created together at the end of the chunk,
+            // which lets the persistence layer batch the inserts across resources.
+            List<Resource> newResources = new ArrayList<>();
             for (Object objResJsonList : arg0) {
                 @SuppressWarnings("unchecked")
                 List<Resource> fhirResourceList = (List<Resource>) objResJsonList;
@@ -219,13 +229,15 @@ public class ChunkWriter extends AbstractItemWriter {
                         if (failValidationIds.contains(id)) {
                             continue;
                         }
+                        if (id == null && !isCreateIndividually) {
+                            newResources.add(fhirResource);
+                            continue;
+                        }
                         OperationOutcome operationOutcome;
                         if (id == null) {
-                            operationOutcome =
-                                    fhirPersistence.create(persistenceContext, fhirResource).getOutcome();
+                            operationOutcome = fhirPersistence.create(persistenceContext, fhirResource).getOutcome();
                         } else {
-                            operationOutcome =
-                                    fhirPersistence.update(persistenceContext, id, fhirResource).getOutcome();
+                            operationOutcome = fhirPersistence.update(persistenceContext, id, fhirResource).getOutcome();
                         }
 
                         succeededNum++;
@@ -244,6 +256,30 @@ public class ChunkWriter extends AbstractItemWriter {
                     }
                 }
             }
+
+            if (!newResources.isEmpty()) {
+                try {
+                    List<FHIRPersistenceContext> persistenceContexts = Collections.nCopies(newResources.size(), persistenceContext);
+                    for (SingleResourceResult<Resource> result : fhirPersistence.createAll(persistenceContexts, newResources)) {
+                        succeededNum++;
+                        OperationOutcome operationOutcome = result.getOutcome();
+                        if (collectImportOperationOutcomes && operationOutcome != null) {
+                            FHIRGenerator.generator(Format.JSON).generate(operationOutcome, chunkData.getBufferStreamForImport());
+                            chunkData.getBufferStreamForImport().write(NDJSON_LINESEPERATOR);
+                        }
+                    }
+                } catch (FHIROperationException e) {
+                    // Some of the resources may already have been written, so we can't report the group
+                    // as failed. Roll back the whole chunk and let the batch runtime retry it, this time
+                    // creating the resources one at a time.
+                    logger.warning("Failed to import " + newResources.size() + " resources without an id together due to error: "
+                            + e.getMessage() + "; rolling back the chunk to retry them one at a time");
+                    txn.setRollbackOnly();
+                    isCreateIndividually = true;
+                    throw new CreateAllRetryException("Failed to create " + newResources.size() + " " + importPartitionResourceType
+                            + " resources together", e);
+                }
+            }
         } finally {
             // Release the DB connection.
             // This doesn't really commit the transaction, because the transaction was started and will be committed
@@ -257,6 +293,8 @@ public class ChunkWriter extends AbstractItemWriter {
         chunkData.setNumOfImportFailures(chunkData.getNumOfImportFailures() + failedNum + chunkData.getNumOfParseFailures());
         // Reset NumOfParseFailures for next batch.
         chunkData.setNumOfParseFailures(0);
+        // The retried chunk has been written, so go back to creating the resources together
+        isCreateIndividually = false;
         if (logger.isLoggable(Level.FINE)) {
             logger.fine("writeItems: processed " + processedNum + " " + importPartitionResourceType + " from " +  chunkData.getImportPartitionWorkitem());
         }
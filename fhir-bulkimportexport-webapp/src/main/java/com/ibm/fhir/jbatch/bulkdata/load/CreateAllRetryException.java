@@ -0,0 +1,20 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.jbatch.bulkdata.load;
+
+/**
+ * Thrown by the import ChunkWriter when the resources of a chunk couldn't be created together.
+ * Some of them may already have been written, so the chunk's transaction is rolled back and the
+ * chunk is retried (see FhirBulkImportChunkJob.xml), creating the resources one at a time.
+ */
+public class CreateAllRetryException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public CreateAllRetryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
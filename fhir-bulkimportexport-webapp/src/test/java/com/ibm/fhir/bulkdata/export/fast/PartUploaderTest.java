@@ -0,0 +1,184 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.bulkdata.export.fast;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
+import com.ibm.fhir.jbatch.bulkdata.export.fast.PartUploader;
+
+/**
+ * Unit tests for the background upload of multi-part upload parts, using an in-memory
+ * stand-in for COS
+ */
+public class PartUploaderTest {
+    private ExecutorService executor;
+
+    /**
+     * Stores the uploaded parts in memory, tracking the number of concurrent uploads
+     */
+    private static class InMemoryUpload implements PartUploader.PartUpload {
+        final Map<Integer, String> parts = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final int failPartNumber;
+
+        InMemoryUpload(int failPartNumber) {
+            this.failPartNumber = failPartNumber;
+        }
+
+        @Override
+        public PartETag upload(String objectName, String uploadId, int partNumber, InputStream in, int length) throws Exception {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] b = new byte[256];
+                int n;
+                while ((n = in.read(b)) > 0) {
+                    out.write(b, 0, n);
+                }
+                assertEquals(out.size(), length);
+
+                // give the other uploads a chance to overlap with this one
+                Thread.sleep(10);
+                if (partNumber == failPartNumber) {
+                    throw new IOException("part " + partNumber + " failed");
+                }
+                parts.put(partNumber, new String(out.toByteArray(), StandardCharsets.UTF_8));
+                return new PartETag(partNumber, objectName + "-" + uploadId + "-" + partNumber);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    @BeforeClass
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void teardown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testBackgroundUpload() throws Exception {
+        InMemoryUpload upload = new InMemoryUpload(-1);
+        try (PartUploader uploader = new PartUploader(executor, 2, 16, upload)) {
+            writeParts(uploader, 10);
+            assertEquals(uploader.getPendingCount(), 10);
+            checkParts(uploader.drain(), upload, 10);
+            assertEquals(uploader.getPendingCount(), 0);
+
+            // never more than the allowed number of parts in flight
+            assertTrue(upload.maxInFlight.get() <= 2, "maxInFlight: " + upload.maxInFlight.get());
+        }
+    }
+
+    @Test
+    public void testInlineUpload() throws Exception {
+        InMemoryUpload upload = new InMemoryUpload(-1);
+        try (PartUploader uploader = new PartUploader(null, 2, 16, upload)) {
+            PartUploader.PartBuffer first = uploader.getBuffer();
+            writeParts(uploader, 5);
+
+            // each part is uploaded when submitted, so the single buffer is reused
+            assertEquals(upload.parts.size(), 5);
+            assertTrue(uploader.getBuffer() == first);
+            assertEquals(upload.maxInFlight.get(), 1);
+            checkParts(uploader.drain(), upload, 5);
+        }
+    }
+
+    @Test
+    public void testBuffersRecycled() throws Exception {
+        InMemoryUpload upload = new InMemoryUpload(-1);
+        try (PartUploader uploader = new PartUploader(executor, 1, 16, upload)) {
+            Set<PartUploader.PartBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 1; i <= 10; i++) {
+                buffers.add(uploader.getBuffer());
+                uploader.getBuffer().write(("part" + i).getBytes(StandardCharsets.UTF_8));
+                uploader.submit("object", "upload", i);
+                assertEquals(uploader.getBuffer().size(), 0);
+            }
+            uploader.drain();
+
+            // one buffer being uploaded and one being filled
+            assertTrue(buffers.size() <= 2, "buffers: " + buffers.size());
+        }
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        InMemoryUpload upload = new InMemoryUpload(3);
+        try (PartUploader uploader = new PartUploader(executor, 2, 16, upload)) {
+            writeParts(uploader, 6);
+            try {
+                uploader.drain();
+                fail("expected the failure of part 3");
+            } catch (IOException x) {
+                assertEquals(x.getMessage(), "part 3 failed");
+            }
+
+            // the other parts were still uploaded and the uploader can be reused
+            assertEquals(upload.parts.size(), 5);
+            assertEquals(uploader.getPendingCount(), 0);
+            assertEquals(uploader.drain().size(), 0);
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        InMemoryUpload upload = new InMemoryUpload(-1);
+        ExecutorService shutdownExecutor = Executors.newSingleThreadExecutor();
+        shutdownExecutor.shutdown();
+        try (PartUploader uploader = new PartUploader(shutdownExecutor, 2, 16, upload)) {
+            // the executor rejects every part, so they are uploaded inline and drain doesn't hang
+            writeParts(uploader, 3);
+            checkParts(uploader.drain(), upload, 3);
+        }
+    }
+
+    private void writeParts(PartUploader uploader, int count) throws Exception {
+        for (int i = 1; i <= count; i++) {
+            uploader.getBuffer().write(("part" + i).getBytes(StandardCharsets.UTF_8));
+            uploader.submit("object", "upload", i);
+        }
+    }
+
+    private void checkParts(List<PartETag> partETags, InMemoryUpload upload, int count) {
+        assertEquals(partETags.size(), count);
+        for (int i = 1; i <= count; i++) {
+            PartETag partETag = partETags.get(i - 1);
+            assertEquals(partETag.getPartNumber(), i);
+            assertEquals(partETag.getETag(), "object-upload-" + i);
+            assertEquals(upload.parts.get(i), "part" + i);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * An immutable, pre-resolved view of the configuration of a single tenant.
+ *
+ * <p>The snapshot is compiled from the tenant's PropertyGroup and the PropertyGroup of the default tenant. Every
+ * property reachable by a hierarchical property name (e.g. "level1/level2/prop1") is converted to its java.lang.* type
+ * once, when the snapshot is built, so a lookup is a single map access instead of a walk of the underlying JSON
+ * objects. As with {@link FHIRConfigHelper}, a property which isn't found in the tenant's config is resolved from the
+ * default config, except for the datasource definitions.
+ *
+ * <p>A snapshot never changes once it is built. When a config file changes, {@link FHIRConfiguration} compiles a new
+ * snapshot and replaces the old one, so a caller which holds a snapshot for the duration of a request sees a
+ * consistent configuration.
+ */
+public class ConfigurationSnapshot {
+    static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(null, null, Collections.emptyMap());
+
+    // The config objects this snapshot was compiled from
+    private final PropertyGroup tenantConfig;
+    private final PropertyGroup defaultConfig;
+
+    // The converted value of each property, keyed by the hierarchical property name
+    private final Map<String, Object> values;
+
+    /**
+     * A property value which could not be converted to a java.lang.* type. The error is raised
+     * when the property is retrieved, not when the snapshot is built.
+     */
+    private static class InvalidValue {
+        private final Exception cause;
+
+        private InvalidValue(Exception cause) {
+            this.cause = cause;
+        }
+    }
+
+    private ConfigurationSnapshot(PropertyGroup tenantConfig, PropertyGroup defaultConfig, Map<String, Object> values) {
+        this.tenantConfig = tenantConfig;
+        this.defaultConfig = defaultConfig;
+        this.values = values;
+    }
+
+    /**
+     * Compiles a snapshot of the configuration of a tenant.
+     *
+     * @param tenantConfig
+     *            the tenant's configuration, or null if the tenant doesn't have one
+     * @param defaultConfig
+     *            the configuration of the default tenant used to resolve the properties the tenant doesn't set, or null
+     * @return the snapshot
+     */
+    public static ConfigurationSnapshot compile(PropertyGroup tenantConfig, PropertyGroup defaultConfig) {
+        Map<String, Object> values = new HashMap<>();
+        if (defaultConfig != null) {
+            addProperties(values, null, defaultConfig.getJsonObj());
+            // Issue #639. Prevent datasource lookups from falling back to
+            // the default datasource which breaks tenant isolation.
+            values.keySet().removeIf(propertyName -> propertyName.startsWith(FHIRConfiguration.PROPERTY_DATASOURCES));
+        }
+        if (tenantConfig != null) {
+            addProperties(values, null, tenantConfig.getJsonObj());
+        }
+        return new ConfigurationSnapshot(tenantConfig, defaultConfig, Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Adds the converted value of each property within the specified JSON object, and within each of
+     * its sub-objects, to the map.
+     */
+    private static void addProperties(Map<String, Object> values, String parentName, JsonObject jsonObj) {
+        if (jsonObj == null) {
+            return;
+        }
+        for (Map.Entry<String, JsonValue> entry : jsonObj.entrySet()) {
+            // A field name which contains the separator can't be addressed by a hierarchical property name
+            if (entry.getKey().contains(PropertyGroup.PATH_ELEMENT_SEPARATOR)) {
+                continue;
+            }
+            String propertyName = parentName == null ? entry.getKey() : parentName + PropertyGroup.PATH_ELEMENT_SEPARATOR + entry.getKey();
+            JsonValue jsonValue = entry.getValue();
+            Object value;
+            try {
+                value = PropertyGroup.convertJsonValue(jsonValue);
+                if (value instanceof List) {
+                    value = Collections.unmodifiableList((List<?>) value);
+                }
+            } catch (Exception e) {
+                value = new InvalidValue(e);
+            }
+            values.put(propertyName, value);
+
+            if (jsonValue.getValueType() == JsonValue.ValueType.OBJECT) {
+                addProperties(values, propertyName, (JsonObject) jsonValue);
+            }
+        }
+    }
+
+    /**
+     * @return true iff this snapshot was compiled from the specified config objects
+     */
+    boolean isCompiledFrom(PropertyGroup tenantConfig, PropertyGroup defaultConfig) {
+        return this.tenantConfig == tenantConfig && this.defaultConfig == defaultConfig;
+    }
+
+    public String getStringProperty(String propertyName, String defaultValue) {
+        return getTypedProperty(String.class, propertyName, defaultValue);
+    }
+
+    public Boolean getBooleanProperty(String propertyName, Boolean defaultValue) {
+        return getTypedProperty(Boolean.class, propertyName, defaultValue);
+    }
+
+    public Integer getIntProperty(String propertyName, Integer defaultValue) {
+        return getTypedProperty(Integer.class, propertyName, defaultValue);
+    }
+
+    public Double getDoubleProperty(String propertyName, Double defaultValue) {
+        return getTypedProperty(Double.class, propertyName, defaultValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getStringListProperty(String propertyName) {
+        return getTypedProperty(List.class, propertyName, null);
+    }
+
+    public PropertyGroup getPropertyGroup(String propertyName) {
+        return getTypedProperty(PropertyGroup.class, propertyName, null);
+    }
+
+    /**
+     * Retrieves a property and converts it to the expected type.
+     *
+     * @param expectedDataType
+     *            the type of the value to return
+     * @param propertyName
+     *            the hierarchical name of the property to be retrieved (e.g. "level1/level2/prop1")
+     * @param defaultValue
+     *            the default value to return in the event that the property is not found
+     * @return the value of the property, or the default value if it wasn't found
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getTypedProperty(Class<T> expectedDataType, String propertyName, T defaultValue) {
+        Object obj = values.get(propertyName);
+        if (obj == null) {
+            return defaultValue;
+        }
+        if (obj instanceof InvalidValue) {
+            throw new RuntimeException("Unexpected error converting property '" + propertyName + "' to native type.", ((InvalidValue) obj).cause);
+        }
+
+        // If the property was of the expected type, then just do the assignment.
+        // Otherwise, we'll try to do some simple conversions (e.g. String --> Boolean).
+        if (expectedDataType.isInstance(obj)) {
+            return (T) obj;
+        }
+        try {
+            if (obj instanceof String) {
+                if (Boolean.class.equals(expectedDataType)) {
+                    return (T) Boolean.valueOf((String) obj);
+                } else if (Integer.class.equals(expectedDataType)) {
+                    return (T) Integer.valueOf((String) obj);
+                } else if (Double.class.equals(expectedDataType)) {
+                    return (T) Double.valueOf((String) obj);
+                }
+            } else if (obj instanceof Boolean) {
+                if (String.class.equals(expectedDataType)) {
+                    return (T) ((Boolean) obj).toString();
+                }
+            }
+            throw new RuntimeException("Expected property " + propertyName + " to be of type " + expectedDataType.getName() + ", but was of type "
+                    + obj.getClass().getName());
+        } catch (Exception e) {
+            throw new RuntimeException("Unexpected error converting property '" + propertyName + "' to native type.", e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2017,2020
+ * (C) Copyright IBM Corp. 2017, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -7,10 +7,6 @@
 package com.ibm.fhir.config;
 
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
-import javax.json.JsonValue;
 
 /**
  * This class contains a set of static helper methods related to configuration parameters.
@@ -18,7 +14,6 @@ import javax.json.JsonValue;
  * tenant's configuration, then (if not found) look in the "default" configuration.
  */
 public class FHIRConfigHelper {
-    private static final Logger log = Logger.getLogger(FHIRConfigHelper.class.getName());
 
     public static String getStringProperty(String propertyName, String defaultValue) {
         return getTypedProperty(String.class, propertyName, defaultValue);
@@ -46,51 +41,13 @@ public class FHIRConfigHelper {
     }
 
     /**
-     * This function retrieves the specified property as a generic JsonValue. First we try to retrieve the property from
-     * the current tenant's config, and then if not found we'll also look in the "default" config.
+     * Returns the compiled configuration snapshot of the current thread's tenant. Code which reads several
+     * properties while handling a request can retrieve the snapshot once and use its typed accessors.
      *
-     * @param propertyName
-     *            the hierarchical name of the property to be retrieved (e.g. "level1/level2/prop1")
-     * @return a JsonValue representing the property's value or null if it wasn't found in either config
+     * @return the snapshot; never null
      */
-    private static JsonValue getPropertyFromTenantOrDefault(String propertyName) {
-        JsonValue result = null;
-
-        PropertyGroup pg = null;
-        String tenantId = FHIRRequestContext.get().getTenantId();
-
-        // First, try to retrieve the configuration (property group) associated with the
-        // current thread's tenant-id.
-        try {
-            pg = FHIRConfiguration.getInstance().loadConfigurationForTenant(tenantId);
-            if (pg != null) {
-                result = pg.getJsonValue(propertyName);
-            }
-        } catch (Exception e) {
-            log.log(Level.WARNING, "Error loading configuration for tenant-id '" + tenantId + "': " + e.getMessage());
-        }
-
-        // If we didn't find the property in the tenant-specific config, then
-        // let's try to find it in the default config.
-        if (result == null && !FHIRConfiguration.DEFAULT_TENANT_ID.equals(tenantId)) {
-            try {
-                if (propertyName.startsWith(FHIRConfiguration.PROPERTY_DATASOURCES)) {
-                    // Issue #639. Prevent datasource lookups from falling back to 
-                    // the default datasource which breaks tenant isolation.
-                    result = null;
-                } else {
-                    // Non-datasource property, which we allow to fall back to default
-                    pg = FHIRConfiguration.getInstance().loadConfiguration();
-                    if (pg != null) {
-                        result = pg.getJsonValue(propertyName);
-                    }
-                }
-            } catch (Exception e) {
-                log.log(Level.WARNING, "Error loading default configuration: " + e.getMessage());
-            }
-        }
-
-        return result;
+    public static ConfigurationSnapshot getConfigurationSnapshot() {
+        return FHIRConfiguration.getInstance().getConfigurationSnapshot(FHIRRequestContext.get().getTenantId());
     }
 
     /**
@@ -103,53 +60,7 @@ public class FHIRConfigHelper {
      *            the default value to return in the event that the property is not found
      * @return
      */
-    @SuppressWarnings("unchecked")
     private static <T> T getTypedProperty(Class<T> expectedDataType, String propertyName, T defaultValue) {
-        T result = null;
-
-        // Find the property as a generic JsonValue from either the current tenant's config or the default config.
-        JsonValue jsonValue = getPropertyFromTenantOrDefault(propertyName);
-
-        // If found, then convert the value to the expected type.
-        if (jsonValue != null) {
-            Object obj = null;
-            try {
-                obj = PropertyGroup.convertJsonValue(jsonValue);
-                if (obj != null) {
-                    // If the property was of the expected type, then just do the assignment.
-                    // Otherwise, we'll try to do some simple conversions (e.g. String --> Boolean).
-                    if (expectedDataType.isAssignableFrom(obj.getClass())) {
-                        result = (T) obj;
-                    } else {
-                        if (obj instanceof String) {
-                            if (Boolean.class.equals(expectedDataType)) {
-                                result = (T) Boolean.valueOf((String) obj);
-                            } else if (Integer.class.equals(expectedDataType)) {
-                                result = (T) Integer.valueOf((String) obj);
-                            } else if (Double.class.equals(expectedDataType)) {
-                                result = (T) Double.valueOf((String) obj);
-                            } else {
-                                throw new RuntimeException("Expected property " + propertyName + " to be of type " + expectedDataType.getName() + ", but was of type "
-                                        + obj.getClass().getName());
-                            }
-                        } else if (obj instanceof Boolean) {
-                            if (String.class.equals(expectedDataType)) {
-                                result = (T) ((Boolean)obj).toString();
-                            } else {
-                                throw new RuntimeException("Expected property " + propertyName + " to be of type " + expectedDataType.getName() + ", but was of type "
-                                        + obj.getClass().getName());
-                            }
-                        } else {
-                            throw new RuntimeException("Expected property " + propertyName + " to be of type " + expectedDataType.getName() + ", but was of type "
-                                    + obj.getClass().getName());
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Unexpected error converting property '" + propertyName + "' to native type.", e);
-            }
-        }
-
-        return (result != null ? result : defaultValue);
+        return getConfigurationSnapshot().getTypedProperty(expectedDataType, propertyName, defaultValue);
     }
 }
@@ -9,6 +9,10 @@ package com.ibm.fhir.config;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -36,6 +40,14 @@ public class FHIRConfiguration {
     public static final String PROPERTY_CAPABILITY_STATEMENT_CACHE = "fhirServer/core/capabilityStatementCacheTimeout";
     public static final String PROPERTY_EXTENDED_CODEABLE_CONCEPT_VALIDATION = "fhirServer/core/extendedCodeableConceptValidation";
     public static final String PROPERTY_DISABLED_OPERATIONS = "fhirServer/core/disabledOperations";
+    public static final String PROPERTY_BATCH_PARALLELISM = "fhirServer/core/batchParallelism";
+    public static final String PROPERTY_RESOURCE_CACHE_ENABLED = "fhirServer/core/resourceCache/enabled";
+    public static final String PROPERTY_RESOURCE_CACHE_MAX_ENTRIES = "fhirServer/core/resourceCache/maxEntries";
+    public static final String PROPERTY_RESOURCE_CACHE_MAX_AGE = "fhirServer/core/resourceCache/maxAgeSeconds";
+    public static final String PROPERTY_RESOURCE_CACHE_RESOURCE_TYPES = "fhirServer/core/resourceCache/resourceTypes";
+
+    // Terminology properties
+    public static final String PROPERTY_TERM_EXPANSION_CACHE_FILE = "fhirServer/term/expansionCacheFile";
 
     // Resources properties
     public static final String PROPERTY_RESOURCES = "fhirServer/resources";
@@ -48,6 +60,7 @@ public class FHIRConfiguration {
     public static final String PROPERTY_FIELD_RESOURCES_PROFILES = "profiles";
     public static final String PROPERTY_FIELD_RESOURCES_PROFILES_AT_LEAST_ONE = "atLeastOne";
     public static final String PROPERTY_USE_STORED_COMPARTMENT_PARAM = "fhirServer/search/useStoredCompartmentParam";
+    public static final String PROPERTY_SEARCH_DEFAULT_TOTAL = "fhirServer/search/defaultTotal";
 
     // Auth and security properties
     public static final String PROPERTY_SECURITY_CORS = "fhirServer/security/cors";
@@ -73,6 +86,9 @@ public class FHIRConfiguration {
 
     // Notification config properties
     public static final String PROPERTY_NOTIFICATION_RESOURCE_TYPES = "fhirServer/notifications/common/includeResourceTypes";
+    public static final String PROPERTY_NOTIFICATION_QUEUE_SIZE = "fhirServer/notifications/common/queueSize";
+    public static final String PROPERTY_NOTIFICATION_OVERFLOW_POLICY = "fhirServer/notifications/common/overflowPolicy";
+    public static final String PROPERTY_NOTIFICATION_BATCH_SIZE = "fhirServer/notifications/common/batchSize";
     public static final String PROPERTY_WEBSOCKET_ENABLED = "fhirServer/notifications/websocket/enabled";
     public static final String PROPERTY_KAFKA_ENABLED = "fhirServer/notifications/kafka/enabled";
     public static final String PROPERTY_KAFKA_TOPICNAME = "fhirServer/notifications/kafka/topicName";
@@ -102,6 +118,8 @@ public class FHIRConfiguration {
     public static final String PROPERTY_JDBC_ENABLE_RESOURCE_TYPES_CACHE = "fhirServer/persistence/jdbc/enableResourceTypesCache";
     public static final String PROPERTY_JDBC_EXTERNAL_REF_SYSTEM_CACHE_SIZE = "fhirServer/persistence/jdbc/externalRefSystemCacheSize";
     public static final String PROPERTY_JDBC_EXTERNAL_REF_VALUE_CACHE_SIZE = "fhirServer/persistence/jdbc/externalRefValueCacheSize";
+    public static final String PROPERTY_JDBC_PAYLOAD_CODEC = "fhirServer/persistence/jdbc/payloadCodec";
+    public static final String PROPERTY_JDBC_PAYLOAD_DECODE_PARALLELISM = "fhirServer/persistence/jdbc/payloadDecodeParallelism";
 
     // Optimizer options within a datasource definition
     public static final String PROPERTY_JDBC_SEARCH_OPTIMIZER_OPTIONS = "searchOptimizerOptions";
@@ -134,6 +152,7 @@ public class FHIRConfiguration {
             "fhirServer/bulkdata/maxInputPerRequest";
     public static final String PROPERTY_BULKDATA_BATCHJOB_COSFILEMAXSIZE = "fhirServer/bulkdata/cosFileMaxSize";
     public static final String PROPERTY_BULKDATA_BATCHJOB_COSFILEMAXRESOURCES = "fhirServer/bulkdata/cosFileMaxResources";
+    public static final String PROPERTY_BULKDATA_BATCHJOB_MAXPARTUPLOADS = "fhirServer/bulkdata/maxPartUploads";
     public static final String PROPERTY_BULKDATA_PATIENTEXPORT_PAGESIZE = "fhirServer/bulkdata/patientExportPageSize";
     // Control if push OperationOutcomes to COS/S3.
     public static final String PROPERTY_BULKDATA_IGNORE_IMPORT_OPERATION_OUTCOMES = "fhirServer/bulkdata/ignoreImportOutcomes";
@@ -159,6 +178,38 @@ public class FHIRConfiguration {
      */
     private TenantSpecificPropertyGroupCache configCache = new TenantSpecificPropertyGroupCache();
 
+    /**
+     * How long a tenant's snapshot is used before the config files are checked for changes again.
+     */
+    static final long SNAPSHOT_CHECK_INTERVAL_MILLIS = 500;
+
+    /**
+     * A compiled snapshot and the time the config files were last checked for changes to it.
+     */
+    private static class CheckedSnapshot {
+        private final ConfigurationSnapshot snapshot;
+        private final long checkedNanos;
+
+        private CheckedSnapshot(ConfigurationSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.checkedNanos = System.nanoTime();
+        }
+
+        private boolean isDue() {
+            return System.nanoTime() - checkedNanos > TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_CHECK_INTERVAL_MILLIS);
+        }
+    }
+
+    /**
+     * The compiled configuration snapshot of each tenant which has a config file.
+     */
+    private final Map<String, CheckedSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * The snapshot used by tenants without a config file, which is compiled from the default config alone.
+     */
+    private volatile ConfigurationSnapshot fallbackSnapshot = ConfigurationSnapshot.EMPTY;
+
     /**
      * This method is used to configure an explicit top-level directory where FHIR Server configuration
      * information is expected to reside.
@@ -220,7 +271,63 @@ public class FHIRConfiguration {
     public void clearConfiguration() {
         synchronized (configCache) {
             configCache.clearCache();
+            snapshots.clear();
+            fallbackSnapshot = ConfigurationSnapshot.EMPTY;
+        }
+    }
+
+    /**
+     * Returns the compiled configuration snapshot of the specified tenant. The snapshot resolves the properties
+     * which the tenant's config doesn't set from the default config.
+     * <p>
+     * The config files of a tenant with its own config are checked for changes at most once every
+     * {@value #SNAPSHOT_CHECK_INTERVAL_MILLIS} milliseconds, so that reading several properties while handling
+     * a request doesn't stat the files each time. If the tenant's config or the default config was re-loaded
+     * since the snapshot was compiled, then a new snapshot is compiled and replaces the old one.
+     *
+     * @param tenantId
+     *            a shortname representing the tenant
+     * @return the snapshot; never null
+     */
+    public ConfigurationSnapshot getConfigurationSnapshot(String tenantId) {
+        CheckedSnapshot checked = snapshots.get(tenantId);
+        if (checked != null && !checked.isDue()) {
+            return checked.snapshot;
+        }
+
+        PropertyGroup tenantConfig = null;
+        try {
+            tenantConfig = loadConfigurationForTenant(tenantId);
+        } catch (Exception e) {
+            log.log(Level.WARNING, "Error loading configuration for tenant-id '" + tenantId + "': " + e.getMessage());
+        }
+
+        PropertyGroup defaultConfig = null;
+        if (!DEFAULT_TENANT_ID.equals(tenantId)) {
+            try {
+                defaultConfig = loadConfiguration();
+            } catch (Exception e) {
+                log.log(Level.WARNING, "Error loading default configuration: " + e.getMessage());
+            }
+        }
+
+        if (tenantConfig == null) {
+            // Not cached by tenant-id, so that requests for unknown tenants can't grow the map
+            ConfigurationSnapshot snapshot = fallbackSnapshot;
+            if (!snapshot.isCompiledFrom(null, defaultConfig)) {
+                snapshot = ConfigurationSnapshot.compile(null, defaultConfig);
+                fallbackSnapshot = snapshot;
+            }
+            return snapshot;
+        }
+
+        ConfigurationSnapshot snapshot = checked != null ? checked.snapshot : null;
+        if (snapshot == null || !snapshot.isCompiledFrom(tenantConfig, defaultConfig)) {
+            snapshot = ConfigurationSnapshot.compile(tenantConfig, defaultConfig);
+            log.fine("Compiled configuration snapshot for tenant-id '" + tenantId + "'");
         }
+        snapshots.put(tenantId, new CheckedSnapshot(snapshot));
+        return snapshot;
     }
 
     /**
@@ -0,0 +1,138 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.config.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.ConfigurationSnapshot;
+import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.PropertyGroup;
+
+public class ConfigurationSnapshotTest {
+
+    @BeforeClass
+    public void setup() {
+        FHIRConfiguration.setConfigHome("target/test-classes");
+    }
+
+    @Test
+    public void testTenantOverridesDefault() throws Exception {
+        ConfigurationSnapshot snapshot = FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant1");
+
+        assertEquals(snapshot.getStringProperty("collection/tenant", null), "tenant1");
+        assertEquals(snapshot.getStringProperty("collection/groupA/stringProp1", null), "tenant1Value1");
+        assertEquals(snapshot.getStringProperty("collection/groupA/stringProp2", null), "defaultValue2");
+        assertEquals(snapshot.getBooleanProperty("collection/groupB/boolProp1", null), Boolean.TRUE);
+        assertEquals(snapshot.getBooleanProperty("collection/groupB/boolProp2", null), Boolean.FALSE);
+        assertEquals(snapshot.getStringListProperty("collection/groupB/stringList1"), Arrays.asList("token3", "token4"));
+        assertEquals(snapshot.getIntProperty("collection/groupC/intProp1", null), Integer.valueOf(12345));
+        assertEquals(snapshot.getIntProperty("collection/groupC/intProp2", null), Integer.valueOf(12345));
+        assertEquals(snapshot.getDoubleProperty("collection/groupC/doubleProp2", null), Double.valueOf(12345.001));
+        assertEquals(snapshot.getStringProperty("collection/groupB/boolProp1", null), "true");
+        assertEquals(snapshot.getIntProperty("collection/notFound", 7), Integer.valueOf(7));
+
+        // the property group is the tenant's, it isn't merged with the default
+        PropertyGroup groupA = snapshot.getPropertyGroup("collection/groupA");
+        assertNotNull(groupA);
+        assertNull(groupA.getStringProperty("stringProp2"));
+
+        // the default datasources are not visible to other tenants
+        assertNull(snapshot.getPropertyGroup("fhirServer/persistence/datasources/default"));
+        assertNotNull(snapshot.getPropertyGroup("fhirServer/persistence/datasources/not_default"));
+    }
+
+    @Test
+    public void testUnknownTenant() {
+        ConfigurationSnapshot snapshot = FHIRConfiguration.getInstance().getConfigurationSnapshot("unknownTenant");
+        assertEquals(snapshot.getStringProperty("collection/tenant", null), "default");
+        assertNull(snapshot.getPropertyGroup("fhirServer/persistence/datasources/default"));
+
+        ConfigurationSnapshot defaultSnapshot = FHIRConfiguration.getInstance().getConfigurationSnapshot(FHIRConfiguration.DEFAULT_TENANT_ID);
+        assertNotNull(defaultSnapshot.getPropertyGroup("fhirServer/persistence/datasources/default"));
+    }
+
+    @Test
+    public void testCompiledOnce() {
+        ConfigurationSnapshot snapshot = FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant2");
+        assertSame(FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant2"), snapshot);
+        assertSame(snapshot.getPropertyGroup("collection"), snapshot.getPropertyGroup("collection"));
+    }
+
+    @Test
+    public void testRecompiledAfterClear() {
+        ConfigurationSnapshot snapshot = FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant2");
+
+        // the snapshot is reused until the config files are checked again, unless the configuration is cleared
+        FHIRConfiguration.getInstance().clearConfiguration();
+        ConfigurationSnapshot recompiled = FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant2");
+        assertNotSame(recompiled, snapshot);
+        assertEquals(recompiled.getStringProperty("collection/tenant", null), snapshot.getStringProperty("collection/tenant", null));
+        assertSame(FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant2"), recompiled);
+    }
+
+    @Test
+    public void testImmutableList() {
+        List<String> list = FHIRConfiguration.getInstance().getConfigurationSnapshot("tenant1").getStringListProperty("collection/groupB/stringList1");
+        try {
+            list.set(0, "changed");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConversionErrors() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.compile(new PropertyGroup(parse("{\"a\": {\"b\": \"text\", \"c\": null, \"d/e\": 1}}")), null);
+        try {
+            snapshot.getIntProperty("a/b", null);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "Unexpected error converting property 'a/b' to native type.");
+        }
+        try {
+            snapshot.getStringProperty("a/c", null);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "Unexpected error converting property 'a/c' to native type.");
+        }
+        assertNull(snapshot.getIntProperty("a/d/e", null));
+    }
+
+    @Test
+    public void testCompile() {
+        PropertyGroup tenantConfig = new PropertyGroup(parse("{\"a\": \"1\"}"));
+        PropertyGroup defaultConfig = new PropertyGroup(parse("{\"a\": \"0\", \"b\": \"0\"}"));
+        ConfigurationSnapshot snapshot1 = ConfigurationSnapshot.compile(tenantConfig, defaultConfig);
+        ConfigurationSnapshot snapshot2 = ConfigurationSnapshot.compile(new PropertyGroup(parse("{\"a\": \"2\"}")), defaultConfig);
+        assertEquals(snapshot1.getStringProperty("a", null), "1");
+        assertEquals(snapshot1.getStringProperty("b", null), "0");
+        assertEquals(snapshot2.getStringProperty("a", null), "2");
+    }
+
+    private static JsonObject parse(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -63,6 +63,28 @@ public interface FHIRPagingContext {
      */
     void setTotalCount(int totalCount);
 
+    /**
+     * @return the opaque cursor (from the {@code _cursor} parameter) which positions the current page, or null
+     * @implSpec the cursor is created by the persistence layer; when it is missing or does not match the current
+     *           page number and page size, the page is located by its offset instead
+     */
+    String getPageCursor();
+
+    /**
+     * @param pageCursor the opaque cursor which positions the current page
+     */
+    void setPageCursor(String pageCursor);
+
+    /**
+     * @return the opaque cursor which positions the next page, or null if the persistence layer did not provide one
+     */
+    String getNextPageCursor();
+
+    /**
+     * @param nextPageCursor the opaque cursor which positions the next page
+     */
+    void setNextPageCursor(String nextPageCursor);
+
     /**
      * @return whether the request should be handled with leniency
      */
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -18,6 +18,8 @@ public class FHIRPagingContextImpl implements FHIRPagingContext {
     protected int pageSize;
     protected int totalCount;
     protected boolean lenient = true;
+    protected String pageCursor;
+    protected String nextPageCursor;
 
     /**
      * Create a FHIRPagingContextImpl with the default values:
@@ -73,6 +75,26 @@ public class FHIRPagingContextImpl implements FHIRPagingContext {
         this.totalCount = totalCount;
     }
 
+    @Override
+    public String getPageCursor() {
+        return pageCursor;
+    }
+
+    @Override
+    public void setPageCursor(String pageCursor) {
+        this.pageCursor = pageCursor;
+    }
+
+    @Override
+    public String getNextPageCursor() {
+        return nextPageCursor;
+    }
+
+    @Override
+    public void setNextPageCursor(String nextPageCursor) {
+        this.nextPageCursor = nextPageCursor;
+    }
+
     @Override
     public boolean isLenient() {
         return lenient;
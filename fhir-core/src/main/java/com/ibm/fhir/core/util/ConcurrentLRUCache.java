@@ -0,0 +1,258 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.core.util;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache which approximates Least Recently Used (LRU) eviction
+ * using the CLOCK (second chance) algorithm.
+ *
+ * <p>Lookups never lock: entries are held in a {@link ConcurrentHashMap} and a read only marks
+ * the entry as recently used. When a new key is added, a clock hand sweeps a fixed-size ring
+ * of slots, clearing the mark on recently used entries and evicting the first entry which
+ * has not been used since the hand last passed it.
+ *
+ * <p>The number of entries may briefly exceed maxEntries while concurrent puts are in progress.
+ * Computing functions passed to {@link #computeIfAbsent(Object, Function)} are not called under
+ * a lock, so they may be called more than once for the same key by concurrent callers.
+ * Null keys and values are not permitted.
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractMap<K, V> {
+    private final int maxEntries;
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+
+    // The ring of slots swept by the clock hand; a slot holds the node admitted at that position
+    private final AtomicReferenceArray<Node<K, V>> slots;
+    private final AtomicInteger hand = new AtomicInteger();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Object> VALUE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "value");
+
+    private static final class Node<K, V> {
+        private final K key;
+        // not private, so that it can be updated by VALUE_UPDATER
+        volatile V value;
+
+        // set on access and cleared by the clock hand
+        private volatile boolean referenced;
+
+        // set when the node is removed from the map by remove() or clear()
+        private volatile boolean removed;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Public constructor
+     * @param maxEntries the maximum number of entries held by this cache
+     */
+    public ConcurrentLRUCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1");
+        }
+        this.maxEntries = maxEntries;
+        this.map = new ConcurrentHashMap<>(maxEntries);
+        this.slots = new AtomicReferenceArray<>(maxEntries);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        // avoid writing to the node (and invalidating its cache line) if it is already marked
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        hitCount.increment();
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> existing = map.putIfAbsent(key, node);
+        if (existing == null) {
+            admit(node);
+            return null;
+        }
+        V previous = existing.value;
+        existing.value = value;
+        existing.referenced = true;
+        return previous;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node = new Node<>(key, value);
+        Node<K, V> existing = map.putIfAbsent(key, node);
+        if (existing == null) {
+            admit(node);
+            return null;
+        }
+        existing.referenced = true;
+        return existing.value;
+    }
+
+    /**
+     * Atomically replace the value for the key, but only if it is currently mapped to the given value
+     * (compared by identity).
+     * @param key
+     * @param oldValue the expected current value
+     * @param newValue
+     * @return true if the value was replaced
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        Node<K, V> node = map.get(key);
+        if (node == null || !VALUE_UPDATER.compareAndSet(node, oldValue, newValue)) {
+            return false;
+        }
+        node.referenced = true;
+        return true;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                V existing = putIfAbsent(key, value);
+                if (existing != null) {
+                    // another thread got there first
+                    return existing;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = map.remove(key);
+        if (node == null) {
+            return null;
+        }
+        node.removed = true;
+        return node.value;
+    }
+
+    @Override
+    public void clear() {
+        // Empty the slots before the map so that a concurrent put can't leave
+        // an entry in the map without a slot (which would never be evicted)
+        for (int i = 0; i < slots.length(); i++) {
+            Node<K, V> node = slots.getAndSet(i, null);
+            if (node != null) {
+                node.removed = true;
+            }
+        }
+        map.clear();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns a snapshot of the entries in this cache. Changes to the cache are not reflected
+     * in the returned set, and the returned set cannot be modified.
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = new HashSet<>();
+        for (Node<K, V> node : map.values()) {
+            entries.add(new SimpleImmutableEntry<>(node.key, node.value));
+        }
+        return Collections.unmodifiableSet(entries);
+    }
+
+    /**
+     * Place the newly added node in the ring, evicting the first entry found by the clock
+     * hand which hasn't been used since the hand last passed it.
+     * @param node
+     */
+    private void admit(Node<K, V> node) {
+        while (true) {
+            int index = Math.floorMod(hand.getAndIncrement(), maxEntries);
+            Node<K, V> current = slots.get(index);
+            if (current != null && !current.removed && current.referenced) {
+                // give it a second chance
+                current.referenced = false;
+                continue;
+            }
+            if (slots.compareAndSet(index, current, node)) {
+                if (current != null && !current.removed && map.remove(current.key, current)) {
+                    evictionCount.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the maximum number of entries held by this cache
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Object)} which found an entry
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Object)} which did not find an entry
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of entries evicted to make room for new entries
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+}
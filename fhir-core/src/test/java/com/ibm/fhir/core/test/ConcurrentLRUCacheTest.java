@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.core.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+
+/**
+ * Unit tests for {@link ConcurrentLRUCache}
+ */
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void testCache() {
+        // cache with an LRU size of 2
+        ConcurrentLRUCache<String,Long> cache = new ConcurrentLRUCache<>(2);
+        cache.put("system1", 1L);
+        cache.put("system2", 2L);
+
+        assertEquals(1L, (long)cache.get("system1"));
+        assertEquals(2L, (long)cache.get("system2"));
+
+        LinkedHashMap<String,Long> updates = new LinkedHashMap<>();
+        updates.put("system1", 1L);
+        updates.put("system2", 2L);
+
+        cache.putAll(updates);
+        updates.clear();
+
+        // Check we still have stuff in the cache
+        assertEquals(1L, (long)cache.get("system1"));
+        assertEquals(2L, (long)cache.get("system2"));
+
+        // Add a new value to the updates. Should push out system1
+        updates.put("system3", 3L);
+        cache.putAll(updates);
+        updates.clear();
+        assertEquals(2L, (long)cache.get("system2"));
+        assertEquals(3L, (long)cache.get("system3"));
+        assertNull(cache.get("system1"));
+
+        // put back system1, should lose system2
+        updates.put("system1", 1L);
+        cache.putAll(updates);
+        assertEquals(1L, (long)cache.get("system1"));
+        assertEquals(3L, (long)cache.get("system3"));
+        assertNull(cache.get("system2"));
+
+        assertEquals(2, cache.size());
+        assertEquals(8L, cache.getHitCount());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(2L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        ConcurrentLRUCache<String,Long> cache = new ConcurrentLRUCache<>(2);
+        cache.put("system1", 1L);
+        cache.put("system2", 2L);
+
+        assertEquals(1L, (long)cache.remove("system1"));
+        assertNull(cache.get("system1"));
+
+        // the slot freed by the remove is reused without an eviction
+        cache.put("system3", 3L);
+        assertEquals(2L, (long)cache.get("system2"));
+        assertEquals(3L, (long)cache.get("system3"));
+        assertEquals(0L, cache.getEvictionCount());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertNull(cache.get("system2"));
+
+        cache.put("system4", 4L);
+        assertEquals(4L, (long)cache.computeIfAbsent("system4", k -> 5L));
+        assertEquals(6L, (long)cache.computeIfAbsent("system6", k -> 6L));
+        assertEquals(2, cache.size());
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testReplace() {
+        ConcurrentLRUCache<String,Long> cache = new ConcurrentLRUCache<>(2);
+        Long one = 1L;
+        Long two = 2L;
+        assertFalse(cache.replace("system1", one, two));
+        assertNull(cache.get("system1"));
+
+        cache.put("system1", one);
+        assertFalse(cache.replace("system1", two, 3L));
+        assertTrue(cache.replace("system1", one, two));
+        assertEquals(2L, (long)cache.get("system1"));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int maxEntries = 64;
+        ConcurrentLRUCache<Integer,Integer> cache = new ConcurrentLRUCache<>(maxEntries);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        Integer key = ThreadLocalRandom.current().nextInt(256);
+                        Integer value = cache.computeIfAbsent(key, k -> k * 2);
+                        assertEquals(key * 2, (int)value);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= maxEntries, "size: " + cache.size());
+        assertEquals(cache.getHitCount() + cache.getMissCount(), 80000L);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -89,6 +89,30 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
         }
     }
 
+    /**
+     * Generate the passed visitable to an existing JsonGenerator. The JsonGenerator is flushed but not closed.
+     *
+     * <p>This allows the model to be written to a JsonGenerator implementation which produces something other than
+     * JSON text (e.g. a binary encoding of the same structure).
+     *
+     * @param visitable
+     *     the resource or element to generate
+     * @param generator
+     *     the JsonGenerator to write to
+     * @throws FHIRGeneratorException
+     *     if an exception occurs during generation
+     */
+    public void generate(Visitable visitable, JsonGenerator generator) throws FHIRGeneratorException {
+        GeneratingVisitor visitor = null;
+        try {
+            visitor = new JsonGeneratingVisitor(generator);
+            visitable.accept(visitor);
+            generator.flush();
+        } catch (Exception e) {
+            throw new FHIRGeneratorException(e.getMessage(), (visitor != null) ? visitor.getPath() : null, e);
+        }
+    }
+
     @Override
     public boolean isPrettyPrinting() {
         return prettyPrinting;
@@ -103,13 +127,28 @@ public class FHIRJsonGenerator extends FHIRAbstractGenerator {
             
             @Override
             public void write(int b) throws IOException {
-                if (first && b == '\n') {
+                if (first) {
                     first = false;
-                    return;
+                    if (b == '\n') {
+                        return;
+                    }
                 }
                 out.write(b);
             }
-            
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                // pass the generator's buffer through in one call instead of byte by byte
+                if (first && len > 0) {
+                    first = false;
+                    if (b[off] == '\n') {
+                        off++;
+                        len--;
+                    }
+                }
+                out.write(b, off, len);
+            }
+
             @Override
             public void close() {
                 // do nothing
@@ -11,8 +11,10 @@ import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.Resource;
 
 public abstract class FHIRAbstractParser implements FHIRParser {
@@ -23,6 +25,12 @@ public abstract class FHIRAbstractParser implements FHIRParser {
     
     @Override
     public abstract <T extends Resource> T parse(Reader reader) throws FHIRParserException;
+
+    @Override
+    public abstract Bundle parseBundleEntries(InputStream in, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException;
+
+    @Override
+    public abstract Bundle parseBundleEntries(Reader reader, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException;
     
     @Override
     public void setProperty(String name, Object value) {
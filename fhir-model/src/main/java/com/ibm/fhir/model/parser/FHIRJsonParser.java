@@ -17,19 +17,27 @@ import static com.ibm.fhir.model.util.ModelSupport.getChoiceElementName;
 import java.io.InputStream;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
 import java.util.Stack;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 import javax.annotation.Generated;
 import javax.json.Json;
 import javax.json.JsonArray;
+import javax.json.JsonBuilderFactory;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonString;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 
 import com.ibm.fhir.model.parser.FHIRParser;
 import com.ibm.fhir.model.parser.FHIRAbstractParser;
@@ -49,8 +57,11 @@ import net.jcip.annotations.NotThreadSafe;
 public class FHIRJsonParser extends FHIRAbstractParser {
     public static boolean DEBUG = false;
     private static final JsonReaderFactory JSON_READER_FACTORY = Json.createReaderFactory(null);
+    private static final JsonParserFactory JSON_PARSER_FACTORY = Json.createParserFactory(null);
+    private static final JsonBuilderFactory JSON_BUILDER_FACTORY = Json.createBuilderFactory(null);
 
     private final Stack<java.lang.String> stack = new Stack<>();
+    private Consumer<Bundle.Entry> entryConsumer;
 
     FHIRJsonParser() {
         // only visible to subclasses or classes/interfaces in the same package (e.g. FHIRParser)
@@ -62,6 +73,15 @@ public class FHIRJsonParser extends FHIRAbstractParser {
     }
 
     public <T extends Resource> T parseAndFilter(InputStream in, Collection<java.lang.String> elementsToInclude) throws FHIRParserException {
+        if (isStreamingBundleEntries()) {
+            try (JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8)) {
+                return parseAndFilter(jsonParser, elementsToInclude);
+            } catch (FHIRParserException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FHIRParserException(e.getMessage(), getPath(), e);
+            }
+        }
         try (JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingInputStream(in), StandardCharsets.UTF_8)) {
             JsonObject jsonObject = jsonReader.readObject();
             return parseAndFilter(jsonObject, elementsToInclude);
@@ -78,6 +98,15 @@ public class FHIRJsonParser extends FHIRAbstractParser {
     }
 
     public <T extends Resource> T parseAndFilter(Reader reader, Collection<java.lang.String> elementsToInclude) throws FHIRParserException {
+        if (isStreamingBundleEntries()) {
+            try (JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader))) {
+                return parseAndFilter(jsonParser, elementsToInclude);
+            } catch (FHIRParserException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FHIRParserException(e.getMessage(), getPath(), e);
+            }
+        }
         try (JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingReader(reader))) {
             JsonObject jsonObject = jsonReader.readObject();
             return parseAndFilter(jsonObject, elementsToInclude);
@@ -107,6 +136,136 @@ public class FHIRJsonParser extends FHIRAbstractParser {
         }
     }
 
+    @Override
+    public Bundle parseBundleEntries(InputStream in, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException {
+        try (JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8)) {
+            return parseBundleEntries(jsonParser, entryConsumer);
+        } catch (FHIRParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        }
+    }
+
+    @Override
+    public Bundle parseBundleEntries(Reader reader, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException {
+        try (JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader))) {
+            return parseBundleEntries(jsonParser, entryConsumer);
+        } catch (FHIRParserException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        }
+    }
+
+    public Bundle parseBundleEntries(JsonParser jsonParser, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException {
+        try {
+            reset();
+            this.entryConsumer = Objects.requireNonNull(entryConsumer);
+            Bundle bundle = (Bundle) parseResource(jsonParser, null);
+            if (!bundle.getEntry().isEmpty()) {
+                // entries that precede the resourceType element are parsed with the rest of the bundle
+                bundle.getEntry().forEach(entryConsumer);
+                bundle = bundle.toBuilder().entry(Collections.emptyList()).build();
+            }
+            return bundle;
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            this.entryConsumer = null;
+        }
+    }
+
+    public <T extends Resource> T parse(JsonParser jsonParser) throws FHIRParserException {
+        return parseAndFilter(jsonParser, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> T parseAndFilter(JsonParser jsonParser, Collection<java.lang.String> elementsToInclude) throws FHIRParserException {
+        try {
+            reset();
+            return (T) parseResource(jsonParser, elementsToInclude);
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        }
+    }
+
+    private Resource parseResource(JsonParser jsonParser, Collection<java.lang.String> elementsToInclude) {
+        if (!jsonParser.hasNext() || jsonParser.next() != JsonParser.Event.START_OBJECT) {
+            throw new IllegalArgumentException("Expected: OBJECT at the start of the input");
+        }
+        JsonObjectBuilder objectBuilder = JSON_BUILDER_FACTORY.createObjectBuilder();
+        Class<?> resourceType = null;
+        ElementFilter elementFilter = null;
+        java.util.List<Bundle.Entry> entries = null;
+        while (jsonParser.next() == JsonParser.Event.KEY_NAME) {
+            java.lang.String key = jsonParser.getString();
+            JsonParser.Event event = jsonParser.next();
+            if (elementFilter != null && !elementFilter.includes(key)) {
+                skipValue(jsonParser, event);
+                continue;
+            }
+            if (resourceType == Bundle.class && "entry".equals(key) && event == JsonParser.Event.START_ARRAY) {
+                entries = parseBundleEntryArray(jsonParser);
+                continue;
+            }
+            if ("resourceType".equals(key) && event == JsonParser.Event.VALUE_STRING) {
+                resourceType = getResourceType(jsonParser.getString());
+                if (entryConsumer != null && resourceType != Bundle.class) {
+                    throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: '" + resourceType.getSimpleName() + "'");
+                }
+                if (elementsToInclude != null) {
+                    elementFilter = new ElementFilter(resourceType, elementsToInclude);
+                }
+            }
+            objectBuilder.add(key, jsonParser.getValue());
+        }
+        JsonObject jsonObject = objectBuilder.build();
+        if (resourceType == null) {
+            resourceType = getResourceType(jsonObject);
+            if (entryConsumer != null && resourceType != Bundle.class) {
+                throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: '" + resourceType.getSimpleName() + "'");
+            }
+        }
+        if (elementsToInclude != null) {
+            jsonObject = new ElementFilter(resourceType, elementsToInclude).apply(jsonObject);
+        }
+        Resource resource = parseResource(resourceType.getSimpleName(), jsonObject, -1);
+        if (entries != null) {
+            resource = ((Bundle) resource).toBuilder().entry(entries).build();
+        }
+        return resource;
+    }
+
+    private java.util.List<Bundle.Entry> parseBundleEntryArray(JsonParser jsonParser) {
+        java.util.List<Bundle.Entry> entries = new ArrayList<>();
+        stackPush("Bundle", -1);
+        int elementIndex = 0;
+        JsonParser.Event event = jsonParser.next();
+        while (event != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                throw new IllegalArgumentException("Expected: OBJECT but found: " + event + " for element: entry");
+            }
+            Bundle.Entry entry = parseBundleEntry("entry", jsonParser.getObject(), elementIndex++);
+            if (entryConsumer != null) {
+                entryConsumer.accept(entry);
+            } else {
+                entries.add(entry);
+            }
+            event = jsonParser.next();
+        }
+        stackPop();
+        return entries;
+    }
+
+    private void skipValue(JsonParser jsonParser, JsonParser.Event event) {
+        if (event == JsonParser.Event.START_OBJECT) {
+            jsonParser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            jsonParser.skipArray();
+        }
+    }
+
     private void reset() {
         stack.clear();
     }
@@ -116,9 +275,26 @@ public class FHIRJsonParser extends FHIRAbstractParser {
         if (FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS.equals(name)) {
             return true;
         }
+        if (FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES.equals(name)) {
+            return true;
+        }
+        if (FHIRParser.PROPERTY_INTERN_PRIMITIVES.equals(name)) {
+            return true;
+        }
         return false;
     }
 
+    private boolean isStreamingBundleEntries() {
+        return getPropertyOrDefault(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, java.lang.Boolean.FALSE, java.lang.Boolean.class);
+    }
+
+    private <T extends Element> T intern(T element) {
+        if (getPropertyOrDefault(FHIRParser.PROPERTY_INTERN_PRIMITIVES, java.lang.Boolean.FALSE, java.lang.Boolean.class)) {
+            return PrimitivePool.intern(element);
+        }
+        return element;
+    }
+
     private Resource parseResource(java.lang.String elementName, JsonObject jsonObject, int elementIndex) {
         if (jsonObject == null) {
             return null;
@@ -18999,7 +19175,7 @@ public class FHIRJsonParser extends FHIRAbstractParser {
             throw new IllegalArgumentException("Expected: STRING but found: " + jsonValue.getValueType() + " for element: " + elementName);
         }
         stackPop();
-        return builder.build();
+        return intern(builder.build());
     }
 
     private String parseString(java.lang.String elementName, JsonValue jsonValue, JsonValue _jsonValue, int elementIndex) {
@@ -21823,7 +21999,7 @@ public class FHIRJsonParser extends FHIRAbstractParser {
             throw new IllegalArgumentException("Expected: STRING but found: " + jsonValue.getValueType() + " for element: " + elementName);
         }
         stackPop();
-        return builder.build();
+        return intern(builder.build());
     }
 
     private Uri parseUri(java.lang.String elementName, JsonValue jsonValue, JsonValue _jsonValue, int elementIndex) {
@@ -8,9 +8,11 @@ package com.ibm.fhir.model.parser;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.function.Consumer;
 
 import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.Resource;
 
 /**
@@ -21,6 +23,22 @@ public interface FHIRParser {
      * Property name for a property that controls whether the parser will ignore or throw an exception on unrecognized elements
      */
     public static final String PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS = "com.ibm.fhir.model.parser.ignoreUnrecognizedElements";
+
+    /**
+     * Property name for a property that controls whether the JSON parser reads the entries of a Bundle one at a time
+     * instead of first reading the entire input into an in-memory tree (JSON only)
+     *
+     * <p>Each entry is still read into a JSON tree of its own before it is converted, as are the other top-level
+     * elements of the resource, so this only reduces the peak memory used to parse a Bundle with many entries.
+     * Resources other than Bundle are parsed the same way with or without it.
+     */
+    public static final String PROPERTY_STREAM_BUNDLE_ENTRIES = "com.ibm.fhir.model.parser.streamBundleEntries";
+
+    /**
+     * Property name for a property that controls whether the parser returns shared instances, from a bounded pool,
+     * for frequently repeated primitive elements without an id or extensions (e.g. coding systems, codes and units)
+     */
+    public static final String PROPERTY_INTERN_PRIMITIVES = "com.ibm.fhir.model.parser.internPrimitives";
     
     /**
      * Read a resource from the passed InputStream. This method does not close the passed InputStream.
@@ -44,6 +62,32 @@ public interface FHIRParser {
      */
     <T extends Resource> T parse(Reader reader) throws FHIRParserException;
 
+    /**
+     * Read a Bundle from the passed InputStream and pass each of its entries to the entry consumer as soon as
+     * the entry has been parsed. The entries are not added to the returned Bundle, so the memory needed to process
+     * the Bundle is bounded by the size of its largest entry rather than the size of the Bundle.
+     * This method does not close the passed InputStream.
+     * 
+     * @param in
+     * @param entryConsumer
+     * @return the Bundle without its entries
+     * @throws FHIRParserException if the InputStream does not contain a valid Bundle or the entry consumer fails
+     */
+    Bundle parseBundleEntries(InputStream in, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException;
+
+    /**
+     * Read a Bundle using the passed Reader and pass each of its entries to the entry consumer as soon as
+     * the entry has been parsed. The entries are not added to the returned Bundle, so the memory needed to process
+     * the Bundle is bounded by the size of its largest entry rather than the size of the Bundle.
+     * This method does not close the passed Reader.
+     * 
+     * @param reader
+     * @param entryConsumer
+     * @return the Bundle without its entries
+     * @throws FHIRParserException if the Reader does not contain a valid Bundle or the entry consumer fails
+     */
+    Bundle parseBundleEntries(Reader reader, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException;
+
     /**
      * Set the property with the given name to the passed value
      * 
@@ -16,8 +16,10 @@ import static com.ibm.fhir.model.util.XMLSupport.requireNamespace;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Objects;
 import java.util.Stack;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 
 import javax.annotation.Generated;
 import javax.xml.stream.XMLStreamException;
@@ -41,6 +43,7 @@ public class FHIRXMLParser extends FHIRAbstractParser {
     public static boolean DEBUG = false;
 
     private final Stack<java.lang.String> stack = new Stack<>();
+    private Consumer<Bundle.Entry> entryConsumer;
 
     FHIRXMLParser() {
         // only visible to subclasses or classes/interfaces in the same package (e.g. FHIRParser)
@@ -84,10 +87,75 @@ public class FHIRXMLParser extends FHIRAbstractParser {
         }
     }
 
+    @Override
+    public Bundle parseBundleEntries(InputStream in, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException {
+        try (StreamReaderDelegate delegate = createStreamReaderDelegate(in)) {
+            reset();
+            this.entryConsumer = Objects.requireNonNull(entryConsumer);
+            while (delegate.hasNext()) {
+                int eventType = delegate.next();
+                switch (eventType) {
+                case XMLStreamReader.START_ELEMENT:
+                    requireNamespace(delegate, FHIR_NS_URI);
+                    java.lang.String resourceType = getResourceType(delegate);
+                    if (!"Bundle".equals(resourceType)) {
+                        throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: '" + resourceType + "'");
+                    }
+                    return parseBundle(resourceType, delegate, -1);
+                }
+            }
+            throw new XMLStreamException("Unexpected end of stream");
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            this.entryConsumer = null;
+        }
+    }
+
+    @Override
+    public Bundle parseBundleEntries(Reader reader, Consumer<Bundle.Entry> entryConsumer) throws FHIRParserException {
+        try (StreamReaderDelegate delegate = createStreamReaderDelegate(reader)) {
+            reset();
+            this.entryConsumer = Objects.requireNonNull(entryConsumer);
+            while (delegate.hasNext()) {
+                int eventType = delegate.next();
+                switch (eventType) {
+                case XMLStreamReader.START_ELEMENT:
+                    requireNamespace(delegate, FHIR_NS_URI);
+                    java.lang.String resourceType = getResourceType(delegate);
+                    if (!"Bundle".equals(resourceType)) {
+                        throw new IllegalArgumentException("Expected resource type: 'Bundle' but found: '" + resourceType + "'");
+                    }
+                    return parseBundle(resourceType, delegate, -1);
+                }
+            }
+            throw new XMLStreamException("Unexpected end of stream");
+        } catch (Exception e) {
+            throw new FHIRParserException(e.getMessage(), getPath(), e);
+        } finally {
+            this.entryConsumer = null;
+        }
+    }
+
     private void reset() {
         stack.clear();
     }
 
+    @Override
+    public boolean isPropertySupported(java.lang.String name) {
+        if (FHIRParser.PROPERTY_INTERN_PRIMITIVES.equals(name)) {
+            return true;
+        }
+        return false;
+    }
+
+    private <T extends Element> T intern(T element) {
+        if (getPropertyOrDefault(FHIRParser.PROPERTY_INTERN_PRIMITIVES, java.lang.Boolean.FALSE, java.lang.Boolean.class)) {
+            return PrimitivePool.intern(element);
+        }
+        return element;
+    }
+
     private Resource parseResource(java.lang.String elementName, XMLStreamReader reader, int elementIndex) throws XMLStreamException {
         if (isResourceContainer(elementName)) {
             reader.nextTag();
@@ -2978,7 +3046,11 @@ public class FHIRXMLParser extends FHIRAbstractParser {
                     break;
                 case "entry":
                     position = checkElementOrder("entry", 9, position, true);
-                    builder.entry(parseBundleEntry("entry", reader, entryElementIndex++));
+                    if (entryConsumer != null && stack.size() == 1) {
+                        entryConsumer.accept(parseBundleEntry("entry", reader, entryElementIndex++));
+                    } else {
+                        builder.entry(parseBundleEntry("entry", reader, entryElementIndex++));
+                    }
                     break;
                 case "signature":
                     position = checkElementOrder("signature", 10, position, false);
@@ -42355,7 +42427,7 @@ public class FHIRXMLParser extends FHIRAbstractParser {
             case XMLStreamReader.END_ELEMENT:
                 if (reader.getLocalName().equals(elementName)) {
                     stackPop();
-                    return builder.build();
+                    return intern(builder.build());
                 }
                 break;
             }
@@ -49950,7 +50022,7 @@ public class FHIRXMLParser extends FHIRAbstractParser {
             case XMLStreamReader.END_ELEMENT:
                 if (reader.getLocalName().equals(elementName)) {
                     stackPop();
-                    return builder.build();
+                    return intern(builder.build());
                 }
                 break;
             }
@@ -0,0 +1,60 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.parser;
+
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+import com.ibm.fhir.model.type.Canonical;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Element;
+import com.ibm.fhir.model.type.String;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.Url;
+
+/**
+ * A bounded pool, shared by all parsers, of the immutable primitive elements which tend to repeat across resources
+ * (coding systems, codes, units and displays), so that a parser with {@link FHIRParser#PROPERTY_INTERN_PRIMITIVES}
+ * set returns a shared instance instead of a new one for each occurrence.
+ *
+ * <p>Only elements without an id or extensions, whose value is short, are pooled. Identifiers and free text
+ * (Id, Oid, Uuid, Markdown) are never pooled. The least recently used entries are evicted when the pool is full.
+ */
+final class PrimitivePool {
+    private static final int MAX_ENTRIES = 16384;
+    private static final int MAX_VALUE_LENGTH = 128;
+
+    private static final ConcurrentLRUCache<Element, Element> POOL = new ConcurrentLRUCache<>(MAX_ENTRIES);
+
+    private PrimitivePool() { }
+
+    /**
+     * @return the pooled instance equal to the passed element, if the element can be pooled; otherwise the passed element
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Element> T intern(T element) {
+        if (element == null || !isPoolable(element)) {
+            return element;
+        }
+        Element pooled = POOL.putIfAbsent(element, element);
+        return (pooled != null) ? (T) pooled : element;
+    }
+
+    private static boolean isPoolable(Element element) {
+        if (element.getId() != null || !element.getExtension().isEmpty()) {
+            return false;
+        }
+        java.lang.String value;
+        Class<?> type = element.getClass();
+        if (type == String.class || element instanceof Code) {
+            value = ((String) element).getValue();
+        } else if (type == Uri.class || type == Canonical.class || type == Url.class) {
+            value = ((Uri) element).getValue();
+        } else {
+            return false;
+        }
+        return value != null && value.length() <= MAX_VALUE_LENGTH;
+    }
+}
@@ -38,6 +38,10 @@ public class ElementFilter implements Function<JsonObject, JsonObject> {
         includeElements.addAll(elements);
     }
 
+    public boolean includes(String elementName) {
+        return includeElements.contains(elementName);
+    }
+
     @Override
     public JsonObject apply(JsonObject jsonObject) {
         JsonObjectBuilder builder = BUILDER_FACTORY.createObjectBuilder();
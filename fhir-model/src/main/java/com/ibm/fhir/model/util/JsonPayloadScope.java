@@ -0,0 +1,189 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Parameters;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.visitor.Visitable;
+
+/**
+ * Remembers the JSON which resources were parsed from, so that a resource which is returned unchanged can be
+ * written without generating its JSON again.
+ *
+ * <p>A scope is opened on the thread which handles a request. Code which parses a resource from stored JSON
+ * registers the JSON with the scope, and code which writes the response looks it up. Resources are matched by
+ * identity rather than equality: model objects are immutable, so a resource which has been changed in any way
+ * is a different object and is generated as usual.
+ */
+public final class JsonPayloadScope {
+    private static final ThreadLocal<JsonPayloadScope> currentScope = new ThreadLocal<>();
+
+    private final Map<Resource, byte[]> payloads = new IdentityHashMap<>();
+
+    // Identifies the placeholders which stand in for registered JSON while a skeleton is generated
+    private String token;
+
+    private JsonPayloadScope() { }
+
+    /**
+     * Open a new scope on the current thread, replacing any scope which is already open.
+     *
+     * @return the scope
+     */
+    public static JsonPayloadScope open() {
+        JsonPayloadScope scope = new JsonPayloadScope();
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Close the scope opened on the current thread, discarding the JSON registered with it.
+     */
+    public static void close() {
+        currentScope.remove();
+    }
+
+    /**
+     * @return the scope opened on the current thread, or null if there isn't one
+     */
+    public static JsonPayloadScope current() {
+        return currentScope.get();
+    }
+
+    /**
+     * Register the JSON which a resource was parsed from. This may be called from any thread.
+     *
+     * @param resource the resource
+     * @param json the UTF-8 encoded JSON, which must not be modified afterwards
+     */
+    public synchronized void put(Resource resource, byte[] json) {
+        payloads.put(resource, json);
+    }
+
+    /**
+     * @param resource
+     * @return the UTF-8 encoded JSON which the resource was parsed from, or null if it wasn't registered
+     */
+    public synchronized byte[] get(Resource resource) {
+        return payloads.get(resource);
+    }
+
+    /**
+     * Write the resource as compact JSON using the JSON registered with this scope. A Bundle is generated with
+     * the registered JSON of its entry resources spliced in.
+     *
+     * @param resource the resource to write
+     * @param out the stream to write to
+     * @return true if the resource was written; false if neither the resource nor any of its entry resources was
+     *         registered, in which case nothing was written and the caller must generate the resource itself
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    public boolean write(Resource resource, OutputStream out) throws FHIRGeneratorException, IOException {
+        byte[] json = get(resource);
+        if (json != null) {
+            out.write(json);
+            return true;
+        }
+        if (!(resource instanceof Bundle)) {
+            return false;
+        }
+
+        // Generate the bundle with a placeholder in place of each registered entry resource, and then replace the
+        // placeholders with the registered JSON
+        Bundle bundle = (Bundle) resource;
+        List<Bundle.Entry> entries = new ArrayList<>(bundle.getEntry().size());
+        List<byte[]> entryPayloads = new ArrayList<>();
+        for (Bundle.Entry entry : bundle.getEntry()) {
+            byte[] entryJson = entry.getResource() != null ? get(entry.getResource()) : null;
+            if (entryJson != null) {
+                entries.add(entry.toBuilder().resource(placeholder(entryPayloads.size())).build());
+                entryPayloads.add(entryJson);
+            } else {
+                entries.add(entry);
+            }
+        }
+        if (entryPayloads.isEmpty()) {
+            return false;
+        }
+        return writeSpliced(bundle.toBuilder().entry(entries).build(), entryPayloads, out);
+    }
+
+    /**
+     * Write a Bundle entry as compact JSON, with the JSON registered with this scope for its resource spliced in.
+     *
+     * @param entry the entry to write
+     * @param out the stream to write to
+     * @return true if the entry was written; false if its resource was not registered, in which case nothing was
+     *         written and the caller must generate the entry itself
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    public boolean write(Bundle.Entry entry, OutputStream out) throws FHIRGeneratorException, IOException {
+        byte[] json = entry.getResource() != null ? get(entry.getResource()) : null;
+        if (json == null) {
+            return false;
+        }
+        return writeSpliced(entry.toBuilder().resource(placeholder(0)).build(), Collections.singletonList(json), out);
+    }
+
+    private synchronized Parameters placeholder(int index) {
+        if (token == null) {
+            token = UUID.randomUUID().toString();
+        }
+        return Parameters.builder().id(token + "-" + index).build();
+    }
+
+    /**
+     * Generate the skeleton and write it with the placeholders created by {@link #placeholder(int)}, in order,
+     * replaced by the payloads.
+     */
+    private boolean writeSpliced(Visitable skeletonElement, List<byte[]> payloads, OutputStream out)
+            throws FHIRGeneratorException, IOException {
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON, false).generate(skeletonElement, writer);
+        String skeleton = writer.toString();
+
+        // Find all of the placeholders before writing anything, so that the caller can still fall back
+        int[] starts = new int[payloads.size()];
+        int[] ends = new int[payloads.size()];
+        int from = 0;
+        for (int i = 0; i < starts.length; i++) {
+            String placeholder = "{\"resourceType\":\"Parameters\",\"id\":\"" + token + "-" + i + "\"}";
+            starts[i] = skeleton.indexOf(placeholder, from);
+            if (starts[i] < 0) {
+                return false;
+            }
+            ends[i] = starts[i] + placeholder.length();
+            from = ends[i];
+        }
+
+        from = 0;
+        for (int i = 0; i < starts.length; i++) {
+            out.write(skeleton.substring(from, starts[i]).getBytes(StandardCharsets.UTF_8));
+            out.write(payloads.get(i));
+            from = ends[i];
+        }
+        out.write(skeleton.substring(from).getBytes(StandardCharsets.UTF_8));
+        return true;
+    }
+}
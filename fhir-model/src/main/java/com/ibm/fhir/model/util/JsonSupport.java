@@ -218,7 +218,10 @@ public final class JsonSupport {
         if (resourceTypeString == null) {
             throw new IllegalArgumentException("Missing required element: 'resourceType'");
         }
-        String resourceTypeName = resourceTypeString.getString();
+        return getResourceType(resourceTypeString.getString());
+    }
+
+    public static Class<?> getResourceType(String resourceTypeName) {
         Class<?> resourceType = ModelSupport.getResourceType(resourceTypeName);
         if (resourceType == null) {
             throw new IllegalArgumentException("Invalid resource type: '" + resourceTypeName + "'");
@@ -0,0 +1,266 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.util;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.ibm.fhir.model.annotation.Constraint;
+import com.ibm.fhir.model.type.Element;
+import com.ibm.fhir.model.util.ModelSupport.ElementInfo;
+
+/**
+ * Collects the metadata declared by the generated {@link ModelMetadata} class and builds the lookup tables used by
+ * {@link ModelSupport}, without reflecting over the fields and annotations of the model classes.
+ *
+ * <p>Each model class declares its own elements and constraints; the tables for a model class also include those of
+ * its superclasses, in order from parent to child.
+ */
+final class ModelMetadataBuilder {
+    static final int REQUIRED = 1;
+    static final int SUMMARY = 2;
+    static final int REPEATING = 4;
+    static final int BINDING = 8;
+
+    private static final String[] NO_REFERENCE_TYPES = new String[0];
+
+    private final Map<Class<?>, Class<?>> superClassMap = new LinkedHashMap<>(1024);
+    private final Map<Class<?>, List<ElementInfo>> declaredElementMap = new HashMap<>(1024);
+    private final Map<Class<?>, List<Constraint>> declaredConstraintMap = new HashMap<>(1024);
+
+    private Class<?> modelClass;
+
+    /**
+     * Start the metadata for a model class whose superclass is not a model class.
+     */
+    void modelClass(Class<?> modelClass) {
+        modelClass(modelClass, null);
+    }
+
+    /**
+     * Start the metadata for a model class; the elements and constraints which follow are declared by this class.
+     */
+    void modelClass(Class<?> modelClass, Class<?> superClass) {
+        this.modelClass = modelClass;
+        superClassMap.put(modelClass, superClass);
+        declaredElementMap.put(modelClass, new ArrayList<>());
+        declaredConstraintMap.put(modelClass, new ArrayList<>());
+    }
+
+    void element(String name, Class<?> type, int flags, String... referenceTypes) {
+        declaredElementMap.get(modelClass).add(new ElementInfo(
+                name,
+                type,
+                modelClass,
+                (flags & REQUIRED) != 0,
+                (flags & REPEATING) != 0,
+                false,
+                Collections.emptySet(),
+                referenceTypes.length > 0,
+                toSet(referenceTypes),
+                (flags & BINDING) != 0,
+                (flags & SUMMARY) != 0));
+    }
+
+    void choiceElement(String name, int flags, Class<?>... choiceTypes) {
+        choiceElement(name, flags, NO_REFERENCE_TYPES, choiceTypes);
+    }
+
+    void choiceElement(String name, int flags, String[] referenceTypes, Class<?>... choiceTypes) {
+        declaredElementMap.get(modelClass).add(new ElementInfo(
+                name,
+                Element.class,
+                modelClass,
+                (flags & REQUIRED) != 0,
+                (flags & REPEATING) != 0,
+                true,
+                toSet(choiceTypes),
+                referenceTypes.length > 0,
+                toSet(referenceTypes),
+                (flags & BINDING) != 0,
+                (flags & SUMMARY) != 0));
+    }
+
+    void constraint(String id, String level, String location, String description, String expression) {
+        constraint(id, level, location, description, expression, false, false);
+    }
+
+    void constraint(String id, String level, String location, String description, String expression, boolean modelChecked, boolean generated) {
+        declaredConstraintMap.get(modelClass).add(new ModelConstraint(id, level, location, description, expression, modelChecked, generated));
+    }
+
+    /**
+     * @return the elements of each model class, keyed by element name, in the order in which the model classes were
+     *     declared
+     */
+    Map<Class<?>, Map<String, ElementInfo>> buildElementInfoMap() {
+        Map<Class<?>, Map<String, ElementInfo>> modelClassElementInfoMap = new LinkedHashMap<>(1024);
+        for (Class<?> modelClass : superClassMap.keySet()) {
+            Map<String, ElementInfo> elementInfoMap = new LinkedHashMap<>();
+            for (Class<?> clazz : getClosure(modelClass)) {
+                for (ElementInfo elementInfo : declaredElementMap.get(clazz)) {
+                    elementInfoMap.put(elementInfo.getName(), elementInfo);
+                }
+            }
+            modelClassElementInfoMap.put(modelClass, Collections.unmodifiableMap(elementInfoMap));
+        }
+        return Collections.unmodifiableMap(modelClassElementInfoMap);
+    }
+
+    /**
+     * @return the constraints of each model class, in the order in which the model classes were declared
+     */
+    Map<Class<?>, Set<Constraint>> buildConstraintMap() {
+        Map<Class<?>, Set<Constraint>> modelClassConstraintMap = new LinkedHashMap<>(1024);
+        for (Class<?> modelClass : superClassMap.keySet()) {
+            Set<Constraint> constraints = new LinkedHashSet<>();
+            for (Class<?> clazz : getClosure(modelClass)) {
+                constraints.addAll(declaredConstraintMap.get(clazz));
+            }
+            modelClassConstraintMap.put(modelClass, Collections.unmodifiableSet(constraints));
+        }
+        return Collections.unmodifiableMap(modelClassConstraintMap);
+    }
+
+    /**
+     * @return the model class and its model superclasses, ordered from parent to child
+     */
+    private List<Class<?>> getClosure(Class<?> modelClass) {
+        List<Class<?>> closure = new ArrayList<>();
+        while (modelClass != null) {
+            closure.add(modelClass);
+            modelClass = superClassMap.get(modelClass);
+        }
+        Collections.reverse(closure);
+        return closure;
+    }
+
+    @SafeVarargs
+    private static <T> Set<T> toSet(T... values) {
+        if (values.length == 0) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(values)));
+    }
+
+    /**
+     * A Constraint with the equals and hashCode behavior specified by {@link Annotation}, so that it is
+     * interchangeable with a Constraint annotation read from a model class.
+     */
+    private static final class ModelConstraint implements Constraint {
+        private final String id;
+        private final String level;
+        private final String location;
+        private final String description;
+        private final String expression;
+        private final boolean modelChecked;
+        private final boolean generated;
+
+        private ModelConstraint(String id, String level, String location, String description, String expression, boolean modelChecked, boolean generated) {
+            this.id = id;
+            this.level = level;
+            this.location = location;
+            this.description = description;
+            this.expression = expression;
+            this.modelChecked = modelChecked;
+            this.generated = generated;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Constraint.class;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String level() {
+            return level;
+        }
+
+        @Override
+        public String location() {
+            return location;
+        }
+
+        @Override
+        public String description() {
+            return description;
+        }
+
+        @Override
+        public String expression() {
+            return expression;
+        }
+
+        @Override
+        public boolean modelChecked() {
+            return modelChecked;
+        }
+
+        @Override
+        public boolean generated() {
+            return generated;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Constraint)) {
+                return false;
+            }
+            Constraint other = (Constraint) obj;
+            return Objects.equals(id, other.id()) &&
+                    Objects.equals(level, other.level()) &&
+                    Objects.equals(location, other.location()) &&
+                    Objects.equals(description, other.description()) &&
+                    Objects.equals(expression, other.expression()) &&
+                    modelChecked == other.modelChecked() &&
+                    generated == other.generated();
+        }
+
+        @Override
+        public int hashCode() {
+            return (127 * "id".hashCode() ^ id.hashCode()) +
+                    (127 * "level".hashCode() ^ level.hashCode()) +
+                    (127 * "location".hashCode() ^ location.hashCode()) +
+                    (127 * "description".hashCode() ^ description.hashCode()) +
+                    (127 * "expression".hashCode() ^ expression.hashCode()) +
+                    (127 * "modelChecked".hashCode() ^ Boolean.hashCode(modelChecked)) +
+                    (127 * "generated".hashCode() ^ Boolean.hashCode(generated));
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder()
+                .append("@").append(Constraint.class.getName()).append("(")
+                .append("id=").append(id).append(", ")
+                .append("level=").append(level).append(", ")
+                .append("location=").append(location).append(", ")
+                .append("description=").append(description).append(", ")
+                .append("expression=").append(expression).append(", ")
+                .append("modelChecked=").append(modelChecked).append(", ")
+                .append("generated=").append(generated)
+                .append(")")
+                .toString();
+        }
+    }
+}
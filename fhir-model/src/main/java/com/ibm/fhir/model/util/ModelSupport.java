@@ -6,14 +6,8 @@
 
 package com.ibm.fhir.model.util;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
@@ -34,11 +28,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.ibm.fhir.model.annotation.Binding;
-import com.ibm.fhir.model.annotation.Choice;
 import com.ibm.fhir.model.annotation.Constraint;
-import com.ibm.fhir.model.annotation.ReferenceTarget;
-import com.ibm.fhir.model.annotation.Required;
-import com.ibm.fhir.model.annotation.Summary;
 import com.ibm.fhir.model.annotation.System;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.Address;
@@ -110,12 +100,20 @@ public final class ModelSupport {
     public static final Class<com.ibm.fhir.model.type.String> FHIR_STRING = com.ibm.fhir.model.type.String.class;
 
     private static final Map<Class<?>, Class<?>> CONCRETE_TYPE_MAP = buildConcreteTypeMap();
-    private static final Map<Class<?>, Map<String, ElementInfo>> MODEL_CLASS_ELEMENT_INFO_MAP = buildModelClassElementInfoMap();
+    private static final Map<Class<?>, Map<String, ElementInfo>> MODEL_CLASS_ELEMENT_INFO_MAP;
+    private static final Map<Class<?>, Set<Constraint>> MODEL_CLASS_CONSTRAINT_MAP;
+    static {
+        // The metadata is generated along with the model classes, so that it doesn't need to be read from their
+        // fields and annotations by reflection
+        ModelMetadataBuilder builder = new ModelMetadataBuilder();
+        ModelMetadata.build(builder);
+        MODEL_CLASS_ELEMENT_INFO_MAP = builder.buildElementInfoMap();
+        MODEL_CLASS_CONSTRAINT_MAP = builder.buildConstraintMap();
+    }
     private static final Map<String, Class<? extends Resource>> RESOURCE_TYPE_MAP = buildResourceTypeMap();
     private static final Set<Class<? extends Resource>> CONCRETE_RESOURCE_TYPES = getResourceTypes().stream()
             .filter(rt -> !isAbstract(rt))
             .collect(Collectors.toSet());
-    private static final Map<Class<?>, Set<Constraint>> MODEL_CLASS_CONSTRAINT_MAP = buildModelClassConstraintMap();
     // LinkedHashSet is used just to preserve the order, for convenience only
     private static final Set<Class<? extends Element>> CHOICE_ELEMENT_TYPES = new LinkedHashSet<>(Arrays.asList(
             Base64Binary.class,
@@ -237,9 +235,12 @@ public final class ModelSupport {
         private final Set<Class<?>> choiceTypes;
         private final boolean reference;
         private final Set<String> referenceTypes;
-        private final Binding binding;
+        private final boolean binding;
         private final boolean summary;
 
+        // read from the field on first use
+        private volatile Binding bindingAnnotation;
+
         private final Set<String> choiceElementNames;
 
         ElementInfo(String name,
@@ -251,7 +252,7 @@ public final class ModelSupport {
                 Set<Class<?>> choiceTypes,
                 boolean reference,
                 Set<String> referenceTypes,
-                Binding binding,
+                boolean binding,
                 boolean isSummary) {
             this.name = name;
             this.declaringType = declaringType;
@@ -318,11 +319,24 @@ public final class ModelSupport {
         }
 
         public Binding getBinding() {
-            return binding;
+            if (!binding) {
+                return null;
+            }
+            Binding bindingAnnotation = this.bindingAnnotation;
+            if (bindingAnnotation == null) {
+                for (Field field : declaringType.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && name.equals(getElementName(field))) {
+                        bindingAnnotation = field.getAnnotation(Binding.class);
+                        break;
+                    }
+                }
+                this.bindingAnnotation = bindingAnnotation;
+            }
+            return bindingAnnotation;
         }
 
         public boolean hasBinding() {
-            return (binding != null);
+            return binding;
         }
 
         public Set<String> getChoiceElementNames() {
@@ -345,62 +359,6 @@ public final class ModelSupport {
         return Collections.unmodifiableMap(concreteTypeMap);
     }
 
-    private static Map<Class<?>, Set<Constraint>> buildModelClassConstraintMap() {
-        Map<Class<?>, Set<Constraint>> modelClassConstraintMap = new LinkedHashMap<>(1024);
-        for (Class<?> modelClass : getModelClasses()) {
-            Set<Constraint> constraints = new LinkedHashSet<>();
-            for (Class<?> clazz : getClosure(modelClass)) {
-                for (Constraint constraint : clazz.getDeclaredAnnotationsByType(Constraint.class)) {
-                    constraints.add(constraint);
-                }
-            }
-            modelClassConstraintMap.put(modelClass, Collections.unmodifiableSet(constraints));
-        }
-        return Collections.unmodifiableMap(modelClassConstraintMap);
-    }
-
-    private static Map<Class<?>, Map<String, ElementInfo>> buildModelClassElementInfoMap() {
-        try (InputStream in = ModelSupport.class.getClassLoader().getResourceAsStream("modelClasses")) {
-            Map<Class<?>, Map<String, ElementInfo>> modelClassElementInfoMap = new LinkedHashMap<>(1024);
-            List<String> lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList());
-            for (String className : lines) {
-                Class<?> modelClass = Class.forName(className);
-                Map<String, ElementInfo> elementInfoMap = new LinkedHashMap<>();
-                for (Field field : getAllFields(modelClass)) {
-                    String elementName = getElementName(field);
-                    Class<?> type = getFieldType(field);
-                    Class<?> declaringType = field.getDeclaringClass();
-                    boolean required = isRequired(field);
-                    boolean summary = isSummary(field);
-                    boolean repeating = isRepeating(field);
-                    boolean choice = isChoice(field);
-                    boolean reference = isReference(field);
-                    Binding binding = field.getAnnotation(Binding.class);
-                    Set<Class<?>> choiceTypes = choice ? Collections.unmodifiableSet(getChoiceTypes(field)) : Collections.emptySet();
-                    Set<String> referenceTypes = reference ? Collections.unmodifiableSet(getReferenceTypes(field)) : Collections.emptySet();
-                    elementInfoMap.put(elementName, new ElementInfo(
-                            elementName,
-                            type,
-                            declaringType,
-                            required,
-                            repeating,
-                            choice,
-                            choiceTypes,
-                            reference,
-                            referenceTypes,
-                            binding,
-                            summary
-                        )
-                    );
-                }
-                modelClassElementInfoMap.put(modelClass, Collections.unmodifiableMap(elementInfoMap));
-            }
-            return Collections.unmodifiableMap(modelClassElementInfoMap);
-        } catch (Exception e) {
-            throw new Error(e);
-        }
-    }
-
     @SuppressWarnings("unchecked")
     private static Map<String, Class<? extends Resource>> buildResourceTypeMap() {
         Map<String, Class<? extends Resource>> resourceTypeMap = new LinkedHashMap<>(256);
@@ -412,20 +370,6 @@ public final class ModelSupport {
         return Collections.unmodifiableMap(resourceTypeMap);
     }
 
-    private static List<Field> getAllFields(Class<?> modelClass) {
-        List<Field> fields = new ArrayList<>();
-        for (Class<?> clazz : getClosure(modelClass)) {
-            for (Field field : clazz.getDeclaredFields()) {
-                int modifiers = field.getModifiers();
-                if (Modifier.isStatic(modifiers) || Modifier.isVolatile(modifiers)) {
-                    continue;
-                }
-                fields.add(field);
-            }
-        }
-        return fields;
-    }
-
     /**
      * @param name
      *            the name of the choice element without any type suffix
@@ -467,14 +411,6 @@ public final class ModelSupport {
         return Collections.emptySet();
     }
 
-    private static Set<Class<?>> getChoiceTypes(Field field) {
-        return new LinkedHashSet<>(Arrays.asList(field.getAnnotation(Choice.class).value()));
-    }
-
-    private static Set<String> getReferenceTypes(Field field) {
-        return new LinkedHashSet<>(Arrays.asList(field.getAnnotation(ReferenceTarget.class).value()));
-    }
-
     /**
      * @param modelClass
      *            a model class which represents a FHIR resource or element
@@ -616,15 +552,6 @@ public final class ModelSupport {
         return false;
     }
 
-    private static Class<?> getFieldType(Field field) {
-        Type genericType = field.getGenericType();
-        if (genericType instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType) genericType;
-            return (Class<?>) parameterizedType.getActualTypeArguments()[0];
-        }
-        return field.getType();
-    }
-
     /**
      * @return all model classes, including both resources and elements, concrete and abstract
      */
@@ -704,14 +631,6 @@ public final class ModelSupport {
         return BackboneElement.class.isAssignableFrom(modelClass);
     }
 
-    private static boolean isChoice(Field field) {
-        return field.isAnnotationPresent(Choice.class);
-    }
-
-    private static boolean isReference(Field field) {
-        return field.isAnnotationPresent(com.ibm.fhir.model.annotation.ReferenceTarget.class);
-    }
-
     /**
      * @param modelClass
      *            a model class which represents a FHIR resource or element
@@ -817,10 +736,6 @@ public final class ModelSupport {
         return CONCRETE_TYPE_MAP.containsKey(type);
     }
 
-    private static boolean isRepeating(Field field) {
-        return List.class.equals(field.getType());
-    }
-
     /**
      * @param modelClass
      *            a model class which represents a FHIR resource or element
@@ -837,14 +752,6 @@ public final class ModelSupport {
         return false;
     }
 
-    private static boolean isRequired(Field field) {
-        return field.isAnnotationPresent(Required.class);
-    }
-
-    private static boolean isSummary(Field field) {
-        return field.isAnnotationPresent(Summary.class);
-    }
-
     /**
      * @param modelClass
      *            a model class which represents a FHIR resource or element
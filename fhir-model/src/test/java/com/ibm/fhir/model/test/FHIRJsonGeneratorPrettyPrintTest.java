@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.code.BundleType;
+
+/**
+ * Pretty-printed output written to an OutputStream must match the output written to a Writer
+ */
+public class FHIRJsonGeneratorPrettyPrintTest {
+
+    @Test
+    public void testOutputStreamMatchesWriter() throws Exception {
+        Bundle.Builder builder = Bundle.builder().type(BundleType.SEARCHSET);
+        for (int i = 0; i < 500; i++) {
+            builder.entry(Bundle.Entry.builder()
+                .resource(Patient.builder()
+                    .id("patient-" + i)
+                    .name(HumanName.builder().family(com.ibm.fhir.model.type.String.of("Family\n" + i)).build())
+                    .build())
+                .build());
+        }
+        Bundle bundle = builder.build();
+
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON, true).generate(bundle, writer);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FHIRGenerator.generator(Format.JSON, true).generate(bundle, out);
+        String actual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+        assertTrue(actual.startsWith("{"));
+        assertEquals(actual, writer.toString());
+    }
+}
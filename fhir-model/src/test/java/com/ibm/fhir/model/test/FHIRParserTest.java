@@ -1,22 +1,48 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.model.test;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.io.FilterReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.ibm.fhir.examples.ExamplesUtil;
 import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
 import com.ibm.fhir.model.parser.FHIRParser;
 import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Observation;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.CodeableConcept;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Decimal;
+import com.ibm.fhir.model.type.Quantity;
+import com.ibm.fhir.model.type.Reference;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.type.code.ObservationStatus;
 
 public class FHIRParserTest {
     @Test
@@ -47,4 +73,216 @@ public class FHIRParserTest {
             fail();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreamingBundle() throws Exception {
+        Bundle expected = parse("json/spec/bundle-transaction.json", false);
+        Bundle actual = parse("json/spec/bundle-transaction.json", true);
+        assertEquals(actual, expected);
+        assertEquals(actual.getEntry().size(), expected.getEntry().size());
+    }
+
+    @Test
+    public void testStreamingResource() throws Exception {
+        Observation expected = parse("json/ibm/minimal/Observation-1.json", false);
+        Observation actual = parse("json/ibm/minimal/Observation-1.json", true);
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testStreamingResourceTypeAfterEntry() throws Exception {
+        String json = "{\"entry\":[{\"fullUrl\":\"urn:uuid:1\"}],\"type\":\"batch\",\"resourceType\":\"Bundle\"}";
+        FHIRParser parser = FHIRParser.parser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, true);
+        Bundle bundle = parser.parse(new StringReader(json));
+        assertEquals(bundle.getEntry().size(), 1);
+    }
+
+    @Test
+    public void testStreamingParseAndFilter() throws Exception {
+        FHIRJsonParser parser = FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class);
+        parser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, true);
+        try (Reader reader = ExamplesUtil.resourceReader("json/spec/bundle-transaction.json")) {
+            Bundle bundle = parser.parseAndFilter(reader, Collections.singleton("type"));
+            assertNotNull(bundle.getType());
+            assertEquals(bundle.getEntry().size(), 0);
+            assertNotNull(bundle.getMeta());
+        }
+    }
+
+    @Test
+    public void testStreamingUnrecognizedElements() throws Exception {
+        try (InputStream in = FHIRParserTest.class.getClassLoader().getResourceAsStream("JSON/observation-unrecognized-elements.json")) {
+            FHIRParser parser = FHIRParser.parser(Format.JSON);
+            parser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, true);
+            parser.parse(in);
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Unrecognized element"));
+        }
+    }
+
+    @Test
+    public void testStreamBundleEntriesPeakMemory() throws Exception {
+        Bundle.Builder builder = Bundle.builder().type(BundleType.COLLECTION);
+        for (int i = 0; i < 20000; i++) {
+            builder.entry(Bundle.Entry.builder()
+                .fullUrl(Uri.of("urn:uuid:" + i))
+                .resource(Observation.builder()
+                    .id(Integer.toString(i))
+                    .status(ObservationStatus.FINAL)
+                    .code(CodeableConcept.builder()
+                        .coding(Coding.builder().system(Uri.of("http://loinc.org")).code(Code.of("29463-7")).build())
+                        .build())
+                    .subject(Reference.builder().reference(com.ibm.fhir.model.type.String.of("Patient/" + i)).build())
+                    .value(Quantity.builder().value(Decimal.of(i)).unit(com.ibm.fhir.model.type.String.of("kg")).build())
+                    .build())
+                .build());
+        }
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON).generate(builder.build(), writer);
+        String json = writer.toString();
+        builder = null;
+
+        // the heap in use once the whole input has been read, before the parser returns
+        long treeAtEnd = usedAtEndOfInput(json, false);
+        long streamingAtEnd = usedAtEndOfInput(json, true);
+
+        long baseline = usedHeap();
+        Bundle bundle = FHIRParser.parser(Format.JSON).parse(new StringReader(json));
+        long model = usedHeap() - baseline;
+        assertEquals(bundle.getEntry().size(), 20000);
+
+        // Without the property, the JSON tree for the whole input is held while the model is built from it, so the
+        // peak is at least treeAtEnd + model. With it, each entry has already been converted and its tree dropped.
+        assertTrue(streamingAtEnd < model + treeAtEnd / 4, "streaming: " + streamingAtEnd + ", tree: " + treeAtEnd + ", model: " + model);
+        assertTrue(streamingAtEnd < (treeAtEnd + model) * 3 / 4, "streaming: " + streamingAtEnd + ", tree: " + treeAtEnd + ", model: " + model);
+    }
+
+    private long usedAtEndOfInput(String json, boolean streamBundleEntries) throws Exception {
+        FHIRParser parser = FHIRParser.parser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, streamBundleEntries);
+        long baseline = usedHeap();
+        long[] used = new long[1];
+        Reader reader = new FilterReader(new StringReader(json)) {
+            private int position;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int n = super.read(cbuf, off, Math.min(len, 8192));
+                if (n > 0) {
+                    position += n;
+                    if (position == json.length()) {
+                        used[0] = usedHeap();
+                    }
+                }
+                return n;
+            }
+        };
+        Bundle bundle = parser.parse(reader);
+        assertEquals(bundle.getEntry().size(), 20000);
+        return used[0] - baseline;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private <T extends Resource> T parse(String resource, boolean streaming) throws Exception {
+        FHIRParser parser = FHIRParser.parser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, streaming);
+        try (Reader reader = ExamplesUtil.resourceReader(resource)) {
+            return parser.parse(reader);
+        }
+    }
+
+    @Test
+    public void testParseBundleEntriesJson() throws Exception {
+        testParseBundleEntries(Format.JSON, "json/spec/bundle-transaction.json");
+    }
+
+    @Test
+    public void testParseBundleEntriesXML() throws Exception {
+        testParseBundleEntries(Format.XML, "xml/spec/bundle-transaction.xml");
+    }
+
+    @Test
+    public void testParseBundleEntriesNotABundle() throws Exception {
+        try (Reader reader = ExamplesUtil.resourceReader("json/ibm/minimal/Observation-1.json")) {
+            FHIRParser.parser(Format.JSON).parseBundleEntries(reader, entry -> fail());
+            fail();
+        } catch (FHIRParserException e) {
+            assertTrue(e.getMessage().startsWith("Expected resource type: 'Bundle'"));
+        }
+    }
+
+    @Test
+    public void testInternPrimitivesJson() throws Exception {
+        testInternPrimitives(Format.JSON, "json/spec/observation-example-bmi.json");
+    }
+
+    @Test
+    public void testInternPrimitivesXML() throws Exception {
+        testInternPrimitives(Format.XML, "xml/spec/observation-example-bmi.xml");
+    }
+
+    @Test
+    public void testInternPrimitivesWithExtension() throws Exception {
+        String json = "{\"resourceType\":\"Observation\",\"status\":\"final\",\"_status\":{\"id\":\"s\"},"
+                + "\"code\":{\"coding\":[{\"system\":\"http://loinc.org\",\"code\":\"39156-5\"}]}}";
+        FHIRParser parser = FHIRParser.parser(Format.JSON);
+        parser.setProperty(FHIRParser.PROPERTY_INTERN_PRIMITIVES, true);
+        Observation first = parser.parse(new StringReader(json));
+        Observation second = parser.parse(new StringReader(json));
+        assertEquals(second, first);
+        // an element with an id is never shared
+        assertNotSame(second.getStatus(), first.getStatus());
+        assertSame(second.getCode().getCoding().get(0).getSystem(), first.getCode().getCoding().get(0).getSystem());
+    }
+
+    private void testInternPrimitives(Format format, String resource) throws Exception {
+        Observation expected = parse(format, resource, false);
+        Observation first = parse(format, resource, true);
+        Observation second = parse(format, resource, true);
+        assertEquals(first, expected);
+        assertEquals(second, expected);
+
+        Coding firstCoding = first.getCode().getCoding().get(0);
+        Coding secondCoding = second.getCode().getCoding().get(0);
+        assertNotSame(secondCoding, firstCoding);
+        assertSame(secondCoding.getSystem(), firstCoding.getSystem());
+        assertSame(secondCoding.getCode(), firstCoding.getCode());
+        assertSame(second.getStatus(), first.getStatus());
+
+        // the parser doesn't share instances unless asked to
+        Observation notInterned = parse(format, resource, false);
+        assertNotSame(notInterned.getStatus(), expected.getStatus());
+    }
+
+    private <T extends Resource> T parse(Format format, String resource, boolean intern) throws Exception {
+        FHIRParser parser = FHIRParser.parser(format);
+        parser.setProperty(FHIRParser.PROPERTY_INTERN_PRIMITIVES, intern);
+        try (Reader reader = ExamplesUtil.resourceReader(resource)) {
+            return parser.parse(reader);
+        }
+    }
+
+    private void testParseBundleEntries(Format format, String resource) throws Exception {
+        Bundle expected;
+        try (Reader reader = ExamplesUtil.resourceReader(resource)) {
+            expected = FHIRParser.parser(format).parse(reader);
+        }
+        List<Bundle.Entry> entries = new ArrayList<>();
+        Bundle actual;
+        try (Reader reader = ExamplesUtil.resourceReader(resource)) {
+            actual = FHIRParser.parser(format).parseBundleEntries(reader, entries::add);
+        }
+        assertEquals(actual.getEntry().size(), 0);
+        assertEquals(entries, expected.getEntry());
+        assertEquals(actual.toBuilder().entry(entries).build(), expected);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.util.JsonPayloadScope;
+
+public class JsonPayloadScopeTest {
+
+    @AfterMethod
+    public void close() {
+        JsonPayloadScope.close();
+    }
+
+    @Test
+    public void testScope() {
+        assertNull(JsonPayloadScope.current());
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        assertSame(JsonPayloadScope.current(), scope);
+        JsonPayloadScope.close();
+        assertNull(JsonPayloadScope.current());
+    }
+
+    @Test
+    public void testResource() throws Exception {
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        byte[] json = json(patient("1"), true);
+        Patient patient = parse(scope, json);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(scope.write(patient, out));
+        assertEquals(out.toByteArray(), json);
+
+        // a changed resource is a different object, so it must be generated
+        Patient changed = patient.toBuilder().active(com.ibm.fhir.model.type.Boolean.TRUE).build();
+        out.reset();
+        assertFalse(scope.write(changed, out));
+        assertEquals(out.size(), 0);
+    }
+
+    @Test
+    public void testBundle() throws Exception {
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        Bundle.Builder builder = Bundle.builder().type(BundleType.SEARCHSET);
+        for (int i = 0; i < 10; i++) {
+            // every other entry resource is registered
+            Patient patient = i % 2 == 0 ? parse(scope, json(patient(Integer.toString(i)), true)) : patient(Integer.toString(i));
+            builder.entry(Bundle.Entry.builder()
+                .fullUrl(Uri.of("Patient/" + i))
+                .resource(patient)
+                .build());
+        }
+        Bundle bundle = builder.build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(scope.write(bundle, out));
+        String actual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(actual.contains("\n"));
+        assertEquals(FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(out.toByteArray())), bundle);
+
+        Bundle unregistered = Bundle.builder().type(BundleType.SEARCHSET)
+                .entry(Bundle.Entry.builder().resource(patient("1")).build())
+                .build();
+        out.reset();
+        assertFalse(scope.write(unregistered, out));
+        assertEquals(out.size(), 0);
+    }
+
+    @Test
+    public void testEntry() throws Exception {
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        Patient patient = parse(scope, json(patient("1"), true));
+        Bundle.Entry entry = Bundle.Entry.builder().fullUrl(Uri.of("Patient/1")).resource(patient).build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(scope.write(entry, out));
+        String actual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(actual.startsWith("{\"fullUrl\":\"Patient/1\",\"resource\":{\n"));
+        Bundle bundle = Bundle.builder().type(BundleType.SEARCHSET).entry(entry).build();
+        String bundleJson = "{\"resourceType\":\"Bundle\",\"type\":\"searchset\",\"entry\":[" + actual + "]}";
+        assertEquals(FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(bundleJson.getBytes(StandardCharsets.UTF_8))), bundle);
+
+        out.reset();
+        assertFalse(scope.write(Bundle.Entry.builder().resource(patient("1")).build(), out));
+        assertEquals(out.size(), 0);
+    }
+
+    private static Patient patient(String id) {
+        return Patient.builder()
+                .id(id)
+                .name(HumanName.builder().family(com.ibm.fhir.model.type.String.of("Doe")).build())
+                .build();
+    }
+
+    private static byte[] json(Resource resource, boolean prettyPrinting) throws Exception {
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON, prettyPrinting).generate(resource, writer);
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Patient parse(JsonPayloadScope scope, byte[] json) throws Exception {
+        Patient patient = FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(json));
+        scope.put(patient, json);
+        return patient;
+    }
+}
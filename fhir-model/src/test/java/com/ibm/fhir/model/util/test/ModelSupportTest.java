@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.model.util.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.annotation.Binding;
+import com.ibm.fhir.model.annotation.Choice;
+import com.ibm.fhir.model.annotation.Constraint;
+import com.ibm.fhir.model.annotation.ReferenceTarget;
+import com.ibm.fhir.model.annotation.Required;
+import com.ibm.fhir.model.annotation.Summary;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.model.util.ModelSupport.ElementInfo;
+
+/**
+ * The generated model metadata must match the fields and annotations of the model classes
+ */
+public class ModelSupportTest {
+
+    @Test
+    public void testModelClasses() throws Exception {
+        assertEquals(new ArrayList<>(ModelSupport.getModelClasses()), getModelClasses());
+    }
+
+    @Test
+    public void testElementInfo() throws Exception {
+        for (Class<?> modelClass : getModelClasses()) {
+            List<Field> fields = getAllFields(modelClass);
+            List<ElementInfo> elementInfos = new ArrayList<>(ModelSupport.getElementInfo(modelClass));
+            assertEquals(elementInfos.size(), fields.size(), modelClass.getName());
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                ElementInfo elementInfo = elementInfos.get(i);
+                String message = modelClass.getName() + "." + field.getName();
+
+                assertEquals(elementInfo.getName(), ModelSupport.getElementName(field), message);
+                assertEquals(elementInfo.getType(), getFieldType(field), message);
+                assertEquals(elementInfo.getDeclaringType(), field.getDeclaringClass(), message);
+                assertEquals(elementInfo.isRequired(), field.isAnnotationPresent(Required.class), message);
+                assertEquals(elementInfo.isSummary(), field.isAnnotationPresent(Summary.class), message);
+                assertEquals(elementInfo.isRepeating(), List.class.equals(field.getType()), message);
+                assertEquals(elementInfo.isChoice(), field.isAnnotationPresent(Choice.class), message);
+                assertEquals(elementInfo.getChoiceTypes(), field.isAnnotationPresent(Choice.class) ?
+                        new LinkedHashSet<>(Arrays.asList(field.getAnnotation(Choice.class).value())) : Collections.emptySet(), message);
+                assertEquals(elementInfo.isReference(), field.isAnnotationPresent(ReferenceTarget.class), message);
+                assertEquals(elementInfo.getReferenceTypes(), field.isAnnotationPresent(ReferenceTarget.class) ?
+                        new LinkedHashSet<>(Arrays.asList(field.getAnnotation(ReferenceTarget.class).value())) : Collections.emptySet(), message);
+                assertEquals(elementInfo.hasBinding(), field.isAnnotationPresent(Binding.class), message);
+                assertEquals(elementInfo.getBinding(), field.getAnnotation(Binding.class), message);
+            }
+        }
+    }
+
+    @Test
+    public void testConstraints() throws Exception {
+        for (Class<?> modelClass : getModelClasses()) {
+            Set<Constraint> expected = new LinkedHashSet<>();
+            for (Class<?> clazz : ModelSupport.getClosure(modelClass)) {
+                expected.addAll(Arrays.asList(clazz.getDeclaredAnnotationsByType(Constraint.class)));
+            }
+            List<Constraint> actual = new ArrayList<>(ModelSupport.getConstraints(modelClass));
+            assertEquals(actual, new ArrayList<>(expected), modelClass.getName());
+
+            // equal to the annotation in both directions, with the same hash code
+            List<Constraint> annotations = new ArrayList<>(expected);
+            for (int i = 0; i < annotations.size(); i++) {
+                assertEquals(annotations.get(i), actual.get(i));
+                assertEquals(actual.get(i).hashCode(), annotations.get(i).hashCode());
+            }
+        }
+    }
+
+    @Test
+    public void testBinding() throws Exception {
+        ElementInfo gender = ModelSupport.getElementInfo(com.ibm.fhir.model.resource.Patient.class, "gender");
+        assertNotNull(gender.getBinding());
+        assertEquals(gender.getBinding().valueSet(), "http://hl7.org/fhir/ValueSet/administrative-gender|4.0.1");
+        assertNull(ModelSupport.getElementInfo(com.ibm.fhir.model.resource.Patient.class, "name").getBinding());
+    }
+
+    private static List<Class<?>> getModelClasses() throws Exception {
+        try (InputStream in = ModelSupport.class.getClassLoader().getResourceAsStream("modelClasses")) {
+            List<Class<?>> modelClasses = new ArrayList<>();
+            for (String className : new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).lines().collect(Collectors.toList())) {
+                modelClasses.add(Class.forName(className));
+            }
+            return modelClasses;
+        }
+    }
+
+    private static List<Field> getAllFields(Class<?> modelClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> clazz : ModelSupport.getClosure(modelClass)) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isVolatile(modifiers)) {
+                    continue;
+                }
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Class<?> getFieldType(Field field) {
+        if (field.getGenericType() instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        }
+        return field.getType();
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers notification events to the subscribers on a dedicated thread, so that publishing an event doesn't
+ * hold up the request which caused it.
+ *
+ * <p>Events are held in a bounded queue. The dispatcher thread takes up to {@code batchSize} events from the queue
+ * at a time and delivers them in the order they were submitted. When the queue is full, the overflow policy decides
+ * whether the request thread waits for space ({@link OverflowPolicy#BLOCK}) or the event is discarded
+ * ({@link OverflowPolicy#DROP}).
+ */
+public class FHIRNotificationDispatcher {
+    private static final Logger log = Logger.getLogger(FHIRNotificationDispatcher.class.getName());
+
+    /**
+     * What to do with an event submitted while the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the dispatcher has made space in the queue
+         */
+        BLOCK,
+        /**
+         * Discard the event
+         */
+        DROP;
+
+        /**
+         * @param value the policy name, case insensitive
+         * @return the policy
+         * @throws IllegalArgumentException if the value isn't the name of a policy
+         */
+        public static OverflowPolicy from(String value) {
+            return valueOf(value.toUpperCase());
+        }
+    }
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    // How long a submitter waits for space in the queue before checking whether the dispatcher has been shut down
+    private static final long OFFER_INTERVAL_MILLIS = 100;
+
+    /**
+     * An event and the time it was submitted
+     */
+    private static class Entry {
+        private final FHIRNotificationEvent event;
+        private final long submitNanos;
+
+        private Entry(FHIRNotificationEvent event) {
+            this.event = event;
+            this.submitNanos = System.nanoTime();
+        }
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Consumer<FHIRNotificationEvent> delivery;
+    private final Thread thread;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    // The submit time of the event being delivered, or 0 when the dispatcher is waiting for events
+    private volatile long deliveringSubmitNanos = 0;
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a dispatcher and start its thread.
+     *
+     * @param queueSize the maximum number of events waiting to be delivered
+     * @param overflowPolicy what to do with an event submitted while the queue is full
+     * @param batchSize the maximum number of events taken from the queue at a time
+     * @param delivery delivers an event to the subscribers
+     */
+    public FHIRNotificationDispatcher(int queueSize, OverflowPolicy overflowPolicy, int batchSize, Consumer<FHIRNotificationEvent> delivery) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = Math.max(1, batchSize);
+        this.delivery = delivery;
+        this.thread = new Thread(this::run, "fhir-notification-dispatcher-" + threadCount.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.setContextClassLoader(FHIRNotificationDispatcher.class.getClassLoader());
+        this.thread.start();
+    }
+
+    /**
+     * Queue an event for delivery.
+     *
+     * @param event
+     * @return false if the dispatcher has been shut down, in which case the caller must deliver the event itself
+     */
+    public boolean submit(FHIRNotificationEvent event) {
+        Entry entry = new Entry(event);
+
+        // Counted before it is queued so that shutdown can't miss an event which the dispatcher has already taken
+        submittedCount.incrementAndGet();
+        boolean queued = false;
+        try {
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                // Wait in short intervals rather than indefinitely, so that a shutdown doesn't leave us waiting
+                // for space which the stopped dispatcher thread will never make
+                while (!queued && !stopped) {
+                    queued = queue.offer(entry, OFFER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } else if (!stopped) {
+                queued = queue.offer(entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (queued && stopped && queue.remove(entry)) {
+            // Shutdown started while we were queueing the event and the dispatcher may already be gone; if the
+            // dispatcher has taken the event then it will deliver it, otherwise the caller delivers it
+            queued = false;
+        }
+        if (queued) {
+            return true;
+        }
+
+        submittedCount.decrementAndGet();
+        if (stopped) {
+            return false;
+        }
+        long dropped = droppedCount.incrementAndGet();
+        // Don't flood the log while the subscribers are falling behind
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warning("Notification queue is full; " + dropped + " notification events have been dropped. Latest: " + event);
+        }
+        return true;
+    }
+
+    /**
+     * Stop accepting events and wait for the events already queued to be delivered.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return true if all of the queued events were delivered
+     */
+    public boolean shutdown(long timeoutMillis) {
+        stopped = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            while (getPendingCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread.interrupt();
+
+        // Anything still in the queue will never be taken by the dispatcher thread
+        List<Entry> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        long pending = getPendingCount();
+        if (pending > 0) {
+            log.warning("Notification dispatcher stopped with " + pending + " notification events undelivered");
+            for (Entry entry : undelivered) {
+                log.fine("Undelivered notification event: " + entry.event);
+            }
+        }
+        return pending == 0;
+    }
+
+    /**
+     * @return the number of events submitted which haven't been delivered yet
+     */
+    public long getPendingCount() {
+        return submittedCount.get() - deliveredCount.get();
+    }
+
+    /**
+     * @return the time in milliseconds since the oldest undelivered event was submitted, or 0 if there are none
+     */
+    public long getLagMillis() {
+        long submitNanos = deliveringSubmitNanos;
+        if (submitNanos == 0) {
+            Entry next = queue.peek();
+            if (next == null) {
+                return 0;
+            }
+            submitNanos = next.submitNanos;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitNanos);
+    }
+
+    /**
+     * @return the number of events delivered
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return the number of events discarded because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // shutdown
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            for (Entry entry : batch) {
+                deliveringSubmitNanos = entry.submitNanos;
+                try {
+                    delivery.accept(entry.event);
+                } catch (Throwable t) {
+                    log.log(Level.SEVERE, "Unexpected error delivering notification event: " + entry.event, t);
+                }
+                deliveredCount.incrementAndGet();
+            }
+            deliveringSubmitNanos = 0;
+            batch.clear();
+        }
+    }
+}
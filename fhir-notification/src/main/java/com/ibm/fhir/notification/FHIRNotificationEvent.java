@@ -17,6 +17,10 @@ public class FHIRNotificationEvent {
     private String datasourceId = null;
     private Resource resource = null;
 
+    // The serialized forms of this event, cached so that each subscriber doesn't serialize the event again
+    private volatile String message = null;
+    private volatile String messageWithResource = null;
+
     public FHIRNotificationEvent() {
         // No Operation
     }
@@ -27,6 +31,7 @@ public class FHIRNotificationEvent {
 
     public void setResourceId(String resourceId) {
         this.resourceId = resourceId;
+        clearMessages();
     }
 
     public String getLastUpdated() {
@@ -35,6 +40,7 @@ public class FHIRNotificationEvent {
 
     public void setLastUpdated(String lastUpdated) {
         this.lastUpdated = lastUpdated;
+        clearMessages();
     }
 
     public String getLocation() {
@@ -43,6 +49,7 @@ public class FHIRNotificationEvent {
 
     public void setLocation(String location) {
         this.location = location;
+        clearMessages();
     }
 
     public String getOperationType() {
@@ -51,6 +58,7 @@ public class FHIRNotificationEvent {
 
     public void setOperationType(String operationType) {
         this.operationType = operationType;
+        clearMessages();
     }
 
     public String getTenantId() {
@@ -59,6 +67,7 @@ public class FHIRNotificationEvent {
 
     public void setTenantId(String tenantId) {
         this.tenantId = tenantId;
+        clearMessages();
     }
 
     public String getDatasourceId() {
@@ -67,6 +76,7 @@ public class FHIRNotificationEvent {
 
     public void setDatasourceId(String datasourceId) {
         this.datasourceId = datasourceId;
+        clearMessages();
     }
 
     public Resource getResource() {
@@ -75,6 +85,34 @@ public class FHIRNotificationEvent {
 
     public void setResource(Resource resource) {
         this.resource = resource;
+        clearMessages();
+    }
+
+    /**
+     * Returns the serialized form of this event cached by {@link com.ibm.fhir.notification.util.FHIRNotificationUtil#toJsonString}.
+     * @param includeResource whether the serialized form includes the resource
+     * @return the serialized event, or null if it hasn't been serialized since it was last changed
+     */
+    public String getMessage(boolean includeResource) {
+        return includeResource ? messageWithResource : message;
+    }
+
+    /**
+     * Caches the serialized form of this event. The cached message is discarded if the event is changed.
+     * @param includeResource whether the serialized form includes the resource
+     * @param message the serialized event
+     */
+    public void setMessage(boolean includeResource, String message) {
+        if (includeResource) {
+            this.messageWithResource = message;
+        } else {
+            this.message = message;
+        }
+    }
+
+    private void clearMessages() {
+        this.message = null;
+        this.messageWithResource = null;
     }
 
     @Override
@@ -16,7 +16,9 @@ import java.util.logging.Logger;
 
 import com.ibm.fhir.config.FHIRConfiguration;
 import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.config.PropertyGroup;
 import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.notification.FHIRNotificationDispatcher.OverflowPolicy;
 import com.ibm.fhir.notification.exception.FHIRNotificationException;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceInterceptor;
@@ -32,6 +34,18 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
     private static final FHIRNotificationService INSTANCE = new FHIRNotificationService();
     private Set<String> includedResourceTypes = Collections.synchronizedSortedSet(new TreeSet<String>());
 
+    // Defaults for the asynchronous delivery of the notification events
+    public static final int DEFAULT_QUEUE_SIZE = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // Created when the first event is published with a subscriber, so that a server without subscribers doesn't start a thread
+    private volatile FHIRNotificationDispatcher dispatcher;
+    private boolean dispatcherShutdown = false;
+
     private FHIRNotificationService() {
         log.entering(this.getClass().getName(), "FHIRNotificationService");
         try {
@@ -40,6 +54,7 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
             FHIRPersistenceInterceptorMgr.getInstance().addPrioritizedInterceptor(this);
 
             initNotificationResourceTypes();
+            initDispatcherConfig();
         } catch (Throwable t) {
             throw new RuntimeException("Unexpected error during initialization.", t);
         }
@@ -58,17 +73,111 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
                 + (includedResourceTypes.isEmpty() ? "ALL" : includedResourceTypes.toString()) + "'");
     }
 
+    private void initDispatcherConfig() throws Exception {
+        PropertyGroup fhirConfig = FHIRConfiguration.getInstance().loadConfiguration();
+        if (fhirConfig != null) {
+            queueSize = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+            overflowPolicy = OverflowPolicy.from(fhirConfig.getStringProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_OVERFLOW_POLICY,
+                OverflowPolicy.BLOCK.name()));
+            batchSize = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_NOTIFICATION_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        }
+
+        if (queueSize > 0) {
+            log.info("Notification service, when enabled, will publish events asynchronously; queueSize=" + queueSize
+                    + ", overflowPolicy=" + overflowPolicy + ", batchSize=" + batchSize);
+        } else {
+            log.info("Notification service, when enabled, will publish events on the request thread");
+        }
+    }
+
     public static FHIRNotificationService getInstance() {
         return INSTANCE;
     }
 
     /**
-     * Method for broadcasting message to each subscriber.
+     * Method for broadcasting message to each subscriber. Unless the service is configured to publish on the
+     * request thread, the event is queued and delivered to the subscribers by the dispatcher thread.
      *
      * @param event
      */
     public void publish(FHIRNotificationEvent event) {
         log.entering(this.getClass().getName(), "publish");
+        try {
+            FHIRNotificationDispatcher d = getDispatcher();
+            if (d == null || !d.submit(event)) {
+                deliver(event);
+            }
+        } finally {
+            log.exiting(this.getClass().getName(), "publish");
+        }
+    }
+
+    /**
+     * Stops the dispatcher thread after delivering the events already queued. Events published afterwards are
+     * delivered on the request thread. This should be called before the subscribers are shut down.
+     *
+     * @param timeoutMillis the maximum time to wait for the queued events to be delivered
+     */
+    public void shutdown(long timeoutMillis) {
+        FHIRNotificationDispatcher d;
+        synchronized (this) {
+            dispatcherShutdown = true;
+            d = dispatcher;
+        }
+        if (d != null) {
+            d.shutdown(timeoutMillis);
+        }
+    }
+
+    /**
+     * @return true if published events are being queued for delivery by the dispatcher thread
+     */
+    public boolean isDispatching() {
+        FHIRNotificationDispatcher d = dispatcher;
+        return d != null;
+    }
+
+    /**
+     * @return the number of notification events queued which haven't been delivered to the subscribers yet
+     */
+    public long getPendingCount() {
+        FHIRNotificationDispatcher d = dispatcher;
+        return d != null ? d.getPendingCount() : 0;
+    }
+
+    /**
+     * @return the time in milliseconds since the oldest undelivered notification event was published
+     */
+    public long getLagMillis() {
+        FHIRNotificationDispatcher d = dispatcher;
+        return d != null ? d.getLagMillis() : 0;
+    }
+
+    /**
+     * @return the number of notification events discarded because the queue was full
+     */
+    public long getDroppedCount() {
+        FHIRNotificationDispatcher d = dispatcher;
+        return d != null ? d.getDroppedCount() : 0;
+    }
+
+    private FHIRNotificationDispatcher getDispatcher() {
+        FHIRNotificationDispatcher d = dispatcher;
+        if (d == null && queueSize > 0 && !subscribers.isEmpty()) {
+            synchronized (this) {
+                if (dispatcher == null && !dispatcherShutdown) {
+                    dispatcher = new FHIRNotificationDispatcher(queueSize, overflowPolicy, batchSize, this::deliver);
+                }
+                d = dispatcher;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Delivers the event to each subscriber. A subscriber which fails to publish the event is unsubscribed.
+     */
+    private void deliver(FHIRNotificationEvent event) {
         for (FHIRNotificationSubscriber subscriber : subscribers) {
             try {
                 subscriber.notify(event);
@@ -77,7 +186,6 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
                 log.log(Level.WARNING, FHIRNotificationService.class.getName() + ": unable to publish event", e);
             }
         }
-        log.exiting(this.getClass().getName(), "publish");
     }
 
     /**
@@ -162,6 +270,11 @@ public class FHIRNotificationService implements FHIRPersistenceInterceptor {
         log.entering(this.getClass().getName(), "shouldPublish");
 
         try {
+            // Don't bother building the event if nobody will receive it.
+            if (subscribers.isEmpty()) {
+                return false;
+            }
+
             // If our resource type filter is empty, then we should publish all notification events.
             if (includedResourceTypes == null || includedResourceTypes.isEmpty()) {
                 log.finer("Resource type filter not specified, publishing all events.");
@@ -7,6 +7,7 @@
 package com.ibm.fhir.notification.util;
 
 import java.io.StringReader;
+import java.io.StringWriter;
 
 import javax.json.Json;
 import javax.json.JsonBuilderFactory;
@@ -17,7 +18,8 @@ import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 
 import com.ibm.fhir.exception.FHIRException;
-import com.ibm.fhir.model.util.JsonSupport;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
 import com.ibm.fhir.notification.FHIRNotificationEvent;
 
 public class FHIRNotificationUtil {
@@ -42,6 +44,7 @@ public class FHIRNotificationUtil {
 
     /**
      * Serializes the notification event into a JSON string.
+     * The message is cached on the event, so each subscriber which publishes the same event reuses it.
      * @param event the FHIRNotificationEvent structure to be serialized
      * @param includeResource a flag that controls whether or not the resource object within
      * the event structure should be included in the serialized message.
@@ -49,6 +52,15 @@ public class FHIRNotificationUtil {
      * @throws FHIRException
      */
     public static String toJsonString(FHIRNotificationEvent event, boolean includeResource) throws FHIRException {
+        String jsonString = event.getMessage(includeResource);
+        if (jsonString == null) {
+            jsonString = serialize(event, includeResource);
+            event.setMessage(includeResource, jsonString);
+        }
+        return jsonString;
+    }
+
+    private static String serialize(FHIRNotificationEvent event, boolean includeResource) throws FHIRException {
         JsonObjectBuilder builder = JSON_BUILDER_FACTORY.createObjectBuilder();
         builder.add("lastUpdated", event.getLastUpdated());
         builder.add("location", event.getLocation());
@@ -56,13 +68,19 @@ public class FHIRNotificationUtil {
         builder.add("resourceId", event.getResourceId());
         builder.add("datasourceId", event.getDatasourceId());
         builder.add("tenantId", event.getTenantId());
+        JsonObject jsonObject = builder.build();
+        String jsonString = jsonObject.toString();
 
         // If it's a delete operation, don't add as there is no actual resource in the event.
         if (!"delete".equals(event.getOperationType()) && includeResource && event.getResource() != null) {
-            builder.add("resource", JsonSupport.toJsonObject(event.getResource()));
+            // Write the resource straight into the message instead of converting it to a JsonObject first
+            StringWriter writer = new StringWriter(jsonString.length() + 4096);
+            writer.write(jsonString, 0, jsonString.length() - 1);
+            writer.write(",\"resource\":");
+            FHIRGenerator.generator(Format.JSON).generate(event.getResource(), writer);
+            writer.write('}');
+            jsonString = writer.toString();
         }
-        JsonObject jsonObject = builder.build();
-        String jsonString = jsonObject.toString();
         return jsonString;
     }
-}
\ No newline at end of file
+}
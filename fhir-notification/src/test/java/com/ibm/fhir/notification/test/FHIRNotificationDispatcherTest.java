@@ -0,0 +1,185 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.notification.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.util.JsonSupport;
+import com.ibm.fhir.notification.FHIRNotificationDispatcher;
+import com.ibm.fhir.notification.FHIRNotificationDispatcher.OverflowPolicy;
+import com.ibm.fhir.notification.FHIRNotificationEvent;
+import com.ibm.fhir.notification.util.FHIRNotificationUtil;
+
+/**
+ * Unit tests for {@link FHIRNotificationDispatcher} and the serialization of notification events
+ */
+public class FHIRNotificationDispatcherTest {
+
+    @Test
+    public void testOrder() throws Exception {
+        List<FHIRNotificationEvent> delivered = new CopyOnWriteArrayList<>();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(10, OverflowPolicy.BLOCK, 3, delivered::add);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(dispatcher.submit(event(Integer.toString(i))));
+        }
+        assertTrue(dispatcher.shutdown(10000));
+
+        assertEquals(delivered.size(), 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(delivered.get(i).getResourceId(), Integer.toString(i));
+        }
+        assertEquals(dispatcher.getDeliveredCount(), 100);
+        assertEquals(dispatcher.getDroppedCount(), 0);
+        assertEquals(dispatcher.getPendingCount(), 0);
+        assertEquals(dispatcher.getLagMillis(), 0);
+
+        // the caller delivers the events submitted after shutdown
+        assertFalse(dispatcher.submit(event("late")));
+    }
+
+    @Test
+    public void testDrop() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<FHIRNotificationEvent> delivered = new CopyOnWriteArrayList<>();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(2, OverflowPolicy.DROP, 1, event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(event);
+        });
+
+        // the first event holds up the dispatcher, the next two fill the queue and the rest are dropped
+        dispatcher.submit(event("0"));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < 5; i++) {
+            dispatcher.submit(event(Integer.toString(i)));
+        }
+        assertEquals(dispatcher.getDroppedCount(), 2);
+        assertEquals(dispatcher.getPendingCount(), 3);
+        Thread.sleep(20);
+        assertTrue(dispatcher.getLagMillis() > 0);
+
+        release.countDown();
+        assertTrue(dispatcher.shutdown(10000));
+        assertEquals(delivered.size(), 3);
+        assertEquals(delivered.get(2).getResourceId(), "2");
+    }
+
+    @Test
+    public void testBlockedSubmitReleasedByShutdown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(1, OverflowPolicy.BLOCK, 1, event -> {
+            started.countDown();
+            try {
+                // hold up the dispatcher until it is interrupted by the shutdown
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // the first event holds up the dispatcher and the second fills the queue
+        dispatcher.submit(event("0"));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        dispatcher.submit(event("1"));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> blocked = executor.submit(() -> dispatcher.submit(event("2")));
+            Thread.sleep(50);
+            assertFalse(blocked.isDone());
+
+            // the blocked submitter gives up once the dispatcher is stopped, leaving the event to the caller
+            assertFalse(dispatcher.shutdown(50));
+            assertFalse(blocked.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(dispatcher.submit(event("3")));
+    }
+
+    @Test
+    public void testFailedDelivery() throws Exception {
+        List<FHIRNotificationEvent> delivered = new CopyOnWriteArrayList<>();
+        FHIRNotificationDispatcher dispatcher = new FHIRNotificationDispatcher(10, OverflowPolicy.BLOCK, 10, event -> {
+            if ("bad".equals(event.getResourceId())) {
+                throw new IllegalStateException("bad event");
+            }
+            delivered.add(event);
+        });
+        dispatcher.submit(event("bad"));
+        dispatcher.submit(event("good"));
+        assertTrue(dispatcher.shutdown(10000));
+        assertEquals(delivered.size(), 1);
+        assertEquals(delivered.get(0).getResourceId(), "good");
+    }
+
+    @Test
+    public void testSerializedOnce() throws Exception {
+        Patient patient = Patient.builder()
+                .id("1")
+                .name(HumanName.builder().family(com.ibm.fhir.model.type.String.of("Doe")).build())
+                .build();
+        FHIRNotificationEvent event = event("1");
+        event.setResource(patient);
+
+        String message = FHIRNotificationUtil.toJsonString(event, true);
+        assertSame(FHIRNotificationUtil.toJsonString(event, true), message);
+
+        JsonObject jsonObject = parse(message);
+        assertEquals(jsonObject.getString("resourceId"), "1");
+        assertEquals(jsonObject.getJsonObject("resource"), JsonSupport.toJsonObject(patient));
+
+        String messageWithoutResource = FHIRNotificationUtil.toJsonString(event, false);
+        assertFalse(parse(messageWithoutResource).containsKey("resource"));
+
+        // changing the event discards the cached message
+        event.setOperationType("delete");
+        assertFalse(parse(FHIRNotificationUtil.toJsonString(event, true)).containsKey("resource"));
+    }
+
+    private static FHIRNotificationEvent event(String resourceId) {
+        FHIRNotificationEvent event = new FHIRNotificationEvent();
+        event.setOperationType("create");
+        event.setLocation("Patient/" + resourceId + "/_history/1");
+        event.setLastUpdated("2021-01-01T00:00:00Z");
+        event.setResourceId(resourceId);
+        event.setDatasourceId("default");
+        event.setTenantId("default");
+        return event;
+    }
+
+    private static JsonObject parse(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -12,30 +12,61 @@ import java.time.LocalTime;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.Element;
 import com.ibm.fhir.model.type.Quantity;
 import com.ibm.fhir.model.visitor.PathAwareVisitor;
+import com.ibm.fhir.model.visitor.Visitable;
 
 /**
  * A tree of {@link FHIRPathNode} nodes created from a {@link Resource} or an {@link Element}
+ *
+ * <p>A tree is either built eagerly, with a node for every element in the resource or element, or lazily
+ * (see {@link #lazyTree(Resource)}), where the children of a node are created the first time they are accessed.
  */
 public class FHIRPathTree {
     private final FHIRPathNode root;
     private final Map<String, FHIRPathNode> pathNodeMap;
+    private final boolean lazy;
 
     private FHIRPathTree(FHIRPathNode root, Map<String, FHIRPathNode> pathNodeMap) {
         this.root = root;
         this.pathNodeMap = Collections.unmodifiableMap(pathNodeMap);
+        this.lazy = false;
+    }
+
+    private FHIRPathTree(Visitable visitable) {
+        this.pathNodeMap = new ConcurrentHashMap<>();
+        this.lazy = true;
+
+        // build the root node only
+        BuildingVisitor visitor = new BuildingVisitor(this, null);
+        visitable.accept(visitor);
+        this.root = visitor.getRoot();
+    }
+
+    /**
+     * Indicates whether the nodes of this FHIRPathTree are created on demand
+     *
+     * @return
+     *     true if the nodes of this FHIRPathTree are created on demand, otherwise false
+     */
+    public boolean isLazy() {
+        return lazy;
     }
 
     /**
@@ -57,7 +88,40 @@ public class FHIRPathTree {
      *     the node at the location given by the path parameter if exists, otherwise null
      */
     public FHIRPathNode getNode(String path) {
-        return pathNodeMap.get(path);
+        FHIRPathNode node = pathNodeMap.get(path);
+        if (node == null && lazy) {
+            node = findNode(path);
+        }
+        return node;
+    }
+
+    /**
+     * Navigate from the root to the node at the given path, creating nodes along the way
+     */
+    private FHIRPathNode findNode(String path) {
+        String rootPath = root.path();
+        if (!path.startsWith(rootPath)) {
+            return null;
+        }
+        FHIRPathNode node = root;
+        int index = rootPath.length();
+        while (node != null && index < path.length()) {
+            if (path.charAt(index) != '.') {
+                return null;
+            }
+            int next = path.indexOf('.', index + 1);
+            String childPath = (next == -1) ? path : path.substring(0, next);
+            FHIRPathNode parent = node;
+            node = null;
+            for (FHIRPathNode child : parent.children()) {
+                if (childPath.equals(child.path())) {
+                    node = child;
+                    break;
+                }
+            }
+            index = childPath.length();
+        }
+        return node;
     }
 
     /**
@@ -149,6 +213,32 @@ public class FHIRPathTree {
         return new FHIRPathTree(visitor.getRoot(), visitor.getPathNodeMap());
     }
 
+    /**
+     * Static factory method for creating lazy FHIRPathTree instances from a {@link Resource}. The children of
+     * each node (and their paths) are created the first time they are accessed.
+     *
+     * @param resource
+     *     the resource
+     * @return
+     *     a new lazy FHIRPathTree instance
+     */
+    public static FHIRPathTree lazyTree(Resource resource) {
+        return new FHIRPathTree(Objects.requireNonNull(resource));
+    }
+
+    /**
+     * Static factory method for creating lazy FHIRPathTree instances from an {@link Element}. The children of
+     * each node (and their paths) are created the first time they are accessed.
+     *
+     * @param element
+     *     the element
+     * @return
+     *     a new lazy FHIRPathTree instance
+     */
+    public static FHIRPathTree lazyTree(Element element) {
+        return new FHIRPathTree(Objects.requireNonNull(element));
+    }
+
     /**
      * Static factory method for creating FHIRPathTree instances from an {@link Element}
      *
@@ -166,18 +256,112 @@ public class FHIRPathTree {
         return new FHIRPathTree(visitor.getRoot(), visitor.getPathNodeMap());
     }
 
+    /**
+     * Create the children of a node in a lazy tree
+     */
+    private List<FHIRPathNode> expand(FHIRPathNode node) {
+        Visitable visitable = node.isResourceNode() ? node.asResourceNode().resource() : node.asElementNode().element();
+
+        // builds a copy of the node and its children
+        BuildingVisitor visitor = new BuildingVisitor(this, node.path());
+        visitable.accept(visitor);
+        FHIRPathNode copy = visitor.getRoot();
+
+        List<FHIRPathNode> children = new ArrayList<>(copy.children());
+        if (copy.hasValue()) {
+            // use the value of the node itself rather than the value of the copy
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) == copy.getValue()) {
+                    children.set(i, node.getValue());
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * The children of a node in a lazy tree, which are created the first time they are accessed
+     */
+    private class LazyChildren extends AbstractCollection<FHIRPathNode> {
+        private FHIRPathNode node;
+        private volatile List<FHIRPathNode> children;
+
+        private List<FHIRPathNode> children() {
+            List<FHIRPathNode> result = children;
+            if (result == null) {
+                synchronized (this) {
+                    result = children;
+                    if (result == null) {
+                        result = expand(node);
+                        children = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Iterator<FHIRPathNode> iterator() {
+            return children().iterator();
+        }
+
+        @Override
+        public int size() {
+            return children().size();
+        }
+    }
+
     private static class BuildingVisitor extends PathAwareVisitor {
-        private Stack<FHIRPathNode.Builder> builderStack = new Stack<>();
+        private Stack<FHIRPathAbstractNode.Builder> builderStack = new Stack<>();
         private FHIRPathNode root;
-        private Map<String, FHIRPathNode> pathNodeMap = new HashMap<>();
+        private Map<String, FHIRPathNode> pathNodeMap;
+
+        // lazy trees only: the tree being built and the path of the node being expanded (if any)
+        private final FHIRPathTree tree;
+        private final String pathPrefix;
+
+        // the depth below which elements are not visited and nodes are given lazy children
+        private final int maxDepth;
+        private int rootPathLength;
+
+        private BuildingVisitor() {
+            this.pathNodeMap = new HashMap<>();
+            this.tree = null;
+            this.pathPrefix = null;
+            this.maxDepth = Integer.MAX_VALUE;
+        }
+
+        private BuildingVisitor(FHIRPathTree tree, String pathPrefix) {
+            this.pathNodeMap = tree.pathNodeMap;
+            this.tree = tree;
+            this.pathPrefix = pathPrefix;
+            // build the root node only, or the node being expanded and its children
+            this.maxDepth = (pathPrefix == null) ? 1 : 2;
+        }
 
         private void build() {
             String path = getPath();
+            int depth = builderStack.size();
 
-            FHIRPathNode.Builder builder = builderStack.pop();
-            FHIRPathNode node = builder.path(path).build();
+            if (pathPrefix != null) {
+                // the path is relative to the node being expanded
+                path = (depth == 1) ? pathPrefix : pathPrefix + path.substring(rootPathLength);
+            }
 
-            pathNodeMap.put(path, node);
+            FHIRPathAbstractNode.Builder builder = builderStack.pop();
+            FHIRPathNode node;
+            if (tree != null && depth == maxDepth) {
+                LazyChildren children = tree.new LazyChildren();
+                builder.children = children;
+                node = builder.path(path).build();
+                children.node = node;
+            } else {
+                node = builder.path(path).build();
+            }
+
+            if (pathPrefix == null || depth > 1) {
+                pathNodeMap.put(path, node);
+            }
 
             if (!builderStack.isEmpty()) {
                 builderStack.peek().children(node);
@@ -186,6 +370,16 @@ public class FHIRPathTree {
             }
         }
 
+        @Override
+        public boolean preVisit(Element element) {
+            return builderStack.size() < maxDepth;
+        }
+
+        @Override
+        public boolean preVisit(Resource resource) {
+            return builderStack.size() < maxDepth;
+        }
+
         private Map<String, FHIRPathNode> getPathNodeMap() {
             return pathNodeMap;
         }
@@ -206,6 +400,9 @@ public class FHIRPathTree {
 
         @Override
         protected void doVisitStart(String elementName, int elementIndex, Element element) {
+            if (builderStack.isEmpty()) {
+                rootPathLength = getPath().length();
+            }
             if (element instanceof Quantity) {
                 Quantity quantity = (Quantity) element;
                 builderStack.push(FHIRPathQuantityNode.builder(quantity).name(elementName));
@@ -220,6 +417,9 @@ public class FHIRPathTree {
 
         @Override
         protected void doVisitStart(String elementName, int elementIndex, Resource resource) {
+            if (builderStack.isEmpty()) {
+                rootPathLength = getPath().length();
+            }
             builderStack.push(FHIRPathResourceNode.builder(resource).name(elementName));
         }
 
@@ -1,12 +1,11 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.path.evaluator;
 
-import static com.ibm.fhir.core.util.LRUCache.createLRUCache;
 import static com.ibm.fhir.path.FHIRPathDateTimeValue.dateTimeValue;
 import static com.ibm.fhir.path.FHIRPathDateValue.dateValue;
 import static com.ibm.fhir.path.FHIRPathDecimalValue.decimalValue;
@@ -47,10 +46,12 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -63,7 +64,9 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.RuleNode;
 
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
 import com.ibm.fhir.model.annotation.Constraint;
 import com.ibm.fhir.model.resource.OperationOutcome.Issue;
 import com.ibm.fhir.model.resource.Resource;
@@ -74,6 +77,7 @@ import com.ibm.fhir.path.FHIRPathBooleanValue;
 import com.ibm.fhir.path.FHIRPathNode;
 import com.ibm.fhir.path.FHIRPathParser;
 import com.ibm.fhir.path.FHIRPathParser.ExpressionContext;
+import com.ibm.fhir.path.FHIRPathParser.IdentifierContext;
 import com.ibm.fhir.path.FHIRPathParser.ParamListContext;
 import com.ibm.fhir.path.FHIRPathQuantityNode;
 import com.ibm.fhir.path.FHIRPathQuantityValue;
@@ -96,8 +100,8 @@ public class FHIRPathEvaluator {
     public static final Collection<FHIRPathNode> SINGLETON_TRUE = singleton(FHIRPathBooleanValue.TRUE);
     public static final Collection<FHIRPathNode> SINGLETON_FALSE = singleton(FHIRPathBooleanValue.FALSE);
 
-    private static final int EXPRESSION_CONTEXT_CACHE_MAX_ENTRIES = 512;
-    private static final Map<String, ExpressionContext> EXPRESSION_CONTEXT_CACHE = createLRUCache(EXPRESSION_CONTEXT_CACHE_MAX_ENTRIES);
+    private static final int COMPILED_EXPRESSION_CACHE_MAX_ENTRIES = 512;
+    private static final Map<String, CompiledExpression> COMPILED_EXPRESSION_CACHE = new ConcurrentLRUCache<>(COMPILED_EXPRESSION_CACHE_MAX_ENTRIES);
 
     private final EvaluatingVisitor visitor = new EvaluatingVisitor();
 
@@ -252,12 +256,82 @@ public class FHIRPathEvaluator {
         try {
             evaluationContext.setExternalConstant("context", initialContext);
             setDateTimeConstants(evaluationContext);
-            return visitor.evaluate(evaluationContext, getExpressionContext(expr), initialContext);
+            return visitor.evaluate(evaluationContext, getCompiledExpression(expr), initialContext);
         } catch (Exception e) {
             throw new FHIRPathException("An error occurred while evaluating expression: " + expr, e);
         }
     }
 
+    /**
+     * Evaluate a compiled FHIRPath expression using an existing evaluation context
+     *
+     * @param evaluationContext
+     *     the evaluation context
+     * @param expression
+     *     the compiled FHIRPath expression to evaluate
+     * @return
+     *     the result of evaluation as a non-null, potentially empty collection of FHIRPath nodes
+     * @throws NullPointerException
+     *     if any of the parameters are null
+     * @throws FHIRPathException
+     *     if an exception occurs during evaluation
+     * @see #compile(String)
+     */
+    public Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, CompiledExpression expression) throws FHIRPathException {
+        return evaluate(evaluationContext, expression, evaluationContext.getTree().getRoot());
+    }
+
+    /**
+     * Evaluate a compiled FHIRPath expression using an existing evaluation context against a FHIRPath node
+     *
+     * @param evaluationContext
+     *     the evaluation context
+     * @param expression
+     *     the compiled FHIRPath expression to evaluate
+     * @param node
+     *     the FHIRPath node
+     * @return
+     *     the result of evaluation as a non-null, potentially empty collection of FHIRPath nodes
+     * @throws NullPointerException
+     *     if any of the parameters are null
+     * @throws FHIRPathException
+     *     if an exception occurs during evaluation
+     * @see #compile(String)
+     */
+    public Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, CompiledExpression expression, FHIRPathNode node) throws FHIRPathException {
+        return evaluate(evaluationContext, expression, singleton(node));
+    }
+
+    /**
+     * Evaluate a compiled FHIRPath expression using an existing EvaluationContext against a collection of FHIRPath nodes
+     *
+     * @param evaluationContext
+     *     the evaluation context
+     * @param expression
+     *     the compiled FHIRPath expression to evaluate
+     * @param initialContext
+     *     the initial context as a non-null, potentially empty collection of FHIRPath nodes
+     * @return
+     *     the result of evaluation as a collection of FHIRPath nodes
+     * @throws NullPointerException
+     *     if any of the parameters are null
+     * @throws FHIRPathException
+     *     if an exception occurs during evaluation
+     * @see #compile(String)
+     */
+    public Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, CompiledExpression expression, Collection<FHIRPathNode> initialContext) throws FHIRPathException {
+        Objects.requireNonNull(evaluationContext);
+        Objects.requireNonNull(expression);
+        Objects.requireNonNull(initialContext);
+        try {
+            evaluationContext.setExternalConstant("context", initialContext);
+            setDateTimeConstants(evaluationContext);
+            return visitor.evaluate(evaluationContext, expression, initialContext);
+        } catch (Exception e) {
+            throw new FHIRPathException("An error occurred while evaluating expression: " + expression.getExpression(), e);
+        }
+    }
+
     private void setDateTimeConstants(EvaluationContext evaluationContext) {
         ZonedDateTime now = ZonedDateTime.now();
         evaluationContext.setExternalConstant("now", singleton(dateTimeValue(now)));
@@ -265,8 +339,30 @@ public class FHIRPathEvaluator {
         evaluationContext.setExternalConstant("timeOfDay", singleton(timeValue(LocalTime.from(now))));
     }
 
-    private static ExpressionContext getExpressionContext(String expr) {
-        return EXPRESSION_CONTEXT_CACHE.computeIfAbsent(Objects.requireNonNull(expr), FHIRPathUtil::compile);
+    private static CompiledExpression getCompiledExpression(String expr) {
+        return COMPILED_EXPRESSION_CACHE.computeIfAbsent(Objects.requireNonNull(expr), CompiledExpression::new);
+    }
+
+    /**
+     * Compile a FHIRPath expression into a {@link CompiledExpression} which can be evaluated repeatedly, by any
+     * number of FHIRPathEvaluator instances, without parsing or resolving the expression again
+     *
+     * @param expr
+     *     the FHIRPath expression to compile
+     * @return
+     *     the compiled expression
+     * @throws NullPointerException
+     *     if the expression is null
+     * @throws FHIRPathException
+     *     if the expression cannot be compiled
+     */
+    public static CompiledExpression compile(String expr) throws FHIRPathException {
+        Objects.requireNonNull(expr);
+        try {
+            return getCompiledExpression(expr);
+        } catch (Exception e) {
+            throw new FHIRPathException("An error occurred while compiling expression: " + expr, e);
+        }
     }
 
     /**
@@ -283,33 +379,48 @@ public class FHIRPathEvaluator {
         private static final String SYSTEM_NAMESPACE = "System";
 
         private static final int IDENTIFIER_CACHE_MAX_ENTRIES = 2048;
-        private static final Map<String, Collection<FHIRPathNode>> IDENTIFIER_CACHE = createLRUCache(IDENTIFIER_CACHE_MAX_ENTRIES);
+        private static final Map<String, Collection<FHIRPathNode>> IDENTIFIER_CACHE = new ConcurrentLRUCache<>(IDENTIFIER_CACHE_MAX_ENTRIES);
 
         private static final int LITERAL_CACHE_MAX_ENTRIES = 128;
-        private static final Map<String, Collection<FHIRPathNode>> LITERAL_CACHE = createLRUCache(LITERAL_CACHE_MAX_ENTRIES);
+        private static final Map<String, Collection<FHIRPathNode>> LITERAL_CACHE = new ConcurrentLRUCache<>(LITERAL_CACHE_MAX_ENTRIES);
 
         private EvaluationContext evaluationContext;
         private final Stack<Collection<FHIRPathNode>> contextStack = new Stack<>();
 
+        // the plans of the compiled expression being evaluated, keyed by parse tree node
+        private Map<ParseTree, Plan> plans;
+
         private int indentLevel = 0;
 
         private EvaluatingVisitor() { }
 
-        private Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, ExpressionContext expressionContext, Collection<FHIRPathNode> initialContext) {
+        private Collection<FHIRPathNode> evaluate(EvaluationContext evaluationContext, CompiledExpression compiledExpression, Collection<FHIRPathNode> initialContext) {
             reset();
             this.evaluationContext = evaluationContext;
+            this.plans = compiledExpression.plans;
             contextStack.push(initialContext);
-            Collection<FHIRPathNode> result = expressionContext.accept(this);
+            Collection<FHIRPathNode> result = compiledExpression.plan.evaluate(this);
             contextStack.pop();
             return Collections.unmodifiableCollection(result);
         }
 
+        @Override
+        public Collection<FHIRPathNode> visit(ParseTree tree) {
+            // use the compiled plan for this node (if any) instead of walking the parse tree
+            Plan plan = (plans != null) ? plans.get(tree) : null;
+            if (plan != null) {
+                return plan.evaluate(this);
+            }
+            return tree.accept(this);
+        }
+
         private EvaluationContext getEvaluationContext() {
             return evaluationContext;
         }
 
         private void reset() {
             contextStack.clear();
+            plans = null;
             indentLevel = 0;
         }
 
@@ -1136,23 +1247,55 @@ public class FHIRPathEvaluator {
             debug(ctx);
             indentLevel++;
 
-            Collection<FHIRPathNode> currentContext = getCurrentContext();
             String identifier = getString(visit(ctx.identifier()));
+            Collection<FHIRPathNode> result = member(identifier);
+
+            indentLevel--;
+
+            return result;
+        }
+
+        /**
+         * Evaluate a plan which navigates the given path from the current context, reusing the result of an earlier
+         * navigation of the same path from the same node if the evaluation context has navigation caching enabled
+         */
+        @SuppressWarnings("unchecked")
+        private Collection<FHIRPathNode> navigate(String path, Plan plan) {
+            Collection<FHIRPathNode> currentContext = getCurrentContext();
+            if (evaluationContext == null || !evaluationContext.isNavigationCacheEnabled() || !isSingleton(currentContext)) {
+                return plan.evaluate(this);
+            }
+            Map<String, Collection<FHIRPathNode>> paths = evaluationContext.navigationCache.computeIfAbsent(getSingleton(currentContext), k -> new HashMap<>());
+            Collection<FHIRPathNode> result = paths.get(path);
+            if (result == null) {
+                result = plan.evaluate(this);
+                if (result instanceof List) {
+                    // the result is shared, so make sure it isn't modified (while keeping List equality)
+                    result = Collections.unmodifiableList((List<FHIRPathNode>) result);
+                }
+                paths.put(path, result);
+            }
+            return result;
+        }
+
+        private Collection<FHIRPathNode> member(String identifier) {
+            Collection<FHIRPathNode> currentContext = getCurrentContext();
 
             if (isSingleton(currentContext)) {
                 FHIRPathNode node = getSingleton(currentContext);
                 if (closure(node.type()).contains(identifier)) {
-                    indentLevel--;
                     return currentContext;
                 }
             }
 
-            Collection<FHIRPathNode> result = currentContext.stream()
-                    .flatMap(node -> node.children().stream())
-                    .filter(node -> identifier.equals(node.name()))
-                    .collect(Collectors.toList());
-
-            indentLevel--;
+            List<FHIRPathNode> result = new ArrayList<>();
+            for (FHIRPathNode node : currentContext) {
+                for (FHIRPathNode child : node.children()) {
+                    if (identifier.equals(child.name())) {
+                        result.add(child);
+                    }
+                }
+            }
 
             return result;
         }
@@ -1340,6 +1483,203 @@ public class FHIRPathEvaluator {
         }
     }
 
+    /**
+     * A FHIRPath expression which has been parsed once and lowered to a tree of {@link Plan} instances.
+     *
+     * <p>Member navigation, function lookup and literal values are resolved when the expression is compiled
+     * instead of on each evaluation. Parts of the expression which aren't lowered are evaluated by walking the
+     * parse tree, as before. Instances are immutable and may be shared across threads and evaluators.
+     *
+     * @see FHIRPathEvaluator#compile(String)
+     */
+    public static final class CompiledExpression {
+        private final String expr;
+        private final Plan plan;
+        private final Map<ParseTree, Plan> plans;
+
+        private CompiledExpression(String expr) {
+            this.expr = expr;
+            Compiler compiler = new Compiler();
+            this.plan = compiler.compile(FHIRPathUtil.compile(expr));
+            this.plans = compiler.plans;
+        }
+
+        /**
+         * Get the FHIRPath expression from which this compiled expression was created
+         *
+         * @return
+         *     the FHIRPath expression
+         */
+        public String getExpression() {
+            return expr;
+        }
+
+        @Override
+        public String toString() {
+            return expr;
+        }
+    }
+
+    /**
+     * An executable node of a {@link CompiledExpression}, which evaluates against the current context of the visitor
+     */
+    @FunctionalInterface
+    private interface Plan {
+        Collection<FHIRPathNode> evaluate(EvaluatingVisitor visitor);
+    }
+
+    /**
+     * Lowers a parse tree to a tree of {@link Plan} instances. Visit methods return null for any node which
+     * can't be lowered; those nodes are evaluated by the {@link EvaluatingVisitor} instead.
+     */
+    private static class Compiler extends FHIRPathBaseVisitor<Plan> {
+        // functions which take unevaluated expressions as arguments and are implemented by the visitor
+        private static final Set<String> VISITOR_FUNCTIONS = new HashSet<>(Arrays.asList("all", "as", "exists", "iif", "is", "ofType", "select", "trace", "where"));
+
+        private final Map<ParseTree, Plan> plans = new IdentityHashMap<>();
+
+        private Plan compile(ParseTree tree) {
+            Plan plan = tree.accept(this);
+            if (plan == null) {
+                // the visitor evaluates this node, but may still use the plans of its descendants
+                for (int i = 0; i < tree.getChildCount(); i++) {
+                    compile(tree.getChild(i));
+                }
+                return visitor -> tree.accept(visitor);
+            }
+            plans.put(tree, plan);
+            return plan;
+        }
+
+        private String identifier(IdentifierContext ctx) {
+            String text = ctx.getText();
+            return text.startsWith("`") ? text.substring(1, text.length() - 1) : text;
+        }
+
+        @Override
+        public Plan visitChildren(RuleNode node) {
+            return null;
+        }
+
+        @Override
+        public Plan visitTermExpression(FHIRPathParser.TermExpressionContext ctx) {
+            return compile(ctx.term());
+        }
+
+        /**
+         * Get the dotted path navigated by an expression which consists only of member invocations (e.g.
+         * Observation.value), or null if the expression does anything other than navigate
+         */
+        private String navigationPath(ExpressionContext ctx) {
+            if (ctx instanceof FHIRPathParser.TermExpressionContext) {
+                FHIRPathParser.TermContext term = ((FHIRPathParser.TermExpressionContext) ctx).term();
+                if (term instanceof FHIRPathParser.InvocationTermContext) {
+                    FHIRPathParser.InvocationContext invocation = ((FHIRPathParser.InvocationTermContext) term).invocation();
+                    if (invocation instanceof FHIRPathParser.MemberInvocationContext) {
+                        return identifier(((FHIRPathParser.MemberInvocationContext) invocation).identifier());
+                    }
+                }
+            } else if (ctx instanceof FHIRPathParser.InvocationExpressionContext) {
+                FHIRPathParser.InvocationExpressionContext invocationExpression = (FHIRPathParser.InvocationExpressionContext) ctx;
+                if (invocationExpression.invocation() instanceof FHIRPathParser.MemberInvocationContext) {
+                    String path = navigationPath(invocationExpression.expression());
+                    if (path != null) {
+                        return path + "." + identifier(((FHIRPathParser.MemberInvocationContext) invocationExpression.invocation()).identifier());
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Plan visitInvocationExpression(FHIRPathParser.InvocationExpressionContext ctx) {
+            Plan expression = compile(ctx.expression());
+            Plan invocation = compile(ctx.invocation());
+            Plan plan = visitor -> {
+                visitor.pushContext(expression.evaluate(visitor));
+                Collection<FHIRPathNode> result = invocation.evaluate(visitor);
+                visitor.popContext();
+                return result;
+            };
+            String path = navigationPath(ctx);
+            if (path != null) {
+                // the result depends only on the path and the starting node, so it can be shared with other expressions
+                return visitor -> visitor.navigate(path, plan);
+            }
+            return plan;
+        }
+
+        @Override
+        public Plan visitInvocationTerm(FHIRPathParser.InvocationTermContext ctx) {
+            return compile(ctx.invocation());
+        }
+
+        @Override
+        public Plan visitParenthesizedTerm(FHIRPathParser.ParenthesizedTermContext ctx) {
+            return compile(ctx.expression());
+        }
+
+        @Override
+        public Plan visitLiteralTerm(FHIRPathParser.LiteralTermContext ctx) {
+            Collection<FHIRPathNode> result;
+            try {
+                // literals don't depend on the evaluation context
+                result = ctx.accept(new EvaluatingVisitor());
+            } catch (RuntimeException e) {
+                // leave it to the visitor so that the error is reported at evaluation time
+                return null;
+            }
+            return visitor -> result;
+        }
+
+        @Override
+        public Plan visitMemberInvocation(FHIRPathParser.MemberInvocationContext ctx) {
+            String identifier = identifier(ctx.identifier());
+            return visitor -> visitor.member(identifier);
+        }
+
+        @Override
+        public Plan visitFunctionInvocation(FHIRPathParser.FunctionInvocationContext ctx) {
+            return compile(ctx.function());
+        }
+
+        @Override
+        public Plan visitThisInvocation(FHIRPathParser.ThisInvocationContext ctx) {
+            return visitor -> visitor.getCurrentContext();
+        }
+
+        @Override
+        public Plan visitFunction(FHIRPathParser.FunctionContext ctx) {
+            String functionName = identifier(ctx.identifier());
+            if (VISITOR_FUNCTIONS.contains(functionName)) {
+                return null;
+            }
+
+            ParamListContext paramList = ctx.paramList();
+            List<ExpressionContext> arguments = (paramList != null) ? paramList.expression() : Collections.emptyList();
+
+            FHIRPathFunction function = FHIRPathFunction.registry().getFunction(functionName);
+            if (function == null || arguments.size() < function.getMinArity() || arguments.size() > function.getMaxArity()) {
+                // leave it to the visitor so that the error is reported at evaluation time
+                return null;
+            }
+
+            List<Plan> argumentPlans = new ArrayList<>(arguments.size());
+            for (ExpressionContext argument : arguments) {
+                argumentPlans.add(compile(argument));
+            }
+
+            return visitor -> {
+                Collection<FHIRPathNode> currentContext = visitor.getCurrentContext();
+                List<Collection<FHIRPathNode>> evaluatedArguments = new ArrayList<>(argumentPlans.size());
+                for (Plan argumentPlan : argumentPlans) {
+                    evaluatedArguments.add(argumentPlan.evaluate(visitor));
+                }
+                return function.apply(visitor.evaluationContext, currentContext, evaluatedArguments);
+            };
+        }
+    }
+
     /**
      * A context object used to pass information to/from the FHIRPath evaluation engine
      */
@@ -1361,6 +1701,9 @@ public class FHIRPathEvaluator {
         private Constraint constraint;
         private final List<Issue> issues = new ArrayList<>();
 
+        // the results of navigating member paths, keyed by starting node and then by path
+        private Map<FHIRPathNode, Map<String, Collection<FHIRPathNode>>> navigationCache;
+
         /**
          * Create an empty evaluation context, evaluating stand-alone expressions
          */
@@ -1377,8 +1720,6 @@ public class FHIRPathEvaluator {
          */
         public EvaluationContext(Resource resource) {
             this(FHIRPathTree.tree(resource));
-            externalConstantMap.put("rootResource", singleton(tree.getRoot()));
-            externalConstantMap.put("resource", singleton(tree.getRoot()));
         }
 
         /**
@@ -1391,8 +1732,23 @@ public class FHIRPathEvaluator {
             this(FHIRPathTree.tree(element));
         }
 
-        private EvaluationContext(FHIRPathTree tree) {
+        /**
+         * Create an evaluation context where the root of the passed tree is the context root.
+         * If the root is a resource node, sets %resource and %rootResource external constants to the root,
+         * but these can be overridden.
+         *
+         * <p>Use this constructor with {@link FHIRPathTree#lazyTree(Resource)} to create the nodes of the tree
+         * only as they are navigated to by the expressions evaluated against this context.
+         *
+         * @param tree
+         *     the tree
+         */
+        public EvaluationContext(FHIRPathTree tree) {
             this.tree = tree;
+            if (tree != null && tree.getRoot().isResourceNode()) {
+                externalConstantMap.put("rootResource", singleton(tree.getRoot()));
+                externalConstantMap.put("resource", singleton(tree.getRoot()));
+            }
         }
 
         /**
@@ -1521,6 +1877,31 @@ public class FHIRPathEvaluator {
             return constraint != null;
         }
 
+        /**
+         * Enable or disable caching of member navigation results for this evaluation context
+         *
+         * <p>When enabled, the result of navigating a path of member invocations (e.g. Observation.value) from a node
+         * is kept and reused by subsequent compiled expressions which navigate the same path from the same node. This
+         * avoids navigating common prefixes repeatedly when many expressions are evaluated against the same tree, at
+         * the cost of holding the results until this evaluation context is discarded or caching is disabled.
+         *
+         * @param enabled
+         *     whether navigation results should be cached
+         */
+        public void setNavigationCacheEnabled(boolean enabled) {
+            navigationCache = enabled ? new IdentityHashMap<>() : null;
+        }
+
+        /**
+         * Indicates whether caching of member navigation results is enabled for this evaluation context
+         *
+         * @return
+         *     true if caching of member navigation results is enabled, otherwise false
+         */
+        public boolean isNavigationCacheEnabled() {
+            return navigationCache != null;
+        }
+
         /**
          * Get the list of supplemental issues that were generated during evaluation
          *
@@ -1549,5 +1930,23 @@ public class FHIRPathEvaluator {
         public boolean hasIssues() {
             return !issues.isEmpty();
         }
+
+        /**
+         * Create a copy of this evaluation context which can be used to evaluate expressions against the same tree
+         * on another thread
+         *
+         * <p>The copy has the same tree and external constants, and navigation caching is enabled if it is enabled
+         * for this evaluation context. The constraint, the cached navigation results and the supplemental issues
+         * are not copied.
+         *
+         * @return
+         *     a new EvaluationContext instance
+         */
+        public EvaluationContext copy() {
+            EvaluationContext copy = new EvaluationContext(tree);
+            copy.externalConstantMap.putAll(externalConstantMap);
+            copy.setNavigationCacheEnabled(isNavigationCacheEnabled());
+            return copy;
+        }
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.test;
+
+import static com.ibm.fhir.path.evaluator.FHIRPathEvaluator.SINGLETON_TRUE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.examples.ExamplesUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.CompiledExpression;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+import com.ibm.fhir.path.exception.FHIRPathException;
+
+public class CompiledExpressionTest {
+    private static final Patient patient = readPatient();
+
+    private static final String[] EXPRESSIONS = {
+        "Patient.name.given",
+        "Patient.name.where(use = 'official').family",
+        "Patient.name.given.first() + ' ' + Patient.name.family.first()",
+        "Patient.telecom.where(system = 'phone').value.exists()",
+        "Patient.birthDate.exists($this = @1974-12-25)",
+        "Patient.contact.name.family.count() > 0 and Patient.active",
+        "Patient.identifier.select(system.substring(0, 4))",
+        "(Patient.gender | Patient.deceased).ofType(code)",
+        "Patient.name[1].given.`exists`()",
+        "Patient.name.where(use = 'official').given.where($this = 'Peter').exists()"
+    };
+
+    @Test
+    public void testCompiledMatchesInterpreted() throws Exception {
+        for (String expr : EXPRESSIONS) {
+            CompiledExpression compiled = FHIRPathEvaluator.compile(expr);
+            assertEquals(compiled.getExpression(), expr);
+
+            Collection<FHIRPathNode> expected = FHIRPathEvaluator.evaluator().evaluate(patient, expr);
+            Collection<FHIRPathNode> actual = FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(patient), compiled);
+            assertEquals(new ArrayList<>(actual), new ArrayList<>(expected), expr);
+        }
+    }
+
+    @Test
+    public void testNavigationCache() throws Exception {
+        EvaluationContext evaluationContext = new EvaluationContext(patient);
+        evaluationContext.setNavigationCacheEnabled(true);
+        for (int i = 0; i < 2; i++) {
+            for (String expr : EXPRESSIONS) {
+                Collection<FHIRPathNode> expected = FHIRPathEvaluator.evaluator().evaluate(patient, expr);
+                Collection<FHIRPathNode> actual = FHIRPathEvaluator.evaluator().evaluate(evaluationContext, FHIRPathEvaluator.compile(expr));
+                assertEquals(new ArrayList<>(actual), new ArrayList<>(expected), expr);
+            }
+        }
+
+        // a path navigated from a different starting node is not taken from the cache
+        Collection<FHIRPathNode> given = FHIRPathEvaluator.evaluator().evaluate(evaluationContext, FHIRPathEvaluator.compile("Patient.name.given"));
+        Collection<FHIRPathNode> officialGiven = FHIRPathEvaluator.evaluator().evaluate(evaluationContext, FHIRPathEvaluator.compile("Patient.name.where(use = 'official').select(given)"));
+        assertEquals(new ArrayList<>(officialGiven), new ArrayList<>(FHIRPathEvaluator.evaluator().evaluate(patient, "Patient.name.where(use = 'official').given")));
+        assertTrue(officialGiven.size() < given.size());
+
+        evaluationContext.setNavigationCacheEnabled(false);
+        assertFalse(evaluationContext.isNavigationCacheEnabled());
+        assertEquals(FHIRPathEvaluator.evaluator().evaluate(evaluationContext, FHIRPathEvaluator.compile("Patient.name.given")).size(), given.size());
+    }
+
+    @Test
+    public void testCompileIsCached() throws Exception {
+        assertSame(FHIRPathEvaluator.compile("Patient.name.given"), FHIRPathEvaluator.compile("Patient.name.given"));
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws Exception {
+        CompiledExpression compiled = FHIRPathEvaluator.compile("Patient.name.where(use = 'official').given.where($this = 'Peter').exists()");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Collection<FHIRPathNode>>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(patient), compiled)));
+            }
+            for (Future<Collection<FHIRPathNode>> future : futures) {
+                assertEquals(future.get(), SINGLETON_TRUE);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnknownFunctionIsReportedOnEvaluation() throws Exception {
+        // the unknown function is never evaluated, so compilation and evaluation both succeed
+        CompiledExpression compiled = FHIRPathEvaluator.compile("Patient.active.exists() or Patient.unknownFunction()");
+        Collection<FHIRPathNode> result = FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(patient), compiled);
+        assertEquals(result, SINGLETON_TRUE);
+    }
+
+    @Test(expectedExceptions = FHIRPathException.class)
+    public void testUnknownFunction() throws Exception {
+        CompiledExpression compiled = FHIRPathEvaluator.compile("Patient.unknownFunction()");
+        FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(patient), compiled);
+    }
+
+    @Test(expectedExceptions = FHIRPathException.class)
+    public void testSyntaxError() throws Exception {
+        FHIRPathEvaluator.compile("Patient.name.");
+    }
+
+    private static Patient readPatient() {
+        try (Reader reader = ExamplesUtil.resourceReader("json/spec/patient-example.json")) {
+            return FHIRParser.parser(Format.JSON).parse(reader);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
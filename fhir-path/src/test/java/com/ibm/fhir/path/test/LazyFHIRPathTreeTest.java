@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.path.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.examples.ExamplesUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathTree;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
+
+public class LazyFHIRPathTreeTest {
+    private static final Resource bundle = readResource("json/spec/patient-examples-general.json");
+
+    @Test
+    public void testSameNodes() throws Exception {
+        FHIRPathTree tree = FHIRPathTree.tree(bundle);
+        FHIRPathTree lazyTree = FHIRPathTree.lazyTree(bundle);
+        assertFalse(tree.isLazy());
+        assertTrue(lazyTree.isLazy());
+
+        List<FHIRPathNode> nodes = tree.getRoot().stream().collect(Collectors.toList());
+        List<FHIRPathNode> lazyNodes = lazyTree.getRoot().stream().collect(Collectors.toList());
+        assertEquals(lazyNodes.size(), nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            FHIRPathNode node = nodes.get(i);
+            FHIRPathNode lazyNode = lazyNodes.get(i);
+            assertEquals(lazyNode.name(), node.name());
+            assertEquals(lazyNode.path(), node.path());
+            assertEquals(lazyNode.type(), node.type());
+            assertEquals(lazyNode.getValue(), node.getValue());
+            assertEquals(lazyNode.children().size(), node.children().size());
+        }
+    }
+
+    @Test
+    public void testGetNode() throws Exception {
+        FHIRPathTree lazyTree = FHIRPathTree.lazyTree(bundle);
+
+        // nothing below the root has been created yet
+        FHIRPathNode given = lazyTree.getNode("Bundle.entry[1].resource.name[0].given[0]");
+        assertNotNull(given);
+        assertEquals(given.path(), "Bundle.entry[1].resource.name[0].given[0]");
+        assertEquals(given.getValue(), FHIRPathTree.tree(bundle).getNode("Bundle.entry[1].resource.name[0].given[0]").getValue());
+
+        FHIRPathNode parent = lazyTree.getParent(given);
+        assertEquals(parent.path(), "Bundle.entry[1].resource.name[0]");
+        assertSame(lazyTree.getNode("Bundle.entry[1].resource.name[0]"), parent);
+        assertTrue(lazyTree.getSiblings(given).size() > 0);
+
+        assertNull(lazyTree.getNode("Bundle.entry[1].resource.unknown"));
+        assertNull(lazyTree.getNode("Bundle.entry[999]"));
+        assertNull(lazyTree.getNode("Patient.name"));
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        String[] expressions = {
+            "Bundle.entry.resource.where(birthDate < @1950-01-01)",
+            "Bundle.entry.resource.ofType(Patient).name.given",
+            "Bundle.entry.resource.ofType(Patient).telecom.where(system = 'phone').value",
+            "Bundle.entry.resource.descendants().count()",
+            "%resource.entry.count()"
+        };
+        for (String expr : expressions) {
+            Collection<FHIRPathNode> expected = FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(bundle), expr);
+            Collection<FHIRPathNode> actual = FHIRPathEvaluator.evaluator().evaluate(new EvaluationContext(FHIRPathTree.lazyTree(bundle)), expr);
+            assertEquals(paths(actual), paths(expected), expr);
+            assertEquals(new ArrayList<>(actual), new ArrayList<>(expected), expr);
+        }
+    }
+
+    private static List<String> paths(Collection<FHIRPathNode> nodes) {
+        return nodes.stream().map(FHIRPathNode::path).collect(Collectors.toList());
+    }
+
+    private static Resource readResource(String name) {
+        try (Reader reader = ExamplesUtil.resourceReader(name)) {
+            return FHIRParser.parser(Format.JSON).parse(reader);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -91,6 +91,11 @@ public class FHIRTestTransactionAdapter implements FHIRPersistenceTransaction {
         }
     }
 
+    @Override
+    public boolean isStartedByThis() {
+        return startedByThis;
+    }
+
     @Override
     public void setRollbackOnly() throws FHIRPersistenceException {
         if (currentTransaction.get() == null) {
@@ -153,6 +153,11 @@ public class FHIRUserTransactionAdapter implements FHIRPersistenceTransaction {
         }
     }
 
+    @Override
+    public boolean isStartedByThis() {
+        return startedByThis;
+    }
+
     @Override
     public void setRollbackOnly() throws FHIRPersistenceException {
         // trap door - mark for rollback, *even* if we didn't start the transaction
@@ -14,13 +14,20 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.transaction.TransactionSynchronizationRegistry;
 
 import com.ibm.fhir.database.utils.api.IDatabaseTranslator;
+import com.ibm.fhir.persistence.ReindexProgress;
+import com.ibm.fhir.persistence.ReindexRange;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceNotFoundException;
 import com.ibm.fhir.persistence.jdbc.FHIRPersistenceJDBCCache;
 import com.ibm.fhir.persistence.jdbc.connection.FHIRDbFlavor;
@@ -28,11 +35,14 @@ import com.ibm.fhir.persistence.jdbc.dao.api.IResourceReferenceDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.JDBCIdentityCache;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ResourceIndexRecord;
+import com.ibm.fhir.persistence.jdbc.dao.api.SearchParameterChanges;
 import com.ibm.fhir.persistence.jdbc.dao.impl.JDBCIdentityCacheImpl;
 import com.ibm.fhir.persistence.jdbc.dao.impl.ParameterVisitorBatchDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.ResourceDAOImpl;
 import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
+import com.ibm.fhir.persistence.jdbc.dto.Resource;
 import com.ibm.fhir.persistence.jdbc.impl.ParameterTransactionDataImpl;
+import com.ibm.fhir.schema.control.FhirSchemaConstants;
 
 /**
  * DAO used to contain the logic required to reindex a given resource
@@ -48,7 +58,7 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
     private final ParameterDAO parameterDao;
 
     private static final String PICK_SINGLE_RESOURCE = ""
-            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid "
+            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, lr.reindex_tstamp "
             + "    FROM logical_resources lr "
             + "   WHERE lr.resource_type_id = ? "
             + "     AND lr.logical_id = ? "
@@ -56,7 +66,7 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
             ;
 
     private static final String PICK_SINGLE_RESOURCE_TYPE = ""
-            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid "
+            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, lr.reindex_tstamp "
             + "    FROM logical_resources lr "
             + "   WHERE lr.resource_type_id = ? "
             + "     AND lr.reindex_tstamp < ? "
@@ -64,12 +74,36 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
             ;
 
     private static final String PICK_ANY_RESOURCE = ""
-            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid "
+            + "  SELECT lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, lr.reindex_tstamp "
             + "    FROM logical_resources lr "
             + "   WHERE lr.reindex_tstamp < ? "
             + "OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY "
             ;
 
+    // The number of pending ranges read per attempt to claim one
+    private static final int CLAIM_CANDIDATES = 10;
+
+    private static final String PICK_RANGE_CANDIDATES = ""
+            + "  SELECT rr.resource_type_id, rt.resource_type, rr.range_start, rr.range_end, "
+            + "         rr.last_logical_resource_id, rr.resource_count, rr.range_status, rr.claim_tstamp "
+            + "    FROM reindex_ranges rr, "
+            + "         resource_types rt "
+            + "   WHERE rt.resource_type_id = rr.resource_type_id "
+            + "     AND rr.reindex_tstamp = ? "
+            + "     AND (rr.range_status = 'PENDING' OR (rr.range_status = 'RUNNING' AND rr.claim_tstamp < ?)) "
+            ;
+
+    private static final String CLAIM_RANGE = ""
+            + "  UPDATE reindex_ranges "
+            + "     SET range_status = 'RUNNING', "
+            + "         claimed_by = ?, "
+            + "         claim_tstamp = ? "
+            + "   WHERE resource_type_id = ? "
+            + "     AND range_start = ? "
+            + "     AND last_logical_resource_id = ? " // make sure the range hasn't moved on since we selected it
+            + "     AND (range_status = 'PENDING' OR (range_status = 'RUNNING' AND claim_tstamp < ?)) "
+            ;
+
     /**
      * Public constructor
      * @param connection
@@ -166,7 +200,7 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
                 }
                 ResultSet rs = stmt.executeQuery();
                 if (rs.next()) {
-                    result = new ResourceIndexRecord(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getLong(4));
+                    result = new ResourceIndexRecord(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getLong(4), rs.getTimestamp(5).toInstant());
                 }
             } catch (SQLException x) {
                 logger.log(Level.SEVERE, select, x);
@@ -307,6 +341,557 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
         logger.exiting(CLASSNAME, METHODNAME);
     }
 
+    /**
+     * Reindex the resource by replacing the values of the given search parameters with those passed in,
+     * leaving the values of the other search parameters in place
+     * @param tablePrefix
+     * @param parameters the values extracted for the search parameters in parameterNameIds
+     * @param logicalId
+     * @param logicalResourceId
+     * @param parameterNameIds the search parameters which have changed
+     * @throws Exception
+     */
+    public void updateParameters(String tablePrefix, List<ExtractedParameterValue> parameters, String logicalId, long logicalResourceId,
+        Collection<Integer> parameterNameIds) throws Exception {
+
+        final String METHODNAME = "updateParameters() for " + tablePrefix + "/" + logicalId;
+        logger.entering(CLASSNAME, METHODNAME);
+
+        // no need to close
+        Connection connection = getConnection();
+
+        if (!parameterNameIds.isEmpty()) {
+            // delete composites first, or else the foreign keys there restrict deletes on referenced tables
+            deleteFromParameterTable(connection, tablePrefix + "_composites", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_str_values", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_number_values", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_date_values", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_latlng_values", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_token_values", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_resource_token_refs", logicalResourceId, parameterNameIds);
+            deleteFromParameterTable(connection, tablePrefix + "_quantity_values", logicalResourceId, parameterNameIds);
+        }
+
+        if (parameters != null && !parameters.isEmpty()) {
+            JDBCIdentityCache identityCache = new JDBCIdentityCacheImpl(getCache(), this, parameterDao, getResourceReferenceDAO());
+            try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, null, tablePrefix, false, logicalResourceId, 100,
+                identityCache, getResourceReferenceDAO(), getTransactionData())) {
+                for (ExtractedParameterValue p: parameters) {
+                    p.accept(pvd);
+                }
+            } catch (SQLException x) {
+                logger.log(Level.SEVERE, "inserting parameters", x);
+                throw translator.translate(x);
+            }
+        }
+        logger.exiting(CLASSNAME, METHODNAME);
+    }
+
+    /**
+     * Compare the fingerprints of the current search parameters of the resource type with those stored
+     * by earlier reindex operations. The changed_tstamp of each search parameter which is new, has changed
+     * or has been removed is set to reindexTstamp. When no fingerprints have been stored for the resource
+     * type, all of its search parameters are treated as changed.
+     * @param resourceTypeId
+     * @param fingerprints the current fingerprint of each search parameter code
+     * @param reindexTstamp
+     * @return
+     * @throws Exception
+     */
+    public SearchParameterChanges syncFingerprints(int resourceTypeId, Map<String, String> fingerprints, Instant reindexTstamp) throws Exception {
+        final String METHODNAME = "syncFingerprints() for " + resourceTypeId;
+        logger.entering(CLASSNAME, METHODNAME);
+
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        Map<String, Instant> changedTstamps = new HashMap<>();
+        Map<String, Integer> parameterNameIds = new HashMap<>();
+        Map<String, String> stored = new HashMap<>();
+        readFingerprints(resourceTypeId, parameterNameIds, stored, changedTstamps);
+
+        // Without a baseline, we can't tell which of the search parameters the stored values reflect
+        final boolean baseline = !stored.isEmpty();
+        List<String> inserts = new ArrayList<>();
+        List<String> updates = new ArrayList<>();
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            String code = entry.getKey();
+            if (!stored.containsKey(code)) {
+                inserts.add(code);
+            } else if (!entry.getValue().equals(stored.get(code))) {
+                updates.add(code);
+            }
+        }
+        for (Map.Entry<String, String> entry : stored.entrySet()) {
+            if (entry.getValue() != null && !fingerprints.containsKey(entry.getKey())) {
+                // removed, so its values need to be deleted
+                updates.add(entry.getKey());
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            JDBCIdentityCache identityCache = new JDBCIdentityCacheImpl(getCache(), this, parameterDao, getResourceReferenceDAO());
+            final String INSERT_FINGERPRINT = getInsertFingerprintSql();
+            List<String> duplicates = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(INSERT_FINGERPRINT)) {
+                for (String code : inserts) {
+                    int parameterNameId = identityCache.getParameterNameId(code);
+                    stmt.setInt(1, resourceTypeId);
+                    stmt.setInt(2, parameterNameId);
+                    stmt.setString(3, fingerprints.get(code));
+                    stmt.setTimestamp(4, Timestamp.from(reindexTstamp));
+                    parameterNameIds.put(code, parameterNameId);
+                    changedTstamps.put(code, reindexTstamp);
+
+                    // One row at a time, because another node reindexing the same resource type may have
+                    // stored the fingerprint since we read them
+                    try {
+                        if (stmt.executeUpdate() == 0) {
+                            duplicates.add(code);
+                        }
+                    } catch (SQLException x) {
+                        if (translator.isDuplicate(x)) {
+                            duplicates.add(code);
+                        } else {
+                            throw x;
+                        }
+                    }
+                }
+            } catch (SQLException x) {
+                logger.log(Level.SEVERE, INSERT_FINGERPRINT, x);
+                throw translator.translate(x);
+            }
+
+            if (!duplicates.isEmpty()) {
+                // Use the fingerprints the other node stored, unless they differ from ours
+                stored.clear();
+                readFingerprints(resourceTypeId, parameterNameIds, stored, changedTstamps);
+                for (String code : duplicates) {
+                    if (!fingerprints.get(code).equals(stored.get(code))) {
+                        updates.add(code);
+                    }
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            final String UPDATE_FINGERPRINT = ""
+                    + " UPDATE search_param_fingerprints "
+                    + "    SET fingerprint = ?, "
+                    + "        changed_tstamp = ? "
+                    + "  WHERE resource_type_id = ? "
+                    + "    AND parameter_name_id = ? ";
+            try (PreparedStatement stmt = connection.prepareStatement(UPDATE_FINGERPRINT)) {
+                for (String code : updates) {
+                    stmt.setString(1, fingerprints.get(code));
+                    stmt.setTimestamp(2, Timestamp.from(reindexTstamp));
+                    stmt.setInt(3, resourceTypeId);
+                    stmt.setInt(4, parameterNameIds.get(code));
+                    stmt.addBatch();
+                    changedTstamps.put(code, reindexTstamp);
+                }
+                stmt.executeBatch();
+            } catch (SQLException x) {
+                logger.log(Level.SEVERE, UPDATE_FINGERPRINT, x);
+                throw translator.translate(x);
+            }
+        }
+
+        if (!baseline) {
+            // Every search parameter needs to be extracted by this reindex
+            for (String code : fingerprints.keySet()) {
+                changedTstamps.put(code, reindexTstamp);
+            }
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Search parameter fingerprints for resource type " + resourceTypeId + ": new=" + inserts + ", changed/removed=" + updates);
+        }
+        logger.exiting(CLASSNAME, METHODNAME);
+        return new SearchParameterChanges(changedTstamps, parameterNameIds, new HashSet<>(fingerprints.keySet()));
+    }
+
+    /**
+     * Read the fingerprints stored for the search parameters of the resource type
+     * @param resourceTypeId
+     * @param parameterNameIds the parameter_name_id of each search parameter code is added to this map
+     * @param stored the fingerprint of each search parameter code is added to this map
+     * @param changedTstamps the changed_tstamp of each search parameter code is added to this map
+     * @throws Exception
+     */
+    private void readFingerprints(int resourceTypeId, Map<String, Integer> parameterNameIds, Map<String, String> stored,
+        Map<String, Instant> changedTstamps) throws Exception {
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String SELECT_FINGERPRINTS = ""
+                + "SELECT pn.parameter_name, sf.parameter_name_id, sf.fingerprint, sf.changed_tstamp "
+                + "  FROM search_param_fingerprints sf, "
+                + "       parameter_names pn "
+                + " WHERE sf.resource_type_id = ? "
+                + "   AND pn.parameter_name_id = sf.parameter_name_id ";
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_FINGERPRINTS)) {
+            stmt.setInt(1, resourceTypeId);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                parameterNameIds.put(rs.getString(1), rs.getInt(2));
+                stored.put(rs.getString(1), rs.getString(3));
+                changedTstamps.put(rs.getString(1), rs.getTimestamp(4).toInstant());
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, SELECT_FINGERPRINTS, x);
+            throw translator.translate(x);
+        }
+    }
+
+    /**
+     * Get the statement which inserts the fingerprint of a search parameter. The parameters are the resource_type_id,
+     * parameter_name_id, fingerprint and changed_tstamp. The statement fails with a duplicate key error, or doesn't
+     * insert a row, if the fingerprint has already been stored.
+     * @return
+     */
+    protected String getInsertFingerprintSql() {
+        if (getFlavor().isMultitenant()) {
+            return ""
+                    + "INSERT INTO search_param_fingerprints (mt_id, resource_type_id, parameter_name_id, fingerprint, changed_tstamp) "
+                    + "     VALUES (" + FhirSchemaConstants.FHIR_ADMIN + ".sv_tenant_id, ?, ?, ?, ?)";
+        } else {
+            return ""
+                    + "INSERT INTO search_param_fingerprints (resource_type_id, parameter_name_id, fingerprint, changed_tstamp) "
+                    + "     VALUES (?, ?, ?, ?)";
+        }
+    }
+
+    /**
+     * Partition the logical resources of the given resource type into ranges of rangeSize logical resources
+     * for the server-side bulk reindex. The ranges are kept if the resource type has already been partitioned
+     * for the same reindexTstamp, so that an interrupted reindex picks up from its checkpoints.
+     * @param resourceTypeId
+     * @param resourceType
+     * @param reindexTstamp
+     * @param rangeSize
+     * @return the number of ranges for the resource type
+     * @throws Exception
+     */
+    public int planRanges(int resourceTypeId, String resourceType, Instant reindexTstamp, int rangeSize) throws Exception {
+        final String METHODNAME = "planRanges() for " + resourceType;
+        logger.entering(CLASSNAME, METHODNAME);
+
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String SELECT_PLANNED = ""
+                + "SELECT COUNT(*) "
+                + "  FROM reindex_ranges "
+                + " WHERE resource_type_id = ? "
+                + "   AND reindex_tstamp = ? ";
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_PLANNED)) {
+            stmt.setInt(1, resourceTypeId);
+            stmt.setTimestamp(2, Timestamp.from(reindexTstamp));
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next() && rs.getInt(1) > 0) {
+                logger.exiting(CLASSNAME, METHODNAME);
+                return rs.getInt(1);
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, SELECT_PLANNED, x);
+            throw translator.translate(x);
+        }
+
+        // Ranges left over from an earlier reindex are no longer of interest
+        final String DELETE_RANGES = "DELETE FROM reindex_ranges WHERE resource_type_id = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(DELETE_RANGES)) {
+            stmt.setInt(1, resourceTypeId);
+            stmt.executeUpdate();
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, DELETE_RANGES, x);
+            throw translator.translate(x);
+        }
+
+        // Walk the primary key index to find the logical_resource_id which ends each range. Each
+        // query only touches the rangeSize index entries of the range, so there's no need to
+        // count or sort the whole table
+        final String SELECT_RANGE_END = ""
+                + "  SELECT logical_resource_id "
+                + "    FROM " + resourceType + "_logical_resources "
+                + "   WHERE logical_resource_id > ? "
+                + "ORDER BY logical_resource_id "
+                + "OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY ";
+        List<Long> rangeEnds = new ArrayList<>();
+        long rangeStart = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_RANGE_END)) {
+            boolean more = true;
+            while (more) {
+                stmt.setLong(1, rangeStart);
+                stmt.setInt(2, rangeSize - 1);
+                ResultSet rs = stmt.executeQuery();
+                more = rs.next();
+                if (more) {
+                    rangeStart = rs.getLong(1);
+                    rangeEnds.add(rangeStart);
+                }
+                rs.close();
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, SELECT_RANGE_END, x);
+            throw translator.translate(x);
+        }
+
+        // The last range is open-ended, covering the remainder of the resources
+        rangeEnds.add(Long.MAX_VALUE);
+
+        final String INSERT_RANGE;
+        if (getFlavor().isMultitenant()) {
+            INSERT_RANGE = ""
+                    + "INSERT INTO reindex_ranges (mt_id, resource_type_id, range_start, range_end, reindex_tstamp, "
+                    + "       last_logical_resource_id, resource_count, range_status) "
+                    + "     VALUES (" + FhirSchemaConstants.FHIR_ADMIN + ".sv_tenant_id, ?, ?, ?, ?, ?, 0, 'PENDING')";
+        } else {
+            INSERT_RANGE = ""
+                    + "INSERT INTO reindex_ranges (resource_type_id, range_start, range_end, reindex_tstamp, "
+                    + "       last_logical_resource_id, resource_count, range_status) "
+                    + "     VALUES (?, ?, ?, ?, ?, 0, 'PENDING')";
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_RANGE)) {
+            rangeStart = 0;
+            for (long rangeEnd: rangeEnds) {
+                stmt.setInt(1, resourceTypeId);
+                stmt.setLong(2, rangeStart);
+                stmt.setLong(3, rangeEnd);
+                stmt.setTimestamp(4, Timestamp.from(reindexTstamp));
+                stmt.setLong(5, rangeStart);
+                stmt.addBatch();
+                rangeStart = rangeEnd;
+            }
+            stmt.executeBatch();
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, INSERT_RANGE, x);
+            throw translator.translate(x);
+        }
+
+        logger.exiting(CLASSNAME, METHODNAME);
+        return rangeEnds.size();
+    }
+
+    /**
+     * Claim a range which is pending, or running with a claim_tstamp older than staleBefore. Uses the same
+     * optimistic locking pattern as {@link #getNextResource(SecureRandom, Instant, Integer, String)}
+     * so that two workers can't claim the same range.
+     * @param reindexTstamp
+     * @param resourceTypeId optional resource type to limit the claim to
+     * @param claimedBy
+     * @param claimTstamp
+     * @param staleBefore
+     * @return the claimed range, or null if there's no range left to claim
+     * @throws Exception
+     */
+    public ReindexRange claimRange(Instant reindexTstamp, Integer resourceTypeId, String claimedBy, Instant claimTstamp, Instant staleBefore) throws Exception {
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String select = PICK_RANGE_CANDIDATES
+                + (resourceTypeId != null ? "     AND rr.resource_type_id = ? " : "")
+                + "ORDER BY rr.resource_type_id, rr.range_start "
+                + "FETCH FIRST " + CLAIM_CANDIDATES + " ROWS ONLY ";
+
+        List<ReindexRange> candidates = new ArrayList<>();
+        List<Integer> candidateTypeIds = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(select)) {
+            stmt.setTimestamp(1, Timestamp.from(reindexTstamp));
+            stmt.setTimestamp(2, Timestamp.from(staleBefore));
+            if (resourceTypeId != null) {
+                stmt.setInt(3, resourceTypeId);
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                candidateTypeIds.add(rs.getInt(1));
+                candidates.add(new ReindexRange(rs.getString(2), rs.getLong(3), rs.getLong(4), reindexTstamp, rs.getLong(5), rs.getLong(6),
+                    ReindexRange.Status.RUNNING, claimedBy));
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, select, x);
+            throw translator.translate(x);
+        }
+
+        // Try the candidates in order. If another worker beat us to one, it no longer matches
+        // the update and we move on to the next
+        try (PreparedStatement stmt = connection.prepareStatement(CLAIM_RANGE)) {
+            for (int i = 0; i < candidates.size(); i++) {
+                ReindexRange candidate = candidates.get(i);
+                stmt.setString(1, claimedBy);
+                stmt.setTimestamp(2, Timestamp.from(claimTstamp));
+                stmt.setInt(3, candidateTypeIds.get(i));
+                stmt.setLong(4, candidate.getRangeStart());
+                stmt.setLong(5, candidate.getLastLogicalResourceId());
+                stmt.setTimestamp(6, Timestamp.from(staleBefore));
+                if (stmt.executeUpdate() > 0) {
+                    return candidate;
+                }
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, CLAIM_RANGE, x);
+            throw translator.translate(x);
+        }
+
+        // Nothing left to claim, unless all the candidates were taken by other workers
+        return candidates.isEmpty() ? null : claimRange(reindexTstamp, resourceTypeId, claimedBy, claimTstamp, staleBefore);
+    }
+
+    /**
+     * Read the current versions of the next batch of logical resources in the range which haven't been
+     * reindexed since reindexTstamp, in logical_resource_id order
+     * @param resourceType
+     * @param fromLogicalResourceId read logical resources after this id
+     * @param toLogicalResourceId read logical resources up to and including this id
+     * @param reindexTstamp
+     * @param batchSize
+     * @param lastReindexTstamps receives the reindex_tstamp of each resource read, from before this reindex, keyed by
+     *        logical_resource_id
+     * @return
+     * @throws Exception
+     */
+    public List<Resource> readRangeBatch(String resourceType, long fromLogicalResourceId, long toLogicalResourceId, Instant reindexTstamp,
+        int batchSize, Map<Long, Instant> lastReindexTstamps) throws Exception {
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String SELECT_BATCH = ""
+                + "  SELECT r.resource_id, r.logical_resource_id, r.version_id, r.last_updated, r.is_deleted, r.data, lr.logical_id, "
+                + "         glr.reindex_tstamp "
+                + "    FROM " + resourceType + "_logical_resources lr, "
+                + "         " + resourceType + "_resources r, "
+                + "         logical_resources glr "
+                + "   WHERE lr.logical_resource_id > ? "
+                + "     AND lr.logical_resource_id <= ? "
+                + "     AND r.resource_id = lr.current_resource_id "
+                + "     AND glr.logical_resource_id = lr.logical_resource_id "
+                + "     AND glr.reindex_tstamp < ? "
+                + "ORDER BY lr.logical_resource_id "
+                + "FETCH FIRST " + batchSize + " ROWS ONLY ";
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_BATCH)) {
+            stmt.setLong(1, fromLogicalResourceId);
+            stmt.setLong(2, toLogicalResourceId);
+            stmt.setTimestamp(3, Timestamp.from(reindexTstamp));
+            ResultSet rs = stmt.executeQuery();
+            List<Resource> result = new ArrayList<>();
+            while (rs.next()) {
+                Resource resourceDTO = createDTO(rs);
+                lastReindexTstamps.put(resourceDTO.getLogicalResourceId(), rs.getTimestamp("REINDEX_TSTAMP").toInstant());
+                result.add(resourceDTO);
+            }
+            return result;
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, SELECT_BATCH, x);
+            throw translator.translate(x);
+        }
+    }
+
+    /**
+     * Record the new checkpoint for a range, and mark the logical resources up to the checkpoint as
+     * reindexed so that they aren't picked again by {@link #getResourceToReindex(Instant, Integer, String)}
+     * @param resourceTypeId
+     * @param range the claimed range, with the previous checkpoint
+     * @param lastLogicalResourceId the new checkpoint
+     * @param resourceCount the number of resources reindexed since the previous checkpoint
+     * @param complete true if there are no more resources to reindex in the range
+     * @param checkpointTstamp
+     * @return false if the claim on the range has been taken over by another worker
+     * @throws Exception
+     */
+    public boolean checkpointRange(int resourceTypeId, ReindexRange range, long lastLogicalResourceId, int resourceCount, boolean complete,
+        Instant checkpointTstamp) throws Exception {
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String UPDATE_RANGE = ""
+                + " UPDATE reindex_ranges "
+                + "    SET last_logical_resource_id = ?, "
+                + "        resource_count = resource_count + ?, "
+                + "        range_status = ?, "
+                + "        claim_tstamp = ? "
+                + "  WHERE resource_type_id = ? "
+                + "    AND range_start = ? "
+                + "    AND range_status = 'RUNNING' "
+                + "    AND claimed_by = ? ";
+        try (PreparedStatement stmt = connection.prepareStatement(UPDATE_RANGE)) {
+            stmt.setLong(1, lastLogicalResourceId);
+            stmt.setInt(2, resourceCount);
+            stmt.setString(3, complete ? ReindexRange.Status.COMPLETE.name() : ReindexRange.Status.RUNNING.name());
+            stmt.setTimestamp(4, Timestamp.from(checkpointTstamp));
+            stmt.setInt(5, resourceTypeId);
+            stmt.setLong(6, range.getRangeStart());
+            stmt.setString(7, range.getClaimedBy());
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, UPDATE_RANGE, x);
+            throw translator.translate(x);
+        }
+
+        if (lastLogicalResourceId > range.getLastLogicalResourceId()) {
+            final String UPDATE_TSTAMP = ""
+                    + " UPDATE logical_resources "
+                    + "    SET reindex_tstamp = ?, "
+                    + "        reindex_txid = reindex_txid + 1 "
+                    + "  WHERE logical_resource_id > ? "
+                    + "    AND logical_resource_id <= ? "
+                    + "    AND resource_type_id = ? "
+                    + "    AND reindex_tstamp < ? ";
+            try (PreparedStatement stmt = connection.prepareStatement(UPDATE_TSTAMP)) {
+                stmt.setTimestamp(1, Timestamp.from(range.getReindexTstamp()));
+                stmt.setLong(2, range.getLastLogicalResourceId());
+                stmt.setLong(3, lastLogicalResourceId);
+                stmt.setInt(4, resourceTypeId);
+                stmt.setTimestamp(5, Timestamp.from(range.getReindexTstamp()));
+                stmt.executeUpdate();
+            } catch (SQLException x) {
+                logger.log(Level.SEVERE, UPDATE_TSTAMP, x);
+                throw translator.translate(x);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Summarize the reindex_ranges table by resource type
+     * @return
+     * @throws Exception
+     */
+    public List<ReindexProgress> readProgress() throws Exception {
+        // no need to close
+        Connection connection = getConnection();
+        IDatabaseTranslator translator = getTranslator();
+
+        final String SELECT_PROGRESS = ""
+                + "  SELECT rt.resource_type, MAX(rr.reindex_tstamp), COUNT(*), "
+                + "         SUM(CASE WHEN rr.range_status = 'COMPLETE' THEN 1 ELSE 0 END), "
+                + "         SUM(CASE WHEN rr.range_status = 'RUNNING' THEN 1 ELSE 0 END), "
+                + "         SUM(rr.resource_count) "
+                + "    FROM reindex_ranges rr, "
+                + "         resource_types rt "
+                + "   WHERE rt.resource_type_id = rr.resource_type_id "
+                + "GROUP BY rt.resource_type "
+                + "ORDER BY rt.resource_type ";
+        List<ReindexProgress> result = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT_PROGRESS)) {
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                result.add(new ReindexProgress(rs.getString(1), rs.getTimestamp(2).toInstant(), rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getLong(6)));
+            }
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, SELECT_PROGRESS, x);
+            throw translator.translate(x);
+        }
+        return result;
+    }
+
     /**
      * Delete all parameters for the given resourceId from the parameters table
      * @param conn
@@ -325,4 +910,33 @@ public class ReindexResourceDAO extends ResourceDAOImpl {
             throw translator.translate(x);
         }
     }
+
+    /**
+     * Delete the parameters with the given parameter_name_ids for the given resourceId from the parameters table
+     * @param conn
+     * @param tableName
+     * @param logicalResourceId
+     * @param parameterNameIds
+     * @throws SQLException
+     */
+    protected void deleteFromParameterTable(Connection conn, String tableName, long logicalResourceId, Collection<Integer> parameterNameIds)
+        throws SQLException {
+        StringBuilder inList = new StringBuilder();
+        for (int i = 0; i < parameterNameIds.size(); i++) {
+            inList.append(i == 0 ? "?" : ",?");
+        }
+        final String DML = "DELETE FROM " + tableName + " WHERE logical_resource_id = ? AND parameter_name_id IN (" + inList + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(DML)) {
+            // bind parameters
+            int index = 1;
+            stmt.setLong(index++, logicalResourceId);
+            for (Integer parameterNameId : parameterNameIds) {
+                stmt.setInt(index++, parameterNameId);
+            }
+            stmt.executeUpdate();
+        } catch (SQLException x) {
+            logger.log(Level.SEVERE, DML, x);
+            throw translator.translate(x);
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2017, 2020
+ * (C) Copyright IBM Corp. 2017, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -9,6 +9,7 @@ package com.ibm.fhir.persistence.jdbc.dao.api;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
@@ -63,6 +64,23 @@ public interface ResourceDAO extends FHIRDbDAO {
     List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, int offset, int maxResults)
             throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
+    /**
+     * Reads and returns a page of the versions of the Resource with the passed logicalId, ordered by descending version id.
+     * If non-null, the passed beforeVersionId is used to seek past the versions of the earlier pages, in which case
+     * the offset is ignored.
+     * @param resourceType - The name of a FHIR Resource type
+     * @param logicalId - The logical id of a FHIR Resource
+     * @param fromDateTime - The starting date/time of the version history.
+     * @param beforeVersionId - The version id of the last version of the previous page, or null to use the offset.
+     * @param offset - The number of versions to skip.
+     * @param maxResults - The maximum number of versions to return.
+     * @return List<Resource> - An ordered list of Resource versions.
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, Integer beforeVersionId, int offset, int maxResults)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
     /**
      * Reads and returns the COUNT of all versions of the Resource with the passed logicalId.
      * If non-null, the passed fromDateTime is used to limit the count of Resource versions to those that were updated after the fromDateTime.
@@ -85,6 +103,16 @@ public interface ResourceDAO extends FHIRDbDAO {
      */
     List<Resource> search(SqlQueryData queryData) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
+    /**
+     * Executes the search contained in the passed SqlQueryData, using it's encapsulated search string and bind variables.
+     * @param queryData - Contains a search string and (optionally) bind variables.
+     * @param fetchListener - Called with each Resource as soon as it is read, while the remaining rows are still being fetched.
+     * @return List<Resource> A list of FHIR Resources satisfying the passed search.
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    List<Resource> search(SqlQueryData queryData, Consumer<Resource> fetchListener) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
     /**
      * Executes the search contained in the passed SqlQueryData, using it's encapsulated search string and bind variables.
      * @param queryData - Contains a search string and (optionally) bind variables.
@@ -130,6 +158,18 @@ public interface ResourceDAO extends FHIRDbDAO {
      */
     List<Resource> searchByIds(String resourceType, List<Long> resourceIds) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
+    /**
+     * Searches for Resources that contain one of the passed ids.
+     * @param resourceType - The type of the FHIR Resource
+     * @param resourceIds - A List of resource ids.
+     * @param fetchListener - Called with each Resource as soon as it is read, while the remaining rows are still being fetched.
+     * @return List<Resource> - A List of resources matching the the passed list of ids.
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    List<Resource> searchByIds(String resourceType, List<Long> resourceIds, Consumer<Resource> fetchListener)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
     /**
      * Executes a count query based on the data contained in the passed SqlQueryData, using it's encapsulated search string and bind variables.
      * @param queryData - Contains a search string and (optionally) bind variables.
@@ -139,6 +179,19 @@ public interface ResourceDAO extends FHIRDbDAO {
      */
     int searchCount(SqlQueryData queryData) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
 
+    /**
+     * Estimates the count of FHIR Resources satisfying the count query contained in the passed SqlQueryData, using the
+     * database optimizer statistics rather than running the query.
+     * @param queryData - Contains the count query for a search of a single resource type, and (optionally) bind variables.
+     * @param resourceType - The name of the FHIR Resource type being searched.
+     * @param filtered - true if the search has search parameters which restrict the resources counted.
+     * @return Integer - The estimated count, or null if the database cannot estimate the count of this search.
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    Integer searchCountEstimate(SqlQueryData queryData, String resourceType, boolean filtered)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException;
+
     /**
      * Executes the passed fully-formed SQL Select COUNT statement and returns the integer count.
      *
@@ -196,4 +249,21 @@ public interface ResourceDAO extends FHIRDbDAO {
      */
     Resource insert(Resource resource, List<ExtractedParameterValue> parameters, ParameterDAO parameterDao)
             throws FHIRPersistenceException;
-}
\ No newline at end of file
+
+    /**
+     * Inserts the passed Resource DTOs and their associated search parameters to the appropriate FHIR resource tables.
+     * The search parameter rows are accumulated across all of the resources and written using one set of batched
+     * statements per resource type, instead of one set per resource.
+     * After insert, the generated primary key is acquired and set in each Resource object.
+     * @param resources The Resource Data Transfer Objects
+     * @param parameters The search parameters for each Resource, in the same order as resources
+     * @param parameterDao The Parameter DAO
+     * @return List<Resource> The Resource DTOs
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     * @throws FHIRPersistenceVersionIdMismatchException
+     * @throws FHIRPersistenceException
+     */
+    List<Resource> insertAll(List<Resource> resources, List<List<ExtractedParameterValue>> parameters, ParameterDAO parameterDao)
+            throws FHIRPersistenceException;
+}
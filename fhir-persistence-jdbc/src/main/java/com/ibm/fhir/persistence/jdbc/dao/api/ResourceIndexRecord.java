@@ -1,11 +1,12 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.persistence.jdbc.dao.api;
 
+import java.time.Instant;
 
 /**
  * Describes a resource being reindexed
@@ -27,11 +28,19 @@ public class ResourceIndexRecord {
     // support for optimistic locking pattern
     private final long transactionId;
     
+    // The reindex tstamp of the resource before it was picked for this reindex, if known
+    private final Instant lastReindexTstamp;
+
     public ResourceIndexRecord(long logicalResourceId, int resourceTypeId, String logicalId, long transactionId) {
+        this(logicalResourceId, resourceTypeId, logicalId, transactionId, null);
+    }
+
+    public ResourceIndexRecord(long logicalResourceId, int resourceTypeId, String logicalId, long transactionId, Instant lastReindexTstamp) {
         this.logicalResourceId = logicalResourceId;
         this.resourceTypeId = resourceTypeId;
         this.logicalId = logicalId;
         this.transactionId = transactionId;
+        this.lastReindexTstamp = lastReindexTstamp;
     }
 
     /**
@@ -75,4 +84,11 @@ public class ResourceIndexRecord {
     public long getTransactionId() {
         return transactionId;
     }
+
+    /**
+     * @return the reindex tstamp of the resource before it was picked for this reindex, or null if it isn't known
+     */
+    public Instant getLastReindexTstamp() {
+        return lastReindexTstamp;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.dao.api;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records when the definition of each search parameter of a resource type last changed, so that
+ * a reindex only needs to extract the values of the search parameters which changed since the
+ * resource was last reindexed.
+ */
+public class SearchParameterChanges {
+
+    // The tstamp of the reindex which first saw the current definition (or the removal) of each search parameter
+    private final Map<String, Instant> changedTstamps;
+
+    // The PARAMETER_NAMES.PARAMETER_NAME_ID of each search parameter
+    private final Map<String, Integer> parameterNameIds;
+
+    // The search parameters which currently apply to the resource type
+    private final Set<String> currentCodes;
+
+    /**
+     * Public constructor
+     * @param changedTstamps
+     * @param parameterNameIds
+     * @param currentCodes
+     */
+    public SearchParameterChanges(Map<String, Instant> changedTstamps, Map<String, Integer> parameterNameIds, Set<String> currentCodes) {
+        this.changedTstamps = Collections.unmodifiableMap(changedTstamps);
+        this.parameterNameIds = Collections.unmodifiableMap(parameterNameIds);
+        this.currentCodes = Collections.unmodifiableSet(currentCodes);
+    }
+
+    /**
+     * Get the search parameters which changed, or were removed, since a resource was last reindexed.
+     * A search parameter which changed during the reindex that last reindexed the resource is included,
+     * because the resource may have been reindexed before the change was seen.
+     * @param lastReindexTstamp the previous reindex tstamp of the resource, or null if it isn't known
+     * @return the codes of the changed search parameters, or null if all of the search parameters
+     *         need to be extracted
+     */
+    public Set<String> getChangedSince(Instant lastReindexTstamp) {
+        if (lastReindexTstamp == null) {
+            return null;
+        }
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, Instant> entry : changedTstamps.entrySet()) {
+            if (!entry.getValue().isBefore(lastReindexTstamp)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result.containsAll(currentCodes) ? null : result;
+    }
+
+    /**
+     * @param code
+     * @return the parameter_name_id of the search parameter
+     */
+    public int getParameterNameId(String code) {
+        return parameterNameIds.get(code);
+    }
+}
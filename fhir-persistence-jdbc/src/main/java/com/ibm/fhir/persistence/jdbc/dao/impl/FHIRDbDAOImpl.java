@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2017, 2020
+ * (C) Copyright IBM Corp. 2017, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -13,6 +13,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -182,6 +183,22 @@ public class FHIRDbDAOImpl implements FHIRDbDAO {
      */
     protected List<Resource> runQuery(String sql, Object... searchArgs)
             throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        return runQuery(null, sql, searchArgs);
+    }
+
+    /**
+     * Creates and executes a PreparedStatement using the passed parameters that returns a collection of FHIR Data
+     * Transfer Objects of type T.
+     *
+     * @param fetchListener - If not null, called with each Data Transfer Object as soon as it is read from the ResultSet.
+     * @param sql        - The SQL template to execute.
+     * @param searchArgs - An array of arguments to be substituted into the SQL template.
+     * @return List<T> - A List of FHIR Data Transfer Objects resulting from the executed query.
+     * @throws FHIRPersistenceDataAccessException
+     * @throws FHIRPersistenceDBConnectException
+     */
+    protected List<Resource> runQuery(Consumer<Resource> fetchListener, String sql, Object... searchArgs)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "runQuery";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -206,7 +223,7 @@ public class FHIRDbDAOImpl implements FHIRDbDAO {
             resultSet = stmt.executeQuery();
             dbCallDuration = (System.nanoTime() - dbCallStartTime) / 1e6;
             // Transform the resultSet into a collection of Data Transfer Objects
-            fhirObjects = this.createDTOs(resultSet);
+            fhirObjects = this.createDTOs(resultSet, fetchListener);
 
             if (log.isLoggable(Level.FINE)) {
                 log.fine("Successfully retrieved FHIR objects. SQL=" + sql + "  searchArgs="
@@ -300,6 +317,19 @@ public class FHIRDbDAOImpl implements FHIRDbDAO {
      * @throws FHIRPersistenceDataAccessException
      */
     protected List<Resource> createDTOs(ResultSet resultSet) throws FHIRPersistenceDataAccessException {
+        return createDTOs(resultSet, null);
+    }
+
+    /**
+     * An method for creating a collection of Data Transfer Objects of type T from the contents of the passed ResultSet.
+     *
+     * @param resultSet A ResultSet containing FHIR persistent object data.
+     * @param fetchListener If not null, called with each Data Transfer Object as soon as it is created, while the
+     *        remaining rows are still being read.
+     * @return List<Resource> - A collection of FHIR Data Transfer objects of the same type.
+     * @throws FHIRPersistenceDataAccessException
+     */
+    protected List<Resource> createDTOs(ResultSet resultSet, Consumer<Resource> fetchListener) throws FHIRPersistenceDataAccessException {
         final String METHODNAME = "createDTOs";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -311,6 +341,9 @@ public class FHIRDbDAOImpl implements FHIRDbDAO {
                 dto = this.createDTO(resultSet);
                 if (dto != null) {
                     dtoList.add(dto);
+                    if (fetchListener != null) {
+                        fetchListener.accept(dto);
+                    }
                 }
             }
         } catch (Throwable e) {
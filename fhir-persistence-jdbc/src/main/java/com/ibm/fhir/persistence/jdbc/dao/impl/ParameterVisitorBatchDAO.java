@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -57,7 +57,7 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
     private final int batchSize;
 
     // FK to the logical resource for the parameters being added
-    private final long logicalResourceId;
+    private long logicalResourceId;
 
     // Maintainers: remember to close all statements in AutoCloseable#close()
     private final String insertString;
@@ -204,6 +204,16 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
         resourceTokens = c.prepareStatement(insertResourceToken);
     }
 
+    /**
+     * Set the logical resource id used for the parameters visited from now on. This allows
+     * a single DAO to be reused for several resources of the same type, so that the rows for
+     * all of them are sent to the database together when the batches are executed.
+     * @param logicalResourceId
+     */
+    public void setLogicalResourceId(long logicalResourceId) {
+        this.logicalResourceId = logicalResourceId;
+    }
+
     /**
      * Look up the normalized id for the parameter, adding it to the parameter_names table if it doesn't yet exist
      * @param parameterName
@@ -707,6 +717,7 @@ public class ParameterVisitorBatchDAO implements ExtractedParameterValueVisitor,
         // Process any tokens and references we've collected along the way
         if (!tokenValueRecs.isEmpty()) {
             this.resourceReferenceDAO.addCommonTokenValues(this.tablePrefix, tokenValueRecs);
+            tokenValueRecs.clear();
         }
 
         closeStatement(strings);
@@ -23,10 +23,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.transaction.TransactionSynchronizationRegistry;
 
@@ -88,8 +92,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
     private static final String SQL_HISTORY =
             "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
                     "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
-                    "LR.LOGICAL_ID = ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID " +
-                    "ORDER BY R.VERSION_ID DESC ";
+                    "LR.LOGICAL_ID = ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID ";
 
     // Count the number of versions we have for the resource identified by its logical-id
     private static final String SQL_HISTORY_COUNT = "SELECT COUNT(R.VERSION_ID) FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE LR.LOGICAL_ID = ? AND " +
@@ -98,8 +101,12 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
     private static final String SQL_HISTORY_FROM_DATETIME =
             "SELECT R.RESOURCE_ID, R.LOGICAL_RESOURCE_ID, R.VERSION_ID, R.LAST_UPDATED, R.IS_DELETED, R.DATA, LR.LOGICAL_ID " +
                     "FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE " +
-                    "LR.LOGICAL_ID = ? AND R.LAST_UPDATED >= ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID " +
-                    "ORDER BY R.VERSION_ID DESC ";
+                    "LR.LOGICAL_ID = ? AND R.LAST_UPDATED >= ? AND R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID ";
+
+    // Keyset pagination of the version history: seek past the last version of the previous page
+    private static final String SQL_HISTORY_BEFORE_VERSION = "AND R.VERSION_ID < ? ";
+
+    private static final String SQL_HISTORY_ORDER_BY = "ORDER BY R.VERSION_ID DESC ";
 
     private static final String SQL_HISTORY_FROM_DATETIME_COUNT =
             "SELECT COUNT(R.VERSION_ID) FROM %s_RESOURCES R, %s_LOGICAL_RESOURCES LR WHERE LR.LOGICAL_ID = ? AND " +
@@ -120,6 +127,12 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     private static final String DB2_PAGINATION_PARMS = "LIMIT ? OFFSET ?";
 
+    // PostgreSQL: the estimated rows of a plan node, e.g. "->  Hash Join  (cost=... rows=123 width=8)"
+    private static final Pattern PLAN_NODE_ROWS = Pattern.compile("->.*\\brows=(\\d+)");
+
+    // Db2: the number of rows in the table according to the catalog statistics (-1 if statistics have not been collected)
+    private static final String SQL_DB2_TABLE_CARDINALITY = "SELECT CARD FROM SYSCAT.TABLES WHERE TABSCHEMA = ? AND TABNAME = ?";
+
     @SuppressWarnings("unused")
     private FHIRPersistenceContext context;
 
@@ -133,6 +146,9 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     private final ParameterTransactionDataImpl transactionData;
 
+    // Parameter batch DAOs shared by all resources of a type during insertAll, keyed by table prefix
+    private Map<String, ParameterVisitorBatchDAO> parameterBatches = null;
+
     /**
      * Constructs a DAO instance suitable for acquiring connections from a JDBC Datasource object.
      *
@@ -246,6 +262,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
         try {
             resource.setData(resultSet.getBytes("DATA"));
             resource.setId(resultSet.getLong("RESOURCE_ID"));
+            resource.setLogicalResourceId(resultSet.getLong("LOGICAL_RESOURCE_ID"));
             resource.setLastUpdated(resultSet.getTimestamp("LAST_UPDATED"));
             resource.setLogicalId(resultSet.getString("LOGICAL_ID"));
             resource.setVersionId(resultSet.getInt("VERSION_ID"));
@@ -262,32 +279,45 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     @Override
     public List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, int offset, int maxResults) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        return history(resourceType, logicalId, fromDateTime, null, offset, maxResults);
+    }
+
+    @Override
+    public List<Resource> history(String resourceType, String logicalId, Timestamp fromDateTime, Integer beforeVersionId, int offset, int maxResults)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "history";
         log.entering(CLASSNAME, METHODNAME);
 
         List<Resource> resources = null;
-        String stmtString = null;
+        StringBuilder stmtString = new StringBuilder();
+        List<Object> args = new ArrayList<>();
 
         try {
+            args.add(logicalId);
             if (fromDateTime != null) {
-                stmtString = String.format(SQL_HISTORY_FROM_DATETIME, resourceType, resourceType);
-                if (isDb2Database()) {
-                    stmtString = stmtString + DB2_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, fromDateTime, maxResults, offset);
-                } else {
-                    stmtString = stmtString + DERBY_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, fromDateTime, offset, maxResults);
-                }
+                stmtString.append(String.format(SQL_HISTORY_FROM_DATETIME, resourceType, resourceType));
+                args.add(fromDateTime);
             } else {
-                stmtString = String.format(SQL_HISTORY, resourceType, resourceType);
-                if (isDb2Database()) {
-                    stmtString = stmtString + DB2_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, maxResults, offset);
-                } else {
-                    stmtString = stmtString + DERBY_PAGINATION_PARMS;
-                    resources = this.runQuery(stmtString, logicalId, offset, maxResults);
-                }
+                stmtString.append(String.format(SQL_HISTORY, resourceType, resourceType));
             }
+            if (beforeVersionId != null) {
+                // the seek predicate replaces the offset
+                stmtString.append(SQL_HISTORY_BEFORE_VERSION);
+                args.add(beforeVersionId);
+                offset = 0;
+            }
+            stmtString.append(SQL_HISTORY_ORDER_BY);
+
+            if (isDb2Database()) {
+                stmtString.append(DB2_PAGINATION_PARMS);
+                args.add(maxResults);
+                args.add(offset);
+            } else {
+                stmtString.append(DERBY_PAGINATION_PARMS);
+                args.add(offset);
+                args.add(maxResults);
+            }
+            resources = this.runQuery(stmtString.toString(), args.toArray());
         } finally {
             log.exiting(CLASSNAME, METHODNAME, Arrays.toString(new Object[] { resources }));
         }
@@ -319,6 +349,12 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
 
     @Override
     public List<Resource> search(SqlQueryData queryData) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        return search(queryData, null);
+    }
+
+    @Override
+    public List<Resource> search(SqlQueryData queryData, Consumer<Resource> fetchListener)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "search(SqlQueryData)";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -327,7 +363,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
         Object[] bindVariables = queryData.getBindVariables().toArray();
 
         try {
-            resources = this.runQuery(sqlSelect, bindVariables);
+            resources = this.runQuery(fetchListener, sqlSelect, bindVariables);
         } finally {
             log.exiting(CLASSNAME, METHODNAME);
         }
@@ -352,6 +388,96 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
         return count;
     }
 
+    @Override
+    public Integer searchCountEstimate(SqlQueryData queryData, String resourceType, boolean filtered)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        final String METHODNAME = "searchCountEstimate";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try {
+            switch (getFlavor().getType()) {
+            case POSTGRESQL:
+                return estimateFromQueryPlan(queryData);
+            case DB2:
+                // The catalog statistics can only estimate the count of an unfiltered search
+                return filtered ? null : estimateFromTableCardinality(resourceType + "_LOGICAL_RESOURCES");
+            default:
+                return null;
+            }
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * Ask the PostgreSQL planner for the number of rows it expects the count query to aggregate
+     * @param queryData
+     * @return the estimated count, or null if the plan does not contain an estimate
+     * @throws FHIRPersistenceDataAccessException
+     */
+    private Integer estimateFromQueryPlan(SqlQueryData queryData) throws FHIRPersistenceDataAccessException {
+        final String explain = "EXPLAIN " + queryData.getQueryString();
+        final Object[] bindVariables = queryData.getBindVariables().toArray();
+        Integer estimate = null;
+
+        try (PreparedStatement stmt = getConnection().prepareStatement(explain)) {
+            for (int i = 0; i < bindVariables.length; i++) {
+                if (bindVariables[i] instanceof Timestamp) {
+                    stmt.setTimestamp(i + 1, (Timestamp) bindVariables[i], UTC);
+                } else {
+                    stmt.setObject(i + 1, bindVariables[i]);
+                }
+            }
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                // the first plan node below the COUNT aggregate(s) estimates the number of rows counted
+                while (estimate == null && resultSet.next()) {
+                    String line = resultSet.getString(1);
+                    Matcher matcher = PLAN_NODE_ROWS.matcher(line);
+                    if (!line.contains("Aggregate") && matcher.find()) {
+                        estimate = (int) Math.min(Long.parseLong(matcher.group(1)), Integer.MAX_VALUE);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            // Don't emit the SQL text in an exception - it risks returning it to the client in a response
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Server error: failure estimating count");
+            throw severe(log, fx, "Failure estimating count. SQL=" + explain + "  searchArgs=" + Arrays.toString(bindVariables), e);
+        }
+
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Estimated count from query plan: " + estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * Read the number of rows in the table from the Db2 catalog statistics
+     * @param tableName
+     * @return the number of rows, or null if statistics have not been collected for the table
+     * @throws FHIRPersistenceDataAccessException
+     */
+    private Integer estimateFromTableCardinality(String tableName) throws FHIRPersistenceDataAccessException {
+        Integer estimate = null;
+
+        try (PreparedStatement stmt = getConnection().prepareStatement(SQL_DB2_TABLE_CARDINALITY)) {
+            stmt.setString(1, getSchemaName().toUpperCase());
+            stmt.setString(2, tableName.toUpperCase());
+            try (ResultSet resultSet = stmt.executeQuery()) {
+                if (resultSet.next() && resultSet.getLong(1) >= 0) {
+                    estimate = (int) Math.min(resultSet.getLong(1), Integer.MAX_VALUE);
+                }
+            }
+        } catch (Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Server error: failure estimating count");
+            throw severe(log, fx, "Failure reading catalog statistics for table " + tableName, e);
+        }
+
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Estimated count from catalog statistics of " + tableName + ": " + estimate);
+        }
+        return estimate;
+    }
+
     @Override
     public void setPersistenceContext(FHIRPersistenceContext context) {
         this.context = context;
@@ -600,12 +726,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
             long paramInsertStartTime = latestTime;
             if (parameters != null) {
                 JDBCIdentityCache identityCache = new JDBCIdentityCacheImpl(cache, this, parameterDao, getResourceReferenceDAO());
-                try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, "FHIR_ADMIN", resource.getResourceType(), true,
-                    resource.getId(), 100, identityCache, resourceReferenceDAO, this.transactionData)) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
-                    }
-                }
+                insertParameters(connection, "FHIR_ADMIN", resource.getResourceType(), true, resource.getId(), parameters, identityCache);
             }
 
             if (log.isLoggable(Level.FINE)) {
@@ -640,6 +761,100 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
         return resource;
     }
 
+    @Override
+    public List<Resource> insertAll(List<Resource> resources, List<List<ExtractedParameterValue>> parameters, ParameterDAO parameterDao)
+            throws FHIRPersistenceException {
+        final String METHODNAME = "insertAll";
+        log.entering(CLASSNAME, METHODNAME);
+
+        if (resources.size() != parameters.size()) {
+            throw new IllegalArgumentException("resources and parameters must be the same size");
+        }
+
+        long dbCallStartTime = System.nanoTime();
+        parameterBatches = new HashMap<>();
+        try {
+            for (int i = 0; i < resources.size(); i++) {
+                insert(resources.get(i), parameters.get(i), parameterDao);
+            }
+
+            // Flush the parameter rows accumulated for all of the resources. Each batch is removed
+            // before it is closed so that the finally block below never flushes it a second time
+            Iterator<ParameterVisitorBatchDAO> batchIterator = parameterBatches.values().iterator();
+            while (batchIterator.hasNext()) {
+                ParameterVisitorBatchDAO pvd = batchIterator.next();
+                batchIterator.remove();
+                pvd.close();
+            }
+
+            if (log.isLoggable(Level.FINE)) {
+                double totalDuration = (System.nanoTime() - dbCallStartTime) / 1e6;
+                log.fine("Successfully inserted " + resources.size() + " Resources. total=" + totalDuration + "ms");
+            }
+        } catch (FHIRPersistenceException e) {
+            throw e;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            FHIRPersistenceFKVException fx = new FHIRPersistenceFKVException("Encountered FK violation while inserting Resources.");
+            throw severe(log, fx, e);
+        } catch (SQLException e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("SQLException encountered while inserting Resources.");
+            throw severe(log, fx, e);
+        } catch (Throwable e) {
+            FHIRPersistenceDataAccessException fx = new FHIRPersistenceDataAccessException("Failure inserting Resources.");
+            throw severe(log, fx, e);
+        } finally {
+            // Only the batches we didn't get to are left, e.g. because an insert failed
+            for (ParameterVisitorBatchDAO pvd: parameterBatches.values()) {
+                try {
+                    pvd.close();
+                } catch (Exception x) {
+                    log.log(Level.FINE, "failed to close parameter batch", x);
+                }
+            }
+            parameterBatches = null;
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+
+        return resources;
+    }
+
+    /**
+     * Insert the search parameters for the given logical resource. Within {@link #insertAll(List, List, ParameterDAO)},
+     * the rows are added to the batches shared by all resources with the same table prefix and are not executed until
+     * all of the resources have been inserted. Otherwise the rows are written before this method returns.
+     *
+     * @param connection the connection to use for the inserts
+     * @param adminSchemaName the admin schema name, or null if multitenant is false
+     * @param tablePrefix the resource type name used as the parameter table prefix
+     * @param multitenant true if the parameter tables use partitioned multi-tenancy
+     * @param logicalResourceId the FK to the logical resource for the parameters being added
+     * @param parameters the search parameters to insert
+     * @param identityCache the cache for parameter name and code system lookups
+     * @throws Exception
+     */
+    protected void insertParameters(Connection connection, String adminSchemaName, String tablePrefix, boolean multitenant,
+            long logicalResourceId, List<ExtractedParameterValue> parameters, JDBCIdentityCache identityCache) throws Exception {
+        if (parameterBatches == null) {
+            try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, adminSchemaName, tablePrefix, multitenant,
+                logicalResourceId, 100, identityCache, getResourceReferenceDAO(), getTransactionData())) {
+                for (ExtractedParameterValue p: parameters) {
+                    p.accept(pvd);
+                }
+            }
+        } else {
+            ParameterVisitorBatchDAO pvd = parameterBatches.get(tablePrefix);
+            if (pvd == null) {
+                pvd = new ParameterVisitorBatchDAO(connection, adminSchemaName, tablePrefix, multitenant,
+                    logicalResourceId, 100, identityCache, getResourceReferenceDAO(), getTransactionData());
+                parameterBatches.put(tablePrefix, pvd);
+            }
+            pvd.setLogicalResourceId(logicalResourceId);
+            for (ExtractedParameterValue p: parameters) {
+                p.accept(pvd);
+            }
+        }
+    }
+
     @Override
     public List<Resource> search(String sqlSelect) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "search";
@@ -659,6 +874,12 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
     @Override
     public List<Resource> searchByIds(String resourceType, List<Long> resourceIds)
             throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+        return searchByIds(resourceType, resourceIds, null);
+    }
+
+    @Override
+    public List<Resource> searchByIds(String resourceType, List<Long> resourceIds, Consumer<Resource> fetchListener)
+            throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
         final String METHODNAME = "searchByIds";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -700,7 +921,7 @@ public class ResourceDAOImpl extends FHIRDbDAOImpl implements ResourceDAO {
             if (log.isLoggable(Level.FINE)) {
                 log.fine("DB search by ids complete. SQL=[" + idQuery + "]  executionTime=" + dbCallDuration + "ms");
             }
-            resources = this.createDTOs(resultSet);
+            resources = this.createDTOs(resultSet, fetchListener);
         } catch (FHIRPersistenceException e) {
             throw e;
         } catch (Throwable e) {
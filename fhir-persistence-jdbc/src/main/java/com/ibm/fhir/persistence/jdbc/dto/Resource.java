@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2017,2019
+ * (C) Copyright IBM Corp. 2017, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -14,6 +14,7 @@ import java.sql.Timestamp;
 public class Resource {
     
     private long id;
+    private long logicalResourceId;
     private String logicalId;
     private int versionId;
     private String resourceType;
@@ -50,6 +51,14 @@ public class Resource {
         this.id = id;
     }
 
+    public long getLogicalResourceId() {
+        return logicalResourceId;
+    }
+
+    public void setLogicalResourceId(long logicalResourceId) {
+        this.logicalResourceId = logicalResourceId;
+    }
+
     public String getLogicalId() {
         return logicalId;
     }
@@ -14,10 +14,7 @@ import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.model.util.ModelSupport.getResourceType;
 import static com.ibm.fhir.persistence.jdbc.JDBCConstants.MAX_NUM_OF_COMPOSITE_COMPONENTS;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -34,12 +31,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.naming.InitialContext;
 import javax.transaction.TransactionSynchronizationRegistry;
@@ -57,10 +54,7 @@ import com.ibm.fhir.database.utils.api.DataAccessException;
 import com.ibm.fhir.database.utils.api.IConnectionProvider;
 import com.ibm.fhir.database.utils.api.IDatabaseTranslator;
 import com.ibm.fhir.exception.FHIRException;
-import com.ibm.fhir.model.format.Format;
-import com.ibm.fhir.model.generator.FHIRGenerator;
-import com.ibm.fhir.model.parser.FHIRJsonParser;
-import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.OperationOutcome.Issue;
 import com.ibm.fhir.model.resource.Resource;
@@ -77,6 +71,7 @@ import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
 import com.ibm.fhir.model.type.code.SearchParamType;
 import com.ibm.fhir.model.util.FHIRUtil;
+import com.ibm.fhir.model.util.JsonPayloadScope;
 import com.ibm.fhir.model.util.JsonSupport;
 import com.ibm.fhir.model.visitor.Visitable;
 import com.ibm.fhir.path.FHIRPathNode;
@@ -86,6 +81,8 @@ import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
 import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
 import com.ibm.fhir.persistence.MultiResourceResult;
+import com.ibm.fhir.persistence.ReindexProgress;
+import com.ibm.fhir.persistence.ReindexRange;
 import com.ibm.fhir.persistence.ResourcePayload;
 import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRHistoryContext;
@@ -116,6 +113,7 @@ import com.ibm.fhir.persistence.jdbc.dao.api.JDBCIdentityCache;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ResourceDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.ResourceIndexRecord;
+import com.ibm.fhir.persistence.jdbc.dao.api.SearchParameterChanges;
 import com.ibm.fhir.persistence.jdbc.dao.impl.FetchResourcePayloadsDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.JDBCIdentityCacheImpl;
 import com.ibm.fhir.persistence.jdbc.dao.impl.ParameterDAOImpl;
@@ -133,11 +131,16 @@ import com.ibm.fhir.persistence.jdbc.dto.TokenParmVal;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDBConnectException;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDataAccessException;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceFKVException;
+import com.ibm.fhir.persistence.jdbc.payload.ParallelPayloadDecoder;
+import com.ibm.fhir.persistence.jdbc.payload.PayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.PayloadCodecRegistry;
 import com.ibm.fhir.persistence.jdbc.util.CodeSystemsCache;
 import com.ibm.fhir.persistence.jdbc.util.JDBCParameterBuildingVisitor;
 import com.ibm.fhir.persistence.jdbc.util.JDBCQueryBuilder;
+import com.ibm.fhir.persistence.jdbc.util.PageCursor;
 import com.ibm.fhir.persistence.jdbc.util.ParameterNamesCache;
 import com.ibm.fhir.persistence.jdbc.util.ResourceTypesCache;
+import com.ibm.fhir.persistence.jdbc.util.SearchParameterFingerprints;
 import com.ibm.fhir.persistence.jdbc.util.SqlQueryData;
 import com.ibm.fhir.persistence.jdbc.util.TimestampPrefixedUUID;
 import com.ibm.fhir.persistence.util.FHIRPersistenceUtil;
@@ -145,6 +148,7 @@ import com.ibm.fhir.persistence.util.LogicalIdentityProvider;
 import com.ibm.fhir.schema.control.FhirSchemaConstants;
 import com.ibm.fhir.search.SearchConstants;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.compartment.CompartmentUtil;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.date.DateTimeHandler;
@@ -168,17 +172,31 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
     protected static final String TXN_JNDI_NAME = "java:comp/UserTransaction";
     public static final String TRX_SYNCH_REG_JNDI_NAME = "java:comp/TransactionSynchronizationRegistry";
+    protected static final String MANAGED_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
     private static final String TXN_DATA_KEY = "transactionDataKey/" + CLASSNAME;
 
     // The following are filtered as they are handled specifically by the persistence layer:
     private static final List<String> SPECIAL_HANDLING = Arrays.asList("_id", "_lastUpdated");
 
+    // The search parameter changes seen by the current reindex of each tenant/datastore and resource type, so
+    // the fingerprints stored in the database are only compared once per reindex (or configuration change)
+    private static final Map<String, SearchParameterChangesEntry> searchParameterChanges = new ConcurrentHashMap<>();
+
     private final TransactionSynchronizationRegistry trxSynchRegistry;
     private List<OperationOutcome.Issue> supplementalIssues = new ArrayList<>();
 
     protected UserTransaction userTransaction = null;
     protected Boolean updateCreateEnabled = null;
 
+    // The codec used to serialize the payload of new resource versions
+    private final PayloadCodec payloadCodec;
+
+    // The maximum number of threads used to decode the payloads of a page of search results
+    private final int payloadDecodeParallelism;
+
+    // Runs the threads which decode the payloads, or null to decode them on the request thread
+    private final Executor payloadDecodeExecutor;
+
     // The strategy used to obtain database connections
     private final FHIRDbConnectionStrategy connectionStrategy;
 
@@ -216,6 +234,11 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             throw new IllegalStateException("Unable to load the default fhir-server-config.json");
         }
         this.updateCreateEnabled = fhirConfig.getBooleanProperty(PROPERTY_UPDATE_CREATE_ENABLED, Boolean.TRUE);
+        this.payloadCodec = getPayloadCodec(fhirConfig.getStringProperty(FHIRConfiguration.PROPERTY_JDBC_PAYLOAD_CODEC,
+                                            PayloadCodecRegistry.DEFAULT_CODEC));
+        this.payloadDecodeParallelism = fhirConfig.getIntProperty(FHIRConfiguration.PROPERTY_JDBC_PAYLOAD_DECODE_PARALLELISM,
+                                            ParallelPayloadDecoder.DEFAULT_PARALLELISM);
+        this.payloadDecodeExecutor = payloadDecodeParallelism > 1 ? retrieveManagedExecutor(MANAGED_EXECUTOR_JNDI_NAME) : null;
         this.userTransaction = retrieveUserTransaction(TXN_JNDI_NAME);
 
         if (userTransaction != null) {
@@ -288,9 +311,13 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
         this.cache = cache;
         this.updateCreateEnabled = Boolean.parseBoolean(configProps.getProperty("updateCreateEnabled"));
+        this.payloadCodec = getPayloadCodec(configProps.getProperty("payloadCodec", PayloadCodecRegistry.DEFAULT_CODEC));
+        this.payloadDecodeParallelism = Integer.parseInt(configProps.getProperty("payloadDecodeParallelism",
+                                            Integer.toString(ParallelPayloadDecoder.DEFAULT_PARALLELISM)));
 
         // not running inside a JEE container
         this.trxSynchRegistry = null;
+        this.payloadDecodeExecutor = null;
 
         // caller provides an adapter we use to obtain configuration information
         this.configProvider = configProvider;
@@ -338,51 +365,13 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         final String METHODNAME = "create";
         log.entering(CLASSNAME, METHODNAME);
 
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        String logicalId;
-
-        // We need to update the meta in the resource, so we need a modifiable version
-        Resource.Builder resultResourceBuilder = resource.toBuilder();
-
         try (Connection connection = openConnection()) {
 
             // This create() operation is only called by a REST create. If the given resource
             // contains an id, then for R4 we need to ignore it and replace it with our
             // system-generated value. For the update-or-create scenario, see update().
-            // Default version is 1 for a brand new FHIR Resource.
-            int newVersionNumber = 1;
-            logicalId = generateResourceId();
-            if (log.isLoggable(Level.FINE)) {
-                log.fine("Creating new FHIR Resource of type '" + resource.getClass().getSimpleName() + "'");
-            }
-
-            // Set the resource id and meta fields.
-            Instant lastUpdated = Instant.now(ZoneOffset.UTC);
-            resultResourceBuilder.id(logicalId);
-            Meta meta = resource.getMeta();
-            Meta.Builder metaBuilder = meta == null ? Meta.builder() : meta.toBuilder();
-            metaBuilder.versionId(Id.of(Integer.toString(newVersionNumber)));
-            metaBuilder.lastUpdated(lastUpdated);
-            resultResourceBuilder.meta(metaBuilder.build());
-
-            // rebuild the resource with updated meta
-            @SuppressWarnings("unchecked")
-            T updatedResource = (T) resultResourceBuilder.build();
-
-            // Create the new Resource DTO instance.
             com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = new com.ibm.fhir.persistence.jdbc.dto.Resource();
-            resourceDTO.setLogicalId(logicalId);
-            resourceDTO.setVersionId(newVersionNumber);
-            Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
-            resourceDTO.setLastUpdated(timestamp);
-            resourceDTO.setResourceType(updatedResource.getClass().getSimpleName());
-
-            // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator( Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            T updatedResource = prepareCreate(resource, generateResourceId(), resourceDTO);
 
             // The DAO objects are now created on-the-fly (not expensive to construct) and
             // given the connection to use while processing this request
@@ -428,6 +417,136 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         }
     }
 
+    @Override
+    public <T extends Resource> List<SingleResourceResult<T>> createAll(List<FHIRPersistenceContext> contexts, List<T> resources)
+            throws FHIRPersistenceException  {
+        final String METHODNAME = "createAll";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try (Connection connection = openConnection()) {
+
+            // Prepare every resource before touching the database so that all of the
+            // inserts can share the same DAOs (and parameter batches)
+            List<T> updatedResources = new ArrayList<>(resources.size());
+            List<com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs = new ArrayList<>(resources.size());
+            List<List<ExtractedParameterValue>> parameters = new ArrayList<>(resources.size());
+            for (T resource : resources) {
+                // Keep an id chosen by the caller (e.g. one mapped to a bundle entry's local identifier)
+                String logicalId = resource.getId() != null ? resource.getId() : generateResourceId();
+                com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = new com.ibm.fhir.persistence.jdbc.dto.Resource();
+                T updatedResource = prepareCreate(resource, logicalId, resourceDTO);
+                updatedResources.add(updatedResource);
+                resourceDTOs.add(resourceDTO);
+                parameters.add(this.extractSearchParameters(updatedResource, resourceDTO));
+            }
+
+            ResourceDAO resourceDao = makeResourceDAO(connection);
+            ParameterDAO parameterDao = makeParameterDAO(connection);
+
+            // Persist the Resource DTOs. Unlike update, a create doesn't read anything from the persistence event
+            // of its context, so the per-resource contexts aren't passed on to the DAO.
+            resourceDao.insertAll(resourceDTOs, parameters, parameterDao);
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Persisted " + resourceDTOs.size() + " FHIR Resources");
+            }
+
+            List<SingleResourceResult<T>> results = new ArrayList<>(updatedResources.size());
+            for (T updatedResource : updatedResources) {
+                SingleResourceResult.Builder<T> resultBuilder = new SingleResourceResult.Builder<T>()
+                        .success(true)
+                        .resource(updatedResource);
+
+                // Add supplemental issues to the OperationOutcome
+                if (!supplementalIssues.isEmpty()) {
+                    resultBuilder.outcome(OperationOutcome.builder()
+                        .issue(supplementalIssues)
+                        .build());
+                }
+                results.add(resultBuilder.build());
+            }
+
+            return results;
+        }
+        catch(FHIRPersistenceFKVException e) {
+            log.log(Level.SEVERE, "FK violation", e);
+            throw e;
+        }
+        catch(FHIRPersistenceException e) {
+            throw e;
+        }
+        catch(Throwable e) {
+            FHIRPersistenceException fx = new FHIRPersistenceException("Unexpected error while performing a createAll operation.");
+            log.log(Level.SEVERE, fx.getMessage(), e);
+            throw fx;
+        }
+        finally {
+           log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * Assign the given logical id and version 1 meta fields to a copy of the given resource, and populate
+     * the Resource DTO with the values and the compressed payload to be inserted.
+     * @param resource the resource to be created
+     * @param logicalId the logical id of the new resource
+     * @param resourceDTO the Resource DTO to populate
+     * @return a copy of resource with the id and meta fields updated
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    private <T extends Resource> T prepareCreate(T resource, String logicalId, com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO)
+            throws FHIRGeneratorException, IOException {
+
+        // We need to update the meta in the resource, so we need a modifiable version
+        Resource.Builder resultResourceBuilder = resource.toBuilder();
+
+        // Default version is 1 for a brand new FHIR Resource.
+        int newVersionNumber = 1;
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Creating new FHIR Resource of type '" + resource.getClass().getSimpleName() + "'");
+        }
+
+        // Set the resource id and meta fields.
+        Instant lastUpdated = Instant.now(ZoneOffset.UTC);
+        resultResourceBuilder.id(logicalId);
+        Meta meta = resource.getMeta();
+        Meta.Builder metaBuilder = meta == null ? Meta.builder() : meta.toBuilder();
+        metaBuilder.versionId(Id.of(Integer.toString(newVersionNumber)));
+        metaBuilder.lastUpdated(lastUpdated);
+        resultResourceBuilder.meta(metaBuilder.build());
+
+        // rebuild the resource with updated meta
+        @SuppressWarnings("unchecked")
+        T updatedResource = (T) resultResourceBuilder.build();
+
+        // Populate the Resource DTO.
+        resourceDTO.setLogicalId(logicalId);
+        resourceDTO.setVersionId(newVersionNumber);
+        Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
+        resourceDTO.setLastUpdated(timestamp);
+        resourceDTO.setResourceType(updatedResource.getClass().getSimpleName());
+
+        // Serialize (and usually compress) the Resource
+        resourceDTO.setData(PayloadCodecRegistry.encode(payloadCodec, updatedResource));
+
+        return updatedResource;
+    }
+
+    /**
+     * Look up the payload codec with the given name, falling back to the default codec if there is no such codec
+     * @param name
+     * @return the payload codec
+     */
+    private static PayloadCodec getPayloadCodec(String name) {
+        PayloadCodec codec = PayloadCodecRegistry.getCodec(name);
+        if (codec == null) {
+            log.warning("Unknown payload codec '" + name + "'; using '" + PayloadCodecRegistry.DEFAULT_CODEC
+                    + "'. Valid codecs are: " + PayloadCodecRegistry.getCodecNames());
+            codec = PayloadCodecRegistry.getCodec(PayloadCodecRegistry.DEFAULT_CODEC);
+        }
+        return codec;
+    }
+
     /**
      * Convenience method to construct a new instance of the {@link ResourceDAO}
      * @param connection the connection to the database for the DAO to use
@@ -485,7 +604,6 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
         Class<? extends Resource> resourceType = resource.getClass();
         com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO;
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
         // Resources are immutable, so we need a new builder to update it (since R4)
         Resource.Builder resultResourceBuilder = resource.toBuilder();
@@ -559,12 +677,8 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             resourceDTO.setLastUpdated(timestamp);
             resourceDTO.setResourceType(updatedResource.getClass().getSimpleName());
 
-            // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator(Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            // Serialize (and usually compress) the Resource
+            resourceDTO.setData(PayloadCodecRegistry.encode(payloadCodec, updatedResource));
 
             // Persist the Resource DTO.
             resourceDao.setPersistenceContext(context);
@@ -630,15 +744,45 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             checkModifiers(searchContext, isSystemLevelSearch(resourceType));
             queryBuilder = new JDBCQueryBuilder(parameterDao, resourceDao, connectionStrategy.getQueryHints(), identityCache);
 
+            // With _total=none or _total=estimate, the page is read with one extra row instead of counting the results.
+            // _include and _revinclude results are split using the count, and _summary=count returns only the count.
+            TotalValueSet total = searchContext.getTotalParameter();
+            boolean lookahead = total == TotalValueSet.NONE || total == TotalValueSet.ESTIMATE;
+            if (lookahead && (searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters()
+                    || SummaryValueSet.COUNT.equals(searchContext.getSummaryParameter()) || searchContext.getPageSize() == 0)) {
+                searchContext.setTotalParameter(TotalValueSet.ACCURATE);
+                lookahead = false;
+            }
+
             countQuery = queryBuilder.buildCountQuery(resourceType, searchContext);
             if (countQuery != null) {
-                searchResultCount = resourceDao.searchCount(countQuery);
-                if (log.isLoggable(Level.FINE)) {
-                    log.fine("searchResultCount = " + searchResultCount);
+                if (total == TotalValueSet.ESTIMATE && lookahead) {
+                    Integer estimate = null;
+                    if (!isSystemLevelSearch(resourceType)) {
+                        estimate = resourceDao.searchCountEstimate(countQuery, resourceType.getSimpleName(),
+                            !searchContext.getSearchParameters().isEmpty());
+                    }
+                    if (estimate != null) {
+                        searchContext.setTotalCount(estimate);
+                    } else {
+                        // the database can't estimate this search, so count it instead
+                        searchContext.setTotalParameter(TotalValueSet.ACCURATE);
+                        lookahead = false;
+                    }
                 }
-                searchContext.setTotalCount(searchResultCount);
 
-                List<OperationOutcome.Issue> issues = validatePagingContext(searchContext);
+                List<OperationOutcome.Issue> issues;
+                if (lookahead) {
+                    // the page is read without counting the results, so the last page number is not known yet
+                    issues = validatePagingContext(searchContext, false);
+                } else {
+                    searchResultCount = resourceDao.searchCount(countQuery);
+                    if (log.isLoggable(Level.FINE)) {
+                        log.fine("searchResultCount = " + searchResultCount);
+                    }
+                    searchContext.setTotalCount(searchResultCount);
+                    issues = validatePagingContext(searchContext);
+                }
                 if (!issues.isEmpty()) {
                     resultBuilder.outcome(OperationOutcome.builder()
                         .issue(issues)
@@ -649,7 +793,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
                 }
 
                 // For _summary=count or pageSize == 0, we return only the count
-                if (searchResultCount > 0
+                if ((lookahead || searchResultCount > 0)
                         && !SummaryValueSet.COUNT.equals(searchContext.getSummaryParameter())
                         && searchContext.getPageSize() > 0) {
                     query = queryBuilder.buildQuery(resourceType, searchContext);
@@ -685,50 +829,63 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
                         // Sorting results of a system-level search is limited, and has a different logic path
                         // than other sorted searches.
                         if (resourceType.equals(Resource.class)) {
-                           resources = this.convertResourceDTOList(resourceDao.search(query), resourceType, elements);
+                            ParallelPayloadDecoder<Resource> decoder = searchResultDecoder(resourceType, elements, Integer.MAX_VALUE);
+                            List<com.ibm.fhir.persistence.jdbc.dto.Resource> resultsList =
+                                    trimLookahead(searchContext, resourceDao.search(query, decoder), lookahead);
+                            resources = new ArrayList<>(decoder.getResults().subList(0, resultsList.size()));
                         } else {
-                            resources = this.buildSortedFhirResources(resourceDao, context, resourceType, resourceDao.searchForIds(query), elements);
+                            resources = this.buildSortedFhirResources(resourceDao, context, resourceType,
+                                trimLookahead(searchContext, resourceDao.searchForIds(query), lookahead), elements);
                         }
                     } else {
-                        List<com.ibm.fhir.persistence.jdbc.dto.Resource> resultsList = resourceDao.search(query);
-                        List<com.ibm.fhir.persistence.jdbc.dto.Resource> matchResultList = resultsList;
-                        List<com.ibm.fhir.persistence.jdbc.dto.Resource> includeResultList = new ArrayList<>();
+                        boolean hasIncludes = searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters();
+
+                        // Calculate 'match' results count. The results have been sorted by the underlying query
+                        // to return the 'match' results before the 'include' results.
+                        int pageSize = searchContext.getPageSize();
+                        int offset = (searchContext.getPageNumber() - 1) * pageSize;
+                        int matchResultCount = pageSize;
+                        if (hasIncludes && searchResultCount < offset + pageSize) {
+                            matchResultCount = searchResultCount - offset;
+                        }
 
-                        // Check if _include or _revinclude search. If so, remove duplicates from 'include' resources
-                        // (duplicates of both 'match' and 'include' resources) and make sure _elements processing
-                        // is not done for 'include' resources.
-                        if (searchContext.hasIncludeParameters() || searchContext.hasRevIncludeParameters()) {
-                            // Calculate 'match' results count
-                            int pageSize = searchContext.getPageSize();
-                            int offset = (searchContext.getPageNumber() - 1) * pageSize;
-                            int matchResultCount = pageSize;
-                            if (searchResultCount < offset + pageSize) {
-                                matchResultCount = searchResultCount - offset;
-                            }
+                        // The payloads are decoded while the rows are fetched, and _elements processing is not done
+                        // for 'include' resources
+                        ParallelPayloadDecoder<Resource> decoder = searchResultDecoder(resourceType, elements, matchResultCount);
+                        List<com.ibm.fhir.persistence.jdbc.dto.Resource> resultsList =
+                                trimLookahead(searchContext, resourceDao.search(query, decoder), lookahead);
+                        List<Resource> decodedList = decoder.getResults();
+                        List<Resource> includeResultList = new ArrayList<>();
+                        if (resultsList.size() < matchResultCount) {
+                            matchResultCount = resultsList.size();
+                        }
 
-                            // Split results list into 'match' list and 'include' list. The results have been sorted
-                            // by the underlying query to return the 'match' results before the 'include' results.
+                        // Check if _include or _revinclude search. If so, remove duplicates from 'include' resources
+                        // (duplicates of both 'match' and 'include' resources).
+                        if (hasIncludes) {
                             if (resultsList.size() > matchResultCount) {
-                                matchResultList = resultsList.subList(0, matchResultCount);
-
                                 // Remove duplicates from 'include' list
                                 Set<Long> resultIds = new HashSet<>();
-                                for (com.ibm.fhir.persistence.jdbc.dto.Resource resource : matchResultList) {
+                                for (com.ibm.fhir.persistence.jdbc.dto.Resource resource : resultsList.subList(0, matchResultCount)) {
                                     resultIds.add(resource.getId());
                                 }
                                 for (int i=matchResultCount; i<resultsList.size(); ++i) {
                                     com.ibm.fhir.persistence.jdbc.dto.Resource resource = resultsList.get(i);
                                     if (!resultIds.contains(resource.getId())) {
                                         resultIds.add(resource.getId());
-                                        includeResultList.add(resource);
+                                        includeResultList.add(decodedList.get(i));
                                     }
                                 }
                             }
+                        } else if (resultsList.size() == searchContext.getPageSize()
+                                && searchContext.getPageNumber() < searchContext.getLastPageNumber()) {
+                            // Results are ordered by LOGICAL_RESOURCE_ID, so the next page can seek past the last one
+                            long lastKey = resultsList.get(resultsList.size() - 1).getLogicalResourceId();
+                            searchContext.setNextPageCursor(PageCursor.encodeNext(PageCursor.Kind.SEARCH, searchContext, lastKey));
                         }
 
-                        // Convert resources
-                        resources = this.convertResourceDTOList(matchResultList, resourceType, elements);
-                        resources.addAll(this.convertResourceDTOList(includeResultList, resourceType, null));
+                        resources = new ArrayList<>(decodedList.subList(0, matchResultCount));
+                        resources.addAll(includeResultList);
                     }
                 }
             }
@@ -748,6 +905,37 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         }
     }
 
+    /**
+     * When the search results are not counted, the query reads one row more than the page size to tell whether
+     * there is a next page. Remove that extra row and set the last page number accordingly. The number of resources
+     * read so far is a lower bound for the total count, and on the last page it is the total count.
+     *
+     * @param searchContext
+     * @param results the results of the query
+     * @param lookahead true if the query read one row more than the page size
+     * @return the results of the page
+     */
+    private <T> List<T> trimLookahead(FHIRSearchContext searchContext, List<T> results, boolean lookahead) {
+        if (!lookahead) {
+            return results;
+        }
+        int pageSize = searchContext.getPageSize();
+        int pageNumber = searchContext.getPageNumber();
+        boolean hasNextPage = results.size() > pageSize;
+        if (hasNextPage) {
+            results = results.subList(0, pageSize);
+        }
+        searchContext.setLastPageNumber(hasNextPage ? pageNumber + 1 : pageNumber);
+
+        int readCount = (pageNumber - 1) * pageSize + results.size();
+        if (hasNextPage) {
+            searchContext.setTotalCount(Math.max(searchContext.getTotalCount(), readCount + 1));
+        } else {
+            searchContext.setTotalCount(readCount);
+        }
+        return results;
+    }
+
     /**
      * @return true if this instance represents a FHIR system level search
      */
@@ -793,7 +981,6 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
         com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO = null;
         T existingResource = null;
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
         Resource.Builder resourceBuilder;
 
@@ -846,12 +1033,8 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             resourceDTO.setLogicalId(logicalId);
             resourceDTO.setVersionId(newVersionNumber);
 
-            // Serialize and compress the Resource
-            GZIPOutputStream zipStream = new GZIPOutputStream(stream);
-            FHIRGenerator.generator(Format.JSON, false).generate(updatedResource, zipStream);
-            zipStream.finish();
-            resourceDTO.setData(stream.toByteArray());
-            zipStream.close();
+            // Serialize (and usually compress) the Resource
+            resourceDTO.setData(PayloadCodecRegistry.encode(payloadCodec, updatedResource));
 
             Timestamp timestamp = FHIRUtilities.convertToTimestamp(lastUpdated.getValue());
             resourceDTO.setLastUpdated(timestamp);
@@ -1007,7 +1190,15 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
             if (resourceCount > 0) {
                 offset = (historyContext.getPageNumber() - 1) * historyContext.getPageSize();
-                resourceDTOList = resourceDao.history(resourceType.getSimpleName(), logicalId, fromDateTime, offset, historyContext.getPageSize());
+                PageCursor cursor = PageCursor.from(PageCursor.Kind.HISTORY, historyContext);
+                Integer beforeVersionId = cursor != null ? (int) cursor.getLastKey() : null;
+                resourceDTOList = resourceDao.history(resourceType.getSimpleName(), logicalId, fromDateTime, beforeVersionId, offset, historyContext.getPageSize());
+                if (resourceDTOList.size() == historyContext.getPageSize()
+                        && historyContext.getPageNumber() < historyContext.getLastPageNumber()) {
+                    // Versions are ordered by descending VERSION_ID, so the next page can seek past the last one
+                    int lastVersionId = resourceDTOList.get(resourceDTOList.size() - 1).getVersionId();
+                    historyContext.setNextPageCursor(PageCursor.encodeNext(PageCursor.Kind.HISTORY, historyContext, lastVersionId));
+                }
                 for (com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO : resourceDTOList) {
                     if (resourceDTO.isDeleted()) {
                         deletedResourceVersions.putIfAbsent(logicalId, new ArrayList<Integer>());
@@ -1046,6 +1237,22 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
      *     a list of operation outcome issues if the paging context has invalid parameters
      */
     private List<OperationOutcome.Issue> validatePagingContext(FHIRPagingContext pagingContext) {
+        return validatePagingContext(pagingContext, true);
+    }
+
+    /**
+     * Validate pageSize and pageNumber in the FHIRPagingContext instance and update
+     * paging context parameters accordingly.
+     *
+     * @param pagingContext
+     *     the FHIRPagingContext instance (FHIRSearchContext or FHIRHistoryContext)
+     * @param totalCountKnown
+     *     false if the total count has not been computed, in which case the last page number is not set
+     *     and the page number is not checked against it
+     * @return
+     *     a list of operation outcome issues if the paging context has invalid parameters
+     */
+    private List<OperationOutcome.Issue> validatePagingContext(FHIRPagingContext pagingContext, boolean totalCountKnown) {
         List<OperationOutcome.Issue> issues = new ArrayList<>();
 
         int pageSize = pagingContext.getPageSize();
@@ -1060,8 +1267,11 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             pagingContext.setPageSize(10);
         }
 
-        int lastPageNumber = Math.max(((pagingContext.getTotalCount() + pageSize - 1) / pageSize), 1);
-        pagingContext.setLastPageNumber(lastPageNumber);
+        int lastPageNumber = Integer.MAX_VALUE;
+        if (totalCountKnown) {
+            lastPageNumber = Math.max(((pagingContext.getTotalCount() + pageSize - 1) / pageSize), 1);
+            pagingContext.setLastPageNumber(lastPageNumber);
+        }
 
         int pageNumber = pagingContext.getPageNumber();
         if (pageNumber < 1) {
@@ -1196,13 +1406,18 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             idPositionMap.put(Long.valueOf(resourceId), Integer.valueOf(i));
         }
 
-        resourceDTOList = this.getResourceDTOs(resourceDao, resourceType, sortedIdList);
-
+        // The payloads are decoded while the remaining rows are fetched
+        JsonPayloadScope payloadScope = JsonPayloadScope.current();
+        ParallelPayloadDecoder<Resource> decoder = new ParallelPayloadDecoder<>(payloadDecodeExecutor, payloadDecodeParallelism,
+            (index, resourceDTO) -> this.convertResourceDTO(resourceDTO, resourceType, elements, payloadScope));
+        resourceDTOList = resourceDao.searchByIds(resourceType.getSimpleName(), sortedIdList, decoder);
+        List<Resource> fhirResourceList = decoder.getResults();
 
         // Convert the returned JPA Resources to FHIR Resources, and store each FHIRResource in its proper position
         // in the returned sorted resource list.
-        for (com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO : resourceDTOList) {
-            fhirResource = this.convertResourceDTO(resourceDTO, resourceType, elements);
+        for (int i = 0; i < resourceDTOList.size(); i++) {
+            com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = resourceDTOList.get(i);
+            fhirResource = fhirResourceList.get(i);
             if (fhirResource != null) {
                 sortIndex = idPositionMap.get(resourceDTO.getId());
                 sortedFhirResources[sortIndex] = fhirResource;
@@ -1219,17 +1434,35 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
     }
 
     /**
-     * Returns a List of Resource DTOs corresponding to the passed list of Resource IDs.
-     * @param resourceType The type of resource being queried.
-     * @param sortedIdList A sorted list of Resource IDs.
-     * @return List - A list of ResourceDTOs
-     * @throws FHIRPersistenceDataAccessException
-     * @throws FHIRPersistenceDBConnectException
+     * Creates a decoder which converts the Resource Data Transfer Objects read by a search query to FHIR Resource
+     * objects, on the threads of the managed executor, while the remaining rows are still being fetched.
+     * @param resourceType
+     * @param elements - An optional list of element names to include in the first elementsCount resources.
+     * @param elementsCount - The number of 'match' resources; any further ('include') resources are not filtered.
+     * @return the decoder, to be passed to the ResourceDAO as the fetch listener
      */
-    private List<com.ibm.fhir.persistence.jdbc.dto.Resource> getResourceDTOs(ResourceDAO resourceDao,
-            Class<? extends Resource> resourceType, List<Long> sortedIdList) throws FHIRPersistenceDataAccessException, FHIRPersistenceDBConnectException {
+    private ParallelPayloadDecoder<Resource> searchResultDecoder(Class<? extends Resource> resourceType, List<String> elements,
+            int elementsCount) {
+        JsonPayloadScope payloadScope = JsonPayloadScope.current();
+        return new ParallelPayloadDecoder<>(payloadDecodeExecutor, payloadDecodeParallelism,
+            (index, resourceDTO) -> this.convertSearchResultDTO(resourceDTO, resourceType, index < elementsCount ? elements : null,
+                payloadScope));
+    }
 
-        return resourceDao.searchByIds(resourceType.getSimpleName(), sortedIdList);
+    /**
+     * Retrieves (via a JNDI lookup) the container's ManagedExecutorService. If the JNDI lookup fails, the payloads
+     * are decoded on the request thread.
+     */
+    protected Executor retrieveManagedExecutor(String jndiName) {
+        Executor executor = null;
+        try {
+            InitialContext ctx = new InitialContext();
+            executor = (Executor) ctx.lookup(jndiName);
+        } catch (Throwable t) {
+            log.fine("Unable to look up '" + jndiName + "'; resource payloads will be decoded on the request thread");
+        }
+
+        return executor;
     }
 
     /**
@@ -1248,13 +1481,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         List<Resource> resources = new ArrayList<>();
         try {
             for (com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO : resourceDTOList) {
-                Resource existingResource = this.convertResourceDTO(resourceDTO, resourceType, elements);
-                if (resourceDTO.isDeleted()) {
-                    Resource deletedResourceMarker = FHIRPersistenceUtil.createDeletedResourceMarker(existingResource);
-                    resources.add(deletedResourceMarker);
-                } else {
-                    resources.add(existingResource);
-                }
+                resources.add(this.convertSearchResultDTO(resourceDTO, resourceType, elements, JsonPayloadScope.current()));
             }
         }
         finally {
@@ -1263,6 +1490,26 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         return resources;
     }
 
+    /**
+     * Converts the passed Resource Data Transfer Object to a FHIR Resource object, or to a deleted resource
+     * marker if the resource has been deleted.
+     * @param resourceDTO
+     * @param resourceType
+     * @param elements
+     * @param payloadScope the scope to register the stored JSON with, or null
+     * @return
+     * @throws FHIRException
+     * @throws IOException
+     */
+    private Resource convertSearchResultDTO(com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO,
+            Class<? extends Resource> resourceType, List<String> elements, JsonPayloadScope payloadScope) throws FHIRException, IOException {
+        Resource existingResource = this.convertResourceDTO(resourceDTO, resourceType, elements, payloadScope);
+        if (resourceDTO.isDeleted()) {
+            return FHIRPersistenceUtil.createDeletedResourceMarker(existingResource);
+        }
+        return existingResource;
+    }
+
    /**
      * Calls some cache analysis methods and aggregates the output into a single String.
      * @return
@@ -1314,6 +1561,18 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
      */
     private List<ExtractedParameterValue> extractSearchParameters(Resource fhirResource, com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTOx)
                  throws Exception {
+        return extractSearchParameters(fhirResource, resourceDTOx, null);
+    }
+
+    /**
+     * Extracts the values of the given search parameters from the passed FHIR Resource
+     * @param fhirResource - Some FHIR Resource
+     * @param resourceDTO - A Resource DTO representation of the passed FHIR Resource.
+     * @param codes - the codes of the search parameters (and compartment parameters) to extract, or null for all of them
+     * @throws Exception
+     */
+    private List<ExtractedParameterValue> extractSearchParameters(Resource fhirResource, com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTOx,
+        Set<String> codes) throws Exception {
         final String METHODNAME = "extractSearchParameters";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -1325,7 +1584,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
         List<ExtractedParameterValue> allParameters = new ArrayList<>();
 
         try {
-            map = SearchUtil.extractParameterValues(fhirResource);
+            map = SearchUtil.extractParameterValues(fhirResource, true, codes);
 
             for (Entry<SearchParameter, List<FHIRPathNode>> entry : map.entrySet()) {
                 SearchParameter sp = entry.getKey();
@@ -1525,7 +1784,7 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
             // Augment the extracted parameter list with special values we use to represent compartment relationships.
             // These references are stored as tokens and are used by the search query builder
             // for compartment-based searches
-            addCompartmentParams(allParameters, fhirResource);
+            addCompartmentParams(allParameters, fhirResource, codes);
         } finally {
             log.exiting(CLASSNAME, METHODNAME);
         }
@@ -1541,9 +1800,32 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
      * @param allParameters
      */
     protected void addCompartmentParams(List<ExtractedParameterValue> allParameters, Resource fhirResource) throws FHIRSearchException {
+        addCompartmentParams(allParameters, fhirResource, null);
+    }
+
+    /**
+     * Augment the given allParameters list with the ibm-internal compartment parameters named in codes
+     * @param allParameters
+     * @param fhirResource
+     * @param codes the names of the compartment parameters to add, or null for all of them
+     */
+    private void addCompartmentParams(List<ExtractedParameterValue> allParameters, Resource fhirResource, Set<String> codes) throws FHIRSearchException {
         final String resourceType = fhirResource.getClass().getSimpleName();
         log.fine("Processing compartment parameters for resourceType: " + resourceType);
         Map<String,Set<String>> compartmentRefParams = CompartmentUtil.getCompartmentParamsForResourceType(resourceType);
+        if (codes != null) {
+            // Only evaluate the search parameters which establish membership of the requested compartments
+            Map<String,Set<String>> requested = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry: compartmentRefParams.entrySet()) {
+                Set<String> compartments = entry.getValue().stream()
+                        .filter(c -> codes.contains(CompartmentUtil.makeCompartmentParamName(c)))
+                        .collect(Collectors.toSet());
+                if (!compartments.isEmpty()) {
+                    requested.put(entry.getKey(), compartments);
+                }
+            }
+            compartmentRefParams = requested;
+        }
         Map<String, Set<CompartmentReference>> compartmentMap = SearchUtil.extractCompartmentParameterValues(fhirResource, compartmentRefParams);
 
         for (Map.Entry<String, Set<CompartmentReference>> entry: compartmentMap.entrySet()) {
@@ -1723,23 +2005,35 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
      */
     private <T extends Resource> T convertResourceDTO(com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO,
             Class<T> resourceType, List<String> elements) throws FHIRException, IOException {
+        return convertResourceDTO(resourceDTO, resourceType, elements, JsonPayloadScope.current());
+    }
+
+    /**
+     * Converts the passed Resource Data Transfer Object to a FHIR Resource object, registering the stored JSON
+     * with the payload scope when the resource is returned as stored.
+     * @param resourceDTO - A valid Resource DTO
+     * @param resourceType - The FHIR type of resource to be converted.
+     * @param elements - An optional filter for including only specified elements inside a Resource.
+     * @param payloadScope - The scope to register the stored JSON with, or null
+     * @return Resource - A FHIR Resource object representation of the data portion of the passed Resource DTO.
+     * @throws FHIRException
+     * @throws IOException
+     */
+    private <T extends Resource> T convertResourceDTO(com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO,
+            Class<T> resourceType, List<String> elements, JsonPayloadScope payloadScope) throws FHIRException, IOException {
         final String METHODNAME = "convertResourceDTO";
         log.entering(CLASSNAME, METHODNAME);
         T resource = null;
         try {
             if (resourceDTO != null) {
-                InputStream in = new GZIPInputStream(new ByteArrayInputStream(resourceDTO.getData()));
+                // the payload may have been written by any of the payload codecs, not just the configured one
+                resource = PayloadCodecRegistry.decode(resourceDTO.getData(), elements, payloadScope);
                 if (elements != null) {
-                    // parse/filter the resource using elements
-                    resource = FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class).parseAndFilter(in, elements);
                     if (resourceType.equals(resource.getClass()) && !FHIRUtil.hasTag(resource, SearchConstants.SUBSETTED_TAG)) {
                         // add a SUBSETTED tag to this resource to indicate that its elements have been filtered
                         resource = FHIRUtil.addTag(resource, SearchConstants.SUBSETTED_TAG);
                     }
-                } else {
-                    resource = FHIRParser.parser(Format.JSON).parse(in);
                 }
-                in.close();
             }
         } finally {
             log.exiting(CLASSNAME, METHODNAME);
@@ -1914,9 +2208,10 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
                 // Read the current resource
                 com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO = resourceDao.read(rir.getLogicalId(), rir.getResourceType());
-                Class<? extends Resource> resourceTypeClass = getResourceType(resourceType);
+                Class<? extends Resource> resourceTypeClass = getResourceType(rir.getResourceType());
                 reindexDAO.setPersistenceContext(context);
-                updateParameters(rir, resourceTypeClass, existingResourceDTO, reindexDAO, operationOutcomeResult);
+                SearchParameterChanges changes = getSearchParameterChanges(reindexDAO, rir.getResourceTypeId(), rir.getResourceType(), tstamp);
+                updateParameters(rir, resourceTypeClass, existingResourceDTO, reindexDAO, operationOutcomeResult, changes);
             }
 
         } catch(FHIRPersistenceFKVException e) {
@@ -1960,16 +2255,15 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
      * @param existingResourceDTO
      * @param reindexDAO
      * @param operationOutcomeResult
+     * @param changes the search parameters which changed since each resource was last reindexed
      * @throws Exception
      */
     public <T extends Resource> void updateParameters(ResourceIndexRecord rir, Class<T> resourceTypeClass, com.ibm.fhir.persistence.jdbc.dto.Resource existingResourceDTO,
-        ReindexResourceDAO reindexDAO, OperationOutcome.Builder operationOutcomeResult) throws Exception {
+        ReindexResourceDAO reindexDAO, OperationOutcome.Builder operationOutcomeResult, SearchParameterChanges changes) throws Exception {
         if (existingResourceDTO != null && !existingResourceDTO.isDeleted()) {
-            T existingResource = this.convertResourceDTO(existingResourceDTO, resourceTypeClass, null);
-
             // Extract parameters from the resource payload we just read and store them, replacing
-            // the existing set
-            reindexDAO.updateParameters(rir.getResourceType(), this.extractSearchParameters(existingResource, existingResourceDTO), rir.getLogicalId(), rir.getLogicalResourceId());
+            // the existing values of the search parameters which have changed
+            updateParameters(rir.getResourceType(), existingResourceDTO, resourceTypeClass, reindexDAO, changes, rir.getLastReindexTstamp());
 
             // Use an OperationOutcome Issue to let the caller know that some work was performed
             final String diag = "Processed " + rir.getResourceType() + "/" + rir.getLogicalId();
@@ -1982,6 +2276,259 @@ public class FHIRPersistenceJDBCImpl implements FHIRPersistence, SchemaNameSuppl
 
     }
 
+    @Override
+    public int planReindex(java.time.Instant tstamp, String resourceType, int rangeSize) throws FHIRPersistenceException {
+        final String METHODNAME = "planReindex";
+        log.entering(CLASSNAME, METHODNAME);
+
+        if (tstamp.isAfter(java.time.Instant.now())) {
+            // protect against setting a future timestamp, which could otherwise
+            // disable the ability to reindex anything
+            throw new FHIRPersistenceException("Reindex tstamp cannot be in the future");
+        }
+
+        try (Connection connection = openConnection()) {
+            ReindexResourceDAO reindexDAO = makeReindexResourceDAO(connection);
+            int resourceTypeId = getReindexResourceTypeId(reindexDAO, resourceType);
+            int result = reindexDAO.planRanges(resourceTypeId, resourceType, tstamp, rangeSize);
+
+            // Record which search parameters have changed before the workers start
+            getSearchParameterChanges(reindexDAO, resourceTypeId, resourceType, tstamp);
+
+            // This is important so we log it as info
+            log.info("Planned " + result + " reindex ranges for resource type '" + resourceType + "'");
+            return result;
+        } catch (Throwable e) {
+            throw reindexFailure(e, "Unexpected error while planning a reindex.");
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    @Override
+    public ReindexRange claimReindexRange(java.time.Instant tstamp, String resourceType, String claimedBy, java.time.Instant staleBefore)
+        throws FHIRPersistenceException {
+        final String METHODNAME = "claimReindexRange";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try (Connection connection = openConnection()) {
+            ReindexResourceDAO reindexDAO = makeReindexResourceDAO(connection);
+            Integer resourceTypeId = resourceType != null ? getReindexResourceTypeId(reindexDAO, resourceType) : null;
+            ReindexRange result = reindexDAO.claimRange(tstamp, resourceTypeId, claimedBy, java.time.Instant.now(), staleBefore);
+
+            if (result != null && log.isLoggable(Level.FINE)) {
+                log.fine("Reindex range " + result + " claimed by " + claimedBy);
+            }
+            return result;
+        } catch (Throwable e) {
+            throw reindexFailure(e, "Unexpected error while claiming a reindex range.");
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    @Override
+    public ReindexRange reindexRange(FHIRPersistenceContext context, ReindexRange range, int batchSize) throws FHIRPersistenceException {
+        final String METHODNAME = "reindexRange";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try (Connection connection = openConnection()) {
+            ReindexResourceDAO reindexDAO = makeReindexResourceDAO(connection);
+            reindexDAO.setPersistenceContext(context);
+            int resourceTypeId = getReindexResourceTypeId(reindexDAO, range.getResourceType());
+            Class<? extends Resource> resourceTypeClass = getResourceType(range.getResourceType());
+
+            long start = System.nanoTime();
+            SearchParameterChanges changes = getSearchParameterChanges(reindexDAO, resourceTypeId, range.getResourceType(), range.getReindexTstamp());
+            Map<Long, java.time.Instant> lastReindexTstamps = new HashMap<>();
+            List<com.ibm.fhir.persistence.jdbc.dto.Resource> batch = reindexDAO.readRangeBatch(range.getResourceType(),
+                range.getLastLogicalResourceId(), range.getRangeEnd(), range.getReindexTstamp(), batchSize, lastReindexTstamps);
+            long lastLogicalResourceId = range.getLastLogicalResourceId();
+            for (com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO : batch) {
+                // a deleted resource has no parameters to extract
+                if (!resourceDTO.isDeleted()) {
+                    updateParameters(range.getResourceType(), resourceDTO, resourceTypeClass, reindexDAO, changes,
+                        lastReindexTstamps.get(resourceDTO.getLogicalResourceId()));
+                }
+                lastLogicalResourceId = resourceDTO.getLogicalResourceId();
+            }
+
+            // A short batch means we've reached the end of the range
+            boolean complete = batch.size() < batchSize;
+            if (!reindexDAO.checkpointRange(resourceTypeId, range, lastLogicalResourceId, batch.size(), complete, java.time.Instant.now())) {
+                // The claim went stale and another worker has taken over the range, so our work must not
+                // be committed over theirs
+                throw new FHIRPersistenceException("Reindex range " + range + " is no longer claimed by " + range.getClaimedBy());
+            }
+
+            if (log.isLoggable(Level.FINER)) {
+                double elapsed = (System.nanoTime() - start) / 1e6;
+                log.finer(String.format("Reindexed %d resources in range %s in %.3f ms", batch.size(), range, elapsed));
+            }
+
+            return new ReindexRange(range.getResourceType(), range.getRangeStart(), range.getRangeEnd(), range.getReindexTstamp(), lastLogicalResourceId,
+                range.getResourceCount() + batch.size(), complete ? ReindexRange.Status.COMPLETE : ReindexRange.Status.RUNNING, range.getClaimedBy());
+        } catch (Throwable e) {
+            throw reindexFailure(e, "Unexpected error while performing a reindex operation.");
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    @Override
+    public List<ReindexProgress> getReindexProgress() throws FHIRPersistenceException {
+        final String METHODNAME = "getReindexProgress";
+        log.entering(CLASSNAME, METHODNAME);
+
+        try (Connection connection = openConnection()) {
+            ReindexResourceDAO reindexDAO = makeReindexResourceDAO(connection);
+            return reindexDAO.readProgress();
+        } catch (Throwable e) {
+            throw reindexFailure(e, "Unexpected error while reading the reindex progress.");
+        } finally {
+            log.exiting(CLASSNAME, METHODNAME);
+        }
+    }
+
+    /**
+     * Replace the stored values of the search parameters of the resource which have changed since it was last reindexed
+     * @param resourceType
+     * @param resourceDTO
+     * @param resourceTypeClass
+     * @param reindexDAO
+     * @param changes
+     * @param lastReindexTstamp the reindex tstamp of the resource before this reindex, or null if it isn't known
+     * @throws Exception
+     */
+    private <T extends Resource> void updateParameters(String resourceType, com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO,
+        Class<T> resourceTypeClass, ReindexResourceDAO reindexDAO, SearchParameterChanges changes, java.time.Instant lastReindexTstamp)
+        throws Exception {
+        Set<String> changed = changes.getChangedSince(lastReindexTstamp);
+        if (changed == null) {
+            // everything has changed, so replace all of the values
+            T existingResource = this.convertResourceDTO(resourceDTO, resourceTypeClass, null);
+            reindexDAO.updateParameters(resourceType, this.extractSearchParameters(existingResource, resourceDTO),
+                resourceDTO.getLogicalId(), resourceDTO.getLogicalResourceId());
+        } else if (!changed.isEmpty()) {
+            T existingResource = this.convertResourceDTO(resourceDTO, resourceTypeClass, null);
+            List<Integer> parameterNameIds = new ArrayList<>(changed.size());
+            for (String code : changed) {
+                parameterNameIds.add(changes.getParameterNameId(code));
+            }
+            reindexDAO.updateParameters(resourceType, this.extractSearchParameters(existingResource, resourceDTO, changed),
+                resourceDTO.getLogicalId(), resourceDTO.getLogicalResourceId(), parameterNameIds);
+        } else if (log.isLoggable(Level.FINE)) {
+            log.fine("No search parameters of " + resourceType + "/" + resourceDTO.getLogicalId() + " have changed since " + lastReindexTstamp);
+        }
+    }
+
+    /**
+     * Get the search parameters of the resource type which have changed, comparing the fingerprints of the current
+     * search parameters with those stored in the database the first time it is called for a reindex tstamp
+     * @param reindexDAO
+     * @param resourceTypeId
+     * @param resourceType
+     * @param tstamp
+     * @return
+     * @throws Exception
+     */
+    private SearchParameterChanges getSearchParameterChanges(ReindexResourceDAO reindexDAO, int resourceTypeId, String resourceType,
+        java.time.Instant tstamp) throws Exception {
+        Map<String, String> fingerprints = SearchParameterFingerprints.compute(resourceType);
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        String key = requestContext.getTenantId() + "~" + requestContext.getDataStoreId() + "~" + resourceType;
+
+        // Serialize the comparison, so that concurrent reindex requests don't try to store the same fingerprints
+        synchronized (searchParameterChanges) {
+            SearchParameterChangesEntry entry = searchParameterChanges.get(key);
+            if (entry == null || !entry.isFor(tstamp, fingerprints)) {
+                entry = new SearchParameterChangesEntry(tstamp, fingerprints, reindexDAO.syncFingerprints(resourceTypeId, fingerprints, tstamp));
+                searchParameterChanges.put(key, entry);
+            }
+            return entry.changes;
+        }
+    }
+
+    /**
+     * The search parameter changes computed for a reindex tstamp and the fingerprints they were computed from
+     */
+    private static class SearchParameterChangesEntry {
+        private final java.time.Instant tstamp;
+        private final Map<String, String> fingerprints;
+        private final SearchParameterChanges changes;
+
+        private SearchParameterChangesEntry(java.time.Instant tstamp, Map<String, String> fingerprints, SearchParameterChanges changes) {
+            this.tstamp = tstamp;
+            this.fingerprints = fingerprints;
+            this.changes = changes;
+        }
+
+        private boolean isFor(java.time.Instant tstamp, Map<String, String> fingerprints) {
+            return this.tstamp.equals(tstamp) && this.fingerprints.equals(fingerprints);
+        }
+    }
+
+    /**
+     * Create the DAO used by the reindex operations
+     * @param connection
+     * @return
+     * @throws FHIRPersistenceException
+     */
+    private ReindexResourceDAO makeReindexResourceDAO(Connection connection) throws FHIRPersistenceException {
+        ParameterDAO parameterDao = makeParameterDAO(connection);
+        return FHIRResourceDAOFactory.getReindexResourceDAO(connection, FhirSchemaConstants.FHIR_ADMIN, schemaNameSupplier.getSchemaForRequestContext(connection),
+            connectionStrategy.getFlavor(), this.trxSynchRegistry, this.cache, parameterDao);
+    }
+
+    /**
+     * Get the resource type id for the given resource type, from the cache if we have it
+     * @param reindexDAO
+     * @param resourceType
+     * @return
+     * @throws FHIRPersistenceException
+     */
+    private int getReindexResourceTypeId(ReindexResourceDAO reindexDAO, String resourceType) throws FHIRPersistenceException {
+        Integer result = cache.getResourceTypeCache().getId(resourceType);
+        if (result == null) {
+            result = reindexDAO.readResourceTypeId(resourceType);
+            if (result == null) {
+                throw new FHIRPersistenceDataAccessException("Resource type not registered in database: '" + resourceType + "'");
+            }
+            cache.getResourceTypeCache().addEntry(resourceType, result);
+        }
+        return result;
+    }
+
+    /**
+     * Mark the transaction for rollback and translate the failure of one of the bulk reindex
+     * operations into the exception reported to the caller
+     * @param e
+     * @param message the message used for unexpected failures
+     * @return
+     * @throws FHIRPersistenceException if the transaction couldn't be marked for rollback
+     */
+    private FHIRPersistenceException reindexFailure(Throwable e, String message) throws FHIRPersistenceException {
+        getTransaction().setRollbackOnly();
+        if (e instanceof FHIRPersistenceException) {
+            return (FHIRPersistenceException) e;
+        } else if (e instanceof DataAccessException) {
+            DataAccessException dax = (DataAccessException) e;
+            FHIRPersistenceDataAccessException fpx = new FHIRPersistenceDataAccessException("Data access error while performing a reindex operation.");
+            // It's possible this is a deadlock exception, in which case it could be considered retryable
+            if (dax.isTransactionRetryable()) {
+                log.log(Level.SEVERE, "retryable error", dax);
+                fpx.setTransactionRetryable(true);
+            } else {
+                log.log(Level.SEVERE, "non-retryable error", dax);
+            }
+            return fpx;
+        }
+        // don't chain the exception to avoid leaking secrets
+        FHIRPersistenceException fx = new FHIRPersistenceException(message);
+        log.log(Level.SEVERE, fx.getMessage(), e);
+        return fx;
+    }
+
     @Override
     public String generateResourceId() {
         return logicalIdentityProvider.createNewIdentityValue();
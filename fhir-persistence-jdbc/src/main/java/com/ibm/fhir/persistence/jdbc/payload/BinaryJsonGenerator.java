@@ -0,0 +1,278 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * A {@link JsonGenerator} which writes a compact binary encoding of the JSON structure instead of JSON text.
+ *
+ * <p>Each value is written as a one byte tag followed by its content. Strings are written as their UTF-8 bytes
+ * prefixed by their length, integers are written as variable length integers and object keys are written in full
+ * only the first time they're used; later uses refer back to the first one by number. Reading the encoding with
+ * {@link BinaryJsonReader} therefore doesn't need to scan for quotes, escapes or number boundaries, and most of
+ * the keys in a FHIR resource (which repeat often) are only decoded once.
+ *
+ * <p>The underlying stream is not closed by {@link #close()}.
+ */
+public class BinaryJsonGenerator implements JsonGenerator {
+    static final int START_OBJECT = 1;
+    static final int START_ARRAY = 2;
+    static final int END = 3;
+    static final int STRING = 4;
+    static final int INTEGER = 5;
+    static final int DECIMAL = 6;
+    static final int TRUE = 7;
+    static final int FALSE = 8;
+    static final int NULL = 9;
+    static final int KEY = 10;
+    static final int KEY_REF = 11;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> keys = new HashMap<>();
+
+    public BinaryJsonGenerator(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        return tag(START_OBJECT);
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        return writeKey(name).writeStartObject();
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        try {
+            Integer index = keys.get(name);
+            if (index == null) {
+                keys.put(name, keys.size());
+                out.write(KEY);
+                writeString(name);
+            } else {
+                out.write(KEY_REF);
+                writeVarLong(index);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        return tag(START_ARRAY);
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        return writeKey(name).writeStartArray();
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        return writeKey(name).write(value);
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        return writeKey(name).writeNull();
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        return tag(END);
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        switch (value.getValueType()) {
+        case OBJECT:
+            writeStartObject();
+            for (Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+            return writeEnd();
+        case ARRAY:
+            writeStartArray();
+            for (JsonValue item : (JsonArray) value) {
+                write(item);
+            }
+            return writeEnd();
+        case STRING:
+            return write(((JsonString) value).getString());
+        case NUMBER:
+            JsonNumber number = (JsonNumber) value;
+            return number.isIntegral() ? write(number.bigIntegerValue()) : write(number.bigDecimalValue());
+        case TRUE:
+            return write(true);
+        case FALSE:
+            return write(false);
+        default:
+            return writeNull();
+        }
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        try {
+            out.write(STRING);
+            writeString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        try {
+            // the string form keeps the scale, which is significant for FHIR decimals
+            out.write(DECIMAL);
+            writeString(value.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return write(value.longValue());
+        }
+        return write(new BigDecimal(value));
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        return write((long) value);
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        try {
+            out.write(INTEGER);
+            // zig-zag encoding keeps small negative numbers small
+            writeVarLong((value << 1) ^ (value >> 63));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new NumberFormatException("Not a valid JSON number: " + value);
+        }
+        return write(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        return tag(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        return tag(NULL);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new JsonGenerationException(e.getMessage(), e);
+        }
+    }
+
+    private JsonGenerator tag(int tag) {
+        try {
+            out.write(tag);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
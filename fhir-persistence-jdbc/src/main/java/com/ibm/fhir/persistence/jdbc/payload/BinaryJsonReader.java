@@ -0,0 +1,165 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+/**
+ * Reads the binary encoding written by {@link BinaryJsonGenerator} back into a {@link JsonObject}
+ */
+public class BinaryJsonReader {
+    private static final JsonBuilderFactory BUILDER_FACTORY = Json.createBuilderFactory(null);
+
+    private final DataInputStream in;
+    private final List<String> keys = new ArrayList<>();
+
+    public BinaryJsonReader(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Read a JSON object
+     * @return the object
+     * @throws IOException if the input is not a valid encoding of a JSON object
+     */
+    public JsonObject readObject() throws IOException {
+        int tag = in.read();
+        if (tag != BinaryJsonGenerator.START_OBJECT) {
+            throw new IOException("Expected the start of an object but found tag " + tag);
+        }
+        return readObjectContent();
+    }
+
+    private JsonObject readObjectContent() throws IOException {
+        JsonObjectBuilder builder = BUILDER_FACTORY.createObjectBuilder();
+        while (true) {
+            int tag = in.readUnsignedByte();
+            String name;
+            if (tag == BinaryJsonGenerator.END) {
+                return builder.build();
+            } else if (tag == BinaryJsonGenerator.KEY) {
+                name = readString();
+                keys.add(name);
+            } else if (tag == BinaryJsonGenerator.KEY_REF) {
+                int index = (int) readVarLong();
+                if (index >= keys.size()) {
+                    throw new IOException("Invalid key reference " + index);
+                }
+                name = keys.get(index);
+            } else {
+                throw new IOException("Expected an object key but found tag " + tag);
+            }
+
+            tag = in.readUnsignedByte();
+            switch (tag) {
+            case BinaryJsonGenerator.START_OBJECT:
+                builder.add(name, readObjectContent());
+                break;
+            case BinaryJsonGenerator.START_ARRAY:
+                builder.add(name, readArrayContent());
+                break;
+            case BinaryJsonGenerator.STRING:
+                builder.add(name, readString());
+                break;
+            case BinaryJsonGenerator.INTEGER:
+                builder.add(name, readInteger());
+                break;
+            case BinaryJsonGenerator.DECIMAL:
+                builder.add(name, new BigDecimal(readString()));
+                break;
+            case BinaryJsonGenerator.TRUE:
+                builder.add(name, true);
+                break;
+            case BinaryJsonGenerator.FALSE:
+                builder.add(name, false);
+                break;
+            case BinaryJsonGenerator.NULL:
+                builder.addNull(name);
+                break;
+            default:
+                throw new IOException("Unexpected tag " + tag + " for the value of '" + name + "'");
+            }
+        }
+    }
+
+    private JsonArray readArrayContent() throws IOException {
+        JsonArrayBuilder builder = BUILDER_FACTORY.createArrayBuilder();
+        while (true) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+            case BinaryJsonGenerator.END:
+                return builder.build();
+            case BinaryJsonGenerator.START_OBJECT:
+                builder.add(readObjectContent());
+                break;
+            case BinaryJsonGenerator.START_ARRAY:
+                builder.add(readArrayContent());
+                break;
+            case BinaryJsonGenerator.STRING:
+                builder.add(readString());
+                break;
+            case BinaryJsonGenerator.INTEGER:
+                builder.add(readInteger());
+                break;
+            case BinaryJsonGenerator.DECIMAL:
+                builder.add(new BigDecimal(readString()));
+                break;
+            case BinaryJsonGenerator.TRUE:
+                builder.add(true);
+                break;
+            case BinaryJsonGenerator.FALSE:
+                builder.add(false);
+                break;
+            case BinaryJsonGenerator.NULL:
+                builder.addNull();
+                break;
+            default:
+                throw new IOException("Unexpected tag " + tag + " in array");
+            }
+        }
+    }
+
+    private long readInteger() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private String readString() throws IOException {
+        int length = (int) readVarLong();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
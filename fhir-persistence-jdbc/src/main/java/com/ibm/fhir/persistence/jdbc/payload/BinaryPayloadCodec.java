@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.FHIRJsonGenerator;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * Stores the resource using the binary encoding of its JSON structure written by {@link BinaryJsonGenerator},
+ * optionally compressed with LZ4.
+ *
+ * <p>On read, the payload is decoded straight into the JSON object model used by the parser, so no JSON
+ * tokenization is needed. JSON is only produced when the payload is requested as JSON (e.g. for export).
+ */
+public class BinaryPayloadCodec implements PayloadCodec {
+    public static final int ID = 3;
+    public static final String NAME = "binary";
+
+    public static final int LZ4_ID = 4;
+    public static final String LZ4_NAME = "binary-lz4";
+
+    private static final JsonWriterFactory WRITER_FACTORY = Json.createWriterFactory(null);
+
+    private final boolean compressed;
+
+    /**
+     * Create a codec for the uncompressed binary encoding
+     */
+    public BinaryPayloadCodec() {
+        this(false);
+    }
+
+    /**
+     * @param compressed true to compress the binary encoding with LZ4
+     */
+    public BinaryPayloadCodec(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    @Override
+    public int getId() {
+        return compressed ? LZ4_ID : ID;
+    }
+
+    @Override
+    public String getName() {
+        return compressed ? LZ4_NAME : NAME;
+    }
+
+    @Override
+    public void encode(Resource resource, OutputStream out) throws FHIRGeneratorException, IOException {
+        OutputStream target = compressed ? new LZ4BlockOutputStream(out) : out;
+        BinaryJsonGenerator generator = new BinaryJsonGenerator(target);
+        FHIRGenerator.generator(Format.JSON, false).as(FHIRJsonGenerator.class).generate(resource, generator);
+        if (compressed) {
+            target.close();
+        }
+    }
+
+    @Override
+    public <T extends Resource> T decode(InputStream in, List<String> elements) throws FHIRParserException, IOException {
+        JsonObject jsonObject = readObject(in);
+        return FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class).parseAndFilter(jsonObject, elements);
+    }
+
+    @Override
+    public InputStream decodeToJson(InputStream in) throws IOException {
+        JsonObject jsonObject = readObject(in);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonWriter writer = WRITER_FACTORY.createWriter(json)) {
+            writer.writeObject(jsonObject);
+        }
+        return new ByteArrayInputStream(json.toByteArray());
+    }
+
+    private JsonObject readObject(InputStream in) throws IOException {
+        return new BinaryJsonReader(compressed ? new LZ4BlockInputStream(in) : in).readObject();
+    }
+}
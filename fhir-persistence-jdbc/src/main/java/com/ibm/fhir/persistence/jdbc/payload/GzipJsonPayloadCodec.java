@@ -0,0 +1,43 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores the resource as GZIP compressed JSON. This is the format used by earlier releases, and the payloads
+ * it writes are identical to theirs (without a codec header) so that they remain readable by those releases.
+ */
+public class GzipJsonPayloadCodec extends JsonPayloadCodec {
+    public static final int ID = 0;
+    public static final String NAME = "gzip";
+
+    public GzipJsonPayloadCodec() {
+        super(ID, NAME);
+    }
+
+    @Override
+    protected OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(new FilterOutputStream(out) {
+            @Override
+            public void close() throws IOException {
+                // leave the payload stream open
+                flush();
+            }
+        });
+    }
+
+    @Override
+    protected InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in);
+    }
+}
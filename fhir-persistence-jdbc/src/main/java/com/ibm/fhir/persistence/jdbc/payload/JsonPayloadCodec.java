@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.parser.FHIRJsonParser;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * Stores the resource as uncompressed JSON. Subclasses may compress the JSON by overriding
+ * {@link #compress(OutputStream)} and {@link #decompress(InputStream)}.
+ */
+public class JsonPayloadCodec implements PayloadCodec {
+    public static final int ID = 1;
+    public static final String NAME = "json";
+
+    private final int id;
+    private final String name;
+
+    public JsonPayloadCodec() {
+        this(ID, NAME);
+    }
+
+    protected JsonPayloadCodec(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    @Override
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void encode(Resource resource, OutputStream out) throws FHIRGeneratorException, IOException {
+        OutputStream compressed = compress(out);
+        FHIRGenerator.generator(Format.JSON, false).generate(resource, compressed);
+        if (compressed != out) {
+            compressed.close();
+        }
+    }
+
+    @Override
+    public <T extends Resource> T decode(InputStream in, List<String> elements) throws FHIRParserException, IOException {
+        try (InputStream json = decompress(in)) {
+            return FHIRParser.parser(Format.JSON).as(FHIRJsonParser.class).parseAndFilter(json, elements);
+        }
+    }
+
+    @Override
+    public InputStream decodeToJson(InputStream in) throws IOException {
+        return decompress(in);
+    }
+
+    /**
+     * Wrap the stream the payload is written to. Closing the returned stream must finish the
+     * compressed data without closing the underlying stream.
+     * @param out
+     * @return the stream to write the JSON to
+     * @throws IOException
+     */
+    protected OutputStream compress(OutputStream out) throws IOException {
+        return out;
+    }
+
+    /**
+     * Wrap the stream the payload is read from
+     * @param in
+     * @return the stream to read the JSON from
+     * @throws IOException
+     */
+    protected InputStream decompress(InputStream in) throws IOException {
+        return in;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.util.Arrays;
+
+/**
+ * A pure Java implementation of the LZ4 block format (https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md).
+ *
+ * <p>The compressor uses a single-probe hash table, trading compression ratio for speed in the same way as the
+ * reference "fast" compressor. Decompression only copies literals and matches, so it is much cheaper than inflating
+ * GZIP data.
+ */
+public final class LZ4Block {
+    private static final int MIN_MATCH = 4;
+
+    // The last 5 bytes of the input are always literals, and the last match must start at least 12 bytes before the end
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+
+    private static final int MAX_DISTANCE = 65535;
+    private static final int HASH_LOG = 12;
+    private static final int RUN_MASK = 15;
+
+    private LZ4Block() {
+        // No Operation
+    }
+
+    /**
+     * @param length the number of bytes to compress
+     * @return the maximum number of bytes {@link #compress(byte[], int, int, byte[], int)} can write for the given length
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compress the given bytes into the destination array, which must have at least
+     * {@link #maxCompressedLength(int)} bytes available from dstOff.
+     * @param src
+     * @param srcOff
+     * @param srcLen
+     * @param dst
+     * @param dstOff
+     * @return the number of bytes written to dst
+     */
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        final int srcEnd = srcOff + srcLen;
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        final int mfLimit = srcEnd - MF_LIMIT;
+
+        int ip = srcOff;
+        int anchor = srcOff;
+        int op = dstOff;
+
+        if (srcLen > MF_LIMIT) {
+            final int[] table = new int[1 << HASH_LOG];
+            Arrays.fill(table, -1);
+
+            while (ip < mfLimit) {
+                int sequence = readInt(src, ip);
+                int h = hash(sequence);
+                int ref = table[h];
+                table[h] = ip;
+
+                if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+                    ip++;
+                    continue;
+                }
+
+                // extend the match backwards over any pending literals
+                while (ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+
+                // and forwards
+                int matchLen = MIN_MATCH;
+                while (ip + matchLen < matchLimit && src[ip + matchLen] == src[ref + matchLen]) {
+                    matchLen++;
+                }
+
+                op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLen, dst, op);
+                ip += matchLen;
+                anchor = ip;
+            }
+        }
+
+        // the remaining input is written as literals
+        return writeLastLiterals(src, anchor, srcEnd - anchor, dst, op) - dstOff;
+    }
+
+    /**
+     * Decompress a block which was compressed by {@link #compress(byte[], int, int, byte[], int)}
+     * @param src
+     * @param srcOff
+     * @param srcLen
+     * @param dst
+     * @param dstOff
+     * @param dstLen the exact number of bytes the block decompresses to
+     * @throws IllegalArgumentException if the block is malformed
+     */
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        final int srcEnd = srcOff + srcLen;
+        final int dstEnd = dstOff + dstLen;
+        int ip = srcOff;
+        int op = dstOff;
+
+        try {
+            while (true) {
+                int token = src[ip++] & 0xFF;
+
+                int literalLen = token >>> 4;
+                if (literalLen == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        literalLen += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(src, ip, dst, op, literalLen);
+                ip += literalLen;
+                op += literalLen;
+
+                if (ip >= srcEnd) {
+                    break;
+                }
+
+                int offset = (src[ip++] & 0xFF) | ((src[ip++] & 0xFF) << 8);
+                int ref = op - offset;
+                if (offset == 0 || ref < dstOff) {
+                    throw new IllegalArgumentException("Malformed LZ4 block: invalid offset " + offset);
+                }
+
+                int matchLen = token & RUN_MASK;
+                if (matchLen == RUN_MASK) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        matchLen += b;
+                    } while (b == 255);
+                }
+                matchLen += MIN_MATCH;
+                if (op + matchLen > dstEnd) {
+                    throw new IllegalArgumentException("Malformed LZ4 block: match exceeds the block length");
+                }
+
+                // the match may overlap the output, so copy one byte at a time
+                for (int i = 0; i < matchLen; i++) {
+                    dst[op++] = dst[ref++];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed LZ4 block", e);
+        }
+
+        if (op != dstEnd) {
+            throw new IllegalArgumentException("Malformed LZ4 block: expected " + dstLen + " bytes but found " + (op - dstOff));
+        }
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int offset, int matchLen, byte[] dst, int op) {
+        int tokenPos = op++;
+        int token;
+
+        if (literalLen >= RUN_MASK) {
+            token = RUN_MASK << 4;
+            op = writeLength(literalLen - RUN_MASK, dst, op);
+        } else {
+            token = literalLen << 4;
+        }
+        System.arraycopy(src, literalOff, dst, op, literalLen);
+        op += literalLen;
+
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+
+        int matchCode = matchLen - MIN_MATCH;
+        if (matchCode >= RUN_MASK) {
+            token |= RUN_MASK;
+            op = writeLength(matchCode - RUN_MASK, dst, op);
+        } else {
+            token |= matchCode;
+        }
+
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLastLiterals(byte[] src, int literalOff, int literalLen, byte[] dst, int op) {
+        if (literalLen >= RUN_MASK) {
+            dst[op++] = (byte) (RUN_MASK << 4);
+            op = writeLength(literalLen - RUN_MASK, dst, op);
+        } else {
+            dst[op++] = (byte) (literalLen << 4);
+        }
+        System.arraycopy(src, literalOff, dst, op, literalLen);
+        return op + literalLen;
+    }
+
+    private static int writeLength(int length, byte[] dst, int op) {
+        while (length >= 255) {
+            dst[op++] = (byte) 255;
+            length -= 255;
+        }
+        dst[op++] = (byte) length;
+        return op;
+    }
+
+    private static int readInt(byte[] buf, int i) {
+        return (buf[i] & 0xFF) | ((buf[i + 1] & 0xFF) << 8) | ((buf[i + 2] & 0xFF) << 16) | ((buf[i + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
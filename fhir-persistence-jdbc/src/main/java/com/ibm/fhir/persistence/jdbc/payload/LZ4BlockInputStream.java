@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decompresses a sequence of LZ4 blocks written by {@link LZ4BlockOutputStream}
+ */
+public class LZ4BlockInputStream extends InputStream {
+    private final DataInputStream in;
+    private byte[] compressed = new byte[0];
+    private byte[] buffer = new byte[0];
+    private int count;
+    private int pos;
+    private boolean eof;
+
+    public LZ4BlockInputStream(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos == count && !readBlock()) {
+            return -1;
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pos == count && !readBlock()) {
+            return -1;
+        }
+        int n = Math.min(len, count - pos);
+        System.arraycopy(buffer, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return count - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Read the next block into the buffer
+     * @return false if there are no more blocks
+     * @throws IOException
+     */
+    private boolean readBlock() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int first = in.read();
+        if (first < 0) {
+            eof = true;
+            return false;
+        }
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        int storedLength = in.readInt();
+        if (length <= 0 || length > LZ4BlockOutputStream.BLOCK_SIZE || storedLength <= 0 || storedLength > LZ4Block.maxCompressedLength(length)) {
+            throw new IOException("Malformed LZ4 block header: length=" + length + ", storedLength=" + storedLength);
+        }
+        if (buffer.length < length) {
+            buffer = new byte[length];
+        }
+
+        try {
+            if (storedLength == length) {
+                in.readFully(buffer, 0, length);
+            } else {
+                if (compressed.length < storedLength) {
+                    compressed = new byte[storedLength];
+                }
+                in.readFully(compressed, 0, storedLength);
+                LZ4Block.decompress(compressed, 0, storedLength, buffer, 0, length);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Unexpected end of LZ4 stream", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        count = length;
+        pos = 0;
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Compresses the data written to it as a sequence of LZ4 blocks.
+ *
+ * <p>Each block is written as the uncompressed length and the stored length (both 4 byte integers) followed
+ * by the stored bytes. A block which doesn't get any smaller is stored uncompressed, which is indicated by
+ * a stored length equal to the uncompressed length. The underlying stream is not closed by {@link #close()}.
+ *
+ * @see LZ4BlockInputStream
+ */
+public class LZ4BlockOutputStream extends FilterOutputStream {
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    // Most payloads are much smaller than a block, so the buffers start small and grow as needed
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private byte[] compressed = new byte[0];
+    private final DataOutputStream dataOut;
+    private int count;
+    private boolean closed;
+
+    public LZ4BlockOutputStream(OutputStream out) {
+        super(out);
+        this.dataOut = new DataOutputStream(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == BLOCK_SIZE) {
+            writeBlock();
+        }
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == BLOCK_SIZE) {
+                writeBlock();
+            }
+            int n = Math.min(len, BLOCK_SIZE - count);
+            ensureCapacity(count + n);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Write any buffered data as a block and flush the underlying stream
+     */
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        dataOut.flush();
+    }
+
+    /**
+     * Write any buffered data, but leave the underlying stream open
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            flush();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(Math.max(capacity, buffer.length * 2), BLOCK_SIZE));
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (compressed.length < LZ4Block.maxCompressedLength(count)) {
+            compressed = new byte[LZ4Block.maxCompressedLength(buffer.length)];
+        }
+        int compressedLength = LZ4Block.compress(buffer, 0, count, compressed, 0);
+        dataOut.writeInt(count);
+        if (compressedLength < count) {
+            dataOut.writeInt(compressedLength);
+            dataOut.write(compressed, 0, compressedLength);
+        } else {
+            dataOut.writeInt(count);
+            dataOut.write(buffer, 0, count);
+        }
+        count = 0;
+    }
+}
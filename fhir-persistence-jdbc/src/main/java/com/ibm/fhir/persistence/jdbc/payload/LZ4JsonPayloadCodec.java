@@ -0,0 +1,34 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Stores the resource as LZ4 compressed JSON. The payload is usually somewhat larger than with GZIP, but is
+ * much cheaper to compress and decompress.
+ */
+public class LZ4JsonPayloadCodec extends JsonPayloadCodec {
+    public static final int ID = 2;
+    public static final String NAME = "lz4";
+
+    public LZ4JsonPayloadCodec() {
+        super(ID, NAME);
+    }
+
+    @Override
+    protected OutputStream compress(OutputStream out) throws IOException {
+        return new LZ4BlockOutputStream(out);
+    }
+
+    @Override
+    protected InputStream decompress(InputStream in) throws IOException {
+        return new LZ4BlockInputStream(in);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.ibm.fhir.exception.FHIRException;
+import com.ibm.fhir.persistence.jdbc.dto.Resource;
+
+/**
+ * Converts the resource DTOs read by a query into model objects on the worker threads of an executor shared by all
+ * requests, normally the container's ManagedExecutorService.
+ *
+ * <p>The decoder is handed each DTO as soon as it is read from the ResultSet, so the first payloads are decoded
+ * while later rows are still being fetched. At most {@code parallelism} workers decode the payloads of a single
+ * request at the same time. Once the fetch is complete, {@link #getResults()} decodes whatever the workers haven't
+ * started on the request thread, so a busy executor never stalls a request. Without an executor, all of the payloads
+ * are decoded on the request thread. The results are returned in the order the
+ * DTOs were read.
+ *
+ * <p>An instance is used by a single request thread and must not be reused.
+ *
+ * @param <T> the type of the decoded objects
+ */
+public class ParallelPayloadDecoder<T> implements Consumer<Resource> {
+
+    /**
+     * Converts a resource DTO into a model object
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        /**
+         * @param index the position of the DTO in the query results
+         * @param resourceDTO
+         * @return the decoded object
+         * @throws FHIRException
+         * @throws IOException
+         */
+        T decode(int index, Resource resourceDTO) throws FHIRException, IOException;
+    }
+
+    // The default number of workers used by each request
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final Decoder<T> decoder;
+
+    // Only the request thread adds to this list
+    private final List<Task> tasks = new ArrayList<>();
+    private final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger workers = new AtomicInteger();
+    private volatile Throwable failure;
+
+    /**
+     * A DTO and the object decoded from it
+     */
+    private class Task {
+        private final int index;
+        private final Resource resourceDTO;
+        private T result;
+
+        private Task(int index, Resource resourceDTO) {
+            this.index = index;
+            this.resourceDTO = resourceDTO;
+        }
+
+        private void run() {
+            // Once a payload fails to decode the results won't be used, so skip the rest
+            if (failure != null) {
+                return;
+            }
+            try {
+                result = decoder.decode(index, resourceDTO);
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+    }
+
+    /**
+     * Public constructor
+     * @param executor runs the workers, or null to decode all of the payloads on the request thread
+     * @param parallelism the maximum number of workers decoding for this request; 1 or less decodes all of the
+     *        payloads on the request thread
+     * @param decoder
+     */
+    public ParallelPayloadDecoder(Executor executor, int parallelism, Decoder<T> decoder) {
+        this.executor = executor;
+        this.parallelism = executor != null ? parallelism : 1;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Add the next DTO read by the query
+     */
+    @Override
+    public void accept(Resource resourceDTO) {
+        Task task = new Task(tasks.size(), resourceDTO);
+        tasks.add(task);
+        if (parallelism <= 1) {
+            return;
+        }
+        pending.add(task);
+
+        int n = workers.get();
+        while (n < parallelism) {
+            if (workers.compareAndSet(n, n + 1)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the request thread will decode the payload in getResults
+                    workerDone();
+                }
+                break;
+            }
+            n = workers.get();
+        }
+    }
+
+    /**
+     * Wait for all of the DTOs added to this decoder to be decoded
+     * @return the decoded objects, in the order the DTOs were added
+     * @throws FHIRException if a payload could not be decoded
+     * @throws IOException if a payload could not be decoded, or the request thread was interrupted
+     */
+    public List<T> getResults() throws FHIRException, IOException {
+        if (parallelism <= 1) {
+            for (Task task : tasks) {
+                task.run();
+            }
+        } else {
+            drainPending();
+            synchronized (this) {
+                while (workers.get() > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while decoding resource payloads");
+                    }
+                }
+            }
+        }
+
+        Throwable t = failure;
+        if (t != null) {
+            if (t instanceof FHIRException) {
+                throw (FHIRException) t;
+            } else if (t instanceof IOException) {
+                throw (IOException) t;
+            } else if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            } else if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            results.add(task.result);
+        }
+        return results;
+    }
+
+    private void drain() {
+        try {
+            drainPending();
+        } finally {
+            workerDone();
+        }
+    }
+
+    private void drainPending() {
+        Task task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private synchronized void workerDone() {
+        workers.decrementAndGet();
+        notifyAll();
+    }
+}
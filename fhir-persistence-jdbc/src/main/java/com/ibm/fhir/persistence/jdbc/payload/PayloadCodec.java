@@ -0,0 +1,72 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Resource;
+
+/**
+ * Serializes resources to, and deserializes resources from, the payload stored with each resource version.
+ *
+ * <p>The id of the codec which wrote a payload is stored with the payload, so payloads written by any registered
+ * codec can always be read regardless of which codec is configured for writing. Codecs are discovered using the
+ * jdk's ServiceLoader: to register an additional codec, insert the name of the implementation class into a file
+ * called META-INF/services/com.ibm.fhir.persistence.jdbc.payload.PayloadCodec in your jar.
+ *
+ * <p>Implementations must be thread-safe.
+ *
+ * @see PayloadCodecRegistry
+ */
+public interface PayloadCodec {
+
+    /**
+     * The id stored with each payload written by this codec. Id 0 is reserved for the GZIP compressed JSON
+     * format used by earlier releases; other codecs must use a unique id between 1 and 255.
+     * @return the id of this codec
+     */
+    int getId();
+
+    /**
+     * The name used to select this codec in the configuration
+     * @return the name of this codec
+     */
+    String getName();
+
+    /**
+     * Serialize the resource to the output stream
+     * @param resource the resource to serialize
+     * @param out the stream to write to, which should not be closed
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    void encode(Resource resource, OutputStream out) throws FHIRGeneratorException, IOException;
+
+    /**
+     * Deserialize a resource from the input stream
+     * @param in the stream containing a payload written by {@link #encode(Resource, OutputStream)}
+     * @param elements an optional list of the elements to include in the returned resource, or null for all elements
+     * @return the resource
+     * @throws FHIRParserException
+     * @throws IOException
+     */
+    <T extends Resource> T decode(InputStream in, List<String> elements) throws FHIRParserException, IOException;
+
+    /**
+     * Get a stream of the JSON form of the resource in the payload. Codecs which store JSON should return
+     * it as-is rather than deserializing the resource.
+     * @param in the stream containing a payload written by {@link #encode(Resource, OutputStream)}
+     * @return a stream of the UTF-8 encoded JSON
+     * @throws IOException
+     */
+    InputStream decodeToJson(InputStream in) throws IOException;
+}
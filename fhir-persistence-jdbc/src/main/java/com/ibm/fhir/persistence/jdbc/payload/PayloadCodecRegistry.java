@@ -0,0 +1,219 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.parser.exception.FHIRParserException;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.JsonPayloadScope;
+
+/**
+ * Holds the available {@link PayloadCodec} implementations and handles the header which records the codec
+ * used for each payload.
+ *
+ * <p>Payloads written by the {@link GzipJsonPayloadCodec} have no header, which keeps them identical to the
+ * payloads written by earlier releases. Payloads written by any other codec start with a two byte header: a
+ * marker byte which can't start a GZIP stream, followed by the id of the codec.
+ */
+public final class PayloadCodecRegistry {
+    private static final Logger log = Logger.getLogger(PayloadCodecRegistry.class.getName());
+
+    public static final String DEFAULT_CODEC = GzipJsonPayloadCodec.NAME;
+
+    // GZIP streams always start with 0x1f 0x8b
+    private static final int HEADER_MARKER = 0xFC;
+
+    private static final PayloadCodec[] codecsById = new PayloadCodec[256];
+    private static final Map<String, PayloadCodec> codecsByName = new TreeMap<>();
+
+    static {
+        register(new GzipJsonPayloadCodec());
+        register(new JsonPayloadCodec());
+        register(new LZ4JsonPayloadCodec());
+        register(new BinaryPayloadCodec(false));
+        register(new BinaryPayloadCodec(true));
+
+        // Discover any additional codecs
+        Iterator<PayloadCodec> iter = ServiceLoader.load(PayloadCodec.class).iterator();
+        while (true) {
+            try {
+                if (!iter.hasNext()) {
+                    break;
+                }
+                register(iter.next());
+            } catch (ServiceConfigurationError | IllegalArgumentException e) {
+                log.log(Level.SEVERE, "Unable to register payload codec", e);
+            }
+        }
+    }
+
+    private PayloadCodecRegistry() {
+        // No Operation
+    }
+
+    private static void register(PayloadCodec codec) {
+        int id = codec.getId();
+        if (id < 0 || id >= codecsById.length) {
+            throw new IllegalArgumentException("Payload codec '" + codec.getName() + "' has an invalid id: " + id);
+        }
+        if (codecsById[id] != null || codecsByName.containsKey(codec.getName())) {
+            throw new IllegalArgumentException("Payload codec '" + codec.getName() + "' with id " + id + " conflicts with a registered codec");
+        }
+        codecsById[id] = codec;
+        codecsByName.put(codec.getName(), codec);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Registered payload codec '" + codec.getName() + "' with id " + id + ": " + codec.getClass().getName());
+        }
+    }
+
+    /**
+     * @param name
+     * @return the codec with the given name, or null if there is no such codec
+     */
+    public static PayloadCodec getCodec(String name) {
+        return codecsByName.get(name);
+    }
+
+    /**
+     * @param id
+     * @return the codec with the given id, or null if there is no such codec
+     */
+    public static PayloadCodec getCodec(int id) {
+        return (id >= 0 && id < codecsById.length) ? codecsById[id] : null;
+    }
+
+    /**
+     * @return the names of the registered codecs
+     */
+    public static List<String> getCodecNames() {
+        return Collections.unmodifiableList(new ArrayList<>(codecsByName.keySet()));
+    }
+
+    /**
+     * Serialize the resource with the given codec, including the header which identifies the codec
+     * @param codec
+     * @param resource
+     * @return the payload
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    public static byte[] encode(PayloadCodec codec, Resource resource) throws FHIRGeneratorException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (codec.getId() != GzipJsonPayloadCodec.ID) {
+            out.write(HEADER_MARKER);
+            out.write(codec.getId());
+        }
+        codec.encode(resource, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserialize a resource from a payload written by any registered codec
+     * @param payload
+     * @param elements an optional list of the elements to include in the returned resource, or null for all elements
+     * @return the resource
+     * @throws FHIRParserException
+     * @throws IOException
+     */
+    public static <T extends Resource> T decode(byte[] payload, List<String> elements) throws FHIRParserException, IOException {
+        if (payload.length > 1 && (payload[0] & 0xFF) == HEADER_MARKER) {
+            return getRequiredCodec(payload[1] & 0xFF).decode(new ByteArrayInputStream(payload, 2, payload.length - 2), elements);
+        }
+        return codecsById[GzipJsonPayloadCodec.ID].decode(new ByteArrayInputStream(payload), elements);
+    }
+
+    /**
+     * Deserialize a resource from a payload written by any registered codec, and register the JSON it was parsed
+     * from with the payload scope so that it can be written to the response as-is. Only payloads which store
+     * JSON, and which are decoded without element filtering, are registered.
+     * @param payload
+     * @param elements an optional list of the elements to include in the returned resource, or null for all elements
+     * @param payloadScope the scope to register the JSON with, or null
+     * @return the resource
+     * @throws FHIRParserException
+     * @throws IOException
+     */
+    public static <T extends Resource> T decode(byte[] payload, List<String> elements, JsonPayloadScope payloadScope)
+            throws FHIRParserException, IOException {
+        if (payloadScope == null || elements != null) {
+            return decode(payload, elements);
+        }
+        PayloadCodec codec;
+        InputStream in;
+        if (payload.length > 1 && (payload[0] & 0xFF) == HEADER_MARKER) {
+            codec = getRequiredCodec(payload[1] & 0xFF);
+            in = new ByteArrayInputStream(payload, 2, payload.length - 2);
+        } else {
+            codec = codecsById[GzipJsonPayloadCodec.ID];
+            in = new ByteArrayInputStream(payload);
+        }
+        if (!(codec instanceof JsonPayloadCodec)) {
+            return codec.decode(in, null);
+        }
+
+        byte[] json;
+        try (InputStream jsonStream = codec.decodeToJson(in)) {
+            json = readAll(jsonStream);
+        }
+        T resource = FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(json));
+        payloadScope.put(resource, json);
+        return resource;
+    }
+
+    /**
+     * Get a stream of the JSON form of the resource in a payload written by any registered codec
+     * @param payload
+     * @return a stream of the UTF-8 encoded JSON
+     * @throws IOException
+     */
+    public static InputStream decodeToJson(InputStream payload) throws IOException {
+        InputStream in = payload.markSupported() ? payload : new BufferedInputStream(payload);
+        in.mark(2);
+        int marker = in.read();
+        if (marker == HEADER_MARKER) {
+            return getRequiredCodec(in.read()).decodeToJson(in);
+        }
+        in.reset();
+        return codecsById[GzipJsonPayloadCodec.ID].decodeToJson(in);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    private static PayloadCodec getRequiredCodec(int id) throws IOException {
+        PayloadCodec codec = getCodec(id);
+        if (codec == null) {
+            throw new IOException("The payload was written by an unknown payload codec with id " + id);
+        }
+        return codec;
+    }
+}
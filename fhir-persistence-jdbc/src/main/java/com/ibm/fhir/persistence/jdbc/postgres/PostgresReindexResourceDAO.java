@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -34,45 +34,48 @@ public class PostgresReindexResourceDAO extends ReindexResourceDAO {
     private static final Logger logger = Logger.getLogger(PostgresReindexResourceDAO.class.getName());
 
     private static final String PICK_SINGLE_RESOURCE = ""
-            + "   UPDATE logical_resources "
-            + "      SET reindex_tstamp = ?,"
-            + "          reindex_txid = COALESCE(reindex_txid + 1, 1) "
-            + "    WHERE logical_resource_id = ( "
-            + "       SELECT lr.logical_resource_id "
-            + "         FROM logical_resources lr "
-            + "        WHERE lr.resource_type_id = ? "
-            + "          AND lr.logical_id = ? "
-            + "          AND lr.reindex_tstamp < ? "
-            + "     ORDER BY lr.reindex_tstamp  "
-            + "   FOR UPDATE SKIP LOCKED LIMIT 1) "
-            + "RETURNING logical_resource_id, resource_type_id, logical_id, reindex_txid "
+            + "   UPDATE logical_resources lr "
+            + "      SET reindex_tstamp = ?, "
+            + "          reindex_txid = COALESCE(lr.reindex_txid + 1, 1) "
+            + "     FROM ( "
+            + "       SELECT logical_resource_id, reindex_tstamp "
+            + "         FROM logical_resources "
+            + "        WHERE resource_type_id = ? "
+            + "          AND logical_id = ? "
+            + "          AND reindex_tstamp < ? "
+            + "     ORDER BY reindex_tstamp  "
+            + "   FOR UPDATE SKIP LOCKED LIMIT 1) prev "
+            + "    WHERE lr.logical_resource_id = prev.logical_resource_id "
+            + "RETURNING lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, prev.reindex_tstamp "
             ;
 
     private static final String PICK_SINGLE_RESOURCE_TYPE = ""
-            + "   UPDATE logical_resources "
+            + "   UPDATE logical_resources lr "
             + "      SET reindex_tstamp = ?, "
-            + "          reindex_txid = COALESCE(reindex_txid + 1, 1) "
-            + "    WHERE logical_resource_id = ( "
-            + "       SELECT lr.logical_resource_id "
-            + "         FROM logical_resources lr "
-            + "        WHERE lr.resource_type_id = ? "
-            + "          AND lr.reindex_tstamp < ? "
-            + "     ORDER BY lr.reindex_tstamp  "
-            + "   FOR UPDATE SKIP LOCKED LIMIT 1) "
-            + "RETURNING logical_resource_id, resource_type_id, logical_id, reindex_txid "
+            + "          reindex_txid = COALESCE(lr.reindex_txid + 1, 1) "
+            + "     FROM ( "
+            + "       SELECT logical_resource_id, reindex_tstamp "
+            + "         FROM logical_resources "
+            + "        WHERE resource_type_id = ? "
+            + "          AND reindex_tstamp < ? "
+            + "     ORDER BY reindex_tstamp  "
+            + "   FOR UPDATE SKIP LOCKED LIMIT 1) prev "
+            + "    WHERE lr.logical_resource_id = prev.logical_resource_id "
+            + "RETURNING lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, prev.reindex_tstamp "
             ;
 
     private static final String PICK_ANY_RESOURCE = ""
-            + "   UPDATE logical_resources "
-            + "      SET reindex_tstamp = ?,"
-            + "          reindex_txid = COALESCE(reindex_txid + 1, 1) "
-            + "    WHERE logical_resource_id = ( "
-            + "       SELECT lr.logical_resource_id "
-            + "         FROM logical_resources lr "
-            + "        WHERE lr.reindex_tstamp < ? "
-            + "     ORDER BY lr.reindex_tstamp  "
-            + "   FOR UPDATE SKIP LOCKED LIMIT 1) "
-            + "RETURNING logical_resource_id, resource_type_id, logical_id, reindex_txid "
+            + "   UPDATE logical_resources lr "
+            + "      SET reindex_tstamp = ?, "
+            + "          reindex_txid = COALESCE(lr.reindex_txid + 1, 1) "
+            + "     FROM ( "
+            + "       SELECT logical_resource_id, reindex_tstamp "
+            + "         FROM logical_resources "
+            + "        WHERE reindex_tstamp < ? "
+            + "     ORDER BY reindex_tstamp  "
+            + "   FOR UPDATE SKIP LOCKED LIMIT 1) prev "
+            + "    WHERE lr.logical_resource_id = prev.logical_resource_id "
+            + "RETURNING lr.logical_resource_id, lr.resource_type_id, lr.logical_id, lr.reindex_txid, prev.reindex_tstamp "
             ;
 
     /**
@@ -118,6 +121,8 @@ public class PostgresReindexResourceDAO extends ReindexResourceDAO {
         // by existing locks. The ORDER BY is included to persuade[force] Postgres to always
         // use the index instead of switching to a full tablescan when the distribution stats
         // confuse the optimizer.
+        // The previous reindex_tstamp comes from the subquery, because RETURNING only sees the
+        // updated row. It tells us which search parameters have changed since the last reindex.
         final String update;
         if (resourceTypeId != null && logicalId != null) {
             // Limit to one resource
@@ -154,7 +159,7 @@ public class PostgresReindexResourceDAO extends ReindexResourceDAO {
             stmt.execute();
             ResultSet rs = stmt.getResultSet();
             if (rs.next()) {
-                result = new ResourceIndexRecord(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getLong(4));
+                result = new ResourceIndexRecord(rs.getLong(1), rs.getInt(2), rs.getString(3), rs.getLong(4), rs.getTimestamp(5).toInstant());
             }
         } catch (SQLException x) {
             logger.log(Level.SEVERE, update, x);
@@ -163,4 +168,10 @@ public class PostgresReindexResourceDAO extends ReindexResourceDAO {
 
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String getInsertFingerprintSql() {
+        // A duplicate key error would abort the transaction, so skip the row instead
+        return super.getInsertFingerprintSql() + " ON CONFLICT DO NOTHING";
+    }
+}
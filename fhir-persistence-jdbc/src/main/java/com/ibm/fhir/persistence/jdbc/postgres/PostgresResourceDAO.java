@@ -32,7 +32,6 @@ import com.ibm.fhir.persistence.jdbc.dao.api.IResourceReferenceDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.JDBCIdentityCache;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.JDBCIdentityCacheImpl;
-import com.ibm.fhir.persistence.jdbc.dao.impl.ParameterVisitorBatchDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.ResourceDAOImpl;
 import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
 import com.ibm.fhir.persistence.jdbc.dto.Resource;
@@ -130,12 +129,7 @@ public class PostgresResourceDAO extends ResourceDAOImpl {
             if (parameters != null) {
                 // postgresql doesn't support partitioned multi-tenancy, so we disable it on the DAO:
                 JDBCIdentityCache identityCache = new JDBCIdentityCacheImpl(getCache(), this, parameterDao, getResourceReferenceDAO());
-                try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(connection, null, resource.getResourceType(), false, resource.getId(), 100,
-                    identityCache, getResourceReferenceDAO(), getTransactionData())) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
-                    }
-                }
+                insertParameters(connection, null, resource.getResourceType(), false, resource.getId(), parameters, identityCache);
             }
 
             if (logger.isLoggable(Level.FINE)) {
@@ -32,7 +32,6 @@ import com.ibm.fhir.persistence.jdbc.dao.api.IResourceReferenceDAO;
 import com.ibm.fhir.persistence.jdbc.dao.api.JDBCIdentityCache;
 import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.JDBCIdentityCacheImpl;
-import com.ibm.fhir.persistence.jdbc.dao.impl.ParameterVisitorBatchDAO;
 import com.ibm.fhir.persistence.jdbc.dao.impl.ResourceDAOImpl;
 import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
 import com.ibm.fhir.persistence.jdbc.dto.Resource;
@@ -423,12 +422,7 @@ public class PostgresResourceNoProcDAO extends ResourceDAOImpl {
             if (parameters != null) {
                 // PostgreSQL doesn't support partitioned multi-tenancy, so we disable it on the DAO:
                 JDBCIdentityCache identityCache = new JDBCIdentityCacheImpl(getCache(), this, parameterDao, getResourceReferenceDAO());
-                try (ParameterVisitorBatchDAO pvd = new ParameterVisitorBatchDAO(conn, null, tablePrefix, false, v_logical_resource_id, 100,
-                    identityCache, getResourceReferenceDAO(), getTransactionData())) {
-                    for (ExtractedParameterValue p: parameters) {
-                        p.accept(pvd);
-                    }
-                }
+                insertParameters(conn, null, tablePrefix, false, v_logical_resource_id, parameters, identityCache);
             }
         }
         logger.exiting(CLASSNAME, METHODNAME);
@@ -64,6 +64,14 @@ public class InclusionQuerySegmentAggregator extends QuerySegmentAggregator {
         this.identityCache = identityCache;
     }
 
+    /**
+     * Pages are located by offset because the ordering depends on the SORT_ORDER of the included resources
+     */
+    @Override
+    public boolean supportsKeysetPagination() {
+        return false;
+    }
+
     /**
      * This methods builds a query to return the count of resources matching the
      * search. This count will encompass resources
@@ -79,6 +79,7 @@ import com.ibm.fhir.persistence.util.AbstractQueryBuilder;
 import com.ibm.fhir.search.SearchConstants;
 import com.ibm.fhir.search.SearchConstants.Modifier;
 import com.ibm.fhir.search.SearchConstants.Type;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.exception.FHIRSearchException;
 import com.ibm.fhir.search.location.NearLocationHandler;
@@ -190,6 +191,15 @@ public class JDBCQueryBuilder extends AbstractQueryBuilder<SqlQueryData> {
 
         helper = this.buildQueryCommon(resourceType, searchContext);
         if (helper != null) {
+            // Without an accurate total, the next page is detected by reading one more row than the page size
+            TotalValueSet total = searchContext.getTotalParameter();
+            helper.setLookahead(total == TotalValueSet.NONE || total == TotalValueSet.ESTIMATE);
+            if (helper.supportsKeysetPagination()) {
+                PageCursor cursor = PageCursor.from(PageCursor.Kind.SEARCH, searchContext);
+                if (cursor != null) {
+                    helper.setAfterLogicalResourceId(cursor.getLastKey());
+                }
+            }
             query = helper.buildQuery();
         }
 
@@ -0,0 +1,118 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.core.context.FHIRPagingContext;
+
+/**
+ * A keyset pagination cursor. The cursor records the sort key of the last row of a page, so the following page
+ * can be read by seeking past that key rather than by skipping over all the rows of the earlier pages.
+ *
+ * <p>A cursor is only valid for the page number and page size it was created for. When a client jumps to an
+ * arbitrary page (or changes the page size) the cursor no longer matches, and the page is located by its offset.
+ * The encoded form is URL-safe and opaque to clients.
+ */
+public final class PageCursor {
+    private static final Logger log = Logger.getLogger(PageCursor.class.getName());
+
+    /**
+     * The sort key recorded in the cursor
+     */
+    public enum Kind {
+        // LOGICAL_RESOURCE_ID, ascending
+        SEARCH('s'),
+        // VERSION_ID, descending
+        HISTORY('h');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+    }
+
+    private final Kind kind;
+    private final int pageNumber;
+    private final int pageSize;
+    private final long lastKey;
+
+    private PageCursor(Kind kind, int pageNumber, int pageSize, long lastKey) {
+        this.kind = kind;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.lastKey = lastKey;
+    }
+
+    /**
+     * Encode a cursor for the page after the current page of the paging context
+     * @param kind
+     * @param pagingContext the paging context of the current page
+     * @param lastKey the sort key of the last row of the current page
+     * @return the encoded cursor
+     */
+    public static String encodeNext(Kind kind, FHIRPagingContext pagingContext, long lastKey) {
+        String value = kind.code + "." + (pagingContext.getPageNumber() + 1) + "." + pagingContext.getPageSize() + "." + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the cursor from the paging context, if it is valid for the current page
+     * @param kind
+     * @param pagingContext
+     * @return the cursor, or null if the paging context has no cursor or the cursor doesn't apply to the current page
+     */
+    public static PageCursor from(Kind kind, FHIRPagingContext pagingContext) {
+        String encoded = pagingContext.getPageCursor();
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        PageCursor cursor = decode(encoded);
+        if (cursor == null || cursor.kind != kind
+                || cursor.pageNumber != pagingContext.getPageNumber() || cursor.pageSize != pagingContext.getPageSize()) {
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Ignoring page cursor '" + encoded + "' which does not apply to page " + pagingContext.getPageNumber());
+            }
+            return null;
+        }
+        return cursor;
+    }
+
+    private static PageCursor decode(String encoded) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\.");
+            if (parts.length != 4 || parts[0].length() != 1) {
+                return null;
+            }
+            Kind kind = null;
+            for (Kind k : Kind.values()) {
+                if (k.code == parts[0].charAt(0)) {
+                    kind = k;
+                }
+            }
+            if (kind == null) {
+                return null;
+            }
+            return new PageCursor(kind, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // not a cursor created by this class (NumberFormatException is an IllegalArgumentException)
+            return null;
+        }
+    }
+
+    /**
+     * @return the sort key of the last row of the previous page
+     */
+    public long getLastKey() {
+        return lastKey;
+    }
+}
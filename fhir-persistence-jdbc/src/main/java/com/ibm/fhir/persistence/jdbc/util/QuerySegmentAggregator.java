@@ -104,6 +104,13 @@ public class QuerySegmentAggregator {
 
     private int offset;
     protected int pageSize;
+
+    // When not null, the page is located by seeking past this key rather than by its offset
+    private Long afterLogicalResourceId;
+
+    // When true, one row more than the page size is fetched to tell whether there is a next page
+    private boolean lookahead;
+
     protected ParameterDAO parameterDao;
     protected ResourceDAO resourceDao;
 
@@ -131,6 +138,38 @@ public class QuerySegmentAggregator {
         this.resourceTypes = resourceTypes;
     }
 
+    /**
+     * Fetch one row more than the page size, so that the caller can tell whether there is a next page
+     * without running the count query.
+     *
+     * @param lookahead
+     */
+    public void setLookahead(boolean lookahead) {
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * @return true if this aggregator can locate a page using {@link #setAfterLogicalResourceId(Long)}
+     */
+    public boolean supportsKeysetPagination() {
+        return true;
+    }
+
+    /**
+     * Use keyset pagination for the query built by {@link #buildQuery()}. Instead of skipping over
+     * the rows of the earlier pages, the query seeks directly to the first row after the last row of
+     * the previous page. This relies on the default ordering by LOGICAL_RESOURCE_ID.
+     *
+     * @param afterLogicalResourceId the LOGICAL_RESOURCE_ID of the last row of the previous page,
+     *                               or null to locate the page by its offset
+     */
+    public void setAfterLogicalResourceId(Long afterLogicalResourceId) {
+        if (afterLogicalResourceId != null && !supportsKeysetPagination()) {
+            throw new IllegalStateException("Keyset pagination is not supported by " + getClass().getSimpleName());
+        }
+        this.afterLogicalResourceId = afterLogicalResourceId;
+    }
+
     /**
      * Adds a query segment, which is a where clause segment corresponding to the
      * passed query Parameter and its encapsulated search values.
@@ -200,7 +239,7 @@ public class QuerySegmentAggregator {
             queryString.append(JOIN).append(LEFT_PAREN);
             queryString.append(SELECT_DISTINCT_ROOT);
             buildFromClause(queryString, resourceType.getSimpleName()); // FROM <resourceType>_LOGICAL_RESOURCES
-            buildWhereClause(queryString, null); // technically the JOIN clause
+            buildWhereClause(queryString, null, true); // technically the JOIN clause
             queryString.append(RIGHT_PAREN).append(" AS LR ");
             queryString.append(ON);
             queryString.append("     R.LOGICAL_RESOURCE_ID = LR.LOGICAL_RESOURCE_ID ");
@@ -215,6 +254,9 @@ public class QuerySegmentAggregator {
             for (SqlQueryData querySegment : this.querySegments) {
                 allBindVariables.addAll(querySegment.getBindVariables());
             }
+            if (afterLogicalResourceId != null) {
+                allBindVariables.add(afterLogicalResourceId);
+            }
 
             // Add default ordering
             queryString.append(DEFAULT_ORDERING);
@@ -360,7 +402,7 @@ public class QuerySegmentAggregator {
                 queryString.append(LEFT_PAREN);
                 queryString.append(SELECT_DISTINCT_ROOT);
                 buildFromClauseSimple(queryString, resourceTypeName);
-                buildWhereClause(queryString, resourceTypeName); // technically the JOIN clause
+                buildWhereClause(queryString, resourceTypeName, addFinalClauses); // technically the JOIN clause
                 queryString.append(RIGHT_PAREN).append(" AS LR ");
 
                 // JOIN to RESOURCES R
@@ -379,6 +421,9 @@ public class QuerySegmentAggregator {
                 for (SqlQueryData querySegment : this.querySegments) {
                     allBindVariables.addAll(querySegment.getBindVariables());
                 }
+                if (addFinalClauses && afterLogicalResourceId != null) {
+                    allBindVariables.add(afterLogicalResourceId);
+                }
                 allBindVariables.addAll(lastUpdatedObjects);
             }
         }
@@ -539,6 +584,19 @@ public class QuerySegmentAggregator {
      * @return
      */
     protected void buildWhereClause(StringBuilder whereClause, String overrideType) {
+        buildWhereClause(whereClause, overrideType, false);
+    }
+
+    /**
+     * Builds the WHERE clause for the query being generated, optionally followed by the
+     * keyset pagination predicate (which takes one bind variable after those of the query segments).
+     *
+     * @param whereClause
+     * @param overrideType if not null, then it's the default type used in the
+     *                     building of the where clause.
+     * @param seek         if true, add the keyset pagination predicate when a key has been set
+     */
+    protected void buildWhereClause(StringBuilder whereClause, String overrideType, boolean seek) {
        final String METHODNAME = "buildWhereClause";
         log.entering(CLASSNAME, METHODNAME);
 
@@ -678,6 +736,12 @@ public class QuerySegmentAggregator {
             } // end if SKIP_WHERE
         } // end for
 
+        // Keyset pagination: seek past the last row of the previous page
+        if (seek && afterLogicalResourceId != null) {
+            missingOrNotModifierWhereClause.append(missingOrNotModifierWhereClause.length() == 0 ? WHERE : AND)
+                    .append("LR.LOGICAL_RESOURCE_ID > ").append(JDBCConstants.BIND_VAR);
+        }
+
         // If there were any query parameters with :missing or :not modifier, append the missingOrNotModifierWhereClause
         if (missingOrNotModifierWhereClause.length() > 0) {
             whereClause.append(missingOrNotModifierWhereClause.toString());
@@ -756,12 +820,15 @@ public class QuerySegmentAggregator {
      * @throws Exception
      */
     protected void addPaginationClauses(StringBuilder queryString) throws Exception {
+        // with keyset pagination, the WHERE clause already skips the earlier pages
+        int offset = afterLogicalResourceId != null ? 0 : this.offset;
+        int limit = lookahead ? this.pageSize + 1 : this.pageSize;
 
         if (this.parameterDao.isDb2Database()) {
-            queryString.append(LIMIT).append(this.pageSize).append(OFFSET).append(this.offset);
+            queryString.append(LIMIT).append(limit).append(OFFSET).append(offset);
         } else {
-            queryString.append(OFFSET).append(this.offset).append(ROWS)
-                    .append(FETCH_NEXT).append(this.pageSize).append(ROWS_ONLY);
+            queryString.append(OFFSET).append(offset).append(ROWS)
+                    .append(FETCH_NEXT).append(limit).append(ROWS_ONLY);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.ibm.fhir.model.resource.SearchParameter;
+import com.ibm.fhir.model.resource.SearchParameter.Component;
+import com.ibm.fhir.search.compartment.CompartmentUtil;
+import com.ibm.fhir.search.util.SearchUtil;
+
+/**
+ * Computes a fingerprint of the definition of each search parameter which applies to a resource type
+ * for the current tenant. The values stored for a search parameter only need to be extracted again
+ * by a reindex when its fingerprint changes.
+ *
+ * <p>The fingerprint covers only the parts of the definition which determine the extracted values
+ * (the type and expression, and the components of a composite), so a change to the description of a
+ * search parameter doesn't cause a reindex. The internal compartment parameters are included, with a
+ * fingerprint of the search parameters which establish membership of each compartment.
+ */
+public final class SearchParameterFingerprints {
+    // The search parameters which aren't stored as parameter values
+    private static final Set<String> NOT_STORED = new HashSet<>(Arrays.asList("_id", "_lastUpdated"));
+
+    private SearchParameterFingerprints() {
+        // no instances
+    }
+
+    /**
+     * Compute the fingerprints of the search parameters which apply to the given resource type
+     * @param resourceType
+     * @return a map of search parameter code to fingerprint
+     * @throws Exception
+     */
+    public static Map<String, String> compute(String resourceType) throws Exception {
+        // sorted, so that a code defined by more than one search parameter gets a stable fingerprint
+        Map<String, StringBuilder> definitions = new TreeMap<>();
+        for (SearchParameter sp : SearchUtil.getApplicableSearchParameters(resourceType)) {
+            if (sp.getCode() == null || NOT_STORED.contains(sp.getCode().getValue())) {
+                continue;
+            }
+            StringBuilder definition = definitions.computeIfAbsent(sp.getCode().getValue(), k -> new StringBuilder());
+            appendDefinition(definition, resourceType, sp);
+        }
+
+        Map<String, StringBuilder> compartments = new TreeMap<>();
+        for (Map.Entry<String, Set<String>> entry : new TreeMap<>(CompartmentUtil.getCompartmentParamsForResourceType(resourceType)).entrySet()) {
+            String code = entry.getKey();
+            SearchParameter sp = SearchUtil.getSearchParameter(resourceType, code);
+            for (String compartment : new TreeSet<>(entry.getValue())) {
+                StringBuilder definition = compartments.computeIfAbsent(CompartmentUtil.makeCompartmentParamName(compartment),
+                    k -> new StringBuilder(compartment));
+                definition.append('|').append(code);
+                if (sp != null) {
+                    appendDefinition(definition, resourceType, sp);
+                }
+            }
+        }
+        definitions.putAll(compartments);
+
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, StringBuilder> entry : definitions.entrySet()) {
+            result.put(entry.getKey(), digest(entry.getValue().toString()));
+        }
+        return result;
+    }
+
+    private static void appendDefinition(StringBuilder definition, String resourceType, SearchParameter sp) throws Exception {
+        definition.append('|').append(sp.getType().getValue());
+        definition.append('|').append(sp.getExpression() != null ? sp.getExpression().getValue() : "");
+        for (Component component : sp.getComponent()) {
+            definition.append("|{").append(component.getExpression().getValue());
+            SearchParameter componentSP = SearchUtil.getSearchParameter(resourceType, component.getDefinition());
+            if (componentSP != null) {
+                definition.append('|').append(componentSP.getType().getValue());
+            }
+            definition.append('}');
+        }
+    }
+
+    private static String digest(String definition) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(definition.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2017, 2020
+ * (C) Copyright IBM Corp. 2017, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -67,6 +67,14 @@ public class SortedQuerySegmentAggregator extends QuerySegmentAggregator {
         this.sortParameters = sortParms;
     }
 
+    /**
+     * Pages are located by offset because the ordering depends on the sort parameters
+     */
+    @Override
+    public boolean supportsKeysetPagination() {
+        return false;
+    }
+
     /**
      * Builds a complete SQL Query based upon the encapsulated query segments and
      * bind variables. This query
@@ -0,0 +1,159 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.persistence.jdbc.payload.GzipJsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.ParallelPayloadDecoder;
+import com.ibm.fhir.persistence.jdbc.payload.PayloadCodecRegistry;
+
+/**
+ * Unit tests for {@link ParallelPayloadDecoder}
+ */
+public class ParallelPayloadDecoderTest {
+    private static final int COUNT = 200;
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void teardown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOrder() throws Exception {
+        List<com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs = resourceDTOs();
+        for (int parallelism : new int[] { 1, 4 }) {
+            ParallelPayloadDecoder<Resource> decoder = new ParallelPayloadDecoder<>(executor, parallelism,
+                (index, resourceDTO) -> PayloadCodecRegistry.decode(resourceDTO.getData(), null));
+            resourceDTOs.forEach(decoder);
+
+            List<Resource> results = decoder.getResults();
+            assertEquals(results.size(), COUNT);
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(results.get(i).getId(), resourceDTOs.get(i).getLogicalId());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelism() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ParallelPayloadDecoder<Integer> decoder = new ParallelPayloadDecoder<>(executor, 2, (index, resourceDTO) -> {
+            threads.add(Thread.currentThread());
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return index;
+        });
+        for (int i = 0; i < 50; i++) {
+            decoder.accept(new com.ibm.fhir.persistence.jdbc.dto.Resource());
+        }
+
+        List<Integer> results = decoder.getResults();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(results.get(i).intValue(), i);
+        }
+        // the workers and the request thread, which decodes what the workers haven't started
+        assertTrue(maxActive.get() <= 3, "max active: " + maxActive.get());
+        assertTrue(threads.size() <= 3, "threads: " + threads.size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        ParallelPayloadDecoder<Integer> decoder = new ParallelPayloadDecoder<>(executor, 4, (index, resourceDTO) -> {
+            if (index == 17) {
+                throw new IOException("bad payload");
+            }
+            return index;
+        });
+        for (int i = 0; i < 50; i++) {
+            decoder.accept(new com.ibm.fhir.persistence.jdbc.dto.Resource());
+        }
+        try {
+            decoder.getResults();
+            fail();
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "bad payload");
+        }
+    }
+
+    @Test
+    public void testWithoutExecutor() throws Exception {
+        // without an executor, everything is decoded on the request thread
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ParallelPayloadDecoder<Integer> decoder = new ParallelPayloadDecoder<>(null, 4, (index, resourceDTO) -> {
+            threads.add(Thread.currentThread());
+            return index;
+        });
+        for (int i = 0; i < 50; i++) {
+            decoder.accept(new com.ibm.fhir.persistence.jdbc.dto.Resource());
+        }
+        assertEquals(decoder.getResults().size(), 50);
+        assertEquals(threads, Collections.singleton(Thread.currentThread()));
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        ExecutorService shutdownExecutor = Executors.newSingleThreadExecutor();
+        shutdownExecutor.shutdown();
+        ParallelPayloadDecoder<Integer> decoder = new ParallelPayloadDecoder<>(shutdownExecutor, 4, (index, resourceDTO) -> index);
+        for (int i = 0; i < 50; i++) {
+            decoder.accept(new com.ibm.fhir.persistence.jdbc.dto.Resource());
+        }
+        // the payloads the executor rejected are decoded on the request thread
+        List<Integer> results = decoder.getResults();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(results.get(i).intValue(), i);
+        }
+    }
+
+    private static List<com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs() throws Exception {
+        List<com.ibm.fhir.persistence.jdbc.dto.Resource> resourceDTOs = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            Patient patient = Patient.builder()
+                    .id("patient-" + i)
+                    .name(HumanName.builder().family(com.ibm.fhir.model.type.String.of("Family " + i)).build())
+                    .build();
+            com.ibm.fhir.persistence.jdbc.dto.Resource resourceDTO = new com.ibm.fhir.persistence.jdbc.dto.Resource();
+            resourceDTO.setLogicalId(patient.getId());
+            resourceDTO.setData(PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(GzipJsonPayloadCodec.NAME), patient));
+            resourceDTOs.add(resourceDTO);
+        }
+        return resourceDTOs;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.payload.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.examples.ExamplesUtil;
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.JsonPayloadScope;
+import com.ibm.fhir.persistence.jdbc.payload.BinaryPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.GzipJsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.JsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.LZ4Block;
+import com.ibm.fhir.persistence.jdbc.payload.LZ4BlockInputStream;
+import com.ibm.fhir.persistence.jdbc.payload.LZ4BlockOutputStream;
+import com.ibm.fhir.persistence.jdbc.payload.LZ4JsonPayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.PayloadCodec;
+import com.ibm.fhir.persistence.jdbc.payload.PayloadCodecRegistry;
+
+/**
+ * Unit tests for the payload codecs and {@link PayloadCodecRegistry}
+ */
+public class PayloadCodecTest {
+    private static final String[] EXAMPLES = {
+        "json/spec/patient-example.json",
+        "json/spec/observation-example-sample-data.json",
+        "json/spec/questionnaireresponse-example-bluebook.json",
+        "json/spec/bundle-transaction.json",
+        "json/spec/valueset-c80-doc-typecodes.json"
+    };
+
+    private static final String[] CODECS = {
+        GzipJsonPayloadCodec.NAME, JsonPayloadCodec.NAME, LZ4JsonPayloadCodec.NAME, BinaryPayloadCodec.NAME, BinaryPayloadCodec.LZ4_NAME
+    };
+
+    @Test
+    public void testRegistry() {
+        for (String name : CODECS) {
+            PayloadCodec codec = PayloadCodecRegistry.getCodec(name);
+            assertNotNull(codec, name);
+            assertEquals(codec.getName(), name);
+            assertEquals(PayloadCodecRegistry.getCodec(codec.getId()), codec);
+        }
+        assertTrue(PayloadCodecRegistry.getCodecNames().containsAll(Arrays.asList(CODECS)));
+        assertNull(PayloadCodecRegistry.getCodec("unknown"));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (String example : EXAMPLES) {
+            Resource resource = readResource(example);
+            for (String name : CODECS) {
+                byte[] payload = PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(name), resource);
+                Resource decoded = PayloadCodecRegistry.decode(payload, null);
+                assertEquals(decoded, resource, name + " " + example);
+
+                // the JSON form is the same as the JSON generated from the resource
+                try (InputStream json = PayloadCodecRegistry.decodeToJson(new ByteArrayInputStream(payload))) {
+                    assertEquals(FHIRParser.parser(Format.JSON).parse(json), resource, name + " " + example);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testElements() throws Exception {
+        Patient patient = readResource("json/spec/patient-example.json");
+        for (String name : CODECS) {
+            byte[] payload = PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(name), patient);
+            Patient decoded = PayloadCodecRegistry.decode(payload, Arrays.asList("name"));
+            assertEquals(decoded.getName(), patient.getName(), name);
+            assertTrue(decoded.getTelecom().isEmpty(), name);
+            assertFalse(patient.getTelecom().isEmpty());
+        }
+    }
+
+    @Test
+    public void testPayloadScope() throws Exception {
+        Patient patient = readResource("json/spec/patient-example.json");
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        try {
+            for (String name : CODECS) {
+                byte[] payload = PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(name), patient);
+                Patient decoded = PayloadCodecRegistry.decode(payload, null, scope);
+                assertEquals(decoded, patient, name);
+
+                // only the codecs which store JSON keep it, and only when the resource isn't filtered
+                byte[] json = scope.get(decoded);
+                if (PayloadCodecRegistry.getCodec(name) instanceof JsonPayloadCodec) {
+                    assertEquals(FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(json)), patient, name);
+                } else {
+                    assertNull(json, name);
+                }
+                assertNull(scope.get(PayloadCodecRegistry.decode(payload, Arrays.asList("name"), scope)), name);
+            }
+        } finally {
+            JsonPayloadScope.close();
+        }
+    }
+
+    @Test
+    public void testLegacyPayload() throws Exception {
+        // the payload format written by earlier releases
+        Patient patient = readResource("json/spec/patient-example.json");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (GZIPOutputStream zipStream = new GZIPOutputStream(stream)) {
+            FHIRGenerator.generator(Format.JSON, false).generate(patient, zipStream);
+        }
+        byte[] legacy = stream.toByteArray();
+
+        assertEquals(PayloadCodecRegistry.decode(legacy, null), patient);
+        try (InputStream json = PayloadCodecRegistry.decodeToJson(new ByteArrayInputStream(legacy))) {
+            assertEquals(FHIRParser.parser(Format.JSON).parse(json), patient);
+        }
+
+        // and the gzip codec still writes it without a header
+        byte[] payload = PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(GzipJsonPayloadCodec.NAME), patient);
+        assertEquals(payload[0], (byte) 0x1f);
+        assertEquals(payload[1], (byte) 0x8b);
+    }
+
+    @Test
+    public void testUnknownCodec() throws Exception {
+        byte[] payload = PayloadCodecRegistry.encode(PayloadCodecRegistry.getCodec(JsonPayloadCodec.NAME), readResource("json/spec/patient-example.json"));
+        payload[1] = (byte) 200;
+        try {
+            PayloadCodecRegistry.decode(payload, null);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("200"));
+        }
+    }
+
+    @Test
+    public void testLZ4() throws Exception {
+        Random random = new Random(42);
+        for (int length : new int[] { 0, 1, 12, 13, 100, 65535, 65536, 65537, 300000 }) {
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++) {
+                // a mix of repetitive and random data
+                data[i] = (i / 1000) % 2 == 0 ? (byte) ('a' + (i % 7)) : (byte) random.nextInt(256);
+            }
+
+            byte[] compressed = new byte[LZ4Block.maxCompressedLength(length)];
+            int compressedLength = LZ4Block.compress(data, 0, length, compressed, 0);
+            byte[] decompressed = new byte[length];
+            LZ4Block.decompress(compressed, 0, compressedLength, decompressed, 0, length);
+            assertEquals(decompressed, data, "length " + length);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (LZ4BlockOutputStream lz4 = new LZ4BlockOutputStream(out)) {
+                lz4.write(data);
+            }
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            try (InputStream in = new LZ4BlockInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    result.write(buffer, 0, n);
+                }
+            }
+            assertEquals(result.toByteArray(), data, "length " + length);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLZ4Malformed() {
+        byte[] malformed = { 0x0F, 'a', 0x10, 0x00 };
+        LZ4Block.decompress(malformed, 0, malformed.length, new byte[64], 0, 64);
+    }
+
+    private static <T extends Resource> T readResource(String name) throws Exception {
+        try (Reader reader = ExamplesUtil.resourceReader(name)) {
+            return FHIRParser.parser(Format.JSON).parse(reader);
+        }
+    }
+}
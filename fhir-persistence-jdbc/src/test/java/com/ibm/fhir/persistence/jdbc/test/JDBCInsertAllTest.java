@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.database.utils.api.IConnectionProvider;
+import com.ibm.fhir.database.utils.model.DbType;
+import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.persistence.jdbc.FHIRPersistenceJDBCCache;
+import com.ibm.fhir.persistence.jdbc.FHIRResourceDAOFactory;
+import com.ibm.fhir.persistence.jdbc.cache.CommonTokenValuesCacheImpl;
+import com.ibm.fhir.persistence.jdbc.cache.FHIRPersistenceJDBCCacheImpl;
+import com.ibm.fhir.persistence.jdbc.cache.FHIRPersistenceJDBCCacheUtil;
+import com.ibm.fhir.persistence.jdbc.cache.NameIdCache;
+import com.ibm.fhir.persistence.jdbc.connection.CreateTempTablesAction;
+import com.ibm.fhir.persistence.jdbc.connection.FHIRDbFlavor;
+import com.ibm.fhir.persistence.jdbc.connection.FHIRDbFlavorImpl;
+import com.ibm.fhir.persistence.jdbc.dao.api.ParameterDAO;
+import com.ibm.fhir.persistence.jdbc.dao.api.ResourceDAO;
+import com.ibm.fhir.persistence.jdbc.dao.impl.ParameterDAOImpl;
+import com.ibm.fhir.persistence.jdbc.dto.ExtractedParameterValue;
+import com.ibm.fhir.persistence.jdbc.dto.Resource;
+import com.ibm.fhir.persistence.jdbc.dto.TokenParmVal;
+import com.ibm.fhir.persistence.jdbc.test.util.DerbyInitializer;
+
+/**
+ * Tests ResourceDAO.insertAll without a transaction synchronization registry, in which case
+ * the common token value references are written when the shared parameter batches are closed.
+ */
+public class JDBCInsertAllTest {
+    private static final String SCHEMA_NAME = "FHIRDATA";
+
+    private IConnectionProvider connectionProvider;
+    private FHIRPersistenceJDBCCache cache;
+
+    @BeforeClass
+    public void bootstrapDatabase() throws Exception {
+        Properties testProps = TestUtil.readTestProperties("test.jdbc.properties");
+        connectionProvider = new DerbyInitializer(testProps).getConnectionProvider(false);
+        cache = new FHIRPersistenceJDBCCacheImpl(new NameIdCache<Integer>(), new NameIdCache<Integer>(), new CommonTokenValuesCacheImpl(100, 100));
+    }
+
+    @Test
+    public void testInsertAllTokenRefsWrittenOnce() throws Exception {
+        String system = "http://example.com/" + UUID.randomUUID().toString();
+        List<Resource> resources = new ArrayList<>();
+        List<List<ExtractedParameterValue>> parameters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Resource resource = new Resource();
+            resource.setResourceType("Observation");
+            resource.setLogicalId(UUID.randomUUID().toString());
+            resource.setVersionId(1);
+            resource.setLastUpdated(new Timestamp(System.currentTimeMillis()));
+            resource.setData("{}".getBytes(StandardCharsets.UTF_8));
+            resources.add(resource);
+
+            TokenParmVal code = new TokenParmVal();
+            code.setResourceType("Observation");
+            code.setName("code");
+            code.setValueSystem(system);
+            code.setValueCode("code-" + i);
+            parameters.add(Collections.singletonList(code));
+        }
+
+        try (Connection connection = connectionProvider.getConnection()) {
+            FHIRDbFlavor flavor = new FHIRDbFlavorImpl(DbType.DERBY, false);
+            connection.setSchema(SCHEMA_NAME);
+            new CreateTempTablesAction().performOn(flavor, connection);
+            try {
+                ResourceDAO resourceDao = FHIRResourceDAOFactory.getResourceDAO(connection, "FHIR_ADMIN", SCHEMA_NAME, flavor, cache);
+                ParameterDAO parameterDao = new ParameterDAOImpl(connection, SCHEMA_NAME, flavor);
+                if (cache.needToPrefill()) {
+                    FHIRPersistenceJDBCCacheUtil.prefill(resourceDao, parameterDao, cache);
+                }
+                resourceDao.insertAll(resources, parameters, parameterDao);
+
+                // each resource gets exactly one reference to its code
+                final String sql = "SELECT COUNT(*) FROM Observation_RESOURCE_TOKEN_REFS r"
+                        + " JOIN Observation_LOGICAL_RESOURCES lr ON lr.logical_resource_id = r.logical_resource_id"
+                        + " WHERE lr.logical_id = ?";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    for (Resource resource : resources) {
+                        ps.setString(1, resource.getLogicalId());
+                        try (ResultSet rs = ps.executeQuery()) {
+                            rs.next();
+                            assertEquals(1, rs.getInt(1));
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}
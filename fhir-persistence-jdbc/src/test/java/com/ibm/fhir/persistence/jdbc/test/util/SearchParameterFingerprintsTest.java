@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.jdbc.test.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.persistence.jdbc.dao.api.SearchParameterChanges;
+import com.ibm.fhir.persistence.jdbc.util.SearchParameterFingerprints;
+import com.ibm.fhir.search.compartment.CompartmentUtil;
+
+/**
+ * Unit tests for {@link SearchParameterFingerprints} and {@link SearchParameterChanges}
+ */
+public class SearchParameterFingerprintsTest {
+
+    @BeforeClass
+    public void setup() throws Exception {
+        FHIRConfiguration.setConfigHome("../fhir-persistence/target/test-classes");
+        FHIRRequestContext.set(new FHIRRequestContext("default"));
+    }
+
+    @AfterClass
+    public void tearDown() throws Exception {
+        FHIRRequestContext.set(new FHIRRequestContext("default"));
+    }
+
+    @Test
+    public void testCompute() throws Exception {
+        FHIRRequestContext.set(new FHIRRequestContext("string"));
+        try {
+            Map<String, String> fingerprints = SearchParameterFingerprints.compute("Basic");
+            assertTrue(fingerprints.containsKey("string"));
+            assertTrue(fingerprints.containsKey("integer"));
+            assertTrue(fingerprints.containsKey(CompartmentUtil.makeCompartmentParamName("Patient")));
+            assertFalse(fingerprints.containsKey("_id"));
+            assertFalse(fingerprints.containsKey("_lastUpdated"));
+            assertEquals(fingerprints.get("string").length(), 44);
+
+            // stable, so that an unchanged configuration doesn't cause a reindex
+            assertEquals(SearchParameterFingerprints.compute("Basic"), fingerprints);
+            assertNotEquals(fingerprints.get("string"), fingerprints.get("integer"));
+        } finally {
+            FHIRRequestContext.set(new FHIRRequestContext("default"));
+        }
+    }
+
+    @Test
+    public void testTenantExtensions() throws Exception {
+        final String patientCompartment = CompartmentUtil.makeCompartmentParamName("Patient");
+        Map<String, String> defaultFingerprints = SearchParameterFingerprints.compute("Basic");
+        FHIRRequestContext.set(new FHIRRequestContext("string"));
+        try {
+            Map<String, String> fingerprints = SearchParameterFingerprints.compute("Basic");
+            assertFalse(defaultFingerprints.containsKey("string"));
+            assertTrue(fingerprints.containsKey("string"));
+            // the extension parameters don't establish compartment membership
+            assertEquals(fingerprints.get(patientCompartment), defaultFingerprints.get(patientCompartment));
+        } finally {
+            FHIRRequestContext.set(new FHIRRequestContext("default"));
+        }
+    }
+
+    @Test
+    public void testChangedSince() {
+        Instant t1 = Instant.parse("2021-01-01T00:00:00Z");
+        Instant t2 = Instant.parse("2021-02-01T00:00:00Z");
+        Map<String, Instant> changedTstamps = new HashMap<>();
+        changedTstamps.put("a", t1);
+        changedTstamps.put("b", t2);
+        changedTstamps.put("removed", t2);
+        Map<String, Integer> parameterNameIds = new HashMap<>();
+        parameterNameIds.put("a", 1);
+        parameterNameIds.put("b", 2);
+        parameterNameIds.put("removed", 3);
+        SearchParameterChanges changes = new SearchParameterChanges(changedTstamps, parameterNameIds, new HashSet<>(Arrays.asList("a", "b")));
+
+        // all of the search parameters have changed since these
+        assertNull(changes.getChangedSince(null));
+        assertNull(changes.getChangedSince(t1.minusSeconds(1)));
+
+        // a resource reindexed by the reindex which saw a change may have been reindexed before the change
+        assertNull(changes.getChangedSince(t1));
+        assertEquals(changes.getChangedSince(t1.plusSeconds(1)), new HashSet<>(Arrays.asList("b", "removed")));
+        assertEquals(changes.getChangedSince(t2), new HashSet<>(Arrays.asList("b", "removed")));
+        assertEquals(changes.getChangedSince(t2.plusSeconds(1)), Collections.emptySet());
+        assertEquals(changes.getParameterNameId("removed"), 3);
+    }
+}
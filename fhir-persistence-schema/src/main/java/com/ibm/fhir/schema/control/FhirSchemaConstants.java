@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -157,4 +157,22 @@ public class FhirSchemaConstants {
     public static final String LOGICAL_RESOURCE_COMPARTMENTS = "LOGICAL_RESOURCE_COMPARTMENTS";
     public static final String COMPARTMENT_LOGICAL_RESOURCE_ID = "COMPARTMENT_LOGICAL_RESOURCE_ID";
     public static final String COMPARTMENT_NAME_ID = "COMPARTMENT_NAME_ID";
-}
\ No newline at end of file
+
+    // For V0009, work table used to partition and checkpoint the server-side bulk reindex
+    public static final String REINDEX_RANGES = "REINDEX_RANGES";
+    public static final String RANGE_START = "RANGE_START";
+    public static final String RANGE_END = "RANGE_END";
+    public static final String RANGE_STATUS = "RANGE_STATUS";
+    public static final String LAST_LOGICAL_RESOURCE_ID = "LAST_LOGICAL_RESOURCE_ID";
+    public static final String RESOURCE_COUNT = "RESOURCE_COUNT";
+    public static final String CLAIMED_BY = "CLAIMED_BY";
+    public static final String CLAIM_TSTAMP = "CLAIM_TSTAMP";
+    public static final int RANGE_STATUS_BYTES = 16;
+    public static final int CLAIMED_BY_BYTES = 64;
+
+    // For V0010, the definitions of the search parameters reflected by the stored parameter values
+    public static final String SEARCH_PARAM_FINGERPRINTS = "SEARCH_PARAM_FINGERPRINTS";
+    public static final String FINGERPRINT = "FINGERPRINT";
+    public static final String CHANGED_TSTAMP = "CHANGED_TSTAMP";
+    public static final int FINGERPRINT_BYTES = 44;
+}
@@ -1,11 +1,15 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.schema.control;
 
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.CHANGED_TSTAMP;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.CLAIMED_BY;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.CLAIMED_BY_BYTES;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.CLAIM_TSTAMP;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.CODE_SYSTEMS;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.CODE_SYSTEM_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.CODE_SYSTEM_NAME;
@@ -19,8 +23,11 @@ import static com.ibm.fhir.schema.control.FhirSchemaConstants.DATE_VALUES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.DATE_VALUE_DROPPED_COLUMN;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.FHIR_REF_SEQUENCE;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.FHIR_SEQUENCE;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.FINGERPRINT;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.FINGERPRINT_BYTES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.FK;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.IDX;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.LAST_LOGICAL_RESOURCE_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.LAST_UPDATED;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.LOGICAL_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.LOGICAL_ID_BYTES;
@@ -33,13 +40,20 @@ import static com.ibm.fhir.schema.control.FhirSchemaConstants.MT_ID;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_NAME;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_NAMES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.PARAMETER_NAME_ID;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RANGE_END;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RANGE_START;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RANGE_STATUS;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RANGE_STATUS_BYTES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.REF_VERSION_ID;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.REINDEX_RANGES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.REINDEX_TSTAMP;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.REINDEX_TXID;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_COUNT;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TOKEN_REFS;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TYPE;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TYPES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.RESOURCE_TYPE_ID;
+import static com.ibm.fhir.schema.control.FhirSchemaConstants.SEARCH_PARAM_FINGERPRINTS;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.STR_VALUE;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.STR_VALUES;
 import static com.ibm.fhir.schema.control.FhirSchemaConstants.STR_VALUE_LCASE;
@@ -357,6 +371,8 @@ public class FhirSchemaGenerator {
         addLogicalResources(model); // for system-level parameter search
         addReferencesSequence(model);
         addLogicalResourceCompartments(model);
+        addReindexRanges(model);
+        addSearchParamFingerprints(model);
 
         Table globalTokenValues = addResourceTokenValues(model); // for system-level _tag and _security parameters
         Table globalStrValues = addResourceStrValues(model); // for system-level _profile parameters
@@ -590,6 +606,83 @@ public class FhirSchemaGenerator {
 
 
 
+    /**
+     * Add the system-wide REINDEX_RANGES table used by the server-side bulk reindex. Each row
+     * is a range (RANGE_START, RANGE_END] of LOGICAL_RESOURCE_ID values for a resource type. A worker
+     * claims a PENDING range by setting it to RUNNING, and records the last logical resource it
+     * has reindexed in LAST_LOGICAL_RESOURCE_ID after each batch so the range can be resumed
+     * by another worker if the claim goes stale.
+     * @param pdm
+     * @return Table the table that was added to the PhysicalDataModel
+     */
+    public Table addReindexRanges(PhysicalDataModel pdm) {
+
+        final String tableName = REINDEX_RANGES;
+
+        Table tbl = Table.builder(schemaName, tableName)
+                .setVersion(FhirSchemaVersion.V0009.vid())
+                .setTenantColumnName(MT_ID)
+                .addIntColumn(             RESOURCE_TYPE_ID,                     false)
+                .addBigIntColumn(               RANGE_START,                     false)
+                .addBigIntColumn(                 RANGE_END,                     false)
+                .addTimestampColumn(         REINDEX_TSTAMP,                     false)
+                .addBigIntColumn(  LAST_LOGICAL_RESOURCE_ID,                     false)
+                .addBigIntColumn(            RESOURCE_COUNT,                     false, "0")
+                .addVarcharColumn(             RANGE_STATUS, RANGE_STATUS_BYTES, false)
+                .addVarcharColumn(               CLAIMED_BY,   CLAIMED_BY_BYTES,  true)
+                .addTimestampColumn(           CLAIM_TSTAMP,                      true)
+                .addPrimaryKey(tableName + "_PK", RESOURCE_TYPE_ID, RANGE_START)
+                .addIndex(IDX + tableName + "_STRT", RANGE_STATUS, RESOURCE_TYPE_ID)
+                .addForeignKeyConstraint(FK + tableName + "_RTID", schemaName, RESOURCE_TYPES, RESOURCE_TYPE_ID)
+                .setTablespace(fhirTablespace)
+                .addPrivileges(resourceTablePrivileges)
+                .enableAccessControl(this.sessionVariable)
+                .build(pdm);
+
+        // TODO should not need to add as a table and an object. Get the table to add itself?
+        tbl.addTag(SCHEMA_GROUP_TAG, FHIRDATA_GROUP);
+        this.procedureDependencies.add(tbl);
+        pdm.addTable(tbl);
+        pdm.addObject(tbl);
+
+        return tbl;
+    }
+
+    /**
+     * Add the SEARCH_PARAM_FINGERPRINTS table which records, for each resource type, a fingerprint of
+     * the definition of each search parameter and when the definition last changed. A reindex only
+     * extracts the values of the search parameters which changed since a resource was last reindexed.
+     * @param pdm
+     * @return Table the table that was added to the PhysicalDataModel
+     */
+    public Table addSearchParamFingerprints(PhysicalDataModel pdm) {
+
+        final String tableName = SEARCH_PARAM_FINGERPRINTS;
+
+        Table tbl = Table.builder(schemaName, tableName)
+                .setVersion(FhirSchemaVersion.V0010.vid())
+                .setTenantColumnName(MT_ID)
+                .addIntColumn(     RESOURCE_TYPE_ID,                    false)
+                .addIntColumn(    PARAMETER_NAME_ID,                    false)
+                .addVarcharColumn(      FINGERPRINT, FINGERPRINT_BYTES,  true)
+                .addTimestampColumn( CHANGED_TSTAMP,                    false)
+                .addPrimaryKey(tableName + "_PK", RESOURCE_TYPE_ID, PARAMETER_NAME_ID)
+                .addForeignKeyConstraint(FK + tableName + "_RTID", schemaName, RESOURCE_TYPES, RESOURCE_TYPE_ID)
+                .addForeignKeyConstraint(FK + tableName + "_PNID", schemaName, PARAMETER_NAMES, PARAMETER_NAME_ID)
+                .setTablespace(fhirTablespace)
+                .addPrivileges(resourceTablePrivileges)
+                .enableAccessControl(this.sessionVariable)
+                .build(pdm);
+
+        // TODO should not need to add as a table and an object. Get the table to add itself?
+        tbl.addTag(SCHEMA_GROUP_TAG, FHIRDATA_GROUP);
+        this.procedureDependencies.add(tbl);
+        pdm.addTable(tbl);
+        pdm.addObject(tbl);
+
+        return tbl;
+    }
+
     /**
      * Add system-wide RESOURCE_STR_VALUES table to support _profile
      * properties (which are of type REFERENCE).
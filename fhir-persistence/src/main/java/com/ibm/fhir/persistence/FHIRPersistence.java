@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -7,6 +7,8 @@
 package com.ibm.fhir.persistence;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 import com.ibm.fhir.model.resource.OperationOutcome;
@@ -33,6 +35,39 @@ public interface FHIRPersistence {
      */
     <T extends Resource> SingleResourceResult<T> create(FHIRPersistenceContext context, T resource) throws FHIRPersistenceException;
 
+    /**
+     * Stores new FHIR Resources in the datastore. Implementations may override this method to write
+     * the resources using fewer round-trips than calling {@link #create(FHIRPersistenceContext, Resource)}
+     * for each resource.
+     *
+     * <p>Unlike {@link #create(FHIRPersistenceContext, Resource)}, the id of a resource is kept if it has one.
+     * The caller must make sure such an id is new, e.g. by obtaining it from {@link #generateResourceId()}.
+     * Resources without an id are given a new one.
+     *
+     * @param contexts the FHIRPersistenceContext instance associated with the creation of each resource, in the same order
+     *        as resources, so that each one carries the persistence event of its resource
+     * @param resources the FHIR Resource instances to be created in the datastore
+     * @return a list of SingleResourceResult, in the same order as resources, each with a copy of the resource with
+     *         Meta fields updated by the persistence layer and/or an OperationOutcome with hints, warnings, or errors
+     *         related to the interaction
+     * @throws FHIRPersistenceException
+     */
+    default <T extends Resource> List<SingleResourceResult<T>> createAll(List<FHIRPersistenceContext> contexts, List<T> resources)
+            throws FHIRPersistenceException {
+        List<SingleResourceResult<T>> results = new ArrayList<>(resources.size());
+        for (int i = 0; i < resources.size(); i++) {
+            FHIRPersistenceContext context = contexts.get(i);
+            T resource = resources.get(i);
+            if (resource.getId() != null) {
+                // the resource doesn't exist yet, so the update creates its first version
+                results.add(update(context, resource.getId(), resource));
+            } else {
+                results.add(create(context, resource));
+            }
+        }
+        return results;
+    }
+
     /**
      * Retrieves the most recent version of a FHIR Resource from the datastore.
      *
@@ -166,6 +201,57 @@ public interface FHIRPersistence {
     int reindex(FHIRPersistenceContext context, OperationOutcome.Builder operationOutcomeResult, Instant tstamp, String resourceLogicalId)
             throws FHIRPersistenceException;
 
+    /**
+     * Partition the logical resources of the given resource type into ranges of logical resource ids
+     * for the server-side bulk reindex. If the resource type has already been partitioned for the
+     * same tstamp, the existing ranges (and their checkpoints) are kept so that an interrupted
+     * reindex can be resumed. Ranges planned for a different tstamp are replaced.
+     * @param tstamp the reindex timestamp
+     * @param resourceType the resource type to partition
+     * @param rangeSize the number of logical resources in each range
+     * @return the number of ranges for the resource type
+     * @throws FHIRPersistenceException
+     */
+    default int planReindex(Instant tstamp, String resourceType, int rangeSize) throws FHIRPersistenceException {
+        throw new FHIRPersistenceNotSupportedException("The bulk reindex is not supported by this persistence implementation");
+    }
+
+    /**
+     * Claim the next range planned for the given tstamp which is pending, or which is running but hasn't
+     * been checkpointed since staleBefore (because the worker which claimed it has gone away).
+     * @param tstamp the reindex timestamp
+     * @param resourceType optional resource type to limit the claim to
+     * @param claimedBy identifies the worker claiming the range
+     * @param staleBefore running ranges last checkpointed before this time may be claimed
+     * @return the claimed range, or null if there are no ranges left to claim
+     * @throws FHIRPersistenceException
+     */
+    default ReindexRange claimReindexRange(Instant tstamp, String resourceType, String claimedBy, Instant staleBefore) throws FHIRPersistenceException {
+        throw new FHIRPersistenceNotSupportedException("The bulk reindex is not supported by this persistence implementation");
+    }
+
+    /**
+     * Reindex the next batch of logical resources in a claimed range, starting after its checkpoint,
+     * and record the new checkpoint. The range is complete when fewer than batchSize resources are left.
+     * @param context the FHIRPersistenceContext instance associated with the current request.
+     * @param range the claimed range
+     * @param batchSize the maximum number of resources to reindex
+     * @return the range with its new checkpoint
+     * @throws FHIRPersistenceException if the claim on the range has been lost to another worker, or the batch failed
+     */
+    default ReindexRange reindexRange(FHIRPersistenceContext context, ReindexRange range, int batchSize) throws FHIRPersistenceException {
+        throw new FHIRPersistenceNotSupportedException("The bulk reindex is not supported by this persistence implementation");
+    }
+
+    /**
+     * Get the progress of the server-side bulk reindex for each resource type which has been partitioned
+     * @return
+     * @throws FHIRPersistenceException
+     */
+    default List<ReindexProgress> getReindexProgress() throws FHIRPersistenceException {
+        throw new FHIRPersistenceNotSupportedException("The bulk reindex is not supported by this persistence implementation");
+    }
+
     /**
      * Special function for high speed export of resource payloads. The process
      * function must process the InputStream before returning. Result processing
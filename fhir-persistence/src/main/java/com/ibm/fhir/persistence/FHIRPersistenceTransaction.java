@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -55,6 +55,14 @@ public interface FHIRPersistenceTransaction {
      * @throws FHIRPersistenceException
      */
     void setRollbackOnly() throws FHIRPersistenceException;
+
+    /**
+     * Did this instance start the current thread's transaction? If not, the transaction belongs to an
+     * enclosing caller (e.g. a transaction bundle) and anything read within it may not be committed yet.
+     * Implementations which don't track this return false.
+     * @return true if the transaction will be ended by this instance's {@link #end()}
+     */
+    default boolean isStartedByThis() { return false; }
     
 
     /**
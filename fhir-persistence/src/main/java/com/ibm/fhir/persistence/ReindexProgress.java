@@ -0,0 +1,93 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence;
+
+import java.time.Instant;
+
+/**
+ * Summary of the server-side bulk reindex progress for one resource type
+ */
+public class ReindexProgress {
+
+    private final String resourceType;
+
+    // The reindex timestamp the ranges were planned for
+    private final Instant reindexTstamp;
+
+    // The number of ranges the resource type was partitioned into
+    private final int rangeCount;
+
+    // The number of ranges which have been reindexed
+    private final int completeRangeCount;
+
+    // The number of ranges currently claimed by a worker
+    private final int runningRangeCount;
+
+    // The number of resources reindexed so far
+    private final long resourceCount;
+
+    /**
+     * Public constructor
+     * @param resourceType
+     * @param reindexTstamp
+     * @param rangeCount
+     * @param completeRangeCount
+     * @param runningRangeCount
+     * @param resourceCount
+     */
+    public ReindexProgress(String resourceType, Instant reindexTstamp, int rangeCount, int completeRangeCount, int runningRangeCount,
+        long resourceCount) {
+        this.resourceType = resourceType;
+        this.reindexTstamp = reindexTstamp;
+        this.rangeCount = rangeCount;
+        this.completeRangeCount = completeRangeCount;
+        this.runningRangeCount = runningRangeCount;
+        this.resourceCount = resourceCount;
+    }
+
+    /**
+     * @return the resourceType
+     */
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * @return the reindexTstamp
+     */
+    public Instant getReindexTstamp() {
+        return reindexTstamp;
+    }
+
+    /**
+     * @return the rangeCount
+     */
+    public int getRangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * @return the completeRangeCount
+     */
+    public int getCompleteRangeCount() {
+        return completeRangeCount;
+    }
+
+    /**
+     * @return the runningRangeCount
+     */
+    public int getRunningRangeCount() {
+        return runningRangeCount;
+    }
+
+    /**
+     * @return the resourceCount
+     */
+    public long getResourceCount() {
+        return resourceCount;
+    }
+}
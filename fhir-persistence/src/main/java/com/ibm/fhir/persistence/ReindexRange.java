@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence;
+
+import java.time.Instant;
+
+/**
+ * A range of logical resources of one resource type processed by the server-side bulk reindex.
+ * The range covers the logical resource ids greater than rangeStart up to and including rangeEnd.
+ */
+public class ReindexRange {
+
+    /**
+     * The processing state of a range
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETE
+    }
+
+    // The resource type of the logical resources in this range
+    private final String resourceType;
+
+    // The range start (exclusive)
+    private final long rangeStart;
+
+    // The range end (inclusive)
+    private final long rangeEnd;
+
+    // The reindex timestamp the range was planned for
+    private final Instant reindexTstamp;
+
+    // The checkpoint: all logical resources up to and including this id have been reindexed
+    private final long lastLogicalResourceId;
+
+    // The number of resources reindexed in this range so far
+    private final long resourceCount;
+
+    private final Status status;
+
+    // The worker which holds the claim on this range
+    private final String claimedBy;
+
+    /**
+     * Public constructor
+     * @param resourceType
+     * @param rangeStart
+     * @param rangeEnd
+     * @param reindexTstamp
+     * @param lastLogicalResourceId
+     * @param resourceCount
+     * @param status
+     * @param claimedBy
+     */
+    public ReindexRange(String resourceType, long rangeStart, long rangeEnd, Instant reindexTstamp, long lastLogicalResourceId,
+        long resourceCount, Status status, String claimedBy) {
+        this.resourceType = resourceType;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.reindexTstamp = reindexTstamp;
+        this.lastLogicalResourceId = lastLogicalResourceId;
+        this.resourceCount = resourceCount;
+        this.status = status;
+        this.claimedBy = claimedBy;
+    }
+
+    /**
+     * @return the resourceType
+     */
+    public String getResourceType() {
+        return resourceType;
+    }
+
+    /**
+     * @return the rangeStart
+     */
+    public long getRangeStart() {
+        return rangeStart;
+    }
+
+    /**
+     * @return the rangeEnd
+     */
+    public long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    /**
+     * @return the reindexTstamp
+     */
+    public Instant getReindexTstamp() {
+        return reindexTstamp;
+    }
+
+    /**
+     * @return the lastLogicalResourceId
+     */
+    public long getLastLogicalResourceId() {
+        return lastLogicalResourceId;
+    }
+
+    /**
+     * @return the resourceCount
+     */
+    public long getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the claimedBy
+     */
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    /**
+     * @return true if all of the logical resources in this range have been reindexed
+     */
+    public boolean isComplete() {
+        return status == Status.COMPLETE;
+    }
+
+    @Override
+    public String toString() {
+        return resourceType + "(" + rangeStart + ", " + rangeEnd + "]";
+    }
+}
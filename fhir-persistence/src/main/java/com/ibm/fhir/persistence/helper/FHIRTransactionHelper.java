@@ -70,4 +70,11 @@ public class FHIRTransactionHelper {
     public void setRollbackOnly() throws FHIRPersistenceException {
         txn.setRollbackOnly();
     }
+
+    /**
+     * @return true if the transaction on this thread was started by this helper's {@link #begin()}
+     */
+    public boolean isStartedByThis() {
+        return txn.isStartedByThis();
+    }
 }
\ No newline at end of file
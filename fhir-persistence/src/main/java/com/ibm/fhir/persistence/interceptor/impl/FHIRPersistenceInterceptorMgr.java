@@ -6,6 +6,7 @@
 
 package com.ibm.fhir.persistence.interceptor.impl;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -181,4 +182,37 @@ public class FHIRPersistenceInterceptorMgr {
             interceptor.afterSearch(event);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * @return true if a registered interceptor implements afterHistory, i.e. needs the history response bundle
+     */
+    public boolean hasAfterHistoryInterceptors() {
+        return hasInterceptorsImplementing("afterHistory");
+    }
+
+    /**
+     * @return true if a registered interceptor implements afterSearch, i.e. needs the search response bundle
+     */
+    public boolean hasAfterSearchInterceptors() {
+        return hasInterceptorsImplementing("afterSearch");
+    }
+
+    /**
+     * @param methodName the name of an interceptor method which takes a FHIRPersistenceEvent
+     * @return true if a registered interceptor overrides the default (empty) implementation of the method
+     */
+    private boolean hasInterceptorsImplementing(String methodName) {
+        for (FHIRPersistenceInterceptor interceptor : interceptors) {
+            try {
+                Method method = interceptor.getClass().getMethod(methodName, FHIRPersistenceEvent.class);
+                if (method.getDeclaringClass() != FHIRPersistenceInterceptor.class) {
+                    return true;
+                }
+            } catch (NoSuchMethodException e) {
+                // can't happen, since every interceptor has the method
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2018,2019
+ * (C) Copyright IBM Corp. 2018, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -10,6 +10,8 @@ import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +22,9 @@ import com.ibm.fhir.model.resource.Encounter;
 import com.ibm.fhir.model.resource.Observation;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.test.TestUtil;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Meta;
 import com.ibm.fhir.persistence.SingleResourceResult;
 
 /**
@@ -99,4 +104,41 @@ public abstract class AbstractMultiResourceTest extends AbstractPersistenceTest
         assertNotNull(resources);
         assertTrue(resources.size() == 2);
     }
+
+    /**
+     * Tests creating several resources of different types in one call
+     */
+    @Test
+    public void testCreateAll() throws Exception {
+        String tag = UUID.randomUUID().toString();
+        Meta meta = Meta.builder()
+                .tag(Coding.builder().code(Code.of(tag)).build())
+                .build();
+
+        Encounter encounter = TestUtil.readExampleResource("json/ibm/minimal/Encounter-1.json");
+        Observation observation = TestUtil.readExampleResource("json/ibm/minimal/Observation-1.json");
+        List<Resource> resources = Arrays.asList(
+                observation.toBuilder().meta(meta).build(),
+                encounter.toBuilder().meta(meta).build(),
+                observation.toBuilder().meta(meta).build());
+
+        List<SingleResourceResult<Resource>> results = persistence.createAll(Collections.nCopies(resources.size(), getDefaultPersistenceContext()), resources);
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Resource created = results.get(i).getResource();
+            assertTrue(results.get(i).isSuccess());
+            assertNotNull(created.getId());
+            assertEquals(resources.get(i).getClass(), created.getClass());
+            assertEquals("1", created.getMeta().getVersionId().getValue());
+
+            SingleResourceResult<? extends Resource> result = persistence.read(getDefaultPersistenceContext(), created.getClass(), created.getId());
+            assertTrue(result.isSuccess());
+            assertNotNull(result.getResource());
+        }
+
+        // The search parameters for all of the resources must have been written
+        assertEquals(2, runQueryTest(Observation.class, "_tag", tag).size());
+        assertEquals(1, runQueryTest(Encounter.class, "_tag", tag).size());
+        assertEquals(3, runQueryTest(Resource.class, "_tag", tag).size());
+    }
 }
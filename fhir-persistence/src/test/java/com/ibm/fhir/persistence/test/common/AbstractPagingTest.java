@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2019, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -12,8 +12,11 @@ import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertNotNull;
 import static com.ibm.fhir.model.test.TestUtil.isResourceInResponse;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -229,6 +232,79 @@ public abstract class AbstractPagingTest extends AbstractPersistenceTest {
         assertEquals(outcome.getIssue().get(0).getCode(), IssueType.INVALID);
     }
     
+    // pages read by following the next page cursor should match the pages read by offset
+    @Test
+    public void testSearchPagingWithCursor() throws Exception {
+        List<String> pageIds = new ArrayList<>();
+        String pageCursor = null;
+        for (int page = 1; page <= 3; page++) {
+            FHIRSearchContext searchContext = pagingTestSearchContext(page, pageCursor);
+            List<Resource> results = runQueryTest(searchContext, Basic.class, new HashMap<>(), 1).getResource();
+            assertEquals(results.size(), 1, "expected number of results");
+            pageIds.add(results.get(0).getId());
+            pageCursor = searchContext.getNextPageCursor();
+
+            List<Resource> offsetResults = runQueryTest(pagingTestSearchContext(page, null), Basic.class, new HashMap<>(), 1).getResource();
+            assertEquals(offsetResults.get(0).getId(), results.get(0).getId(), "expected same resource as offset paging");
+        }
+        assertEquals(new HashSet<>(pageIds), new HashSet<>(Arrays.asList(resource1.getId(), resource2.getId(), resource3.getId())));
+
+        // a cursor for a different page is ignored
+        FHIRSearchContext searchContext = pagingTestSearchContext(1, null);
+        runQueryTest(searchContext, Basic.class, new HashMap<>(), 1);
+        String page2Cursor = searchContext.getNextPageCursor();
+        List<Resource> results = runQueryTest(pagingTestSearchContext(3, page2Cursor), Basic.class, new HashMap<>(), 1).getResource();
+        assertEquals(results.get(0).getId(), pageIds.get(2));
+    }
+
+    // with _total=none, the last page number is only known once the last page has been read
+    @Test
+    public void testSearchPagingWithTotalNone() throws Exception {
+        for (boolean sorted : new boolean[] { true, false }) {
+            for (int page = 1; page <= 3; page++) {
+                Map<String, List<String>> queryParameters = new HashMap<>();
+                queryParameters.put("_tag", Collections.singletonList("pagingTest"));
+                queryParameters.put("_total", Collections.singletonList("none"));
+                queryParameters.put("_page", Collections.singletonList(String.valueOf(page)));
+                if (sorted) {
+                    queryParameters.put("_sort", Collections.singletonList("integer"));
+                }
+                FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+                List<Resource> results = runQueryTest(searchContext, Basic.class, new HashMap<>(), 1).getResource();
+                assertEquals(results.size(), 1, "expected number of results");
+                assertEquals(searchContext.getLastPageNumber(), Math.min(page + 1, 3), "expected last page number");
+                assertEquals(searchContext.getTotalCount(), Math.min(page + 1, 3), "expected lower bound of total count");
+            }
+        }
+    }
+
+    @Test
+    public void testHistoryPagingWithCursor() throws Exception {
+        String pageCursor = null;
+        for (int page = 1; page <= 3; page++) {
+            FHIRHistoryContext historyContext = FHIRPersistenceContextFactory.createHistoryContext();
+            historyContext.setPageSize(1);
+            historyContext.setPageNumber(page);
+            historyContext.setPageCursor(pageCursor);
+
+            MultiResourceResult<? extends Basic> result =
+                    persistence.history(getPersistenceContextForHistory(historyContext), resource3.getClass(), resource3.getId());
+            assertTrue(result.isSuccess());
+            assertEquals(result.getResource().size(), 1, "expected number of results");
+            assertEquals(result.getResource().get(0).getMeta().getVersionId().getValue(), String.valueOf(4 - page), "expected version");
+            pageCursor = historyContext.getNextPageCursor();
+        }
+    }
+
+    private FHIRSearchContext pagingTestSearchContext(int page, String pageCursor) throws Exception {
+        Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("_tag", Collections.singletonList("pagingTest"));
+        FHIRSearchContext searchContext = SearchUtil.parseQueryParameters(Basic.class, queryParameters);
+        searchContext.setPageNumber(page);
+        searchContext.setPageCursor(pageCursor);
+        return searchContext;
+    }
+
     public void testPageSizeEqualsZero() throws Exception {
         Map<String, List<String>> queryParameters;
         queryParameters = new HashMap<>();
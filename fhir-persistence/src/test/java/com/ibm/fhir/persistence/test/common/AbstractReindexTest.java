@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.persistence.test.common;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.EnrollmentRequest;
+import com.ibm.fhir.model.resource.OperationOutcome;
+import com.ibm.fhir.model.type.Identifier;
+import com.ibm.fhir.persistence.ReindexProgress;
+import com.ibm.fhir.persistence.ReindexRange;
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+
+/**
+ * This class contains tests for the range-partitioned bulk reindex which will be run against
+ * each of the various persistence layer implementations that implement a subclass of this class.
+ */
+public abstract class AbstractReindexTest extends AbstractPersistenceTest {
+    private static final String RESOURCE_TYPE = "EnrollmentRequest";
+    private static final int RESOURCE_COUNT = 5;
+
+    @BeforeClass
+    public void createResources() throws Exception {
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            EnrollmentRequest resource = EnrollmentRequest.builder()
+                    .identifier(Identifier.builder().value(com.ibm.fhir.model.type.String.of("reindex-" + i)).build())
+                    .build();
+            assertNotNull(persistence.create(getDefaultPersistenceContext(), resource).getResource().getId());
+        }
+    }
+
+    @Test
+    public void testReindexRanges() throws Exception {
+        Instant tstamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // at least two full ranges, plus the open-ended range after the last resource (other tests may
+        // have created resources of the same type)
+        int rangeCount = persistence.planReindex(tstamp, RESOURCE_TYPE, 2);
+        assertTrue(rangeCount >= 3);
+        // planning again for the same tstamp resumes the existing plan
+        assertEquals(persistence.planReindex(tstamp, RESOURCE_TYPE, 2), rangeCount);
+
+        Instant staleBefore = Instant.now().minus(1, ChronoUnit.HOURS);
+        long resourceCount = 0;
+        ReindexRange range;
+        while ((range = persistence.claimReindexRange(tstamp, RESOURCE_TYPE, "worker-1", staleBefore)) != null) {
+            assertEquals(range.getStatus(), ReindexRange.Status.RUNNING);
+            while (!range.isComplete()) {
+                range = persistence.reindexRange(getDefaultPersistenceContext(), range, 1);
+            }
+            resourceCount += range.getResourceCount();
+        }
+        assertTrue(resourceCount >= RESOURCE_COUNT);
+
+        ReindexProgress progress = getProgress();
+        assertEquals(progress.getRangeCount(), rangeCount);
+        assertEquals(progress.getCompleteRangeCount(), rangeCount);
+        assertEquals(progress.getRunningRangeCount(), 0);
+        assertEquals(progress.getResourceCount(), resourceCount);
+
+        // everything has been reindexed for this tstamp, so there's nothing left for the single resource reindex
+        assertEquals(persistence.reindex(getDefaultPersistenceContext(), OperationOutcome.builder(), tstamp, RESOURCE_TYPE), 0);
+    }
+
+    @Test(dependsOnMethods = "testReindexRanges")
+    public void testStaleClaim() throws Exception {
+        Instant tstamp = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // a new tstamp replaces the earlier plan
+        assertEquals(persistence.planReindex(tstamp, RESOURCE_TYPE, 1000000), 1);
+        ReindexProgress progress = getProgress();
+        assertEquals(progress.getRangeCount(), 1);
+        assertEquals(progress.getResourceCount(), 0);
+
+        ReindexRange range = persistence.claimReindexRange(tstamp, RESOURCE_TYPE, "worker-1", Instant.now().minus(1, ChronoUnit.HOURS));
+        assertNotNull(range);
+        assertNull(persistence.claimReindexRange(tstamp, RESOURCE_TYPE, "worker-2", Instant.now().minus(1, ChronoUnit.HOURS)));
+        assertEquals(getProgress().getRunningRangeCount(), 1);
+
+        // once the claim is stale, another worker can take over the range
+        ReindexRange takenOver = persistence.claimReindexRange(tstamp, RESOURCE_TYPE, "worker-2", Instant.now().plus(1, ChronoUnit.MINUTES));
+        assertNotNull(takenOver);
+        assertEquals(takenOver.getRangeStart(), range.getRangeStart());
+        assertEquals(takenOver.getClaimedBy(), "worker-2");
+
+        try {
+            persistence.reindexRange(getDefaultPersistenceContext(), range, 10);
+            fail("worker-1 no longer holds the claim");
+        } catch (FHIRPersistenceException e) {
+            assertTrue(e.getMessage().contains("worker-1"));
+        }
+    }
+
+    private ReindexProgress getProgress() throws Exception {
+        for (ReindexProgress progress : persistence.getReindexProgress()) {
+            if (RESOURCE_TYPE.equals(progress.getResourceType())) {
+                return progress;
+            }
+        }
+        fail("no reindex progress for " + RESOURCE_TYPE);
+        return null;
+    }
+}
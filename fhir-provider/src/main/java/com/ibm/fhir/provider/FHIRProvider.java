@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -49,6 +49,7 @@ import com.ibm.fhir.model.parser.exception.FHIRParserException;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
+import com.ibm.fhir.model.util.JsonPayloadScope;
 
 @Consumes({ FHIRMediaType.APPLICATION_FHIR_JSON, MediaType.APPLICATION_JSON, FHIRMediaType.APPLICATION_FHIR_XML,
         MediaType.APPLICATION_XML })
@@ -116,7 +117,14 @@ public class FHIRProvider implements MessageBodyReader<Resource>, MessageBodyWri
             OutputStream entityStream) throws IOException, WebApplicationException {
         log.entering(this.getClass().getName(), "writeTo");
         try {
-            FHIRGenerator.generator(getFormat(mediaType), isPretty(requestHeaders, uriInfo)).generate(t, entityStream);
+            Format format = getFormat(mediaType);
+            boolean pretty = isPretty(requestHeaders, uriInfo);
+            // Resources read from the database and returned unchanged are written as stored
+            JsonPayloadScope payloadScope = JsonPayloadScope.current();
+            if (payloadScope != null && format == Format.JSON && !pretty && payloadScope.write(t, entityStream)) {
+                return;
+            }
+            FHIRGenerator.generator(format, pretty).generate(t, entityStream);
         } catch (FHIRGeneratorException e) {
             // log the error but don't throw because that seems to block to original IOException from bubbling for some reason
             log.log(Level.WARNING, "an error occurred during resource serialization", e);
@@ -134,7 +142,7 @@ public class FHIRProvider implements MessageBodyReader<Resource>, MessageBodyWri
         }
     }
 
-    protected static boolean isPretty(HttpHeaders httpHeaders, UriInfo uriInfo) {
+    public static boolean isPretty(HttpHeaders httpHeaders, UriInfo uriInfo) {
         // Header evaluation
         String value = httpHeaders.getHeaderString(FHIRConfiguration.DEFAULT_PRETTY_RESPONSE_HEADER_NAME);
 
@@ -75,6 +75,9 @@ public class SearchConstants {
     // _page
     public static final String PAGE = "_page";
 
+    // _cursor (an opaque keyset cursor which positions the page given by _page)
+    public static final String CURSOR = "_cursor";
+
     // _elements
     public static final String ELEMENTS = "_elements";
 
@@ -84,6 +87,9 @@ public class SearchConstants {
     // _summary
     public static final String SUMMARY = "_summary";
 
+    // _total
+    public static final String TOTAL = "_total";
+
     // _type
     public static final String RESOURCE_TYPE = "_type";
 
@@ -94,14 +100,14 @@ public class SearchConstants {
 
     // set as unmodifiable
     public static final List<String> SEARCH_RESULT_PARAMETER_NAMES =
-            Collections.unmodifiableList(Arrays.asList(SORT, COUNT, PAGE, INCLUDE, REVINCLUDE, ELEMENTS, SUMMARY));
+            Collections.unmodifiableList(Arrays.asList(SORT, COUNT, PAGE, CURSOR, INCLUDE, REVINCLUDE, ELEMENTS, SUMMARY, TOTAL));
 
     // set as unmodifiable
     public static final List<String> SYSTEM_LEVEL_SORT_PARAMETER_NAMES = Collections.unmodifiableList(Arrays.asList("_id", "_lastUpdated"));
 
     // set as unmodifiable
     public static final List<String> SEARCH_SINGLETON_PARAMETER_NAMES =
-            Collections.unmodifiableList(Arrays.asList(SORT, COUNT, PAGE, SUMMARY, ELEMENTS, RESOURCE_TYPE));
+            Collections.unmodifiableList(Arrays.asList(SORT, COUNT, PAGE, CURSOR, SUMMARY, TOTAL, ELEMENTS, RESOURCE_TYPE));
 
     // Empty Query String
     public static final String EMPTY_QUERY_STRING = "";
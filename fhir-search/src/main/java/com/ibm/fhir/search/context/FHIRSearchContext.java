@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2019
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -10,6 +10,7 @@ import java.util.List;
 
 import com.ibm.fhir.core.context.FHIRPagingContext;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.parameters.InclusionParameter;
 import com.ibm.fhir.search.parameters.QueryParameter;
 import com.ibm.fhir.search.parameters.SortParameter;
@@ -83,4 +84,22 @@ public interface FHIRSearchContext extends FHIRPagingContext {
      * Set the value of the summary parameter.
      */
     void setSummaryParameter(SummaryValueSet summary);
+
+    /**
+     * @return true when the total parameter is not null
+     */
+    boolean hasTotalParameter();
+
+    /**
+     * Get the total parameter, which controls how the total number of matching resources is computed.
+     * A null value is handled the same as {@link TotalValueSet#ACCURATE}.
+     *
+     * @return the value of the total parameter
+     */
+    TotalValueSet getTotalParameter();
+
+    /**
+     * Set the value of the total parameter.
+     */
+    void setTotalParameter(TotalValueSet total);
 }
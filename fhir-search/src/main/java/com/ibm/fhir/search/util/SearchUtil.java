@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -48,7 +49,9 @@ import com.ibm.fhir.model.type.code.SearchParamType;
 import com.ibm.fhir.model.util.JsonSupport;
 import com.ibm.fhir.model.util.ModelSupport;
 import com.ibm.fhir.path.FHIRPathNode;
+import com.ibm.fhir.path.FHIRPathTree;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
+import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.CompiledExpression;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
 import com.ibm.fhir.path.exception.FHIRPathException;
 import com.ibm.fhir.search.SearchConstants;
@@ -56,6 +59,7 @@ import com.ibm.fhir.search.SearchConstants.Modifier;
 import com.ibm.fhir.search.SearchConstants.Prefix;
 import com.ibm.fhir.search.SearchConstants.Type;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.compartment.CompartmentUtil;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.context.FHIRSearchContextFactory;
@@ -141,6 +145,9 @@ public class SearchUtil {
      */
     private static TenantSpecificSearchParameterCache searchParameterCache = new TenantSpecificSearchParameterCache();
 
+    // The extraction plans for the search parameters of each resource type, keyed by tenant-id and resource type
+    private static final Map<String, ExtractionPlan> extractionPlans = new ConcurrentHashMap<>();
+
     private SearchUtil() {
         // No Operation
         // Hides the Initialization
@@ -659,19 +666,42 @@ public class SearchUtil {
      */
     public static Map<SearchParameter, List<FHIRPathNode>> extractParameterValues(Resource resource, boolean skipEmpty)
             throws Exception {
+        return extractParameterValues(resource, skipEmpty, null);
+    }
+
+    /**
+     * extract the values of a subset of the search parameters which apply to the resource.
+     *
+     * @param resource
+     * @param skipEmpty
+     * @param codes the codes of the search parameters to extract, or null for all of them
+     * @return
+     * @throws Exception
+     */
+    public static Map<SearchParameter, List<FHIRPathNode>> extractParameterValues(Resource resource, boolean skipEmpty, Set<String> codes)
+            throws Exception {
 
         Map<SearchParameter, List<FHIRPathNode>> result = new LinkedHashMap<>();
 
         // Get the Parameters for the class.
-        Class<?> resourceType = resource.getClass();
+        String resourceType = resource.getClass().getSimpleName();
+        List<SearchParameter> parameters = getApplicableSearchParameters(resourceType);
+        ExtractionPlan plan = getExtractionPlan(resourceType, parameters);
 
-        // Create one time.
+        // Create one time. The search parameters for a type usually touch only a few paths in the
+        // resource, so only create the nodes of the tree which the expressions navigate to.
         FHIRPathEvaluator evaluator = FHIRPathEvaluator.evaluator();
-        EvaluationContext evaluationContext = new EvaluationContext(resource);
+        EvaluationContext evaluationContext = new EvaluationContext(FHIRPathTree.lazyTree(resource));
 
-        List<SearchParameter> parameters = getApplicableSearchParameters(resourceType.getSimpleName());
+        // Many of the expressions share a prefix (e.g. Observation.value or Observation.component),
+        // so navigate each path once and share the result across all of the expressions.
+        evaluationContext.setNavigationCacheEnabled(true);
 
-        for (SearchParameter parameter : parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            SearchParameter parameter = parameters.get(i);
+            if (codes != null && (parameter.getCode() == null || !codes.contains(parameter.getCode().getValue()))) {
+                continue;
+            }
 
             com.ibm.fhir.model.type.String expression = parameter.getExpression();
 
@@ -692,8 +722,15 @@ public class SearchUtil {
                 }
                 continue;
             }
+
+            CompiledExpression compiledExpression = plan.getCompiledExpression(i);
+            if (compiledExpression == null) {
+                // the expression could not be compiled; this was logged when the plan was created
+                continue;
+            }
+
             try {
-                Collection<FHIRPathNode> tmpResults = evaluator.evaluate(evaluationContext, expression.getValue());
+                Collection<FHIRPathNode> tmpResults = evaluator.evaluate(evaluationContext, compiledExpression);
 
                 if (log.isLoggable(Level.FINEST)) {
                     log.finest("Expression [" + expression.getValue() + "] parameter-code ["
@@ -715,6 +752,71 @@ public class SearchUtil {
         return result;
     }
 
+    /**
+     * Get the extraction plan for the given search parameters of a resource type, creating it if the
+     * search parameters have changed since the plan was created (e.g. after a tenant's configuration is reloaded).
+     *
+     * @param resourceType
+     * @param parameters
+     * @return
+     */
+    private static ExtractionPlan getExtractionPlan(String resourceType, List<SearchParameter> parameters) {
+        String key = FHIRRequestContext.get().getTenantId() + SearchConstants.COLON_DELIMITER_STR + resourceType;
+        ExtractionPlan plan = extractionPlans.get(key);
+        if (plan == null || !plan.isPlanFor(parameters)) {
+            plan = new ExtractionPlan(parameters);
+            extractionPlans.put(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The compiled expressions of the search parameters which apply to a resource type, in the same
+     * order as the search parameters.
+     */
+    private static final class ExtractionPlan {
+        private final List<SearchParameter> parameters;
+        private final CompiledExpression[] compiledExpressions;
+
+        private ExtractionPlan(List<SearchParameter> parameters) {
+            this.parameters = new ArrayList<>(parameters);
+            this.compiledExpressions = new CompiledExpression[parameters.size()];
+            for (int i = 0; i < parameters.size(); i++) {
+                SearchParameter parameter = parameters.get(i);
+                com.ibm.fhir.model.type.String expression = parameter.getExpression();
+                if (expression == null) {
+                    continue;
+                }
+                try {
+                    compiledExpressions[i] = FHIRPathEvaluator.compile(expression.getValue());
+                } catch (FHIRPathException e) {
+                    log.warning(String.format(UNSUPPORTED_EXCEPTION, parameter.getCode().getValue(),
+                            expression.getValue(), e.getMessage()));
+                }
+            }
+        }
+
+        /**
+         * @param parameters
+         * @return true if this plan was created from the same search parameter instances, in the same order
+         */
+        private boolean isPlanFor(List<SearchParameter> parameters) {
+            if (parameters.size() != this.parameters.size()) {
+                return false;
+            }
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i) != this.parameters.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private CompiledExpression getCompiledExpression(int index) {
+            return compiledExpressions[index];
+        }
+    }
+
     public static FHIRSearchContext parseQueryParameters(Class<?> resourceType,
             Map<String, List<String>> queryParameters)
             throws Exception {
@@ -727,6 +829,7 @@ public class SearchUtil {
 
         FHIRSearchContext context = FHIRSearchContextFactory.createSearchContext();
         context.setLenient(lenient);
+        context.setTotalParameter(getDefaultTotal());
         List<QueryParameter> parameters = new ArrayList<>();
         HashSet<String> resourceTypes = new LinkedHashSet<>();
 
@@ -1481,6 +1584,22 @@ public class SearchUtil {
         return returnPrefix;
     }
 
+    /**
+     * @return the configured default for the _total parameter of the current tenant, or null if there is none
+     */
+    private static TotalValueSet getDefaultTotal() {
+        String defaultTotal = FHIRConfigHelper.getStringProperty(FHIRConfiguration.PROPERTY_SEARCH_DEFAULT_TOTAL, null);
+        if (defaultTotal == null) {
+            return null;
+        }
+        try {
+            return TotalValueSet.from(defaultTotal);
+        } catch (IllegalArgumentException e) {
+            log.warning("Ignoring invalid value '" + defaultTotal + "' for " + FHIRConfiguration.PROPERTY_SEARCH_DEFAULT_TOTAL);
+            return null;
+        }
+    }
+
     public static boolean isSearchResultParameter(String name) {
         return SearchConstants.SEARCH_RESULT_PARAMETER_NAMES.contains(name);
     }
@@ -1518,6 +1637,8 @@ public class SearchUtil {
             } else if (SearchConstants.PAGE.equals(name)) {
                 int pageNumber = Integer.parseInt(first);
                 context.setPageNumber(pageNumber);
+            } else if (SearchConstants.CURSOR.equals(name)) {
+                context.setPageCursor(first);
             } else if (SearchConstants.SORT.equals(name) && first != null) {
                 // in R4, we only look for _sort
                 // Only first value is used, which matches behavior of other parameters that are supposed to be specified at most once
@@ -1529,6 +1650,8 @@ public class SearchUtil {
                 parseElementsParameter(resourceType, context, first, lenient);
             } else if (SearchConstants.SUMMARY.equals(name) && first != null) {
                 context.setSummaryParameter(SummaryValueSet.from(first));
+            } else if (SearchConstants.TOTAL.equals(name) && first != null) {
+                context.setTotalParameter(TotalValueSet.from(first));
             }
         } catch (FHIRSearchException se) {
             throw se;
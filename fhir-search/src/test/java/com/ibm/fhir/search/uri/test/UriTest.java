@@ -17,6 +17,8 @@ import java.util.List;
 import org.testng.annotations.Test;
 
 import com.ibm.fhir.search.SearchConstants.Type;
+import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.context.FHIRSearchContextFactory;
 import com.ibm.fhir.search.parameters.QueryParameter;
@@ -126,4 +128,22 @@ public class UriTest {
 
         assertEquals(SearchUtil.buildSearchSelfUri(requestUriString, ctx), expectedUri);
     }
+
+    @Test
+    public void testUriWithTotal() throws URISyntaxException {
+        String expectedUri = "https://test/Patient?_count=10&_summary=data&_total=estimate&_page=2";
+        String requestUriString = "https://test/Patient?_total=estimate&_summary=data&_page=2";
+
+        FHIRSearchContext ctx = FHIRSearchContextFactory.createSearchContext();
+        ctx.setPageNumber(2);
+        ctx.setPageSize(10);
+        ctx.setSummaryParameter(SummaryValueSet.DATA);
+        ctx.setTotalParameter(TotalValueSet.ESTIMATE);
+
+        assertEquals(SearchUtil.buildSearchSelfUri(requestUriString, ctx), expectedUri);
+
+        ctx.setTotalParameter(TotalValueSet.NONE);
+        assertEquals(SearchUtil.buildSearchSelfUri(requestUriString, ctx),
+            "https://test/Patient?_count=10&_summary=data&_total=none&_page=2");
+    }
 }
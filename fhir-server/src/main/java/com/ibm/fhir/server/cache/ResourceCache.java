@@ -0,0 +1,339 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
+import com.ibm.fhir.persistence.interceptor.FHIRPersistenceInterceptor;
+
+/**
+ * A bounded, tenant-aware cache of the resources returned by the read and vread interactions.
+ *
+ * <p>Entries are keyed by tenant, datastore, resource type, logical id and version id. The current version of a
+ * resource (returned by read) is held under a key with no version id. Because model objects are immutable,
+ * cached resources can be shared across requests.
+ *
+ * <p>The cache registers itself as a persistence interceptor. When a resource is created, updated, patched or
+ * deleted, its current entry is replaced by a marker which records the new version number. The interceptor
+ * events fire before the transaction commits, so a concurrent read may still return the previous version from
+ * the database; the marker stops that older version from being cached. If the transaction rolls back, the
+ * new version never exists, so markers expire after maxAge, after which the current version can be cached
+ * again. Resources read within a transaction which the read didn't start (e.g. a transaction bundle) are not
+ * added, since they may never be committed. Entries for the current version also expire after maxAge, which
+ * bounds the staleness of resources changed outside of this server instance (e.g. by another cluster member
+ * or by bulk import). Specific versions never change, so those entries don't expire.
+ */
+public class ResourceCache implements FHIRPersistenceInterceptor {
+    private static final Logger log = Logger.getLogger(ResourceCache.class.getName());
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+    public static final int DEFAULT_MAX_AGE_SECONDS = 60;
+
+    private static volatile ResourceCache instance;
+
+    private final ConcurrentLRUCache<Key, Entry> cache;
+    private final long maxAgeNanos;
+    private final Set<String> resourceTypes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * The cache key. A null versionId identifies the current version of the resource.
+     */
+    private static final class Key {
+        private final String tenantId;
+        private final String dataStoreId;
+        private final String resourceType;
+        private final String logicalId;
+        private final String versionId;
+        private final int hashCode;
+
+        private Key(String tenantId, String dataStoreId, String resourceType, String logicalId, String versionId) {
+            this.tenantId = tenantId;
+            this.dataStoreId = dataStoreId;
+            this.resourceType = resourceType;
+            this.logicalId = logicalId;
+            this.versionId = versionId;
+            this.hashCode = Objects.hash(tenantId, dataStoreId, resourceType, logicalId, versionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hashCode == other.hashCode
+                    && Objects.equals(logicalId, other.logicalId)
+                    && Objects.equals(resourceType, other.resourceType)
+                    && Objects.equals(versionId, other.versionId)
+                    && Objects.equals(dataStoreId, other.dataStoreId)
+                    && Objects.equals(tenantId, other.tenantId);
+        }
+    }
+
+    /**
+     * A cached resource, or a marker (with a null resource) recording a version which has not been cached yet
+     */
+    private static final class Entry {
+        private final Resource resource;
+        private final int version;
+        private final long expiresAt;
+
+        private Entry(Resource resource, int version, long expiresAt) {
+            this.resource = resource;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isUsable(long now) {
+            return resource != null && !isExpired(now);
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Public constructor
+     * @param maxEntries the maximum number of entries held by the cache
+     * @param maxAgeSeconds the number of seconds that the current version of a resource is cached for
+     * @param resourceTypes the resource types to cache, or null or empty to cache all resource types
+     */
+    public ResourceCache(int maxEntries, int maxAgeSeconds, Collection<String> resourceTypes) {
+        if (maxAgeSeconds < 1) {
+            throw new IllegalArgumentException("maxAgeSeconds must be >= 1");
+        }
+        this.cache = new ConcurrentLRUCache<>(maxEntries);
+        this.maxAgeNanos = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        this.resourceTypes = (resourceTypes == null || resourceTypes.isEmpty()) ? null
+                : Collections.unmodifiableSet(new HashSet<>(resourceTypes));
+    }
+
+    /**
+     * @return the resource cache used by the server, or null if resource caching is not enabled
+     */
+    public static ResourceCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Set the resource cache used by the server
+     * @param resourceCache the resource cache, or null to disable resource caching
+     */
+    public static void setInstance(ResourceCache resourceCache) {
+        instance = resourceCache;
+    }
+
+    /**
+     * @param resourceType
+     * @return true if resources of this type are cached
+     */
+    public boolean isCached(String resourceType) {
+        return resourceTypes == null || resourceTypes.contains(resourceType);
+    }
+
+    /**
+     * Get a resource for the current tenant and datastore
+     * @param resourceType
+     * @param logicalId
+     * @param versionId the version id, or null for the current version
+     * @return the cached resource, or null if it is not in the cache
+     */
+    public Resource get(String resourceType, String logicalId, String versionId) {
+        Entry entry = cache.get(key(resourceType, logicalId, versionId));
+        if (entry != null && entry.isUsable(System.nanoTime())) {
+            hitCount.increment();
+            return entry.resource;
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * Add a resource for the current tenant and datastore. The current version is only added if it is
+     * not older than the version already known to the cache.
+     * @param resourceType
+     * @param logicalId
+     * @param versionId the version id, or null if this is the current version
+     * @param resource
+     */
+    public void put(String resourceType, String logicalId, String versionId, Resource resource) {
+        Integer version = getVersion(resource);
+        if (version == null) {
+            return;
+        }
+        Key key = key(resourceType, logicalId, versionId);
+        if (versionId != null) {
+            cache.putIfAbsent(key, new Entry(resource, version, Long.MAX_VALUE));
+            return;
+        }
+
+        long now = System.nanoTime();
+        Entry entry = new Entry(resource, version, now + maxAgeNanos);
+        while (true) {
+            Entry existing = cache.putIfAbsent(key, entry);
+            if (existing == null
+                    || (existing.version > version && !existing.isExpired(now))
+                    || (existing.version == version && existing.isUsable(now))
+                    || cache.replace(key, existing, entry)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Record that the resource has a new version, so that older versions of the resource will no longer
+     * be returned as its current version.
+     * @param resourceType
+     * @param logicalId
+     * @param version the new version number, or null if it is not known
+     */
+    public void invalidate(String resourceType, String logicalId, Integer version) {
+        invalidationCount.increment();
+        Key key = key(resourceType, logicalId, null);
+        if (version == null) {
+            cache.remove(key);
+            return;
+        }
+
+        // The marker expires so that a rolled back change doesn't stop the resource from being cached
+        long now = System.nanoTime();
+        Entry marker = new Entry(null, version, now + maxAgeNanos);
+        while (true) {
+            Entry existing = cache.putIfAbsent(key, marker);
+            if (existing == null
+                    || (existing.version >= version && !existing.isExpired(now))
+                    || cache.replace(key, existing, marker)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove all entries from the cache
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void afterCreate(FHIRPersistenceEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void afterUpdate(FHIRPersistenceEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void afterPatch(FHIRPersistenceEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    public void afterDelete(FHIRPersistenceEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(FHIRPersistenceEvent event) {
+        Resource resource = event.getFhirResource();
+        String resourceType = resource != null ? ModelSupport.getTypeName(resource.getClass()) : event.getFhirResourceType();
+        String logicalId = resource != null ? resource.getId() : event.getFhirResourceId();
+        if (resourceType == null || logicalId == null || !isCached(resourceType)) {
+            return;
+        }
+        Integer version = getVersion(resource);
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Invalidating cached resource '" + resourceType + "/" + logicalId + "', new version: " + version);
+        }
+        invalidate(resourceType, logicalId, version);
+    }
+
+    private Key key(String resourceType, String logicalId, String versionId) {
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        return new Key(requestContext.getTenantId(), requestContext.getDataStoreId(), resourceType, logicalId, versionId);
+    }
+
+    private static Integer getVersion(Resource resource) {
+        if (resource == null || resource.getMeta() == null || resource.getMeta().getVersionId() == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(resource.getMeta().getVersionId().getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of entries in the cache, including markers for versions which have not been cached yet
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the maximum number of entries held by the cache
+     */
+    public int getMaxEntries() {
+        return cache.getMaxEntries();
+    }
+
+    /**
+     * @return the number of lookups which returned a cached resource
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of lookups which did not return a cached resource
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the number of entries evicted to make room for new entries
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * @return the number of create, update, patch and delete events which invalidated a cached resource
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+}
@@ -41,6 +41,7 @@ import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
 import com.ibm.fhir.model.util.FHIRUtil;
+import com.ibm.fhir.model.util.JsonPayloadScope;
 
 /**
  * This class is a servlet filter which is registered with the REST API's servlet. The main purpose of the class is to
@@ -138,6 +139,12 @@ public class FHIRRestServletFilter extends HttpFilter {
             Map<String, List<String>> requestHeaders = extractRequestHeaders(request);
             context.setHttpHeaders(requestHeaders);
 
+            // Keep the JSON of the resources read by searches and reads, so that resources which are returned
+            // unchanged can be written to the response without generating them again.
+            if (isReadOnlyRequest(request)) {
+                JsonPayloadScope.open();
+            }
+
             // Pass the request through to the next filter in the chain.
             chain.doFilter(request, response);
         } catch (Exception e) {
@@ -176,8 +183,9 @@ public class FHIRRestServletFilter extends HttpFilter {
             double elapsedSecs = (System.currentTimeMillis() - initialTime) / 1000.0;
             log.info("Completed request[" + elapsedSecs + " secs]: " + encodedRequestDescription + statusMsg.toString());
 
-            // Remove the FHIRRequestContext from the current thread.
+            // Remove the FHIRRequestContext and stored resource JSON from the current thread.
             FHIRRequestContext.remove();
+            JsonPayloadScope.close();
 
             if (log.isLoggable(Level.FINE)) {
                 log.exiting(this.getClass().getName(), "doFilter");
@@ -300,6 +308,17 @@ public class FHIRRestServletFilter extends HttpFilter {
         return (method != null ? method : "<unknown>");
     }
 
+    /**
+     * Returns true if the specified request is a read, vread, history or search, i.e. a GET or a POST search.
+     */
+    private boolean isReadOnlyRequest(ServletRequest request) {
+        String method = getRequestMethod(request);
+        if ("GET".equals(method)) {
+            return true;
+        }
+        return "POST".equals(method) && ((HttpServletRequest) request).getRequestURI().endsWith("/_search");
+    }
+
     /**
      * Returns the full request URL (i.e. http://host:port/a/path?queryString) associated with the specified request.
      */
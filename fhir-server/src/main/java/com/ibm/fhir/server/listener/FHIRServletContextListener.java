@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -22,9 +22,16 @@ import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_SERVERS;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TLS_ENABLED;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TRUSTSTORE;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_NATS_TRUSTSTORE_PW;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_RESOURCE_CACHE_ENABLED;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_RESOURCE_CACHE_MAX_AGE;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_RESOURCE_CACHE_MAX_ENTRIES;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_RESOURCE_CACHE_RESOURCE_TYPES;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_SERVER_REGISTRY_RESOURCE_PROVIDER_ENABLED;
+import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_TERM_EXPANSION_CACHE_FILE;
 import static com.ibm.fhir.config.FHIRConfiguration.PROPERTY_WEBSOCKET_ENABLED;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -49,6 +56,7 @@ import com.ibm.fhir.config.PropertyGroup.PropertyEntry;
 import com.ibm.fhir.model.config.FHIRModelConfig;
 import com.ibm.fhir.model.lang.util.LanguageRegistryUtil;
 import com.ibm.fhir.model.util.FHIRUtil;
+import com.ibm.fhir.notification.FHIRNotificationService;
 import com.ibm.fhir.notification.websocket.impl.FHIRNotificationServiceEndpointConfig;
 import com.ibm.fhir.notifications.kafka.impl.FHIRNotificationKafkaPublisher;
 import com.ibm.fhir.notifications.nats.impl.FHIRNotificationNATSPublisher;
@@ -58,9 +66,11 @@ import com.ibm.fhir.persistence.jdbc.connection.FHIRDbTenantDatasourceConnection
 import com.ibm.fhir.persistence.jdbc.util.DerbyBootstrapper;
 import com.ibm.fhir.registry.FHIRRegistry;
 import com.ibm.fhir.search.util.SearchUtil;
+import com.ibm.fhir.server.cache.ResourceCache;
 import com.ibm.fhir.server.operation.FHIROperationRegistry;
 import com.ibm.fhir.server.registry.ServerRegistryResourceProvider;
 import com.ibm.fhir.server.util.FHIROperationUtil;
+import com.ibm.fhir.term.util.ValueSetSupport;
 
 @WebListener("IBM FHIR Server Servlet Context Listener")
 public class FHIRServletContextListener implements ServletContextListener {
@@ -71,9 +81,11 @@ public class FHIRServletContextListener implements ServletContextListener {
     private static final String DEFAULT_NATS_CHANNEL = "fhirNotifications";
     private static final String DEFAULT_NATS_CLUSTER = "nats-streaming";
     private static final String DEFAULT_NATS_CLIENT = "fhir-server";
+    private static final long NOTIFICATION_SHUTDOWN_TIMEOUT_MILLIS = 5000;
     public static final String FHIR_SERVER_INIT_COMPLETE = "com.ibm.fhir.webappInitComplete";
     private static FHIRNotificationKafkaPublisher kafkaPublisher = null;
     private static FHIRNotificationNATSPublisher natsPublisher = null;
+    private static Path expansionCacheFile = null;
     private static final String TXN_JNDI_NAME = "java:comp/UserTransaction";
 
     @Override
@@ -200,6 +212,30 @@ public class FHIRServletContextListener implements ServletContextListener {
                 FHIRPersistenceInterceptorMgr.getInstance().addInterceptor(provider);
             }
 
+            Boolean resourceCacheEnabled = fhirConfig.getBooleanProperty(PROPERTY_RESOURCE_CACHE_ENABLED, Boolean.FALSE);
+            if (resourceCacheEnabled) {
+                int maxEntries = fhirConfig.getIntProperty(PROPERTY_RESOURCE_CACHE_MAX_ENTRIES, ResourceCache.DEFAULT_MAX_ENTRIES);
+                int maxAgeSeconds = fhirConfig.getIntProperty(PROPERTY_RESOURCE_CACHE_MAX_AGE, ResourceCache.DEFAULT_MAX_AGE_SECONDS);
+                List<String> resourceTypes = fhirConfig.getStringListProperty(PROPERTY_RESOURCE_CACHE_RESOURCE_TYPES);
+                log.info("Registering ResourceCache with maxEntries=" + maxEntries + " and maxAgeSeconds=" + maxAgeSeconds + "...");
+                ResourceCache resourceCache = new ResourceCache(maxEntries, maxAgeSeconds, resourceTypes);
+                ResourceCache.setInstance(resourceCache);
+                // The cache is invalidated before any other interceptor can observe the change
+                FHIRPersistenceInterceptorMgr.getInstance().addPrioritizedInterceptor(resourceCache);
+            }
+
+            String expansionCacheFileName = fhirConfig.getStringProperty(PROPERTY_TERM_EXPANSION_CACHE_FILE);
+            if (expansionCacheFileName != null) {
+                expansionCacheFile = Paths.get(expansionCacheFileName);
+                try {
+                    int count = ValueSetSupport.loadExpansionCache(expansionCacheFile);
+                    log.info("Loaded " + count + " value set expansions from " + expansionCacheFile);
+                } catch (Exception e) {
+                    // not fatal; the value sets are expanded again on demand
+                    log.log(Level.WARNING, "Unable to load value set expansions from " + expansionCacheFile, e);
+                }
+            }
+
             // Finally, set our "initComplete" flag to true.
             event.getServletContext().setAttribute(FHIR_SERVER_INIT_COMPLETE, Boolean.TRUE);
         } catch(Throwable t) {
@@ -401,6 +437,9 @@ public class FHIRServletContextListener implements ServletContextListener {
             // Set our "initComplete" flag back to false.
             event.getServletContext().setAttribute(FHIR_SERVER_INIT_COMPLETE, Boolean.FALSE);
 
+            // Deliver the queued notification events before the publishers go away.
+            FHIRNotificationService.getInstance().shutdown(NOTIFICATION_SHUTDOWN_TIMEOUT_MILLIS);
+
             // If we previously initialized the Kafka publisher, then shut it down now.
             if (kafkaPublisher != null) {
                 kafkaPublisher.shutdown();
@@ -412,6 +451,17 @@ public class FHIRServletContextListener implements ServletContextListener {
                 natsPublisher.shutdown();
                 natsPublisher = null;
             }
+
+            // If a value set expansion cache file is configured, then save the expansions for the next start.
+            if (expansionCacheFile != null) {
+                try {
+                    int count = ValueSetSupport.saveExpansionCache(expansionCacheFile);
+                    log.info("Saved " + count + " value set expansions to " + expansionCacheFile);
+                } catch (Exception e) {
+                    log.log(Level.WARNING, "Unable to save value set expansions to " + expansionCacheFile, e);
+                }
+                expansionCacheFile = null;
+            }
         } catch (Exception e) {
         } finally {
             if (log.isLoggable(Level.FINER)) {
@@ -7,6 +7,7 @@
 package com.ibm.fhir.server.operation.spi;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.MultivaluedMap;
@@ -16,6 +17,8 @@ import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.ReindexProgress;
+import com.ibm.fhir.server.reindex.ReindexEngine;
 
 /**
  * This interface describes the set of helper methods from the FHIR REST layer that are used by custom operation
@@ -270,4 +273,33 @@ public interface FHIRResourceHelpers {
      * @throws Exception
      */
     public int doReindex(FHIROperationContext operationContext, OperationOutcome.Builder operationOutcomeResult, Instant tstamp, String resourceLogicalId) throws Exception;
+
+    /**
+     * Start a server-side bulk reindex of the resources which were last reindexed before the given date.
+     * The reindex runs in the background on worker threads; use {@link #getReindexEngine()} and
+     * {@link #getReindexProgress()} to follow it.
+     * @param operationContext
+     * @param tstamp
+     * @param resourceType the resource type to reindex, or null to reindex all resource types
+     * @param workers the number of worker threads
+     * @param rangeSize the number of logical resources in each range claimed by a worker
+     * @param batchSize the number of resources reindexed in each transaction
+     * @return false if a reindex is already running for the current tenant and datastore
+     * @throws Exception
+     */
+    public boolean startReindex(FHIROperationContext operationContext, Instant tstamp, String resourceType, int workers, int rangeSize,
+        int batchSize) throws Exception;
+
+    /**
+     * Get the server-side bulk reindex engine for the current tenant and datastore
+     * @return the engine running, or most recently run, on this server; or null if no reindex has been started
+     */
+    public ReindexEngine getReindexEngine();
+
+    /**
+     * Get the progress of the server-side bulk reindex for each resource type, across all servers
+     * @return
+     * @throws Exception
+     */
+    public List<ReindexProgress> getReindexProgress() throws Exception;
 }
@@ -23,7 +23,7 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import com.ibm.fhir.config.FHIRRequestContext;
-import com.ibm.fhir.core.util.LRUCache;
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.resource.SearchParameter;
 import com.ibm.fhir.model.resource.StructureDefinition;
@@ -62,7 +62,7 @@ public class ServerRegistryResourceProvider implements FHIRRegistryResourceProvi
         String tenantId = FHIRRequestContext.get().getTenantId();
         String dataStoreId = FHIRRequestContext.get().getDataStoreId();
         String key = tenantId + ":" + dataStoreId;
-        List<FHIRRegistryResource> registryResources = registryResourceMap.computeIfAbsent(key, k -> LRUCache.createLRUCache(1024))
+        List<FHIRRegistryResource> registryResources = registryResourceMap.computeIfAbsent(key, k -> new ConcurrentLRUCache<>(1024))
                 .computeIfAbsent(url, k -> computeRegistryResources(resourceType, url));
         if (!registryResources.isEmpty()) {
             if (version != null) {
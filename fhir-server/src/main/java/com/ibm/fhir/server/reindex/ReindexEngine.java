@@ -0,0 +1,358 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.reindex;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.ReindexRange;
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.helper.FHIRTransactionHelper;
+import com.ibm.fhir.persistence.helper.PersistenceHelper;
+import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDataAccessException;
+
+/**
+ * Server-side bulk reindex. The logical resources of each resource type are partitioned into ranges of
+ * logical resource ids which are recorded in the database. A number of worker threads then each claim a
+ * range at a time and reindex its resources in batches, checkpointing the range after every batch. Each
+ * batch is its own transaction, so a failed or interrupted reindex can be resumed by starting it again
+ * with the same tstamp, and workers on other servers can share the same plan.
+ *
+ * <p>At most one engine runs for each tenant and datastore.
+ */
+public class ReindexEngine {
+    private static final Logger log = Logger.getLogger(ReindexEngine.class.getName());
+
+    // The running (or most recently run) engine for each tenant/datastore
+    private static final Map<String, ReindexEngine> engines = new ConcurrentHashMap<>();
+
+    // Handle some retries in case of deadlock exceptions
+    private static final int TX_ATTEMPTS = 5;
+
+    // A range claimed by a worker which hasn't checkpointed it for this long may be taken over by another worker
+    private static final Duration STALE_CLAIM = Duration.ofMinutes(10);
+
+    private static final AtomicInteger engineCount = new AtomicInteger();
+
+    private final PersistenceHelper persistenceHelper;
+    private final String tenantId;
+    private final String dataStoreId;
+    private final Instant tstamp;
+    private final String resourceType;
+    private final int workers;
+    private final int rangeSize;
+    private final int batchSize;
+
+    // Identifies the workers of this engine in the ranges they claim
+    private final String claimPrefix;
+
+    private final AtomicLong resourceCount = new AtomicLong();
+    private final AtomicLong rangeCount = new AtomicLong();
+    private final AtomicLong failedRangeCount = new AtomicLong();
+    private volatile boolean stopped;
+    private volatile Instant startTime;
+    private volatile Instant endTime;
+    private volatile Future<?> future;
+    private volatile Throwable failure;
+
+    /**
+     * Public constructor
+     * @param persistenceHelper used to obtain a FHIRPersistence instance for each worker
+     * @param tenantId
+     * @param dataStoreId
+     * @param tstamp reindex resources which were last reindexed before this time
+     * @param resourceType the resource type to reindex, or null to reindex all resource types
+     * @param workers the number of worker threads
+     * @param rangeSize the number of logical resources in each range
+     * @param batchSize the number of resources reindexed in each transaction
+     */
+    public ReindexEngine(PersistenceHelper persistenceHelper, String tenantId, String dataStoreId, Instant tstamp,
+            String resourceType, int workers, int rangeSize, int batchSize) {
+        this.persistenceHelper = persistenceHelper;
+        this.tenantId = tenantId;
+        this.dataStoreId = dataStoreId;
+        this.tstamp = tstamp;
+        this.resourceType = resourceType;
+        this.workers = workers;
+        this.rangeSize = rangeSize;
+        this.batchSize = batchSize;
+        this.claimPrefix = ManagementFactory.getRuntimeMXBean().getName() + "-" + engineCount.incrementAndGet() + "-";
+    }
+
+    /**
+     * Start the given engine on the executor, unless another engine is already running for the same tenant and datastore
+     * @param engine
+     * @param executor
+     * @return false if another engine is already running
+     */
+    public static boolean start(ReindexEngine engine, ExecutorService executor) {
+        String key = engine.tenantId + "~" + engine.dataStoreId;
+        synchronized (engines) {
+            ReindexEngine current = engines.get(key);
+            if (current != null && current.isRunning()) {
+                return false;
+            }
+            engines.put(key, engine);
+            engine.startTime = Instant.now();
+            engine.future = executor.submit(() -> engine.run(executor));
+        }
+        return true;
+    }
+
+    /**
+     * Get the engine running, or most recently run, for the given tenant and datastore
+     * @param tenantId
+     * @param dataStoreId
+     * @return the engine, or null if no reindex has been started for the tenant and datastore on this server
+     */
+    public static ReindexEngine getEngine(String tenantId, String dataStoreId) {
+        return engines.get(tenantId + "~" + dataStoreId);
+    }
+
+    /**
+     * Ask the workers to stop after their current batch. The ranges they hold remain claimed
+     * until the claims go stale, or the reindex is started again on this server.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @return true if the engine is planning or its workers are still running
+     */
+    public boolean isRunning() {
+        Future<?> f = this.future;
+        return f != null && !f.isDone();
+    }
+
+    /**
+     * @return the reindex tstamp
+     */
+    public Instant getTstamp() {
+        return tstamp;
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * @return the number of resources reindexed by this engine
+     */
+    public long getResourceCount() {
+        return resourceCount.get();
+    }
+
+    /**
+     * @return the number of ranges completed by this engine
+     */
+    public long getRangeCount() {
+        return rangeCount.get();
+    }
+
+    /**
+     * @return the number of ranges this engine gave up on after a failure. These ranges are
+     *         retried once their claims go stale
+     */
+    public long getFailedRangeCount() {
+        return failedRangeCount.get();
+    }
+
+    /**
+     * @return the time the engine was started
+     */
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the time the engine finished, or null if it is still running
+     */
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the number of resources reindexed per second since the engine was started
+     */
+    public double getThroughput() {
+        Instant start = this.startTime;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = this.endTime != null ? this.endTime : Instant.now();
+        double seconds = Duration.between(start, end).toMillis() / 1000.0;
+        return seconds > 0 ? resourceCount.get() / seconds : 0;
+    }
+
+    /**
+     * @return the failure which stopped the engine, or null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Plan the ranges for each resource type, then run the workers and wait for them to finish
+     * @param executor
+     */
+    private void run(ExecutorService executor) {
+        FHIRRequestContext previousContext = FHIRRequestContext.get();
+        try {
+            FHIRRequestContext.set(new FHIRRequestContext(tenantId, dataStoreId));
+            FHIRPersistence persistence = persistenceHelper.getFHIRPersistenceImplementation();
+            List<String> resourceTypes = new ArrayList<>();
+            if (resourceType != null) {
+                resourceTypes.add(resourceType);
+            } else {
+                for (Class<? extends Resource> resourceTypeClass : ModelSupport.getResourceTypes(false)) {
+                    resourceTypes.add(ModelSupport.getTypeName(resourceTypeClass));
+                }
+            }
+            for (String type : resourceTypes) {
+                if (stopped) {
+                    return;
+                }
+                try {
+                    inTransaction(persistence, () -> persistence.planReindex(tstamp, type, rangeSize));
+                } catch (FHIRPersistenceException x) {
+                    if (resourceType != null) {
+                        throw x;
+                    }
+                    // the schema may have been created for a subset of the resource types
+                    log.log(Level.WARNING, "Unable to plan the reindex for resource type '" + type + "'", x);
+                }
+            }
+
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                String claimedBy = claimPrefix + i;
+                futures.add(executor.submit(() -> {
+                    runWorker(claimedBy);
+                    return null;
+                }));
+            }
+
+            // Wait for all of the workers to finish before reporting the first failure (if any).
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            endTime = Instant.now();
+            FHIRRequestContext.set(previousContext);
+            if (failure != null) {
+                log.log(Level.SEVERE, "Reindex failed after " + resourceCount.get() + " resources", failure);
+            } else {
+                log.info(String.format("Reindex finished: %d resources in %d ranges at %.1f resources/s", resourceCount.get(),
+                    rangeCount.get(), getThroughput()));
+            }
+        }
+    }
+
+    /**
+     * Claim ranges and reindex them until no ranges are left, or the engine is stopped
+     * @param claimedBy
+     * @throws Exception
+     */
+    private void runWorker(String claimedBy) throws Exception {
+        FHIRRequestContext previousContext = FHIRRequestContext.get();
+        try {
+            FHIRRequestContext.set(new FHIRRequestContext(tenantId, dataStoreId));
+            FHIRPersistence persistence = persistenceHelper.getFHIRPersistenceImplementation();
+            while (!stopped) {
+                ReindexRange range = inTransaction(persistence,
+                    () -> persistence.claimReindexRange(tstamp, resourceType, claimedBy, Instant.now().minus(STALE_CLAIM)));
+                if (range == null) {
+                    break;
+                }
+                if (log.isLoggable(Level.FINE)) {
+                    log.fine(claimedBy + " claimed reindex range " + range);
+                }
+
+                try {
+                    while (!range.isComplete() && !stopped) {
+                        final ReindexRange current = range;
+                        range = inTransaction(persistence, () -> persistence.reindexRange(null, current, batchSize));
+                        resourceCount.addAndGet(range.getResourceCount() - current.getResourceCount());
+                    }
+                    if (range.isComplete()) {
+                        rangeCount.incrementAndGet();
+                    }
+                } catch (FHIRPersistenceException x) {
+                    // Leave the range for a worker to pick up from its checkpoint once our claim goes stale,
+                    // which also covers the range having been taken over by another worker already
+                    failedRangeCount.incrementAndGet();
+                    log.log(Level.WARNING, claimedBy + " failed to reindex range " + range, x);
+                }
+            }
+        } finally {
+            FHIRRequestContext.set(previousContext);
+        }
+    }
+
+    /**
+     * A unit of work run in its own transaction
+     */
+    @FunctionalInterface
+    private interface Work<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Run the work in a new transaction, retrying it if the transaction fails with a retryable error
+     * @param persistence
+     * @param work
+     * @return the result of the work
+     * @throws Exception
+     */
+    private <T> T inTransaction(FHIRPersistence persistence, Work<T> work) throws Exception {
+        int attempt = 1;
+        while (true) {
+            FHIRTransactionHelper txn = new FHIRTransactionHelper(persistence.getTransaction());
+            txn.begin();
+            try {
+                return work.run();
+            } catch (FHIRPersistenceDataAccessException x) {
+                if (x.isTransactionRetryable() && attempt < TX_ATTEMPTS) {
+                    log.info("attempt #" + attempt + " failed, retrying transaction");
+                } else {
+                    throw x;
+                }
+            } finally {
+                txn.end();
+            }
+            attempt++;
+        }
+    }
+}
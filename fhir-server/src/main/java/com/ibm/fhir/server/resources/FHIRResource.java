@@ -13,6 +13,7 @@ import static com.ibm.fhir.server.util.IssueTypeToHttpStatusMapper.issueListToSt
 import java.io.StringWriter;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -28,6 +29,7 @@ import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
@@ -38,6 +40,7 @@ import com.ibm.fhir.config.FHIRConfigHelper;
 import com.ibm.fhir.config.FHIRConfiguration;
 import com.ibm.fhir.config.FHIRRequestContext;
 import com.ibm.fhir.config.PropertyGroup;
+import com.ibm.fhir.core.FHIRMediaType;
 import com.ibm.fhir.exception.FHIROperationException;
 import com.ibm.fhir.model.format.Format;
 import com.ibm.fhir.model.generator.FHIRGenerator;
@@ -52,8 +55,10 @@ import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
 import com.ibm.fhir.persistence.helper.FHIRPersistenceHelper;
 import com.ibm.fhir.persistence.helper.PersistenceHelper;
+import com.ibm.fhir.provider.FHIRProvider;
 import com.ibm.fhir.server.exception.FHIRRestBundledRequestException;
 import com.ibm.fhir.server.listener.FHIRServletContextListener;
+import com.ibm.fhir.server.util.StreamingBundle;
 
 import net.jcip.annotations.NotThreadSafe;
 
@@ -98,6 +103,9 @@ public class FHIRResource {
     @Context
     protected SecurityContext securityContext;
 
+    @Context
+    protected HttpHeaders httpHeaders;
+
     protected PropertyGroup fhirConfig = null;
 
     /**
@@ -210,6 +218,48 @@ public class FHIRResource {
                 .lastModified(Date.from(resource.getMeta().getLastUpdated().getValue().toInstant()));
     }
 
+    /**
+     * Builds the response for a search or history bundle. A JSON response is written entry by entry (see
+     * {@link StreamingBundle}); an XML response is written by the provider once the whole bundle has been built.
+     */
+    protected Response bundleResponse(StreamingBundle bundle, Status status) {
+        MediaType mediaType = getStreamingMediaType();
+        if (mediaType == null) {
+            return Response.status(status).entity(bundle.toBundle()).build();
+        }
+        return Response.status(status)
+                .type(mediaType)
+                .entity(bundle.toStreamingOutput(FHIRProvider.isPretty(httpHeaders, uriInfo)))
+                .build();
+    }
+
+    /**
+     * @return the JSON media type which the client prefers, or null if it prefers XML or accepts neither
+     */
+    private MediaType getStreamingMediaType() {
+        for (MediaType acceptable : httpHeaders.getAcceptableMediaTypes()) {
+            MediaType mediaType;
+            if (acceptable.isCompatible(FHIRMediaType.APPLICATION_FHIR_JSON_TYPE)) {
+                // this includes wildcards, for which application/fhir+json is produced
+                mediaType = FHIRMediaType.APPLICATION_FHIR_JSON_TYPE;
+            } else if (acceptable.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                mediaType = MediaType.APPLICATION_JSON_TYPE;
+            } else if (acceptable.isCompatible(FHIRMediaType.APPLICATION_FHIR_XML_TYPE)
+                    || acceptable.isCompatible(MediaType.APPLICATION_XML_TYPE)) {
+                return null;
+            } else {
+                continue;
+            }
+            // the bundle is always written as UTF-8
+            String charset = acceptable.getParameters().get(MediaType.CHARSET_PARAMETER);
+            if (charset == null) {
+                return mediaType;
+            }
+            return StandardCharsets.UTF_8.name().equalsIgnoreCase(charset) ? mediaType.withCharset(charset) : null;
+        }
+        return null;
+    }
+
     private String getEtagValue(Resource resource) {
         return "W/\"" + resource.getMeta().getVersionId().getValue() + "\"";
     }
@@ -303,7 +353,7 @@ public class FHIRResource {
     /**
      * Retrieves the shared persistence helper object from the servlet context.
      */
-    private PersistenceHelper getPersistenceHelper() {
+    protected PersistenceHelper getPersistenceHelper() {
         if (persistenceHelper == null) {
             persistenceHelper =
                     (PersistenceHelper) context.getAttribute(FHIRPersistenceHelper.class.getName());
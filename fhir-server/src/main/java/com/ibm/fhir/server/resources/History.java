@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -31,6 +31,7 @@ import com.ibm.fhir.exception.FHIROperationException;
 import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.server.util.FHIRRestHelper;
 import com.ibm.fhir.server.util.RestAuditLogger;
+import com.ibm.fhir.server.util.StreamingBundle;
 
 @Path("/")
 @Consumes({ FHIRMediaType.APPLICATION_FHIR_JSON, MediaType.APPLICATION_JSON,
@@ -64,9 +65,10 @@ public class History extends FHIRResource {
             checkInitComplete();
 
             FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            bundle = helper.doHistory(type, id, uriInfo.getQueryParameters(), getRequestUri(), null);
+            StreamingBundle result = helper.doStreamingHistory(type, id, uriInfo.getQueryParameters(), getRequestUri(), null);
+            bundle = result.getEnvelope();
             status = Status.OK;
-            return Response.status(status).entity(bundle).build();
+            return bundleResponse(result, status);
         } catch (FHIROperationException e) {
             status = issueListToStatus(e.getIssues());
             return exceptionResponse(e, status);
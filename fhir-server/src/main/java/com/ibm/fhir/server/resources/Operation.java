@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -25,8 +25,6 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
-import javax.ws.rs.core.Context;
-import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -62,9 +60,6 @@ public class Operation extends FHIRResource {
         super();
     }
 
-    @Context
-    protected HttpHeaders httpHeaders;
-
     @GET
     @Path("${operationName}")
     public Response invoke(@PathParam("operationName") String operationName) {
@@ -82,7 +77,7 @@ public class Operation extends FHIRResource {
             operationContext.setProperty(FHIROperationContext.PROPNAME_HTTP_HEADERS, httpHeaders);
             operationContext.setProperty(FHIROperationContext.PROPNAME_METHOD_TYPE, HttpMethod.GET );
 
-            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
+            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl(), getPersistenceHelper());
             Resource result = helper.doInvoke(operationContext, null, null, null, operationName,
                     null, uriInfo.getQueryParameters(), null);
             Response response = buildResponse(operationContext, null, result);
@@ -123,7 +118,7 @@ public class Operation extends FHIRResource {
             operationContext.setProperty(FHIROperationContext.PROPNAME_HTTP_HEADERS, httpHeaders);
             operationContext.setProperty(FHIROperationContext.PROPNAME_METHOD_TYPE, HttpMethod.POST);
 
-            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
+            FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl(), getPersistenceHelper());
             Resource result = helper.doInvoke(operationContext, null, null, null, operationName,
                     resource, uriInfo.getQueryParameters(), null);
             Response response = buildResponse(operationContext, null, result);
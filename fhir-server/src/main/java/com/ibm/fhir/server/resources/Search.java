@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016, 2020
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -33,6 +33,7 @@ import com.ibm.fhir.exception.FHIROperationException;
 import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.server.util.FHIRRestHelper;
 import com.ibm.fhir.server.util.RestAuditLogger;
+import com.ibm.fhir.server.util.StreamingBundle;
 
 @Path("/")
 @Consumes({ FHIRMediaType.APPLICATION_FHIR_JSON, MediaType.APPLICATION_JSON,
@@ -68,9 +69,10 @@ public class Search extends FHIRResource {
 
             queryParameters = uriInfo.getQueryParameters();
             FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            bundle = helper.doSearch(type, null, null, queryParameters, getRequestUri(), null, null);
+            StreamingBundle result = helper.doStreamingSearch(type, null, null, queryParameters, getRequestUri(), null, null);
+            bundle = result.getEnvelope();
             status = Status.OK;
-            return Response.status(status).entity(bundle).build();
+            return bundleResponse(result, status);
         } catch (FHIROperationException e) {
             status = issueListToStatus(e.getIssues());
             return exceptionResponse(e, status);
@@ -104,9 +106,10 @@ public class Search extends FHIRResource {
 
             queryParameters = uriInfo.getQueryParameters();
             FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            bundle = helper.doSearch(type, compartment, compartmentId, queryParameters, getRequestUri(), null, null);
+            StreamingBundle result = helper.doStreamingSearch(type, compartment, compartmentId, queryParameters, getRequestUri(), null, null);
+            bundle = result.getEnvelope();
             status = Status.OK;
-            return Response.status(status).entity(bundle).build();
+            return bundleResponse(result, status);
         } catch (FHIROperationException e) {
             status = issueListToStatus(e.getIssues());
             return exceptionResponse(e, status);
@@ -140,9 +143,10 @@ public class Search extends FHIRResource {
 
             queryParameters = uriInfo.getQueryParameters();
             FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            bundle = helper.doSearch(type, null, null, queryParameters, getRequestUri(), null, null);
+            StreamingBundle result = helper.doStreamingSearch(type, null, null, queryParameters, getRequestUri(), null, null);
+            bundle = result.getEnvelope();
             status = Status.OK;
-            return Response.status(status).entity(bundle).build();
+            return bundleResponse(result, status);
         } catch (FHIROperationException e) {
             status = issueListToStatus(e.getIssues());
             return exceptionResponse(e, status);
@@ -186,9 +190,10 @@ public class Search extends FHIRResource {
 
             queryParameters = uriInfo.getQueryParameters();
             FHIRRestHelper helper = new FHIRRestHelper(getPersistenceImpl());
-            bundle = helper.doSearch("Resource", null, null, queryParameters, getRequestUri(), null, null);
+            StreamingBundle result = helper.doStreamingSearch("Resource", null, null, queryParameters, getRequestUri(), null, null);
+            bundle = result.getEnvelope();
             status = Status.OK;
-            return Response.status(status).entity(bundle).build();
+            return bundleResponse(result, status);
         } catch (FHIROperationException e) {
             status = issueListToStatus(e.getIssues());
             return exceptionResponse(e, status);
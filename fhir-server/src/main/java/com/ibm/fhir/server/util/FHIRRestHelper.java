@@ -9,6 +9,7 @@ package com.ibm.fhir.server.util;
 import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.model.util.ModelSupport.getResourceType;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_CREATED;
 import static javax.servlet.http.HttpServletResponse.SC_GONE;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
@@ -17,6 +18,7 @@ import java.net.URI;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,19 +27,28 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
 import org.owasp.encoder.Encode;
 
+import com.ibm.fhir.config.ConfigurationSnapshot;
 import com.ibm.fhir.config.FHIRConfigHelper;
 import com.ibm.fhir.config.FHIRConfiguration;
 import com.ibm.fhir.config.FHIRRequestContext;
@@ -61,6 +72,7 @@ import com.ibm.fhir.model.type.Code;
 import com.ibm.fhir.model.type.CodeableConcept;
 import com.ibm.fhir.model.type.Decimal;
 import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.type.Meta;
 import com.ibm.fhir.model.type.Reference;
 import com.ibm.fhir.model.type.UnsignedInt;
 import com.ibm.fhir.model.type.Uri;
@@ -73,6 +85,7 @@ import com.ibm.fhir.model.type.code.SearchEntryMode;
 import com.ibm.fhir.model.util.FHIRUtil;
 import com.ibm.fhir.model.util.ModelSupport;
 import com.ibm.fhir.model.util.ReferenceMappingVisitor;
+import com.ibm.fhir.model.visitor.DefaultVisitor;
 import com.ibm.fhir.path.FHIRPathNode;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator;
 import com.ibm.fhir.path.evaluator.FHIRPathEvaluator.EvaluationContext;
@@ -80,6 +93,7 @@ import com.ibm.fhir.path.exception.FHIRPathException;
 import com.ibm.fhir.path.patch.FHIRPathPatch;
 import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.ReindexProgress;
 import com.ibm.fhir.persistence.SingleResourceResult;
 import com.ibm.fhir.persistence.context.FHIRHistoryContext;
 import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
@@ -88,6 +102,7 @@ import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceDeletedException;
 import com.ibm.fhir.persistence.exception.FHIRPersistenceResourceNotFoundException;
 import com.ibm.fhir.persistence.helper.FHIRTransactionHelper;
+import com.ibm.fhir.persistence.helper.PersistenceHelper;
 import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
 import com.ibm.fhir.persistence.interceptor.impl.FHIRPersistenceInterceptorMgr;
 import com.ibm.fhir.persistence.jdbc.exception.FHIRPersistenceDataAccessException;
@@ -96,18 +111,21 @@ import com.ibm.fhir.profile.ProfileSupport;
 import com.ibm.fhir.provider.util.FHIRUrlParser;
 import com.ibm.fhir.search.SearchConstants;
 import com.ibm.fhir.search.SummaryValueSet;
+import com.ibm.fhir.search.TotalValueSet;
 import com.ibm.fhir.search.context.FHIRSearchContext;
 import com.ibm.fhir.search.exception.FHIRSearchException;
 import com.ibm.fhir.search.parameters.QueryParameter;
 import com.ibm.fhir.search.util.ReferenceUtil;
 import com.ibm.fhir.search.util.ReferenceValue;
 import com.ibm.fhir.search.util.SearchUtil;
+import com.ibm.fhir.server.cache.ResourceCache;
 import com.ibm.fhir.server.exception.FHIRRestBundledRequestException;
 import com.ibm.fhir.server.operation.FHIROperationRegistry;
 import com.ibm.fhir.server.operation.spi.FHIROperation;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
 import com.ibm.fhir.server.operation.spi.FHIRRestOperationResponse;
+import com.ibm.fhir.server.reindex.ReindexEngine;
 import com.ibm.fhir.validation.FHIRValidator;
 import com.ibm.fhir.validation.exception.FHIRValidationException;
 
@@ -121,6 +139,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
     public static final String EXTENSION_URL = "http://ibm.com/fhir/extension";
     private static final String LOCAL_REF_PREFIX = "urn:";
+    private static final String BATCH_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
     private static final com.ibm.fhir.model.type.String SC_BAD_REQUEST_STRING = string(Integer.toString(SC_BAD_REQUEST));
     private static final com.ibm.fhir.model.type.String SC_GONE_STRING = string(Integer.toString(SC_GONE));
     private static final com.ibm.fhir.model.type.String SC_NOT_FOUND_STRING = string(Integer.toString(SC_NOT_FOUND));
@@ -140,6 +159,9 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
     private FHIRPersistence persistence = null;
 
+    // Used to obtain a separate FHIRPersistence instance for each worker when processing batch entries in parallel.
+    private PersistenceHelper persistenceHelper = null;
+
     // These values are used for correlating requests within a bundle.
     private String bundleTransactionCorrelationId = null;
     private String bundleRequestCorrelationId = null;
@@ -148,6 +170,11 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         this.persistence = persistence;
     }
 
+    public FHIRRestHelper(FHIRPersistence persistence, PersistenceHelper persistenceHelper) {
+        this.persistence = persistence;
+        this.persistenceHelper = persistenceHelper;
+    }
+
     @Override
     public FHIRRestOperationResponse doCreate(String type, Resource resource, String ifNoneExist,
             Map<String, String> requestProperties, boolean doValidation) throws Exception {
@@ -760,9 +787,23 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                     new FHIRPersistenceEvent(contextResource, buildPersistenceEventProperties(type, id, null, searchContext));
             getInterceptorMgr().fireBeforeReadEvent(event);
 
-            FHIRPersistenceContext persistenceContext =
-                    FHIRPersistenceContextFactory.createPersistenceContext(event, includeDeleted, searchContext);
-            resource = persistence.read(persistenceContext, resourceType, id).getResource();
+            // Deleted resources and subsetted (_elements or _summary) reads are not cached
+            ResourceCache resourceCache = ResourceCache.getInstance();
+            if (resourceCache != null && (includeDeleted || isSubsetted(searchContext) || !resourceCache.isCached(type))) {
+                resourceCache = null;
+            }
+            if (resourceCache != null) {
+                resource = resourceCache.get(type, id, null);
+            }
+            if (resource == null) {
+                FHIRPersistenceContext persistenceContext =
+                        FHIRPersistenceContextFactory.createPersistenceContext(event, includeDeleted, searchContext);
+                resource = persistence.read(persistenceContext, resourceType, id).getResource();
+                // Within a transaction started by our caller (e.g. a transaction bundle), the resource may not be committed yet
+                if (resource != null && resourceCache != null && txn.isStartedByThis()) {
+                    resourceCache.put(type, id, null, resource);
+                }
+            }
             if (resource == null && throwExcOnNull) {
                 throw new FHIRPersistenceResourceNotFoundException("Resource '" + type + "/" + id + "' not found.");
             }
@@ -790,6 +831,14 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         }
     }
 
+    /**
+     * @param searchContext
+     * @return true if the search context requests a subset of the resource elements
+     */
+    private boolean isSubsetted(FHIRSearchContext searchContext) {
+        return searchContext != null && (searchContext.hasElementsParameters() || searchContext.hasSummaryParameter());
+    }
+
     @Override
     public Resource doVRead(String type, String id, String versionId, Map<String, String> requestProperties) throws Exception {
         return doVRead(type, id, versionId, requestProperties, null);
@@ -831,9 +880,22 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                     new FHIRPersistenceEvent(null, buildPersistenceEventProperties(type, id, versionId, searchContext));
             getInterceptorMgr().fireBeforeVreadEvent(event);
 
-            FHIRPersistenceContext persistenceContext =
-                    FHIRPersistenceContextFactory.createPersistenceContext(event, searchContext);
-            resource = persistence.vread(persistenceContext, resourceType, id, versionId).getResource();
+            ResourceCache resourceCache = ResourceCache.getInstance();
+            if (resourceCache != null && (isSubsetted(searchContext) || !resourceCache.isCached(type))) {
+                resourceCache = null;
+            }
+            if (resourceCache != null) {
+                resource = resourceCache.get(type, id, versionId);
+            }
+            if (resource == null) {
+                FHIRPersistenceContext persistenceContext =
+                        FHIRPersistenceContextFactory.createPersistenceContext(event, searchContext);
+                resource = persistence.vread(persistenceContext, resourceType, id, versionId).getResource();
+                // Within a transaction started by our caller (e.g. a transaction bundle), the version may not be committed yet
+                if (resource != null && resourceCache != null && txn.isStartedByThis()) {
+                    resourceCache.put(type, id, versionId, resource);
+                }
+            }
             if (resource == null) {
                 throw new FHIRPersistenceResourceNotFoundException("Resource '"
                         + resourceType.getSimpleName() + "/" + id + "' version " + versionId + " not found.");
@@ -880,6 +942,28 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
     @Override
     public Bundle doHistory(String type, String id, MultivaluedMap<String, String> queryParameters,
             String requestUri, Map<String, String> requestProperties) throws Exception {
+        return doStreamingHistory(type, id, queryParameters, requestUri, requestProperties).toBundle();
+    }
+
+    /**
+     * Performs a 'history' operation like {@link #doHistory}, but returns the response bundle in a form which can be
+     * written entry by entry. The whole bundle is only built here if an afterHistory interceptor needs it.
+     *
+     * @param type
+     *            the resource type associated with the history
+     * @param id
+     *            the resource logical id associated with the history
+     * @param queryParameters
+     *            a Map containing the query parameters from the request URL
+     * @param requestUri
+     *            the request URI
+     * @param requestProperties
+     *            additional request properties which supplement the HTTP headers associated with this request
+     * @return the history response bundle
+     * @throws Exception
+     */
+    public StreamingBundle doStreamingHistory(String type, String id, MultivaluedMap<String, String> queryParameters,
+            String requestUri, Map<String, String> requestProperties) throws Exception {
         log.entering(this.getClass().getName(), "doHistory");
 
         // Validate that interaction is allowed for given resource type
@@ -889,7 +973,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         FHIRTransactionHelper txn = new FHIRTransactionHelper(getTransaction());
         txn.begin();
 
-        Bundle bundle = null;
+        StreamingBundle bundle = null;
 
         // Save the current request context.
         FHIRRequestContext requestContext = FHIRRequestContext.get();
@@ -914,10 +998,10 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                     FHIRPersistenceContextFactory.createPersistenceContext(event, historyContext);
             List<? extends Resource> resources =
                     persistence.history(persistenceContext, resourceType, id).getResource();
-            bundle = createHistoryBundle(resources, historyContext, type);
-            bundle = addLinks(historyContext, bundle, requestUri);
+            bundle = createHistoryBundle(resources, historyContext, type, requestUri);
 
-            event.setFhirResource(bundle);
+            // The whole bundle is only built up front if an interceptor needs it
+            event.setFhirResource(getInterceptorMgr().hasAfterHistoryInterceptors() ? bundle.toBundle() : bundle.getEnvelope());
 
             // Invoke the 'afterHistory' interceptor methods.
             getInterceptorMgr().fireAfterHistoryEvent(event);
@@ -947,6 +1031,44 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         return doSearch(type, compartment, compartmentId, queryParameters, requestUri, requestProperties, contextResource, true);
     }
 
+    /**
+     * Performs a 'search' operation like {@link #doSearch(String, String, String, MultivaluedMap, String, Map, Resource)},
+     * but returns the response bundle in a form which can be written entry by entry. The whole bundle is only built
+     * here if an afterSearch interceptor needs it.
+     *
+     * @param type
+     *            the resource type associated with the search
+     * @param compartment
+     *            the compartment associated with the search
+     * @param compartmentId
+     *            the ID of the compartment associated with the search
+     * @param queryParameters
+     *            a Map containing the query parameters from the request URL
+     * @param requestUri
+     *            the request URI
+     * @param requestProperties
+     *            additional request properties which supplement the HTTP headers associated with this request
+     * @param contextResource
+     *            a FHIR resource associated with this request
+     * @return the search response bundle
+     * @throws Exception
+     */
+    public StreamingBundle doStreamingSearch(String type, String compartment, String compartmentId,
+            MultivaluedMap<String, String> queryParameters, String requestUri,
+            Map<String, String> requestProperties, Resource contextResource) throws Exception {
+        return doStreamingSearch(type, compartment, compartmentId, queryParameters, requestUri, requestProperties, contextResource, true);
+    }
+
+    /**
+     * @see #doStreamingSearch(String, String, String, MultivaluedMap, String, Map, Resource, boolean)
+     */
+    private Bundle doSearch(String type, String compartment, String compartmentId,
+            MultivaluedMap<String, String> queryParameters, String requestUri,
+            Map<String, String> requestProperties, Resource contextResource, boolean checkInteractionAllowed) throws Exception {
+        return doStreamingSearch(type, compartment, compartmentId, queryParameters, requestUri, requestProperties, contextResource,
+            checkInteractionAllowed).toBundle();
+    }
+
     /**
      * Performs heavy lifting associated with a 'search' operation.
      *
@@ -966,10 +1088,10 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
      *            a FHIR resource associated with this request
      * @param checkInteractionAllowed
      *            if true, check if this interaction is allowed per the tenant configuration; if false, assume interaction is allowed
-     * @return a Bundle containing the search result set
+     * @return a StreamingBundle containing the search result set
      * @throws Exception
      */
-    private Bundle doSearch(String type, String compartment, String compartmentId,
+    private StreamingBundle doStreamingSearch(String type, String compartment, String compartmentId,
             MultivaluedMap<String, String> queryParameters, String requestUri,
             Map<String, String> requestProperties, Resource contextResource, boolean checkInteractionAllowed) throws Exception {
         log.entering(this.getClass().getName(), "doSearch");
@@ -983,7 +1105,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         // Start a new txn in the persistence layer if one is not already active.
         txn.begin();
 
-        Bundle bundle = null;
+        StreamingBundle bundle = null;
 
         // Save the current request context.
         FHIRRequestContext requestContext = FHIRRequestContext.get();
@@ -1012,11 +1134,10 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
             List<Resource> resources =
                     persistence.search(persistenceContext, resourceType).getResource();
 
-            bundle = createSearchBundle(resources, searchContext, type);
-            if (requestUri != null) {
-                bundle = addLinks(searchContext, bundle, requestUri);
-            }
-            event.setFhirResource(bundle);
+            bundle = createSearchBundle(resources, searchContext, type, requestUri);
+
+            // The whole bundle is only built up front if an interceptor needs it
+            event.setFhirResource(getInterceptorMgr().hasAfterSearchInterceptors() ? bundle.toBundle() : bundle.getEnvelope());
 
             // Invoke the 'afterSearch' interceptor methods.
             getInterceptorMgr().fireAfterSearchEvent(event);
@@ -1657,106 +1778,518 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
             // Now visit each of the request entries using the list of indices obtained above.
             // Use hashmap to store both the index and the accordingly updated response bundle entry.
-            Map<Integer, Bundle.Entry> responseIndexAndEntries = new HashMap<Integer, Bundle.Entry>();
-            for (Integer entryIndex : entryIndices) {
-                Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
-                Bundle.Entry.Request request = requestEntry.getRequest();
-                Bundle.Entry responseEntry = responseBundle.getEntry().get(entryIndex);
-                Bundle.Entry.Response response = responseEntry.getResponse();
-                if (response.getStatus().equals(SC_OK_STRING) && request.getMethod().equals(httpMethod)) {
-                    // Process request entry.
-                    Bundle.Entry.Builder responseEntryBuilder = responseEntry.toBuilder();
-                    StringBuffer requestDescription = new StringBuffer();
-                    long initialTime = System.currentTimeMillis();
-
-                    try {
-                        FHIRUrlParser requestURL = new FHIRUrlParser(request.getUrl().getValue());
+            // For batch bundles, independent entries may be fanned out to the batch executor, so the
+            // map must tolerate concurrent updates.
+            Map<Integer, Bundle.Entry> responseIndexAndEntries = new ConcurrentHashMap<Integer, Bundle.Entry>();
+            int parallelism = getEntryParallelism(requestBundle, httpMethod, failFast, entryIndices, localRefMap);
+            ExecutorService executor = parallelism > 1 ? getBatchExecutor() : null;
+            if (executor != null) {
+                processEntriesInParallel(requestBundle, responseBundle, httpMethod, entryIndices, localRefMap,
+                    responseIndexAndEntries, bundleRequestCorrelationId, parallelism, executor);
+            } else if (failFast && httpMethod.equals(HTTPVerb.POST)) {
+                processPostEntriesForTransaction(requestBundle, responseBundle, entryIndices, localRefMap,
+                    responseIndexAndEntries, bundleRequestCorrelationId);
+            } else {
+                for (Integer entryIndex : entryIndices) {
+                    processEntry(requestBundle, responseBundle, httpMethod, failFast, entryIndex, localRefMap,
+                        responseIndexAndEntries, bundleRequestCorrelationId);
+                }
+            }
 
-                        if (log.isLoggable(Level.FINER)) {
-                            log.finer("Processing bundle request entry " + entryIndex + "; method="
-                                    + request.getMethod().getValue() + ", url="
-                                    + request.getUrl().getValue());
-                            log.finer("--> path: '" + requestURL.getPath() + "'");
-                            log.finer("--> query: '" + requestURL.getQuery() + "'");
-                        }
+            // Now, let's re-construct the responseBundle
+            responseBundle = reconstructResponseBundle(responseBundle, responseIndexAndEntries);
+            return responseBundle;
 
-                        // Log our initial info message for this request.
-                        requestDescription.append("entryIndex:[");
-                        requestDescription.append(entryIndex);
-                        requestDescription.append("] correlationId:[");
-                        requestDescription.append(bundleRequestCorrelationId);
-                        requestDescription.append("] method:[");
-                        requestDescription.append(request.getMethod().getValue());
-                        requestDescription.append("] uri:[");
-                        requestDescription.append(request.getUrl().getValue());
-                        requestDescription.append("]");
-                        log.info("Received bundle request: " + requestDescription.toString());
-
-                        // Construct the absolute requestUri to be used for any response bundles associated
-                        // with history and search requests.
-                        String absoluteUri = getAbsoluteUri(getRequestUri(), request.getUrl().getValue());
-
-                        if (request.getMethod().equals(HTTPVerb.GET)) {
-                            processEntryForGet(responseEntry, responseIndexAndEntries, entryIndex, requestURL, absoluteUri, requestDescription.toString(), initialTime);
-                        } else if (request.getMethod().equals(HTTPVerb.POST)) {
-                            processEntryForPost(requestEntry, responseEntry, responseIndexAndEntries, entryIndex, localRefMap, requestURL, absoluteUri, requestDescription.toString(), initialTime);
-                        } else if (request.getMethod().equals(HTTPVerb.PUT)) {
-                            processEntryForPut(requestEntry, responseEntry, responseIndexAndEntries, entryIndex, localRefMap, requestURL, absoluteUri, requestDescription.toString(), initialTime);
-                        } else if (request.getMethod().equals(HTTPVerb.DELETE)) {
-                            processEntryForDelete(responseEntry, responseIndexAndEntries, entryIndex, requestURL, requestDescription.toString(), initialTime);
-                        } else if (request.getMethod().equals(HTTPVerb.PATCH)) {
-                            processEntryforPatch(requestEntry, responseEntry, responseIndexAndEntries, requestURL,entryIndex, requestDescription.toString(), initialTime);
-                        } else {
-                            // Internal error, should not get here!
-                            throw new IllegalStateException("Internal Server Error: reached an unexpected code location.");
-                        }
-                    } catch (FHIRPersistenceResourceNotFoundException e) {
-                        if (failFast) {
-                            String msg = "Error while processing request bundle.";
-                            throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
-                        }
+        } finally {
+            log.exiting(this.getClass().getName(), "processEntriesForMethod");
+        }
+    }
 
-                        Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                        responseBuilder.status(SC_NOT_FOUND_STRING);
-                        responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
-                        logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, SC_NOT_FOUND);
-                    } catch (FHIRPersistenceResourceDeletedException e) {
-                        if (failFast) {
-                            String msg = "Error while processing request bundle.";
-                            throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
-                        }
+    /**
+     * Processes the request entry at the specified index, storing the updated response entry in 'responseIndexAndEntries'.
+     *
+     * @param requestBundle
+     *            the bundle containing the request entries
+     * @param responseBundle
+     *            the bundle containing the corresponding response entries
+     * @param httpMethod
+     *            the HTTP method (GET, POST, PUT, etc.) to be processed
+     * @param failFast
+     *            a boolean value indicating if processing should stop on first failure
+     * @param entryIndex
+     *            the index of the request entry to process
+     * @param localRefMap
+     *            the map of local references to external references
+     * @param responseIndexAndEntries
+     *            the map of response entry indices to updated response entries
+     * @param bundleRequestCorrelationId
+     *            the bundle request correlation ID
+     * @throws Exception
+     */
+    private void processEntry(Bundle requestBundle, Bundle responseBundle, HTTPVerb httpMethod, boolean failFast,
+            Integer entryIndex, Map<String, String> localRefMap, Map<Integer, Bundle.Entry> responseIndexAndEntries,
+            String bundleRequestCorrelationId) throws Exception {
+        Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
+        Bundle.Entry.Request request = requestEntry.getRequest();
+        Bundle.Entry responseEntry = responseBundle.getEntry().get(entryIndex);
+        Bundle.Entry.Response response = responseEntry.getResponse();
+        if (response.getStatus().equals(SC_OK_STRING) && request.getMethod().equals(httpMethod)) {
+            // Process request entry.
+            Bundle.Entry.Builder responseEntryBuilder = responseEntry.toBuilder();
+            StringBuffer requestDescription = new StringBuffer();
+            long initialTime = System.currentTimeMillis();
 
-                        Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                        responseBuilder.status(SC_GONE_STRING);
-                        responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
-                        logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, SC_GONE);
-                    } catch (FHIROperationException e) {
-                        if (failFast) {
-                            String msg = "Error while processing request bundle.";
-                            throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
-                        }
+            try {
+                FHIRUrlParser requestURL = new FHIRUrlParser(request.getUrl().getValue());
 
-                        Status status;
-                        if (e instanceof FHIRSearchException) {
-                            status = Status.BAD_REQUEST;
-                        } else {
-                            status = IssueTypeToHttpStatusMapper.issueListToStatus(e.getIssues());
+                if (log.isLoggable(Level.FINER)) {
+                    log.finer("Processing bundle request entry " + entryIndex + "; method="
+                            + request.getMethod().getValue() + ", url="
+                            + request.getUrl().getValue());
+                    log.finer("--> path: '" + requestURL.getPath() + "'");
+                    log.finer("--> query: '" + requestURL.getQuery() + "'");
+                }
+
+                // Log our initial info message for this request.
+                requestDescription.append("entryIndex:[");
+                requestDescription.append(entryIndex);
+                requestDescription.append("] correlationId:[");
+                requestDescription.append(bundleRequestCorrelationId);
+                requestDescription.append("] method:[");
+                requestDescription.append(request.getMethod().getValue());
+                requestDescription.append("] uri:[");
+                requestDescription.append(request.getUrl().getValue());
+                requestDescription.append("]");
+                log.info("Received bundle request: " + requestDescription.toString());
+
+                // Construct the absolute requestUri to be used for any response bundles associated
+                // with history and search requests.
+                String absoluteUri = getAbsoluteUri(getRequestUri(), request.getUrl().getValue());
+
+                if (request.getMethod().equals(HTTPVerb.GET)) {
+                    processEntryForGet(responseEntry, responseIndexAndEntries, entryIndex, requestURL, absoluteUri, requestDescription.toString(), initialTime);
+                } else if (request.getMethod().equals(HTTPVerb.POST)) {
+                    processEntryForPost(requestEntry, responseEntry, responseIndexAndEntries, entryIndex, localRefMap, requestURL, absoluteUri, requestDescription.toString(), initialTime);
+                } else if (request.getMethod().equals(HTTPVerb.PUT)) {
+                    processEntryForPut(requestEntry, responseEntry, responseIndexAndEntries, entryIndex, localRefMap, requestURL, absoluteUri, requestDescription.toString(), initialTime);
+                } else if (request.getMethod().equals(HTTPVerb.DELETE)) {
+                    processEntryForDelete(responseEntry, responseIndexAndEntries, entryIndex, requestURL, requestDescription.toString(), initialTime);
+                } else if (request.getMethod().equals(HTTPVerb.PATCH)) {
+                    processEntryforPatch(requestEntry, responseEntry, responseIndexAndEntries, requestURL,entryIndex, requestDescription.toString(), initialTime);
+                } else {
+                    // Internal error, should not get here!
+                    throw new IllegalStateException("Internal Server Error: reached an unexpected code location.");
+                }
+            } catch (FHIRPersistenceResourceNotFoundException e) {
+                if (failFast) {
+                    String msg = "Error while processing request bundle.";
+                    throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+                }
+
+                Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+                responseBuilder.status(SC_NOT_FOUND_STRING);
+                responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
+                logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, SC_NOT_FOUND);
+            } catch (FHIRPersistenceResourceDeletedException e) {
+                if (failFast) {
+                    String msg = "Error while processing request bundle.";
+                    throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+                }
+
+                Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+                responseBuilder.status(SC_GONE_STRING);
+                responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
+                logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, SC_GONE);
+            } catch (FHIROperationException e) {
+                if (failFast) {
+                    String msg = "Error while processing request bundle.";
+                    throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
+                }
+
+                Status status;
+                if (e instanceof FHIRSearchException) {
+                    status = Status.BAD_REQUEST;
+                } else {
+                    status = IssueTypeToHttpStatusMapper.issueListToStatus(e.getIssues());
+                }
+
+                Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
+                responseBuilder.status(string(Integer.toString(status.getStatusCode())));
+                responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
+                logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, status.getStatusCode());
+            }
+        }
+    }
+
+    /**
+     * Determines how many workers should be used to process the request entries in 'entryIndices'.
+     *
+     * <p>Entries are only processed in parallel for batch bundles (failFast is false), and only when none of the
+     * entries in 'entryIndices' references a local identifier whose mapping is added while another of these entries
+     * is processed (e.g. a conditional create with a local identifier). Otherwise, the entries are processed serially
+     * so that later entries see the mappings added by earlier ones. Entries of other methods are processed in their
+     * own phase, so they never affect the parallelism of this one.
+     *
+     * @param requestBundle
+     *            the bundle containing the request entries
+     * @param httpMethod
+     *            the HTTP method (GET, POST, PUT, etc.) to be processed
+     * @param failFast
+     *            a boolean value indicating if processing should stop on first failure
+     * @param entryIndices
+     *            the indices of the request entries to be processed
+     * @param localRefMap
+     *            the map of local references to external references
+     * @return the number of workers to use; 1 means process serially
+     * @throws Exception
+     */
+    private int getEntryParallelism(Bundle requestBundle, HTTPVerb httpMethod, boolean failFast,
+            List<Integer> entryIndices, Map<String, String> localRefMap) throws Exception {
+        if (failFast || persistenceHelper == null || entryIndices.size() < 2) {
+            return 1;
+        }
+
+        int parallelism = Math.min(getBatchParallelism(), entryIndices.size());
+        if (parallelism > 1 && (httpMethod.equals(HTTPVerb.POST) || httpMethod.equals(HTTPVerb.PUT))) {
+            // The local identifiers which entries of this method will map while they are processed
+            Set<String> unmappedIdentifiers = new HashSet<>();
+            for (Integer entryIndex : entryIndices) {
+                String localIdentifier = retrieveLocalIdentifier(requestBundle.getEntry().get(entryIndex));
+                if (localIdentifier != null && localRefMap.get(localIdentifier) == null) {
+                    unmappedIdentifiers.add(localIdentifier);
+                }
+            }
+
+            // Only an entry of this method which references one of them depends on the processing order
+            if (!unmappedIdentifiers.isEmpty()) {
+                for (Integer entryIndex : entryIndices) {
+                    Resource resource = requestBundle.getEntry().get(entryIndex).getResource();
+                    if (resource != null && referencesAny(resource, unmappedIdentifiers)) {
+                        if (log.isLoggable(Level.FINE)) {
+                            log.fine("Bundle request entry " + entryIndex + " references a local identifier mapped by another "
+                                    + httpMethod.getValue() + " entry; processing " + httpMethod.getValue() + " entries serially");
                         }
+                        return 1;
+                    }
+                }
+            }
+        }
+        return parallelism;
+    }
+
+    /**
+     * @param resource
+     *            the resource to check
+     * @param localIdentifiers
+     *            the local identifiers to look for
+     * @return true if any Reference within the resource refers to one of the local identifiers
+     */
+    private boolean referencesAny(Resource resource, Set<String> localIdentifiers) {
+        boolean[] found = { false };
+        resource.accept(new DefaultVisitor(true) {
+            @Override
+            public boolean visit(String elementName, int elementIndex, Reference reference) {
+                if (reference.getReference() != null && localIdentifiers.contains(reference.getReference().getValue())) {
+                    found[0] = true;
+                }
+                return false;
+            }
+        });
+        return found[0];
+    }
 
-                        Bundle.Entry.Response.Builder responseBuilder = response.toBuilder();
-                        responseBuilder.status(string(Integer.toString(status.getStatusCode())));
-                        responseIndexAndEntries.put(entryIndex, responseEntryBuilder.resource(FHIRUtil.buildOperationOutcome(e, false)).response(responseBuilder.build()).build());
-                        logBundleRequestCompletedMsg(requestDescription.toString(), initialTime, status.getStatusCode());
+    /**
+     * Processes the request entries in 'entryIndices' using up to 'parallelism' tasks submitted to 'executor'.
+     * Each task uses its own FHIRRestHelper and FHIRPersistence instance, so each entry is processed within
+     * its own persistence transaction on the worker thread.
+     *
+     * @param requestBundle
+     *            the bundle containing the request entries
+     * @param responseBundle
+     *            the bundle containing the corresponding response entries
+     * @param httpMethod
+     *            the HTTP method (GET, POST, PUT, etc.) to be processed
+     * @param entryIndices
+     *            the indices of the request entries to be processed
+     * @param localRefMap
+     *            the map of local references to external references
+     * @param responseIndexAndEntries
+     *            the map of response entry indices to updated response entries
+     * @param bundleRequestCorrelationId
+     *            the bundle request correlation ID
+     * @param parallelism
+     *            the maximum number of entries to process concurrently
+     * @param executor
+     *            the executor used to run the tasks
+     * @throws Exception
+     */
+    private void processEntriesInParallel(Bundle requestBundle, Bundle responseBundle, HTTPVerb httpMethod,
+            List<Integer> entryIndices, Map<String, String> localRefMap, Map<Integer, Bundle.Entry> responseIndexAndEntries,
+            String bundleRequestCorrelationId, int parallelism, ExecutorService executor) throws Exception {
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("Processing " + entryIndices.size() + " bundle request entries for method "
+                    + httpMethod.getValue() + " with parallelism " + parallelism);
+        }
+
+        // The request context is thread-local, so hand the caller's context to each worker.
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        Queue<Integer> pendingIndices = new ConcurrentLinkedQueue<>(entryIndices);
+        List<Future<Void>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            FHIRRestHelper worker = new FHIRRestHelper(persistenceHelper.getFHIRPersistenceImplementation());
+            worker.bundleRequestCorrelationId = bundleRequestCorrelationId;
+            futures.add(executor.submit(() -> {
+                FHIRRequestContext workerContext = FHIRRequestContext.get();
+                FHIRRequestContext.set(requestContext);
+                try {
+                    Integer entryIndex;
+                    while ((entryIndex = pendingIndices.poll()) != null) {
+                        worker.processEntry(requestBundle, responseBundle, httpMethod, false, entryIndex, localRefMap,
+                            responseIndexAndEntries, bundleRequestCorrelationId);
                     }
+                    return null;
+                } finally {
+                    FHIRRequestContext.set(workerContext);
+                }
+            }));
+        }
+
+        // Wait for all of the tasks to finish before reporting the first failure (if any).
+        Exception failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
                 }
             }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-            // Now, let's re-construct the responseBundle
-            responseBundle = reconstructResponseBundle(responseBundle, responseIndexAndEntries);
-            return responseBundle;
+    /**
+     * Processes the POST request entries of a transaction bundle. Runs of consecutive entries which are plain
+     * creates (see {@link #isGroupedCreate}) are written with a single FHIRPersistence.createAll call, so that
+     * their inserts can be batched; every other entry is processed on its own, in bundle order.
+     *
+     * @param requestBundle
+     *            the bundle containing the request entries
+     * @param responseBundle
+     *            the bundle containing the corresponding response entries
+     * @param entryIndices
+     *            the indices of the POST request entries to be processed
+     * @param localRefMap
+     *            the map of local references to external references
+     * @param responseIndexAndEntries
+     *            the map of response entry indices to updated response entries
+     * @param bundleRequestCorrelationId
+     *            the bundle request correlation ID
+     * @throws Exception
+     */
+    private void processPostEntriesForTransaction(Bundle requestBundle, Bundle responseBundle, List<Integer> entryIndices,
+            Map<String, String> localRefMap, Map<Integer, Bundle.Entry> responseIndexAndEntries,
+            String bundleRequestCorrelationId) throws Exception {
+        List<Integer> group = new ArrayList<>();
+        for (Integer entryIndex : entryIndices) {
+            if (isGroupedCreate(requestBundle, responseBundle, entryIndex, localRefMap)) {
+                group.add(entryIndex);
+            } else {
+                processCreateGroup(requestBundle, responseBundle, group, localRefMap, responseIndexAndEntries, bundleRequestCorrelationId);
+                group.clear();
+                processEntry(requestBundle, responseBundle, HTTPVerb.POST, true, entryIndex, localRefMap,
+                    responseIndexAndEntries, bundleRequestCorrelationId);
+            }
+        }
+        processCreateGroup(requestBundle, responseBundle, group, localRefMap, responseIndexAndEntries, bundleRequestCorrelationId);
+    }
+
+    /**
+     * @return true if the POST request entry at 'entryIndex' is a non-conditional create whose resource doesn't
+     *         reference a local identifier which is still unmapped (i.e. one mapped by a conditional create),
+     *         so it can be created together with its neighbours
+     */
+    private boolean isGroupedCreate(Bundle requestBundle, Bundle responseBundle, Integer entryIndex, Map<String, String> localRefMap) {
+        Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
+        Bundle.Entry.Request request = requestEntry.getRequest();
+        Resource resource = requestEntry.getResource();
+        if (resource == null || !responseBundle.getEntry().get(entryIndex).getResponse().getStatus().equals(SC_OK_STRING)
+                || !request.getMethod().equals(HTTPVerb.POST)
+                || (request.getIfNoneExist() != null && request.getIfNoneExist().getValue() != null && !request.getIfNoneExist().getValue().isEmpty())) {
+            return false;
+        }
+
+        String[] pathTokens = new FHIRUrlParser(request.getUrl().getValue()).getPathTokens();
+        if (pathTokens.length != 1 || !pathTokens[0].equals(ModelSupport.getTypeName(resource.getClass()))) {
+            return false;
+        }
+
+        boolean[] unmapped = { false };
+        resource.accept(new DefaultVisitor(true) {
+            @Override
+            public boolean visit(String elementName, int elementIndex, Reference reference) {
+                if (reference.getReference() != null && reference.getReference().getValue() != null
+                        && reference.getReference().getValue().startsWith(LOCAL_REF_PREFIX)
+                        && localRefMap.get(reference.getReference().getValue()) == null) {
+                    unmapped[0] = true;
+                }
+                return false;
+            }
+        });
+        return !unmapped[0];
+    }
+
+    /**
+     * Creates the resources of the POST request entries in 'entryIndices' with a single FHIRPersistence.createAll
+     * call. Each entry still gets its own interaction check, interceptor events and response, as it would from
+     * {@link #doCreate}. A group of just one entry is processed by {@link #processEntry}.
+     *
+     * <p>Only used for transaction bundles, so any failure fails the whole bundle.
+     *
+     * @param requestBundle
+     *            the bundle containing the request entries
+     * @param responseBundle
+     *            the bundle containing the corresponding response entries
+     * @param entryIndices
+     *            the indices of the request entries to be created together
+     * @param localRefMap
+     *            the map of local references to external references
+     * @param responseIndexAndEntries
+     *            the map of response entry indices to updated response entries
+     * @param bundleRequestCorrelationId
+     *            the bundle request correlation ID
+     * @throws Exception
+     */
+    private void processCreateGroup(Bundle requestBundle, Bundle responseBundle, List<Integer> entryIndices,
+            Map<String, String> localRefMap, Map<Integer, Bundle.Entry> responseIndexAndEntries,
+            String bundleRequestCorrelationId) throws Exception {
+        if (entryIndices.size() < 2) {
+            for (Integer entryIndex : entryIndices) {
+                processEntry(requestBundle, responseBundle, HTTPVerb.POST, true, entryIndex, localRefMap,
+                    responseIndexAndEntries, bundleRequestCorrelationId);
+            }
+            return;
+        }
+
+        // Save the current request context.
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        long initialTime = System.currentTimeMillis();
+        int count = entryIndices.size();
+        List<String> requestDescriptions = new ArrayList<>(count);
+        List<String> localIdentifiers = new ArrayList<>(count);
+        List<List<Issue>> warnings = new ArrayList<>(count);
+        List<FHIRPersistenceEvent> events = new ArrayList<>(count);
+        List<FHIRPersistenceContext> persistenceContexts = new ArrayList<>(count);
+        List<Resource> resources = new ArrayList<>(count);
+        try {
+            for (Integer entryIndex : entryIndices) {
+                Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
+                Bundle.Entry.Request request = requestEntry.getRequest();
+                String requestDescription = "entryIndex:[" + entryIndex + "] correlationId:[" + bundleRequestCorrelationId
+                        + "] method:[" + request.getMethod().getValue() + "] uri:[" + request.getUrl().getValue() + "]";
+                log.info("Received bundle request: " + requestDescription);
+                requestDescriptions.add(requestDescription);
+
+                Resource resource = requestEntry.getResource();
+                String type = ModelSupport.getTypeName(resource.getClass());
+                validateInteraction(Interaction.CREATE.value(), type);
+
+                // Convert any local references found within the resource to their corresponding external reference.
+                ReferenceMappingVisitor<Resource> visitor = new ReferenceMappingVisitor<Resource>(localRefMap);
+                resource.accept(visitor);
+                resource = visitor.getResult();
+
+                List<Issue> entryWarnings = new ArrayList<>();
+                if (resource.getId() != null) {
+                    String msg = "The create request resource included id: '" + resource.getId() + "'; this id has been replaced";
+                    entryWarnings.add(FHIRUtil.buildOperationOutcomeIssue(IssueSeverity.INFORMATION, IssueType.INFORMATIONAL, msg));
+                }
+                warnings.add(entryWarnings);
+
+                // Use the id pre-generated for the entry's local identifier, if any, otherwise let the persistence layer pick one.
+                String localIdentifier = retrieveLocalIdentifier(requestEntry);
+                localIdentifiers.add(localIdentifier);
+                resource = resource.toBuilder().id(retrieveGeneratedIdentifier(localRefMap, localIdentifier)).build();
+
+                FHIRPersistenceEvent event =
+                        new FHIRPersistenceEvent(resource, buildPersistenceEventProperties(type, resource.getId(), null, null));
+                getInterceptorMgr().fireBeforeCreateEvent(event);
+                events.add(event);
+                persistenceContexts.add(FHIRPersistenceContextFactory.createPersistenceContext(event));
+                resources.add(resource);
+            }
+
+            List<SingleResourceResult<Resource>> results = persistence.createAll(persistenceContexts, resources);
 
+            for (int i = 0; i < count; i++) {
+                Integer entryIndex = entryIndices.get(i);
+                SingleResourceResult<Resource> result = results.get(i);
+                Resource resource = result.getResource();
+                if (result.isSuccess() && result.getOutcome() != null) {
+                    warnings.get(i).addAll(result.getOutcome().getIssue());
+                }
+
+                FHIRPersistenceEvent event = events.get(i);
+                event.setFhirResource(resource); // update event with latest
+                URI locationURI = FHIRUtil.buildLocationURI(ModelSupport.getTypeName(resource.getClass()), resource);
+                event.getProperties().put(FHIRPersistenceEvent.PROPNAME_RESOURCE_LOCATION_URI, locationURI.toString());
+                getInterceptorMgr().fireAfterCreateEvent(event);
+
+                // If a local identifier was present and not already mapped to its external identifier, add mapping.
+                String localIdentifier = localIdentifiers.get(i);
+                if (localIdentifier != null && localRefMap.get(localIdentifier) == null) {
+                    addLocalRefMapping(localRefMap, localIdentifier, null, resource);
+                }
+
+                Bundle.Entry resultEntry = setBundleResponseFields(responseBundle.getEntry().get(entryIndex), resource,
+                        FHIRUtil.buildOperationOutcome(warnings.get(i)), locationURI, SC_CREATED, requestDescriptions.get(i), initialTime);
+                responseIndexAndEntries.put(entryIndex, resultEntry);
+            }
+        } catch (FHIROperationException e) {
+            String msg = "Error while processing request bundle.";
+            throw new FHIRRestBundledRequestException(msg).withIssue(e.getIssues());
         } finally {
-            log.exiting(this.getClass().getName(), "processEntriesForMethod");
+            // Restore the original request context.
+            FHIRRequestContext.set(requestContext);
+        }
+    }
+
+    /**
+     * Returns the configured maximum number of batch bundle entries to process concurrently.
+     *
+     * @return the value of the 'fhirServer/core/batchParallelism' property, or 1 if not set
+     */
+    protected int getBatchParallelism() {
+        return FHIRConfigHelper.getIntProperty(FHIRConfiguration.PROPERTY_BATCH_PARALLELISM, 1);
+    }
+
+    /**
+     * Returns the executor used to process batch bundle entries in parallel.
+     *
+     * @return the container's default managed executor service, or null if it is not available
+     */
+    protected ExecutorService getBatchExecutor() {
+        try {
+            return InitialContext.doLookup(BATCH_EXECUTOR_JNDI_NAME);
+        } catch (NamingException e) {
+            log.warning("Unable to look up '" + BATCH_EXECUTOR_JNDI_NAME + "'; processing bundle request entries serially");
+            return null;
+        }
+    }
+
+    /**
+     * Returns the executor used to run the server-side reindex workers.
+     *
+     * @return the container's default managed executor service
+     * @throws FHIROperationException if it is not available
+     */
+    protected ExecutorService getReindexExecutor() throws FHIROperationException {
+        try {
+            return InitialContext.doLookup(BATCH_EXECUTOR_JNDI_NAME);
+        } catch (NamingException e) {
+            throw new FHIROperationException("Unable to look up '" + BATCH_EXECUTOR_JNDI_NAME + "' to run the reindex workers", e);
         }
     }
 
@@ -2305,6 +2838,8 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
     /**
      * This method will build a mapping of local identifiers to external identifiers for bundle entries
      * which specify local identifiers and which have a request method of POST or PUT.
+     * The map is concurrent, because entries processed in parallel add the mappings of conditional creates
+     * and updates while other entries read it.
      *
      * @param requestBundle
      *            the bundle containing the requests
@@ -2312,7 +2847,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
      * @return local reference map
      */
     private Map<String, String> buildLocalRefMap(Bundle requestBundle, Bundle responseBundle) throws Exception {
-        Map<String, String> localRefMap = new HashMap<>();
+        Map<String, String> localRefMap = new ConcurrentHashMap<>();
 
         for (int entryIndex=0; entryIndex<requestBundle.getEntry().size(); ++entryIndex) {
             Bundle.Entry requestEntry = requestBundle.getEntry().get(entryIndex);
@@ -2416,7 +2951,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
      */
     private String retrieveGeneratedIdentifier(Map<String, String> localRefMap, String localIdentifier) {
         String generatedIdentifier = null;
-        String externalIdentifier = localRefMap.get(localIdentifier);
+        String externalIdentifier = localIdentifier != null ? localRefMap.get(localIdentifier) : null;
         if (externalIdentifier != null) {
             int index = externalIdentifier.indexOf("/");
             if (index > -1) {
@@ -2500,16 +3035,21 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
     /**
      * Creates a bundle that will hold results for a search operation.
      *
+     * <p>The entries are built as they are read from the returned StreamingBundle, so that a search response can be
+     * written entry by entry without building the whole Bundle first.
+     *
      * @param resources
      *            the list of resources to include in the bundle
      * @param searchContext
      *            the FHIRSearchContext object associated with the search
      * @param type
      *            the name of the resource type being searched
+     * @param requestUri
+     *            the request URI used to build the bundle links, or null to omit the links
      * @return the bundle
      * @throws Exception
      */
-    private Bundle createSearchBundle(List<Resource> resources, FHIRSearchContext searchContext, String type)
+    private StreamingBundle createSearchBundle(List<Resource> resources, FHIRSearchContext searchContext, String type, String requestUri)
         throws Exception {
 
         // throws if we have a count of more than 2,147,483,647 resources
@@ -2517,17 +3057,22 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         // generate ID for this bundle and set total
         Bundle.Builder bundleBuilder = Bundle.builder()
                                             .type(BundleType.SEARCHSET)
-                                            .id(UUID.randomUUID().toString())
-                                            .total(totalCount);
+                                            .id(UUID.randomUUID().toString());
+        // with _total=none the results are not counted, so the total count is only a lower bound
+        if (searchContext.getTotalParameter() != TotalValueSet.NONE) {
+            bundleBuilder.total(totalCount);
+        }
 
+        List<Bundle.Entry> entries = Collections.emptyList();
         if (resources.size() > 0) {
             // Calculate how many resources are 'match' mode
             int pageSize = searchContext.getPageSize();
             int offset = (searchContext.getPageNumber() - 1) * pageSize;
-            int matchResourceCount = pageSize;
+            int matchCount = pageSize;
             if (totalCount.getValue() < offset + pageSize) {
-                matchResourceCount = totalCount.getValue() - offset;
+                matchCount = totalCount.getValue() - offset;
             }
+            final int matchResourceCount = matchCount;
 
             // Check if too many included resources
             if (resources.size() > matchResourceCount + SearchConstants.MAX_PAGE_SIZE) {
@@ -2549,40 +3094,53 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                 if (resource.getId() == null) {
                     throw new IllegalStateException("Returned resources must have an id.");
                 }
-                // Search mode is determined by the matchResourceCount, which will be decremented each time through the loop.
-                // If the count is greater than 0, the mode is MATCH. If less than or equal to 0, the mode is INCLUDE.
-                Bundle.Entry entry = Bundle.Entry.builder()
-                        .fullUrl(Uri.of(getRequestBaseUri(type) + "/" + resource.getClass().getSimpleName() + "/" + resource.getId()))
-                        .resource(resource)
-                        .search(Search.builder()
-                            .mode(matchResourceCount-- > 0 ? SearchEntryMode.MATCH : SearchEntryMode.INCLUDE)
-                            .score(Decimal.of("1"))
-                            .build())
-                        .build();
-
-                bundleBuilder.entry(entry);
             }
 
-            if (!issues.isEmpty()) {
-                // Add OperationOutcome resource containing issues
-                bundleBuilder.entry(
-                    Bundle.Entry.builder()
+            // Add OperationOutcome resource containing issues
+            final Bundle.Entry outcomeEntry = issues.isEmpty() ? null : Bundle.Entry.builder()
                     .search(Search.builder().mode(SearchEntryMode.OUTCOME).build())
                     .resource(FHIRUtil.buildOperationOutcome(issues))
-                    .build());
-            }
+                    .build();
+
+            final String baseUri = getRequestBaseUri(type);
+            entries = new AbstractList<Bundle.Entry>() {
+                @Override
+                public Bundle.Entry get(int index) {
+                    if (index == resources.size()) {
+                        return outcomeEntry;
+                    }
+                    // Search mode is MATCH for the first matchResourceCount resources and INCLUDE for the rest.
+                    Resource resource = resources.get(index);
+                    return Bundle.Entry.builder()
+                            .fullUrl(Uri.of(baseUri + "/" + resource.getClass().getSimpleName() + "/" + resource.getId()))
+                            .resource(resource)
+                            .search(Search.builder()
+                                .mode(index < matchResourceCount ? SearchEntryMode.MATCH : SearchEntryMode.INCLUDE)
+                                .score(Decimal.of("1"))
+                                .build())
+                            .build();
+                }
+
+                @Override
+                public int size() {
+                    return resources.size() + (outcomeEntry != null ? 1 : 0);
+                }
+            };
         }
 
-        Bundle bundle = bundleBuilder.build();
+        if (requestUri != null) {
+            addLinks(searchContext, bundleBuilder, requestUri);
+        }
 
         // Add the SUBSETTED tag, if the _elements search result parameter was applied to limit elements included in
         // returned resources or _summary is required.
         if (searchContext.hasElementsParameters()
                 || (searchContext.hasSummaryParameter() && !searchContext.getSummaryParameter().equals(SummaryValueSet.FALSE))) {
-            bundle = FHIRUtil.addTag(bundle, SearchConstants.SUBSETTED_TAG);
+            bundleBuilder.meta(Meta.builder().tag(SearchConstants.SUBSETTED_TAG).build());
         }
 
-        return bundle;
+        // The envelope is built once, with its links and tags, and the entries are only built when they are read
+        return new StreamingBundle(bundleBuilder.build(), entries);
     }
 
     /**
@@ -2639,17 +3197,22 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
     /**
      * Creates a bundle that will hold the results of a history operation.
      *
+     * <p>Like search results, the entries are built as they are read from the returned StreamingBundle; see
+     * {@link #createSearchBundle}.
+     *
      * @param resources
      *            the list of resources to include in the bundle
      * @param historyContext
      *            the FHIRHistoryContext associated with the history operation
      * @param type
      *            the name of the resource type on which the history operation was requested
+     * @param requestUri
+     *            the request URI used to build the bundle links
      * @return the bundle
      * @throws Exception
      */
-    private Bundle createHistoryBundle(List<? extends Resource> resources, FHIRHistoryContext historyContext, String type)
-            throws Exception {
+    private StreamingBundle createHistoryBundle(List<? extends Resource> resources, FHIRHistoryContext historyContext, String type,
+            String requestUri) throws Exception {
 
         // throws if we have a count of more than 2,147,483,647 resources
         UnsignedInt totalCount = UnsignedInt.of(historyContext.getTotalCount());
@@ -2661,47 +3224,55 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
         Map<String, List<Integer>> deletedResourcesMap = historyContext.getDeletedResources();
 
-        for (int i = 0; i < resources.size(); i++) {
-            Resource resource = resources.get(i);
-
+        for (Resource resource : resources) {
             if (resource.getId() == null) {
                 throw new IllegalStateException("Returned resources must have an id.");
             }
+        }
 
-            Integer versionId = Integer.valueOf(resource.getMeta().getVersionId().getValue());
-            String logicalId = resource.getId();
-            String resourceType = ModelSupport.getTypeName(resource.getClass());
-            List<Integer> deletedVersions = deletedResourcesMap.get(logicalId);
-
-            // Determine the correct method to include in this history entry (POST, PUT, DELETE).
-            HTTPVerb method;
-            if (deletedVersions != null && deletedVersions.contains(versionId)) {
-                method = HTTPVerb.DELETE;
-            } else if (versionId == 1) {
-                method = HTTPVerb.POST;
-            } else {
-                method = HTTPVerb.PUT;
-            }
+        final String baseUri = resources.isEmpty() ? null : getRequestBaseUri(type);
+        List<Bundle.Entry> entries = new AbstractList<Bundle.Entry>() {
+            @Override
+            public Bundle.Entry get(int index) {
+                Resource resource = resources.get(index);
+                Integer versionId = Integer.valueOf(resource.getMeta().getVersionId().getValue());
+                String logicalId = resource.getId();
+                String resourceType = ModelSupport.getTypeName(resource.getClass());
+                List<Integer> deletedVersions = deletedResourcesMap.get(logicalId);
+
+                // Determine the correct method to include in this history entry (POST, PUT, DELETE).
+                HTTPVerb method;
+                if (deletedVersions != null && deletedVersions.contains(versionId)) {
+                    method = HTTPVerb.DELETE;
+                } else if (versionId == 1) {
+                    method = HTTPVerb.POST;
+                } else {
+                    method = HTTPVerb.PUT;
+                }
 
-            // Create the 'request' entry, and set the request.url field.
-            // 'create' --> url = "<resourceType>"
-            // 'update'/'delete' --> url = "<resourceType>/<logicalId>"
-            Bundle.Entry.Request request =
-                    Bundle.Entry.Request.builder().method(method).url(Url.of(method == HTTPVerb.POST
-                            ? resourceType : resourceType + "/" + logicalId)).build();
+                // Create the 'request' entry, and set the request.url field.
+                // 'create' --> url = "<resourceType>"
+                // 'update'/'delete' --> url = "<resourceType>/<logicalId>"
+                Bundle.Entry.Request request =
+                        Bundle.Entry.Request.builder().method(method).url(Url.of(method == HTTPVerb.POST
+                                ? resourceType : resourceType + "/" + logicalId)).build();
 
-            Bundle.Entry.Response response =
-                    Bundle.Entry.Response.builder().status(string("200")).build();
+                Bundle.Entry.Response response =
+                        Bundle.Entry.Response.builder().status(string("200")).build();
 
-            Bundle.Entry entry =
-                    Bundle.Entry.builder().request(request).fullUrl(Uri.of(getRequestBaseUri(type) + "/"
-                            + resource.getClass().getSimpleName() + "/"
-                            + resource.getId())).response(response).resource(resource).build();
+                return Bundle.Entry.builder().request(request).fullUrl(Uri.of(baseUri + "/"
+                                + resource.getClass().getSimpleName() + "/"
+                                + resource.getId())).response(response).resource(resource).build();
+            }
 
-            bundleBuilder.entry(entry);
-        }
+            @Override
+            public int size() {
+                return resources.size();
+            }
+        };
+        addLinks(historyContext, bundleBuilder, requestUri);
 
-        return bundleBuilder.build();
+        return new StreamingBundle(bundleBuilder.build(), entries);
     }
 
     /**
@@ -2711,10 +3282,9 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         return FHIRPersistenceInterceptorMgr.getInstance();
     }
 
-    private Bundle addLinks(FHIRPagingContext context, Bundle responseBundle, String requestUri) throws Exception {
+    private void addLinks(FHIRPagingContext context, Bundle.Builder bundleBuilder, String requestUri) throws Exception {
         String selfUri = null;
         SummaryValueSet summaryParameter = null;
-        Bundle.Builder bundleBuilder = responseBundle.toBuilder();
 
         if (context instanceof FHIRSearchContext) {
             FHIRSearchContext searchContext = (FHIRSearchContext) context;
@@ -2744,6 +3314,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                 // remove existing _page parameters from the query string
                 nextLinkUrl = nextLinkUrl.replace("&_page=" + context.getPageNumber(), "").replace("_page="
                         + context.getPageNumber() + "&", "").replace("_page=" + context.getPageNumber(), "");
+                nextLinkUrl = removePageCursor(nextLinkUrl, context.getPageCursor());
 
                 if (nextLinkUrl.contains("?")) {
                     if (!nextLinkUrl.endsWith("?")) {
@@ -2757,6 +3328,11 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                 // add new _page parameter to the query string
                 nextLinkUrl += "_page=" + nextPageNumber;
 
+                // add the cursor which lets the persistence layer seek to the next page instead of skipping to it
+                if (context.getNextPageCursor() != null) {
+                    nextLinkUrl += "&" + SearchConstants.CURSOR + "=" + context.getNextPageCursor();
+                }
+
                 // create 'next' link
                 Bundle.Link nextLink =
                         Bundle.Link.builder().relation(string("next")).url(Url.of(nextLinkUrl)).build();
@@ -2774,6 +3350,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                         prevLinkUrl.replace("&_page=" + context.getPageNumber(), "").replace("_page="
                                 + context.getPageNumber() + "&", "").replace("_page="
                                         + context.getPageNumber(), "");
+                prevLinkUrl = removePageCursor(prevLinkUrl, context.getPageCursor());
 
                 if (prevLinkUrl.contains("?")) {
                     if (!prevLinkUrl.endsWith("?")) {
@@ -2793,8 +3370,17 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                 bundleBuilder.link(prevLink);
             }
         }
+    }
 
-        return bundleBuilder.build();
+    /**
+     * Remove the _cursor parameter (if any) from the query string of the passed URL
+     */
+    private String removePageCursor(String url, String pageCursor) {
+        if (pageCursor == null) {
+            return url;
+        }
+        String param = SearchConstants.CURSOR + "=" + pageCursor;
+        return url.replace("&" + param, "").replace(param + "&", "").replace(param, "");
     }
 
     /**
@@ -2933,6 +3519,41 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
         return result;
     }
 
+    @Override
+    public boolean startReindex(FHIROperationContext operationContext, Instant tstamp, String resourceType, int workers, int rangeSize,
+        int batchSize) throws Exception {
+        if (persistenceHelper == null) {
+            throw new FHIROperationException("The server-side reindex is not available for this request");
+        }
+        ExecutorService executor = getReindexExecutor();
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        ReindexEngine engine = new ReindexEngine(persistenceHelper, requestContext.getTenantId(), requestContext.getDataStoreId(),
+            tstamp, resourceType, workers, rangeSize, batchSize);
+        boolean started = ReindexEngine.start(engine, executor);
+        if (started) {
+            log.info("Started reindex with " + workers + " workers, tstamp=" + tstamp
+                + (resourceType != null ? ", resourceType=" + resourceType : ""));
+        }
+        return started;
+    }
+
+    @Override
+    public ReindexEngine getReindexEngine() {
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        return ReindexEngine.getEngine(requestContext.getTenantId(), requestContext.getDataStoreId());
+    }
+
+    @Override
+    public List<ReindexProgress> getReindexProgress() throws Exception {
+        FHIRTransactionHelper txn = new FHIRTransactionHelper(getTransaction());
+        txn.begin();
+        try {
+            return persistence.getReindexProgress();
+        } finally {
+            txn.end();
+        }
+    }
+
     /**
      * Validate a resource. First validate profile assertions for the resource if configured to do so,
      * then validate the resource itself.
@@ -2948,6 +3569,7 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
         // Retrieve the profile configuration
         try {
+            ConfigurationSnapshot config = FHIRConfigHelper.getConfigurationSnapshot();
             StringBuilder defaultProfileConfigPath = new StringBuilder(FHIRConfiguration.PROPERTY_RESOURCES).append("/Resource/")
                     .append(FHIRConfiguration.PROPERTY_FIELD_RESOURCES_PROFILES).append("/")
                     .append(FHIRConfiguration.PROPERTY_FIELD_RESOURCES_PROFILES_AT_LEAST_ONE);
@@ -2956,11 +3578,11 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
                     .append("/").append(FHIRConfiguration.PROPERTY_FIELD_RESOURCES_PROFILES_AT_LEAST_ONE);
 
             // Get the 'atLeastOne' property
-            List<String> resourceSpecificProfiles = FHIRConfigHelper.getStringListProperty(resourceSpecificProfileConfigPath.toString());
+            List<String> resourceSpecificProfiles = config.getStringListProperty(resourceSpecificProfileConfigPath.toString());
             if (resourceSpecificProfiles != null) {
                 profiles = resourceSpecificProfiles;
             } else {
-                List<String> defaultProfiles = FHIRConfigHelper.getStringListProperty(defaultProfileConfigPath.toString());
+                List<String> defaultProfiles = config.getStringListProperty(defaultProfileConfigPath.toString());
                 if (defaultProfiles != null) {
                     profiles = defaultProfiles;
                 }
@@ -3046,7 +3668,8 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
             }
         }
 
-        return FHIRValidator.validator().validate(resource);
+        // Evaluate the constraints of large resources on the managed executor, with this request's context
+        return FHIRValidator.validator(RequestContextExecutor.managedExecutor()).validate(resource);
     }
 
     /**
@@ -3064,26 +3687,27 @@ public class FHIRRestHelper implements FHIRResourceHelpers {
 
         // Retrieve the interaction configuration
         try {
+            ConfigurationSnapshot config = FHIRConfigHelper.getConfigurationSnapshot();
             StringBuilder defaultInteractionsConfigPath = new StringBuilder(FHIRConfiguration.PROPERTY_RESOURCES).append("/Resource/")
                     .append(FHIRConfiguration.PROPERTY_FIELD_RESOURCES_INTERACTIONS);
             StringBuilder resourceSpecificInteractionsConfigPath = new StringBuilder(FHIRConfiguration.PROPERTY_RESOURCES).append("/")
                     .append(resourceType).append("/").append(FHIRConfiguration.PROPERTY_FIELD_RESOURCES_INTERACTIONS);
 
             // Get the 'interactions' property
-            List<String> resourceSpecificInteractions = FHIRConfigHelper.getStringListProperty(resourceSpecificInteractionsConfigPath.toString());
+            List<String> resourceSpecificInteractions = config.getStringListProperty(resourceSpecificInteractionsConfigPath.toString());
             if (resourceSpecificInteractions != null) {
                 interactions = resourceSpecificInteractions;
             } else {
                 // Check the 'open' property, and if that's false, check if resource was specified
-                if (!FHIRConfigHelper.getBooleanProperty(FHIRConfiguration.PROPERTY_RESOURCES + "/" + FHIRConfiguration.PROPERTY_FIELD_RESOURCES_OPEN, true)) {
-                    PropertyGroup resourceGroup = FHIRConfigHelper.getPropertyGroup(FHIRConfiguration.PROPERTY_RESOURCES + "/" + resourceType);
+                if (!config.getBooleanProperty(FHIRConfiguration.PROPERTY_RESOURCES + "/" + FHIRConfiguration.PROPERTY_FIELD_RESOURCES_OPEN, true)) {
+                    PropertyGroup resourceGroup = config.getPropertyGroup(FHIRConfiguration.PROPERTY_RESOURCES + "/" + resourceType);
                     if (resourceGroup == null) {
                         resourceValid = false;
                     }
                 }
                 if (resourceValid) {
                     // Get the 'Resource' interaction property
-                    List<String> defaultInteractions = FHIRConfigHelper.getStringListProperty(defaultInteractionsConfigPath.toString());
+                    List<String> defaultInteractions = config.getStringListProperty(defaultInteractionsConfigPath.toString());
                     if (defaultInteractions != null) {
                         interactions = defaultInteractions;
                     }
@@ -0,0 +1,62 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.util;
+
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import com.ibm.fhir.config.FHIRRequestContext;
+
+/**
+ * An Executor which runs each task with the FHIRRequestContext of the thread which submitted it, so that
+ * work handed off by a request (e.g. constraint evaluation, which may look up tenant-specific profiles)
+ * sees the same tenant and datastore as the request itself.
+ */
+public class RequestContextExecutor implements Executor {
+    private static final Logger log = Logger.getLogger(RequestContextExecutor.class.getName());
+    private static final String MANAGED_EXECUTOR_JNDI_NAME = "java:comp/DefaultManagedExecutorService";
+
+    private final Executor delegate;
+
+    /**
+     * @param delegate the executor which runs the tasks
+     */
+    public RequestContextExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return a RequestContextExecutor which runs its tasks on the container's default ManagedExecutorService,
+     *         or null if it isn't available (e.g. outside of the server)
+     */
+    public static RequestContextExecutor managedExecutor() {
+        try {
+            Executor executor = InitialContext.doLookup(MANAGED_EXECUTOR_JNDI_NAME);
+            return new RequestContextExecutor(executor);
+        } catch (NamingException e) {
+            log.fine("Unable to look up '" + MANAGED_EXECUTOR_JNDI_NAME + "'");
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        FHIRRequestContext requestContext = FHIRRequestContext.get();
+        delegate.execute(() -> {
+            FHIRRequestContext workerContext = FHIRRequestContext.get();
+            FHIRRequestContext.set(requestContext);
+            try {
+                task.run();
+            } finally {
+                FHIRRequestContext.set(workerContext);
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.generator.exception.FHIRGeneratorException;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Parameters;
+import com.ibm.fhir.model.util.JsonPayloadScope;
+
+/**
+ * A search or history response Bundle which can be written without building the whole Bundle first.
+ *
+ * <p>The envelope holds every field of the Bundle except its entries. The entries are supplied as a list which
+ * may build each entry when it is read, so that {@link #write(OutputStream, boolean)} writes the envelope and
+ * then each entry in turn, and an entry can be discarded as soon as it has been written.
+ */
+public class StreamingBundle {
+    private final Bundle envelope;
+    private final List<Bundle.Entry> entries;
+    private Bundle bundle;
+
+    /**
+     * @param envelope the bundle without its entries
+     * @param entries the entries of the bundle, in order
+     */
+    public StreamingBundle(Bundle envelope, List<Bundle.Entry> entries) {
+        this.envelope = envelope;
+        this.entries = entries;
+    }
+
+    /**
+     * @return the bundle without its entries
+     */
+    public Bundle getEnvelope() {
+        return envelope;
+    }
+
+    /**
+     * Build the whole bundle. The bundle is built once, and is also used by later calls to
+     * {@link #write(OutputStream, boolean)}.
+     *
+     * @return the bundle with all of its entries
+     */
+    public Bundle toBundle() {
+        if (bundle == null) {
+            bundle = entries.isEmpty() ? envelope : envelope.toBuilder().entry(entries).build();
+        }
+        return bundle;
+    }
+
+    /**
+     * @param pretty whether to pretty print the JSON
+     * @return a StreamingOutput which writes the bundle as JSON
+     * @see #write(OutputStream, boolean)
+     */
+    public StreamingOutput toStreamingOutput(boolean pretty) {
+        return out -> {
+            try {
+                write(out, pretty);
+            } catch (FHIRGeneratorException e) {
+                throw new IOException("Unable to write the response bundle", e);
+            }
+        };
+    }
+
+    /**
+     * Write the bundle as JSON: the envelope fields up to the entries, then each entry, then the envelope fields
+     * which follow the entries. When the JSON is not pretty printed, the stored JSON of entry resources which
+     * were read unchanged is written as is (see {@link JsonPayloadScope}).
+     *
+     * <p>With pretty printing, each entry is indented on its own rather than relative to the bundle.
+     *
+     * @param out the stream to write to
+     * @param pretty whether to pretty print the JSON
+     * @throws FHIRGeneratorException
+     * @throws IOException
+     */
+    public void write(OutputStream out, boolean pretty) throws FHIRGeneratorException, IOException {
+        FHIRGenerator generator = FHIRGenerator.generator(Format.JSON, pretty);
+        List<Bundle.Entry> entries = (bundle != null) ? bundle.getEntry() : this.entries;
+        if (entries.isEmpty()) {
+            generator.generate(envelope, out);
+            return;
+        }
+
+        // Generate the envelope with a single placeholder entry, and write the entries in its place
+        String token = UUID.randomUUID().toString();
+        Bundle.Entry placeholder = Bundle.Entry.builder().resource(Parameters.builder().id(token).build()).build();
+        StringWriter writer = new StringWriter();
+        generator.generate(envelope.toBuilder().entry(placeholder).build(), writer);
+        String skeleton = writer.toString();
+
+        // The placeholder entry is the object which encloses the object holding the token
+        int tokenIndex = skeleton.indexOf(token);
+        int start = skeleton.lastIndexOf('{', skeleton.lastIndexOf('{', tokenIndex) - 1);
+        int end = skeleton.indexOf('}', skeleton.indexOf('}', tokenIndex) + 1) + 1;
+
+        JsonPayloadScope payloadScope = pretty ? null : JsonPayloadScope.current();
+        out.write(skeleton.substring(0, start).getBytes(StandardCharsets.UTF_8));
+        boolean first = true;
+        for (Bundle.Entry entry : entries) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            if (payloadScope == null || !payloadScope.write(entry, out)) {
+                generator.generate(entry, out);
+            }
+        }
+        out.write(skeleton.substring(end).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -11,11 +11,19 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.ws.rs.core.Response;
 
 import org.testng.annotations.Test;
 
 import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.core.HTTPHandlingPreference;
 import com.ibm.fhir.core.HTTPReturnPreference;
 import com.ibm.fhir.model.resource.Bundle;
 import com.ibm.fhir.model.resource.Condition;
@@ -27,6 +35,7 @@ import com.ibm.fhir.model.resource.Patient;
 import com.ibm.fhir.model.resource.Practitioner;
 import com.ibm.fhir.model.resource.Practitioner.Qualification;
 import com.ibm.fhir.model.resource.Procedure;
+import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.Code;
 import com.ibm.fhir.model.type.CodeableConcept;
 import com.ibm.fhir.model.type.Coding;
@@ -42,6 +51,10 @@ import com.ibm.fhir.model.type.code.IssueType;
 import com.ibm.fhir.model.type.code.NarrativeStatus;
 import com.ibm.fhir.model.type.code.ProcedureStatus;
 import com.ibm.fhir.persistence.FHIRPersistence;
+import com.ibm.fhir.persistence.SingleResourceResult;
+import com.ibm.fhir.persistence.context.FHIRPersistenceContext;
+import com.ibm.fhir.persistence.exception.FHIRPersistenceException;
+import com.ibm.fhir.persistence.helper.PersistenceHelper;
 import com.ibm.fhir.server.util.FHIRRestHelper;
 
 public class FHIRRestHelperTest {
@@ -856,6 +869,83 @@ public class FHIRRestHelperTest {
         }
     }
 
+    /**
+     * Test that the plain create POST entries of a transaction bundle are created with a single createAll call,
+     * keeping the ids pre-generated for their local identifiers.
+     */
+    @Test
+    public void testTransactionBundlePostCreateAll() throws Exception {
+        List<Integer> createAllSizes = new ArrayList<>();
+        FHIRPersistence persistence = new MockPersistenceImpl() {
+            @Override
+            public <T extends Resource> List<SingleResourceResult<T>> createAll(List<FHIRPersistenceContext> contexts, List<T> resources)
+                    throws FHIRPersistenceException {
+                createAllSizes.add(resources.size());
+                for (int i = 0; i < resources.size(); i++) {
+                    // each resource is created with the persistence event of its own entry
+                    assertEquals(contexts.get(i).getPersistenceEvent().getFhirResource(), resources.get(i));
+                }
+                return super.createAll(contexts, resources);
+            }
+        };
+        FHIRRestHelper helper = new FHIRRestHelper(persistence);
+
+        Bundle.Entry patientEntry = Bundle.Entry.builder()
+                .fullUrl(Uri.of("urn:1"))
+                .resource(Patient.builder().id("1").build())
+                .request(Bundle.Entry.Request.builder()
+                    .method(HTTPVerb.POST)
+                    .url(Uri.of("Patient"))
+                    .build())
+                .build();
+        Bundle.Entry procedureEntry = Bundle.Entry.builder()
+                .resource(Procedure.builder()
+                    .status(ProcedureStatus.COMPLETED)
+                    .subject(Reference.builder()
+                        .reference(string("urn:1"))
+                        .build())
+                    .build())
+                .request(Bundle.Entry.Request.builder()
+                    .method(HTTPVerb.POST)
+                    .url(Uri.of("Procedure"))
+                    .build())
+                .build();
+        Bundle.Entry organizationEntry = Bundle.Entry.builder()
+                .resource(Organization.builder()
+                    .name(string("test"))
+                    .build())
+                .request(Bundle.Entry.Request.builder()
+                    .method(HTTPVerb.POST)
+                    .url(Uri.of("Organization"))
+                    .build())
+                .build();
+
+        Bundle requestBundle = Bundle.builder()
+                .id("bundle1")
+                .type(BundleType.TRANSACTION)
+                .entry(patientEntry, procedureEntry, organizationEntry)
+                .build();
+
+        // Process bundle
+        FHIRRequestContext.get().setOriginalRequestUri("test");
+        FHIRRequestContext.get().setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+        Bundle responseBundle = helper.doBundle(requestBundle, null);
+
+        // Validate results
+        assertEquals(1, createAllSizes.size());
+        assertEquals(3, createAllSizes.get(0).intValue());
+        assertNotNull(responseBundle);
+        assertEquals(3, responseBundle.getEntry().size());
+        assertEquals("Patient/generated-0/_history/1", responseBundle.getEntry().get(0).getResponse().getLocation().getValue());
+        assertEquals("Procedure/generated-1/_history/1", responseBundle.getEntry().get(1).getResponse().getLocation().getValue());
+        assertEquals("Organization/generated-2/_history/1", responseBundle.getEntry().get(2).getResponse().getLocation().getValue());
+        for (Bundle.Entry entry : responseBundle.getEntry()) {
+            assertEquals(Integer.toString(Response.Status.CREATED.getStatusCode()), entry.getResponse().getStatus().getValue());
+        }
+        Procedure returnedProcedure = (Procedure) responseBundle.getEntry().get(1).getResource();
+        assertEquals("Patient/generated-0", returnedProcedure.getSubject().getReference().getValue());
+    }
+
     /**
      * Test transaction bundle put single.
      */
@@ -1959,4 +2049,262 @@ public class FHIRRestHelperTest {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Test batch bundle post with entries processed in parallel.
+     * Procedures have local references to a Patient in the same bundle.
+     */
+    @Test
+    public void testBatchBundlePostParallel() throws Exception {
+        FHIRPersistence persistence = new MockPersistenceImpl();
+        PersistenceHelper persistenceHelper = new PersistenceHelper() {
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation() {
+                return new MockPersistenceImpl();
+            }
+
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation(String factoryPropertyName) {
+                return new MockPersistenceImpl();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        FHIRRestHelper helper = new FHIRRestHelper(persistence, persistenceHelper) {
+            @Override
+            protected int getBatchParallelism() {
+                return 4;
+            }
+
+            @Override
+            protected ExecutorService getBatchExecutor() {
+                return executor;
+            }
+        };
+
+        List<Bundle.Entry> bundleEntries = new ArrayList<>();
+        bundleEntries.add(Bundle.Entry.builder()
+                .fullUrl(Uri.of("urn:1"))
+                .resource(Patient.builder()
+                    .id("1")
+                    .build())
+                .request(Bundle.Entry.Request.builder()
+                    .method(HTTPVerb.POST)
+                    .url(Uri.of("Patient"))
+                    .build())
+                .build());
+        for (int i = 2; i <= 10; i++) {
+            bundleEntries.add(Bundle.Entry.builder()
+                    .fullUrl(Uri.of("urn:" + i))
+                    .resource(Procedure.builder()
+                        .status(ProcedureStatus.COMPLETED)
+                        .subject(Reference.builder()
+                            .reference(string("urn:1"))
+                            .build())
+                        .build())
+                    .request(Bundle.Entry.Request.builder()
+                        .method(HTTPVerb.POST)
+                        .url(Uri.of("Procedure"))
+                        .build())
+                    .build());
+        }
+
+        Bundle requestBundle = Bundle.builder()
+                .id("bundle1")
+                .type(BundleType.BATCH)
+                .entry(bundleEntries)
+                .build();
+
+        // Process bundle
+        FHIRRequestContext.get().setOriginalRequestUri("test");
+        FHIRRequestContext.get().setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+        Bundle responseBundle;
+        try {
+            responseBundle = helper.doBundle(requestBundle, null);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Validate results; response entries must be in the same order as the request entries
+        assertNotNull(responseBundle);
+        assertEquals(10, responseBundle.getEntry().size());
+        Bundle.Entry.Response patientResponse = responseBundle.getEntry().get(0).getResponse();
+        assertEquals("Patient/generated-0/_history/1", patientResponse.getLocation().getValue());
+        assertEquals(Integer.toString(Response.Status.CREATED.getStatusCode()), patientResponse.getStatus().getValue());
+        for (int i = 1; i < 10; i++) {
+            Bundle.Entry entry = responseBundle.getEntry().get(i);
+            Bundle.Entry.Response response = entry.getResponse();
+            assertEquals("Procedure/generated-" + i + "/_history/1", response.getLocation().getValue());
+            assertEquals(Integer.toString(Response.Status.CREATED.getStatusCode()), response.getStatus().getValue());
+            Procedure returnedProcedure = (Procedure) entry.getResource();
+            assertEquals("Patient/generated-0", returnedProcedure.getSubject().getReference().getValue());
+        }
+    }
+
+    /**
+     * Test that a batch bundle's POST entries are only processed serially when another POST entry
+     * depends on a local reference mapping that they add; a PUT entry which depends on it doesn't count.
+     */
+    @Test
+    public void testBatchBundlePostParallelDependencies() throws Exception {
+        PersistenceHelper persistenceHelper = new PersistenceHelper() {
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation() {
+                return new MockPersistenceImpl();
+            }
+
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation(String factoryPropertyName) {
+                return new MockPersistenceImpl();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger executorLookups = new AtomicInteger();
+        FHIRRestHelper helper = new FHIRRestHelper(new MockPersistenceImpl(), persistenceHelper) {
+            @Override
+            protected int getBatchParallelism() {
+                return 4;
+            }
+
+            @Override
+            protected ExecutorService getBatchExecutor() {
+                executorLookups.incrementAndGet();
+                return executor;
+            }
+        };
+
+        FHIRRequestContext.get().setOriginalRequestUri("test");
+        FHIRRequestContext.get().setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+        try {
+            // Conditional creates only map their local identifiers when processed; the PUT which references one is
+            // processed in a later phase, so the POST entries are still processed in parallel
+            List<Bundle.Entry> bundleEntries = new ArrayList<>();
+            bundleEntries.add(conditionalCreateEntry("urn:1"));
+            bundleEntries.add(conditionalCreateEntry("urn:2"));
+            bundleEntries.add(Bundle.Entry.builder()
+                    .resource(Procedure.builder()
+                        .id("1")
+                        .status(ProcedureStatus.COMPLETED)
+                        .subject(Reference.builder().reference(string("urn:1")).build())
+                        .build())
+                    .request(Bundle.Entry.Request.builder()
+                        .method(HTTPVerb.PUT)
+                        .url(Uri.of("Procedure/1"))
+                        .build())
+                    .build());
+            helper.doBundle(Bundle.builder().type(BundleType.BATCH).entry(bundleEntries).build(), null);
+            assertEquals(1, executorLookups.get());
+
+            // A POST entry which references a local identifier mapped by another POST entry makes them serial
+            executorLookups.set(0);
+            bundleEntries = new ArrayList<>();
+            bundleEntries.add(conditionalCreateEntry("urn:1"));
+            bundleEntries.add(Bundle.Entry.builder()
+                    .resource(Procedure.builder()
+                        .status(ProcedureStatus.COMPLETED)
+                        .subject(Reference.builder().reference(string("urn:1")).build())
+                        .build())
+                    .request(Bundle.Entry.Request.builder()
+                        .method(HTTPVerb.POST)
+                        .url(Uri.of("Procedure"))
+                        .build())
+                    .build());
+            helper.doBundle(Bundle.builder().type(BundleType.BATCH).entry(bundleEntries).build(), null);
+            assertEquals(0, executorLookups.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the local reference mappings added by conditional creates processed in parallel
+     * are all seen by the PUT entries which reference them.
+     */
+    @Test
+    public void testBatchBundleParallelLocalRefMappings() throws Exception {
+        PersistenceHelper persistenceHelper = new PersistenceHelper() {
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation() {
+                return new MockPersistenceImpl();
+            }
+
+            @Override
+            public FHIRPersistence getFHIRPersistenceImplementation(String factoryPropertyName) {
+                return new MockPersistenceImpl();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        FHIRRestHelper helper = new FHIRRestHelper(new MockPersistenceImpl(), persistenceHelper) {
+            @Override
+            protected int getBatchParallelism() {
+                return 8;
+            }
+
+            @Override
+            protected ExecutorService getBatchExecutor() {
+                return executor;
+            }
+        };
+
+        final int count = 200;
+        List<String> localIdentifiers = new ArrayList<>();
+        List<Bundle.Entry> bundleEntries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String localIdentifier = "urn:uuid:" + UUID.randomUUID();
+            localIdentifiers.add(localIdentifier);
+            bundleEntries.add(Bundle.Entry.builder()
+                    .fullUrl(Uri.of(localIdentifier))
+                    .resource(Patient.builder().id("p" + i).build())
+                    .request(Bundle.Entry.Request.builder()
+                        .method(HTTPVerb.POST)
+                        .url(Uri.of("Patient"))
+                        .ifNoneExist(string("_id=p" + i))
+                        .build())
+                    .build());
+        }
+        for (int i = 0; i < count; i++) {
+            bundleEntries.add(Bundle.Entry.builder()
+                    .resource(Procedure.builder()
+                        .id(Integer.toString(i))
+                        .status(ProcedureStatus.COMPLETED)
+                        .subject(Reference.builder().reference(string(localIdentifiers.get(i))).build())
+                        .build())
+                    .request(Bundle.Entry.Request.builder()
+                        .method(HTTPVerb.PUT)
+                        .url(Uri.of("Procedure/" + i))
+                        .build())
+                    .build());
+        }
+
+        FHIRRequestContext.get().setOriginalRequestUri("test");
+        FHIRRequestContext.get().setReturnPreference(HTTPReturnPreference.REPRESENTATION);
+        // The mock persistence layer finds no matches for the conditional creates regardless of the search
+        FHIRRequestContext.get().setHandlingPreference(HTTPHandlingPreference.LENIENT);
+        Bundle responseBundle;
+        try {
+            responseBundle = helper.doBundle(Bundle.builder().type(BundleType.BATCH).entry(bundleEntries).build(), null);
+        } finally {
+            FHIRRequestContext.get().setHandlingPreference(HTTPHandlingPreference.STRICT);
+            executor.shutdown();
+        }
+
+        // Each Procedure references the Patient created for its local identifier
+        assertEquals(2 * count, responseBundle.getEntry().size());
+        for (int i = 0; i < count; i++) {
+            String location = responseBundle.getEntry().get(i).getResponse().getLocation().getValue();
+            String patientReference = location.substring(0, location.indexOf("/_history"));
+            Procedure procedure = (Procedure) responseBundle.getEntry().get(count + i).getResource();
+            assertEquals(patientReference, procedure.getSubject().getReference().getValue());
+        }
+    }
+
+    private Bundle.Entry conditionalCreateEntry(String localIdentifier) {
+        return Bundle.Entry.builder()
+                .fullUrl(Uri.of(localIdentifier))
+                .resource(Patient.builder().id(localIdentifier.substring(4)).build())
+                .request(Bundle.Entry.Request.builder()
+                    .method(HTTPVerb.POST)
+                    .url(Uri.of("Patient"))
+                    .ifNoneExist(string("_id=" + localIdentifier.substring(4)))
+                    .build())
+                .build();
+    }
+}
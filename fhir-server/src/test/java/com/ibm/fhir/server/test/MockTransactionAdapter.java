@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -25,6 +25,11 @@ public class MockTransactionAdapter implements FHIRPersistenceTransaction {
     public void setRollbackOnly() throws FHIRPersistenceException {
     }
 
+    @Override
+    public boolean isStartedByThis() {
+        return true;
+    }
+
     @Override
     public void commit() throws FHIRPersistenceException {
     }
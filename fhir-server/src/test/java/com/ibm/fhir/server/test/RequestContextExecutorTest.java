@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.ibm.fhir.server.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.server.util.RequestContextExecutor;
+
+public class RequestContextExecutorTest {
+
+    @AfterMethod
+    void reset() throws Exception {
+        FHIRRequestContext.set(new FHIRRequestContext(FHIRConfiguration.DEFAULT_TENANT_ID));
+    }
+
+    @Test
+    public void testContextPropagated() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FHIRRequestContext workerContext = executor.submit(FHIRRequestContext::get).get();
+
+            FHIRRequestContext requestContext = new FHIRRequestContext("tenant1");
+            FHIRRequestContext.set(requestContext);
+            FutureTask<FHIRRequestContext> task = new FutureTask<>(FHIRRequestContext::get);
+            new RequestContextExecutor(executor).execute(task);
+
+            // the task sees the context of the thread which submitted it...
+            assertSame(task.get(), requestContext);
+            assertEquals(task.get().getTenantId(), "tenant1");
+
+            // ...and the worker thread gets its own context back afterwards
+            assertSame(executor.submit(FHIRRequestContext::get).get(), workerContext);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
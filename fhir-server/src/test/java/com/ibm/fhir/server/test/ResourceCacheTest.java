@@ -0,0 +1,208 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.ibm.fhir.server.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.config.FHIRConfiguration;
+import com.ibm.fhir.config.FHIRRequestContext;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Id;
+import com.ibm.fhir.model.type.Meta;
+import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.interceptor.FHIRPersistenceEvent;
+import com.ibm.fhir.registry.FHIRRegistry;
+import com.ibm.fhir.server.cache.ResourceCache;
+import com.ibm.fhir.server.util.FHIRRestHelper;
+
+public class ResourceCacheTest {
+
+    @BeforeClass
+    void setup() throws Exception {
+        FHIRConfiguration.setConfigHome("src/test/resources");
+        FHIRRegistry.getInstance().register(new MockRegistryResourceProvider());
+        FHIRRequestContext.set(new FHIRRequestContext("default"));
+    }
+
+    @AfterClass
+    void tearDown() throws Exception {
+        FHIRConfiguration.setConfigHome("");
+        FHIRRequestContext.set(new FHIRRequestContext("default"));
+    }
+
+    @AfterMethod
+    void resetInstance() {
+        ResourceCache.setInstance(null);
+    }
+
+    @Test
+    public void testGetAndPut() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        Patient patient = patient("1", "1");
+        assertNull(cache.get("Patient", "1", null));
+
+        cache.put("Patient", "1", null, patient);
+        assertSame(cache.get("Patient", "1", null), patient);
+        assertNull(cache.get("Patient", "1", "1"));
+        assertNull(cache.get("Patient", "2", null));
+
+        cache.put("Patient", "1", "1", patient);
+        assertSame(cache.get("Patient", "1", "1"), patient);
+
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 3);
+    }
+
+    @Test
+    public void testTenantAndDataStore() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        Patient patient = patient("1", "1");
+        cache.put("Patient", "1", null, patient);
+
+        FHIRRequestContext.set(new FHIRRequestContext("tenant1"));
+        try {
+            assertNull(cache.get("Patient", "1", null));
+            FHIRRequestContext.set(new FHIRRequestContext("default", "profile"));
+            assertNull(cache.get("Patient", "1", null));
+        } finally {
+            FHIRRequestContext.set(new FHIRRequestContext("default"));
+        }
+        assertSame(cache.get("Patient", "1", null), patient);
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        Patient version1 = patient("1", "1");
+        Patient version2 = patient("1", "2");
+        cache.put("Patient", "1", null, version1);
+        cache.put("Patient", "1", "1", version1);
+
+        cache.invalidate("Patient", "1", 2);
+        assertNull(cache.get("Patient", "1", null));
+        assertSame(cache.get("Patient", "1", "1"), version1);
+
+        // a read which started before the update committed can't put back the old version
+        cache.put("Patient", "1", null, version1);
+        assertNull(cache.get("Patient", "1", null));
+
+        cache.put("Patient", "1", null, version2);
+        assertSame(cache.get("Patient", "1", null), version2);
+
+        // an older invalidation doesn't remove the newer version
+        cache.invalidate("Patient", "1", 2);
+        assertSame(cache.get("Patient", "1", null), version2);
+
+        // an unknown version removes the entry
+        cache.invalidate("Patient", "1", null);
+        assertNull(cache.get("Patient", "1", null));
+        assertEquals(cache.getInvalidationCount(), 3);
+    }
+
+    @Test
+    public void testInvalidateRolledBack() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 1, null);
+        Patient version1 = patient("1", "1");
+        cache.put("Patient", "1", null, version1);
+
+        // the update to version 2 is rolled back after the marker was written, so version 1 stays current
+        cache.invalidate("Patient", "1", 2);
+        cache.put("Patient", "1", null, version1);
+        assertNull(cache.get("Patient", "1", null));
+
+        // once the marker expires, version 1 can be cached again
+        Thread.sleep(1100);
+        cache.put("Patient", "1", null, version1);
+        assertSame(cache.get("Patient", "1", null), version1);
+    }
+
+    @Test
+    public void testInterceptor() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        cache.put("Patient", "1", null, patient("1", "1"));
+        cache.put("Patient", "2", null, patient("2", "1"));
+
+        cache.afterUpdate(new FHIRPersistenceEvent(patient("1", "2"), new HashMap<>()));
+        assertNull(cache.get("Patient", "1", null));
+        assertTrue(cache.get("Patient", "2", null) != null);
+
+        cache.afterDelete(new FHIRPersistenceEvent(patient("2", "2"), new HashMap<>()));
+        assertNull(cache.get("Patient", "2", null));
+    }
+
+    @Test
+    public void testResourceTypes() throws Exception {
+        ResourceCache cache = new ResourceCache(100, 60, Arrays.asList("Practitioner", "Organization"));
+        assertTrue(cache.isCached("Practitioner"));
+        assertFalse(cache.isCached("Patient"));
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        FHIRRestHelper helper = new FHIRRestHelper(new MockPersistenceImpl());
+
+        // without a cache, each read returns a newly parsed resource
+        Resource resource = helper.doRead("Patient", "test", true, false, null, null);
+        assertNotSame(helper.doRead("Patient", "test", true, false, null, null), resource);
+
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        ResourceCache.setInstance(cache);
+        resource = helper.doRead("Patient", "test", true, false, null, null);
+        assertSame(helper.doRead("Patient", "test", true, false, null, null), resource);
+        assertNotSame(helper.doRead("Patient", "test", true, true, null, null), resource);
+
+        Resource version = helper.doVRead("Patient", "test", "1", null);
+        assertSame(helper.doVRead("Patient", "test", "1", null), version);
+        assertEquals(cache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testReadInCallerTransaction() throws Exception {
+        // a persistence layer whose reads happen within a transaction started by someone else (e.g. a transaction bundle)
+        FHIRRestHelper helper = new FHIRRestHelper(new MockPersistenceImpl() {
+            @Override
+            public FHIRPersistenceTransaction getTransaction() {
+                return new MockTransactionAdapter() {
+                    @Override
+                    public boolean isStartedByThis() {
+                        return false;
+                    }
+                };
+            }
+        });
+
+        ResourceCache cache = new ResourceCache(100, 60, null);
+        ResourceCache.setInstance(cache);
+
+        // the resources read may never be committed, so they aren't cached
+        Resource resource = helper.doRead("Patient", "test", true, false, null, null);
+        assertNotSame(helper.doRead("Patient", "test", true, false, null, null), resource);
+        Resource version = helper.doVRead("Patient", "test", "1", null);
+        assertNotSame(helper.doVRead("Patient", "test", "1", null), version);
+        assertEquals(cache.size(), 0);
+    }
+
+    private static Patient patient(String id, String versionId) {
+        return Patient.builder()
+                .id(id)
+                .meta(Meta.builder().versionId(Id.of(versionId)).build())
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.server.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Collections;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.format.Format;
+import com.ibm.fhir.model.generator.FHIRGenerator;
+import com.ibm.fhir.model.parser.FHIRParser;
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Decimal;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Meta;
+import com.ibm.fhir.model.type.UnsignedInt;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.model.type.code.SearchEntryMode;
+import com.ibm.fhir.model.util.JsonPayloadScope;
+import com.ibm.fhir.server.util.StreamingBundle;
+
+public class StreamingBundleTest {
+    private static final Bundle ENVELOPE = Bundle.builder()
+            .id("1")
+            .meta(Meta.builder().tag(Coding.builder().code(com.ibm.fhir.model.type.Code.of("SUBSETTED")).build()).build())
+            .type(BundleType.SEARCHSET)
+            .total(UnsignedInt.of(100))
+            .link(Bundle.Link.builder()
+                .relation(com.ibm.fhir.model.type.String.of("self"))
+                .url(Uri.of("https://test/Patient?_count=10&_page=1"))
+                .build())
+            .build();
+
+    @AfterMethod
+    public void close() {
+        JsonPayloadScope.close();
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        EntryList entries = new EntryList(10);
+        StreamingBundle bundle = new StreamingBundle(ENVELOPE, entries);
+        assertEquals(entries.built, 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundle.write(out, false);
+        assertEquals(entries.built, 10);
+        assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), generate(expected(10), false));
+    }
+
+    @Test
+    public void testWritePretty() throws Exception {
+        StreamingBundle bundle = new StreamingBundle(ENVELOPE, new EntryList(3));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundle.write(out, true);
+        assertTrue(new String(out.toByteArray(), StandardCharsets.UTF_8).contains("\n"));
+        assertEquals(FHIRParser.parser(Format.JSON).parse(new ByteArrayInputStream(out.toByteArray())), expected(3));
+    }
+
+    @Test
+    public void testWriteWithoutEntries() throws Exception {
+        StreamingBundle bundle = new StreamingBundle(ENVELOPE, Collections.emptyList());
+        assertSame(bundle.toBundle(), ENVELOPE);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundle.write(out, false);
+        assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), generate(ENVELOPE, false));
+    }
+
+    @Test
+    public void testWriteStoredJson() throws Exception {
+        JsonPayloadScope scope = JsonPayloadScope.open();
+        EntryList entries = new EntryList(2);
+        byte[] json = "{\"resourceType\":\"Patient\",\"id\":\"0\",\"active\":true}".getBytes(StandardCharsets.UTF_8);
+        scope.put(entries.patients[0], json);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingBundle(ENVELOPE, entries).write(out, false);
+        String actual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(actual.contains("\"resource\":{\"resourceType\":\"Patient\",\"id\":\"0\",\"active\":true}"));
+        assertFalse(actual.contains("\"id\":\"1\",\"active\":true"));
+    }
+
+    @Test
+    public void testToBundle() throws Exception {
+        EntryList entries = new EntryList(5);
+        StreamingBundle bundle = new StreamingBundle(ENVELOPE, entries);
+        Bundle full = bundle.toBundle();
+        assertEquals(full, expected(5));
+        assertSame(bundle.toBundle(), full);
+
+        // once the bundle is built, its entries are written rather than built again
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundle.write(out, false);
+        assertEquals(entries.built, 5);
+        assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), generate(full, false));
+    }
+
+    private static Bundle expected(int count) {
+        return ENVELOPE.toBuilder().entry(new EntryList(count)).build();
+    }
+
+    private static String generate(Bundle bundle, boolean pretty) throws Exception {
+        StringWriter writer = new StringWriter();
+        FHIRGenerator.generator(Format.JSON, pretty).generate(bundle, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Builds each entry when it is read, and counts the entries built
+     */
+    private static class EntryList extends AbstractList<Bundle.Entry> {
+        private final Patient[] patients;
+        private int built;
+
+        private EntryList(int size) {
+            patients = new Patient[size];
+            for (int i = 0; i < size; i++) {
+                patients[i] = Patient.builder()
+                        .id(Integer.toString(i))
+                        .name(HumanName.builder().family(com.ibm.fhir.model.type.String.of("Doe")).build())
+                        .build();
+            }
+        }
+
+        @Override
+        public Bundle.Entry get(int index) {
+            built++;
+            return Bundle.Entry.builder()
+                    .fullUrl(Uri.of("https://test/Patient/" + index))
+                    .resource(patients[index])
+                    .search(Bundle.Entry.Search.builder()
+                        .mode(SearchEntryMode.MATCH)
+                        .score(Decimal.of("1"))
+                        .build())
+                    .build();
+        }
+
+        @Override
+        public int size() {
+            return patients.length;
+        }
+    }
+}
@@ -36,7 +36,7 @@ public class DefaultTermServiceProvider implements FHIRTermServiceProvider {
 
     @Override
     public Set<Concept> getConcepts(CodeSystem codeSystem, Concept concept) {
-        return CodeSystemSupport.getConcepts(concept);
+        return CodeSystemSupport.getConcepts(codeSystem, concept);
     }
 
     @Override
@@ -1,18 +1,23 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.term.util;
 
-import static com.ibm.fhir.core.util.LRUCache.createLRUCache;
-
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
 import com.ibm.fhir.model.resource.CodeSystem;
 import com.ibm.fhir.model.resource.CodeSystem.Concept;
 import com.ibm.fhir.model.type.Code;
@@ -23,7 +28,8 @@ import com.ibm.fhir.registry.FHIRRegistry;
  * A utility class for FHIR code systems
  */
 public final class CodeSystemSupport {
-    private static final Map<String, Boolean> CASE_SENSITIVITY_CACHE = createLRUCache(2048);
+    private static final Map<String, Boolean> CASE_SENSITIVITY_CACHE = new ConcurrentLRUCache<>(2048);
+    private static final Map<String, ConceptIndex> CONCEPT_INDEX_CACHE = new ConcurrentLRUCache<>(128);
 
     private CodeSystemSupport() { }
 
@@ -38,9 +44,14 @@ public final class CodeSystemSupport {
      *     the code system concept that matches the specified code, or null if no such concept exists
      */
     public static Concept findConcept(CodeSystem codeSystem, Code code) {
+        ConceptIndex index = getConceptIndex(codeSystem);
+        if (index != null) {
+            return index.findConcept(code);
+        }
+        boolean caseSensitive = isCaseSensitive(codeSystem);
         Concept result = null;
         for (Concept concept : codeSystem.getConcept()) {
-            result = findConcept(codeSystem, concept, code);
+            result = findConcept(caseSensitive, concept, code);
             if (result != null) {
                 break;
             }
@@ -61,12 +72,20 @@ public final class CodeSystemSupport {
      *     the code system concept that matches the specified code, or null if not such concept exists
      */
     public static Concept findConcept(CodeSystem codeSystem, Concept concept, Code code) {
-        if (concept.getCode().equals(code) || (!isCaseSensitive(codeSystem)) && concept.getCode().getValue().equalsIgnoreCase(code.getValue())) {
+        ConceptIndex index = getConceptIndex(codeSystem);
+        if (index != null && index.contains(concept)) {
+            return index.findConcept(concept, code);
+        }
+        return findConcept(isCaseSensitive(codeSystem), concept, code);
+    }
+
+    private static Concept findConcept(boolean caseSensitive, Concept concept, Code code) {
+        if (concept.getCode().equals(code) || !caseSensitive && concept.getCode().getValue().equalsIgnoreCase(code.getValue())) {
             return concept;
         }
         Concept result = null;
         for (Concept child : concept.getConcept()) {
-            result = findConcept(codeSystem, child, code);
+            result = findConcept(caseSensitive, child, code);
             if (result != null) {
                 break;
             }
@@ -173,14 +192,37 @@ public final class CodeSystemSupport {
      * @param codeSystem
      *     the code system containing the list of of Concept instances to be flattened
      * @return
-     *     flattened list of Concept instances for the given code system
+     *     flattened list of Concept instances for the given code system, which is unmodifiable
      */
     public static Set<Concept> getConcepts(CodeSystem codeSystem) {
+        ConceptIndex index = getConceptIndex(codeSystem);
+        if (index != null) {
+            return index.getConcepts();
+        }
         Set<Concept> concepts = (codeSystem.getCount() != null) ? new LinkedHashSet<>(codeSystem.getCount().getValue()) : new LinkedHashSet<>();
         for (Concept concept : codeSystem.getConcept()) {
             concepts.addAll(getConcepts(concept));
         }
-        return concepts;
+        return Collections.unmodifiableSet(concepts);
+    }
+
+    /**
+     * Get a set containing {@link CodeSystem.Concept} instances where all structural
+     * hierarchies have been flattened.
+     *
+     * @param codeSystem
+     *     the code system containing the concept
+     * @param concept
+     *     the root of the tree containing the Concept instances to be flattened
+     * @return
+     *     flattened set of Concept instances for the given tree
+     */
+    public static Set<Concept> getConcepts(CodeSystem codeSystem, Concept concept) {
+        ConceptIndex index = getConceptIndex(codeSystem);
+        if (index != null && concept != null && index.contains(concept)) {
+            return index.getConcepts(concept);
+        }
+        return getConcepts(concept);
     }
 
     /**
@@ -233,4 +275,136 @@ public final class CodeSystemSupport {
     public static boolean hasConceptProperty(Concept concept, Code code) {
         return getConceptProperty(concept, code) != null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the concept index of the code system, building it the first time it is needed. Code systems
+     * without a url are not indexed.
+     */
+    private static ConceptIndex getConceptIndex(CodeSystem codeSystem) {
+        if (codeSystem.getUrl() == null || codeSystem.getUrl().getValue() == null) {
+            return null;
+        }
+        String key = codeSystem.getUrl().getValue();
+        if (codeSystem.getVersion() != null && codeSystem.getVersion().getValue() != null) {
+            key = key + "|" + codeSystem.getVersion().getValue();
+        }
+        ConceptIndex index = CONCEPT_INDEX_CACHE.get(key);
+        if (index == null || index.codeSystem != codeSystem) {
+            // not indexed yet, or a different instance (e.g. not from the registry) with the same url and version
+            index = new ConceptIndex(codeSystem);
+            CONCEPT_INDEX_CACHE.put(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * An index of the concepts of a code system, built once per code system instance.
+     *
+     * <p>The concepts are numbered in pre-order, so the descendants of a concept are numbered from the concept
+     * itself to the end of its subtree. Finding a code within the hierarchy rooted at a concept (as used for
+     * subsumption, closure and the is-a, descendent-of and generalizes filters) is a hash lookup of the code
+     * followed by a comparison with that interval.
+     */
+    private static final class ConceptIndex {
+        private static final int[] NO_POSITIONS = new int[0];
+
+        private final CodeSystem codeSystem;
+        private final boolean caseSensitive;
+        // the concepts in pre-order
+        private final Concept[] concepts;
+        // the position of the last descendant of each concept, or the position of the concept itself for a leaf
+        private final int[] ends;
+        // concept instance to position
+        private final Map<Concept, Integer> positions = new IdentityHashMap<>();
+        // code, lower case if the code system is not case sensitive, to the positions of the concepts with that code
+        private final Map<String, int[]> codes = new HashMap<>();
+        private final Set<Concept> conceptSet;
+
+        private ConceptIndex(CodeSystem codeSystem) {
+            this.codeSystem = codeSystem;
+            this.caseSensitive = isCaseSensitive(codeSystem);
+
+            List<Concept> conceptList = new ArrayList<>();
+            List<Integer> parentList = new ArrayList<>();
+            for (Concept concept : codeSystem.getConcept()) {
+                add(concept, -1, conceptList, parentList);
+            }
+
+            int count = conceptList.size();
+            concepts = conceptList.toArray(new Concept[count]);
+            // the position of the parent of each concept, or -1 for the top level concepts
+            int[] parents = new int[count];
+            ends = new int[count];
+            for (int i = 0; i < count; i++) {
+                parents[i] = parentList.get(i);
+                ends[i] = i;
+            }
+            // positions increase in pre-order, so each concept is complete before its parent is updated
+            for (int i = count - 1; i >= 0; i--) {
+                if (parents[i] != -1 && ends[i] > ends[parents[i]]) {
+                    ends[parents[i]] = ends[i];
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                positions.putIfAbsent(concepts[i], i);
+                String key = key(concepts[i].getCode().getValue());
+                if (key != null) {
+                    int[] codePositions = codes.getOrDefault(key, NO_POSITIONS);
+                    codePositions = Arrays.copyOf(codePositions, codePositions.length + 1);
+                    codePositions[codePositions.length - 1] = i;
+                    codes.put(key, codePositions);
+                }
+            }
+            conceptSet = Collections.unmodifiableSet(new LinkedHashSet<>(conceptList));
+        }
+
+        private void add(Concept concept, int parent, List<Concept> conceptList, List<Integer> parentList) {
+            int position = conceptList.size();
+            conceptList.add(concept);
+            parentList.add(parent);
+            for (Concept child : concept.getConcept()) {
+                add(child, position, conceptList, parentList);
+            }
+        }
+
+        private String key(String code) {
+            if (code == null) {
+                return null;
+            }
+            return caseSensitive ? code : code.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean contains(Concept concept) {
+            return positions.containsKey(concept);
+        }
+
+        private Concept findConcept(Code code) {
+            int[] codePositions = codes.get(key(code.getValue()));
+            return codePositions != null ? concepts[codePositions[0]] : null;
+        }
+
+        private Concept findConcept(Concept root, Code code) {
+            int[] codePositions = codes.get(key(code.getValue()));
+            if (codePositions == null) {
+                return null;
+            }
+            int start = positions.get(root);
+            for (int position : codePositions) {
+                if (position >= start && position <= ends[start]) {
+                    return concepts[position];
+                }
+            }
+            return null;
+        }
+
+        private Set<Concept> getConcepts() {
+            return conceptSet;
+        }
+
+        private Set<Concept> getConcepts(Concept root) {
+            int start = positions.get(root);
+            return new LinkedHashSet<>(Arrays.asList(concepts).subList(start, ends[start] + 1));
+        }
+    }
+}
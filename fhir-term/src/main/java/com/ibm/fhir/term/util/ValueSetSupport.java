@@ -6,7 +6,6 @@
 
 package com.ibm.fhir.term.util;
 
-import static com.ibm.fhir.core.util.LRUCache.createLRUCache;
 import static com.ibm.fhir.model.type.String.string;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getCodeSystem;
 import static com.ibm.fhir.term.util.CodeSystemSupport.getConceptPropertyValue;
@@ -14,6 +13,16 @@ import static com.ibm.fhir.term.util.CodeSystemSupport.hasCodeSystemProperty;
 import static com.ibm.fhir.term.util.CodeSystemSupport.hasConceptProperty;
 import static com.ibm.fhir.term.util.CodeSystemSupport.isCaseSensitive;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,7 +37,10 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import com.ibm.fhir.core.util.ConcurrentLRUCache;
 import com.ibm.fhir.model.resource.CodeSystem;
 import com.ibm.fhir.model.resource.CodeSystem.Concept;
 import com.ibm.fhir.model.resource.Resource;
@@ -60,7 +72,8 @@ public final class ValueSetSupport {
     private static final Logger log = Logger.getLogger(ValueSetSupport.class.getName());
 
     private static final java.lang.String VERSION_UNKNOWN = "<version unknown>";
-    private static final Map<java.lang.String, Map<java.lang.String, Set<java.lang.String>>> CODE_SET_MAP_CACHE = createLRUCache(1024);
+    private static final Map<java.lang.String, CodeSetMap> CODE_SET_MAP_CACHE = new ConcurrentLRUCache<>(1024);
+    private static final int EXPANSION_CACHE_FORMAT = 1;
 
     private ValueSetSupport() { }
 
@@ -691,11 +704,79 @@ public final class ValueSetSupport {
         return validateCode(getCodeSetMap(valueSet), coding);
     }
 
-    private static boolean validateCode(Map<java.lang.String, Set<java.lang.String>> codeSetMap, Code code) {
+    /**
+     * Write the expanded value sets held in memory to the given file, so that they can be loaded by
+     * {@link #loadExpansionCache(Path)} instead of being expanded again, for example after a restart.
+     *
+     * <p>Only value sets with both a url and a version are cached, keyed by url|version. A value set which is changed
+     * without changing its version, or which depends on code systems which have changed, will not be expanded again
+     * until the file is deleted.
+     *
+     * @param file
+     *     the file to write
+     * @return
+     *     the number of expanded value sets written
+     * @throws IOException
+     *     if the file could not be written
+     */
+    public static int saveExpansionCache(Path file) throws IOException {
+        Map<java.lang.String, CodeSetMap> snapshot = new LinkedHashMap<>(CODE_SET_MAP_CACHE);
+        // failed expansions are cached as empty maps; try them again on the next start
+        snapshot.values().removeIf(CodeSetMap::isEmpty);
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(EXPANSION_CACHE_FORMAT);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<java.lang.String, CodeSetMap> entry : snapshot.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    entry.getValue().write(out);
+                }
+            }
+            // replace the file in one step, so that a concurrent or interrupted save never leaves a partial file
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return snapshot.size();
+    }
+
+    /**
+     * Load expanded value sets from a file written by {@link #saveExpansionCache(Path)}. Value sets which have
+     * already been expanded in memory are not replaced.
+     *
+     * @param file
+     *     the file to read
+     * @return
+     *     the number of expanded value sets read, or 0 if the file does not exist
+     * @throws IOException
+     *     if the file could not be read or was not written by {@link #saveExpansionCache(Path)}
+     */
+    public static int loadExpansionCache(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            int format = in.readInt();
+            if (format != EXPANSION_CACHE_FORMAT) {
+                throw new IOException("Unsupported expansion cache format: " + format);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                java.lang.String key = in.readUTF();
+                CODE_SET_MAP_CACHE.putIfAbsent(key, CodeSetMap.read(in));
+            }
+            return count;
+        }
+    }
+
+    private static boolean validateCode(CodeSetMap codeSetMap, Code code) {
         java.lang.String codeString = (code != null) ? code.getValue() : null;
         if (codeString != null) {
-            for (Set<java.lang.String> codeSet : codeSetMap.values()) {
-                if (codeSet.contains(codeString) || codeSet.contains(codeString.toLowerCase())) {
+            java.lang.String lowerCaseCodeString = codeString.toLowerCase();
+            for (int i = 0; i < codeSetMap.size(); i++) {
+                if (codeSetMap.contains(i, codeString) || codeSetMap.contains(i, lowerCaseCodeString)) {
                     return true;
                 }
             }
@@ -703,7 +784,7 @@ public final class ValueSetSupport {
         return false;
     }
 
-    private static boolean validateCode(Map<java.lang.String, Set<java.lang.String>> codeSetMap, Coding coding) {
+    private static boolean validateCode(CodeSetMap codeSetMap, Coding coding) {
         java.lang.String system = (coding.getSystem() != null) ? coding.getSystem().getValue() : null;
         java.lang.String version = (coding.getVersion() != null) ? coding.getVersion().getValue() : null;
         java.lang.String code = (coding.getCode() != null) ? coding.getCode().getValue() : null;
@@ -735,7 +816,7 @@ public final class ValueSetSupport {
      * @return
      *     true if a codeSet is found and the provided code is a member of that codeSet, false otherwise
      */
-    private static boolean validateCode(Map<java.lang.String, Set<java.lang.String>> codeSetMap, java.lang.String system, java.lang.String version, java.lang.String code) {
+    private static boolean validateCode(CodeSetMap codeSetMap, java.lang.String system, java.lang.String version, java.lang.String code) {
         if (system == null || code == null) {
             return false;
         }
@@ -744,29 +825,29 @@ public final class ValueSetSupport {
             code = code.toLowerCase();
         }
         if (version != null) {
-            Set<java.lang.String> codeSet = codeSetMap.get(system + "|" + version);
-            if (codeSet != null) {
-                if (codeSet.contains(code)) {
+            int index = codeSetMap.indexOf(system + "|" + version);
+            if (index != -1) {
+                if (codeSetMap.contains(index, code)) {
                     return true;
                 } else {
-                    codeSet = codeSetMap.get(system + "|" + VERSION_UNKNOWN);
-                    if (codeSet != null) {
-                        return codeSet.contains(code);
+                    index = codeSetMap.indexOf(system + "|" + VERSION_UNKNOWN);
+                    if (index != -1) {
+                        return codeSetMap.contains(index, code);
                     }
                 }
             }
         } else {
             java.lang.String prefix = system + "|";
-            for (java.lang.String key : codeSetMap.keySet()) {
-                if (key.startsWith(prefix)) {
-                    return codeSetMap.get(key).contains(code);
+            for (int i = 0; i < codeSetMap.size(); i++) {
+                if (codeSetMap.key(i).startsWith(prefix)) {
+                    return codeSetMap.contains(i, code);
                 }
             }
         }
         return false;
     }
 
-    private static Map<java.lang.String, Set<java.lang.String>> getCodeSetMap(ValueSet valueSet) {
+    private static CodeSetMap getCodeSetMap(ValueSet valueSet) {
         if (valueSet.getUrl() == null || valueSet.getVersion() == null) {
             return computeCodeSetMap(valueSet);
         }
@@ -774,11 +855,11 @@ public final class ValueSetSupport {
         return CODE_SET_MAP_CACHE.computeIfAbsent(url, k -> computeCodeSetMap(valueSet));
     }
 
-    private static Map<java.lang.String, Set<java.lang.String>> computeCodeSetMap(ValueSet valueSet) {
+    private static CodeSetMap computeCodeSetMap(ValueSet valueSet) {
         try {
             ValueSet expanded = expand(valueSet);
             if (expanded == null || expanded.getExpansion() == null) {
-                return Collections.emptyMap();
+                return CodeSetMap.EMPTY;
             }
             Map<java.lang.String, Set<java.lang.String>> codeSetMap = new LinkedHashMap<>();
             Expansion expansion = expanded.getExpansion();
@@ -794,12 +875,91 @@ public final class ValueSetSupport {
                     codeSetMap.computeIfAbsent(system + "|" + version, k -> new LinkedHashSet<>()).add(code);
                 }
             }
-            return codeSetMap;
+            return CodeSetMap.of(codeSetMap);
         } catch (Exception e) {
             java.lang.String url = (valueSet.getUrl() != null) ? valueSet.getUrl().getValue() : "<no url>";
             java.lang.String version = (valueSet.getVersion() != null) ? valueSet.getVersion().getValue() : "<no version>";
             log.log(Level.WARNING, java.lang.String.format("Unable to expand value set with url: %s and version: %s", url, version), e);
         }
-        return Collections.emptyMap();
+        return CodeSetMap.EMPTY;
+    }
+
+    /**
+     * The codes of an expanded value set, grouped by system|version key in expansion order. Each group is held as a
+     * sorted array and membership is tested by binary search, which takes a fraction of the memory of a hash set.
+     */
+    private static final class CodeSetMap {
+        private static final CodeSetMap EMPTY = new CodeSetMap(new java.lang.String[0], new java.lang.String[0][]);
+
+        private final java.lang.String[] keys;
+        private final java.lang.String[][] codeSets;
+
+        private CodeSetMap(java.lang.String[] keys, java.lang.String[][] codeSets) {
+            this.keys = keys;
+            this.codeSets = codeSets;
+        }
+
+        private static CodeSetMap of(Map<java.lang.String, Set<java.lang.String>> codeSetMap) {
+            java.lang.String[] keys = new java.lang.String[codeSetMap.size()];
+            java.lang.String[][] codeSets = new java.lang.String[codeSetMap.size()][];
+            int i = 0;
+            for (Map.Entry<java.lang.String, Set<java.lang.String>> entry : codeSetMap.entrySet()) {
+                keys[i] = entry.getKey();
+                codeSets[i] = entry.getValue().toArray(new java.lang.String[0]);
+                Arrays.sort(codeSets[i]);
+                i++;
+            }
+            return new CodeSetMap(keys, codeSets);
+        }
+
+        private static CodeSetMap read(DataInput in) throws IOException {
+            java.lang.String[] keys = new java.lang.String[in.readInt()];
+            java.lang.String[][] codeSets = new java.lang.String[keys.length][];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = in.readUTF();
+                codeSets[i] = new java.lang.String[in.readInt()];
+                for (int j = 0; j < codeSets[i].length; j++) {
+                    codeSets[i][j] = in.readUTF();
+                }
+            }
+            return new CodeSetMap(keys, codeSets);
+        }
+
+        private void write(DataOutput out) throws IOException {
+            out.writeInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                out.writeUTF(keys[i]);
+                // written in sorted order
+                out.writeInt(codeSets[i].length);
+                for (java.lang.String code : codeSets[i]) {
+                    out.writeUTF(code);
+                }
+            }
+        }
+
+        private int size() {
+            return keys.length;
+        }
+
+        private boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        private java.lang.String key(int index) {
+            return keys[index];
+        }
+
+        private int indexOf(java.lang.String key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean contains(int index, java.lang.String code) {
+            return Arrays.binarySearch(codeSets[index], code) >= 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.term.util.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.CodeSystem;
+import com.ibm.fhir.model.resource.CodeSystem.Concept;
+import com.ibm.fhir.model.type.Boolean;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.CodeSystemContentMode;
+import com.ibm.fhir.model.type.code.CodeSystemHierarchyMeaning;
+import com.ibm.fhir.model.type.code.PublicationStatus;
+import com.ibm.fhir.term.util.CodeSystemSupport;
+
+/**
+ * The indexed lookups (code systems with a url) must give the same results as walking the concept hierarchy
+ * (code systems without a url)
+ */
+public class CodeSystemSupportTest {
+
+    @Test
+    public void testIndexedLookups() {
+        for (boolean caseSensitive : new boolean[] { true, false }) {
+            CodeSystem indexed = codeSystem("http://example.com/CodeSystem/index-" + caseSensitive, caseSensitive);
+            CodeSystem walked = indexed.toBuilder().url(null).build();
+
+            List<Concept> concepts = new ArrayList<>(CodeSystemSupport.getConcepts(indexed));
+            assertEquals(concepts, new ArrayList<>(CodeSystemSupport.getConcepts(walked)));
+            assertEquals(concepts.size(), 1 + 3 + 9 + 27);
+            assertSame(CodeSystemSupport.getConcepts(indexed), CodeSystemSupport.getConcepts(indexed));
+
+            List<Code> codes = new ArrayList<>();
+            for (Concept concept : concepts) {
+                codes.add(concept.getCode());
+                codes.add(Code.of(concept.getCode().getValue().toUpperCase()));
+            }
+            codes.add(Code.of("unknown"));
+
+            List<Concept> walkedConcepts = new ArrayList<>(CodeSystemSupport.getConcepts(walked));
+            for (int i = 0; i < concepts.size(); i++) {
+                Concept root = concepts.get(i);
+                assertEquals(CodeSystemSupport.getConcepts(indexed, root), CodeSystemSupport.getConcepts(walked, walkedConcepts.get(i)));
+                for (Code code : codes) {
+                    assertEquals(CodeSystemSupport.findConcept(indexed, root, code),
+                        CodeSystemSupport.findConcept(walked, walkedConcepts.get(i), code), root.getCode().getValue() + " " + code.getValue());
+                }
+            }
+            for (Code code : codes) {
+                assertEquals(CodeSystemSupport.findConcept(indexed, code), CodeSystemSupport.findConcept(walked, code), code.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateCode() {
+        // the first concept in the hierarchy wins, but a search from a concept only finds its own descendants
+        Concept first = concept("x");
+        Concept second = concept("x");
+        Concept a = Concept.builder().code(Code.of("a")).concept(first).build();
+        Concept b = Concept.builder().code(Code.of("b")).concept(second).build();
+        CodeSystem codeSystem = CodeSystem.builder()
+                .url(Uri.of("http://example.com/CodeSystem/duplicate"))
+                .status(PublicationStatus.ACTIVE)
+                .content(CodeSystemContentMode.COMPLETE)
+                .concept(a, b)
+                .build();
+
+        assertSame(CodeSystemSupport.findConcept(codeSystem, Code.of("x")), codeSystem.getConcept().get(0).getConcept().get(0));
+        assertSame(CodeSystemSupport.findConcept(codeSystem, codeSystem.getConcept().get(1), Code.of("x")), codeSystem.getConcept().get(1).getConcept().get(0));
+        assertNull(CodeSystemSupport.findConcept(codeSystem, codeSystem.getConcept().get(0).getConcept().get(0), Code.of("a")));
+    }
+
+    @Test
+    public void testChangedCodeSystem() {
+        CodeSystem codeSystem = codeSystem("http://example.com/CodeSystem/changed", true);
+        assertEquals(CodeSystemSupport.getConcepts(codeSystem).size(), 40);
+
+        // a different instance with the same url is indexed again
+        CodeSystem changed = codeSystem.toBuilder().concept(concept("extra")).build();
+        assertEquals(CodeSystemSupport.getConcepts(changed).size(), 41);
+        assertEquals(CodeSystemSupport.findConcept(changed, Code.of("extra")).getCode().getValue(), "extra");
+    }
+
+    private static CodeSystem codeSystem(String url, boolean caseSensitive) {
+        return CodeSystem.builder()
+                .url(Uri.of(url))
+                .status(PublicationStatus.ACTIVE)
+                .content(CodeSystemContentMode.COMPLETE)
+                .caseSensitive(Boolean.of(caseSensitive))
+                .hierarchyMeaning(CodeSystemHierarchyMeaning.IS_A)
+                .concept(tree("r", 3))
+                .build();
+    }
+
+    private static Concept tree(String code, int depth) {
+        Concept.Builder builder = Concept.builder().code(Code.of(code));
+        if (depth > 0) {
+            for (String suffix : Arrays.asList("a", "b", "c")) {
+                builder.concept(tree(code + suffix, depth - 1));
+            }
+        }
+        return builder.build();
+    }
+
+    private static Concept concept(String code) {
+        return Concept.builder().code(Code.of(code)).build();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.term.util.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static com.ibm.fhir.term.util.ValueSetSupport.getValueSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.ValueSet;
+import com.ibm.fhir.model.type.Code;
+import com.ibm.fhir.model.type.Coding;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.term.util.ValueSetSupport;
+
+public class ValueSetSupportTest {
+
+    @Test
+    public void testExpansionCache() throws Exception {
+        ValueSet valueSet = getValueSet("http://ibm.com/fhir/ValueSet/vs5|1.0.0");
+        assertTrue(ValueSetSupport.validateCode(valueSet, coding("m")));
+        assertFalse(ValueSetSupport.validateCode(valueSet, coding("x")));
+
+        Path file = Files.createTempFile("expansions", ".bin");
+        try {
+            int count = ValueSetSupport.saveExpansionCache(file);
+            assertTrue(count > 0);
+            assertEquals(ValueSetSupport.loadExpansionCache(file), count);
+
+            assertTrue(ValueSetSupport.validateCode(valueSet, coding("m")));
+            assertTrue(ValueSetSupport.validateCode(valueSet, Code.of("m")));
+            assertFalse(ValueSetSupport.validateCode(valueSet, coding("x")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws Exception {
+        Path file = Files.createTempFile("expansions", ".bin");
+        Files.delete(file);
+        assertEquals(ValueSetSupport.loadExpansionCache(file), 0);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testInvalidFile() throws Exception {
+        Path file = Files.createTempFile("expansions", ".bin");
+        try {
+            Files.write(file, "not an expansion cache".getBytes());
+            ValueSetSupport.loadExpansionCache(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Coding coding(String code) {
+        return Coding.builder()
+                .system(Uri.of("http://ibm.com/fhir/CodeSystem/cs5"))
+                .version(string("1.0.0"))
+                .code(Code.of(code))
+                .build();
+    }
+}
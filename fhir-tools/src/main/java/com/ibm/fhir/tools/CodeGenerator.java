@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import javax.json.Json;
@@ -58,6 +59,8 @@ public class CodeGenerator {
     private final List<String> uriSubtypeClassNames = new ArrayList<>();
     private final Map<String, String> superClassMap = new HashMap<>();
     private final Map<String, JsonObject> modifierExtensionDefinitionMap = new HashMap<>();
+    private final Map<String, List<String>> elementMetadataMap = new HashMap<>();
+    private final Map<String, List<String>> constraintMetadataMap = new HashMap<>();
     private static final List<String> DATA_TYPE_NAMES = Arrays.asList(
         "Base64Binary",
         "Boolean",
@@ -262,6 +265,7 @@ public class CodeGenerator {
         generateJsonParser(basePath);
         generateXMLParser(basePath);
         generateModelClassesFile(basePath);
+        generateModelMetadataClass(basePath);
         generateCodeSubtypeClass("ConceptSubsumptionOutcome", "http://hl7.org/fhir/ValueSet/concept-subsumption-outcome", basePath);
         generateCodeSubtypeClass("DataAbsentReason", "http://hl7.org/fhir/ValueSet/data-absent-reason", basePath);
     }
@@ -275,21 +279,7 @@ public class CodeGenerator {
 
         List<String> qualifiedClassNames = new ArrayList<>();
         for (String generatedClassName : generatedClassNames) {
-            String packageName;
-            if (generatedClassName.contains(".")) {
-                // nested class
-                String enclosingClassName = generatedClassName.substring(0, generatedClassName.indexOf("."));
-                packageName = typeClassNames.contains(enclosingClassName) ?
-                        "com.ibm.fhir.model.type" :
-                        "com.ibm.fhir.model.resource";
-            } else {
-                packageName = typeClassNames.contains(generatedClassName) ?
-                        "com.ibm.fhir.model.type" :
-                        "com.ibm.fhir.model.resource";
-            }
-            String className = generatedClassName.replace(".", "$");
-            String qualifiedClassName = packageName + "." + className;
-            qualifiedClassNames.add(qualifiedClassName);
+            qualifiedClassNames.add(getQualifiedClassName(generatedClassName));
         }
 
         Collections.sort(qualifiedClassNames);
@@ -302,6 +292,183 @@ public class CodeGenerator {
         }
     }
 
+    private String getQualifiedClassName(String generatedClassName) {
+        String packageName;
+        if (generatedClassName.contains(".")) {
+            // nested class
+            String enclosingClassName = generatedClassName.substring(0, generatedClassName.indexOf("."));
+            packageName = typeClassNames.contains(enclosingClassName) ?
+                    "com.ibm.fhir.model.type" :
+                    "com.ibm.fhir.model.resource";
+        } else {
+            packageName = typeClassNames.contains(generatedClassName) ?
+                    "com.ibm.fhir.model.type" :
+                    "com.ibm.fhir.model.resource";
+        }
+        String className = generatedClassName.replace(".", "$");
+        return packageName + "." + className;
+    }
+
+    /**
+     * Generates the ModelMetadata class which declares the elements and constraints of each model class so that
+     * ModelSupport can build its tables without reflection. The model classes are declared in the same order as the
+     * modelClasses file, each one followed by its nested classes.
+     */
+    private void generateModelMetadataClass(String basePath) {
+        CodeBuilder cb = new CodeBuilder();
+
+        String packageName = "com.ibm.fhir.model.util";
+        cb.lines(HEADER).newLine();
+        cb._package(packageName).newLine();
+
+        cb._importstatic("com.ibm.fhir.model.util.ModelMetadataBuilder", "BINDING");
+        cb._importstatic("com.ibm.fhir.model.util.ModelMetadataBuilder", "REPEATING");
+        cb._importstatic("com.ibm.fhir.model.util.ModelMetadataBuilder", "REQUIRED");
+        cb._importstatic("com.ibm.fhir.model.util.ModelMetadataBuilder", "SUMMARY");
+        cb.newLine();
+
+        cb._import("javax.annotation.Generated");
+        cb.newLine();
+
+        cb._import("com.ibm.fhir.model.resource.*");
+        cb._import("com.ibm.fhir.model.type.*");
+        cb._import("com.ibm.fhir.model.type.Boolean");
+        cb._import("com.ibm.fhir.model.type.Integer");
+        cb._import("com.ibm.fhir.model.type.String");
+        cb._import("com.ibm.fhir.model.type.code.*");
+        cb.newLine();
+
+        cb.javadocStart();
+        cb.javadoc("ModelMetadata declares the elements and constraints of each model class for {@link ModelSupport}, so that");
+        cb.javadoc("they don't need to be read from the fields and annotations of the model classes by reflection.");
+        cb.javadocEnd();
+        cb.annotation("Generated", quote("com.ibm.fhir.tools.CodeGenerator"));
+        cb._class(mods("final"), "ModelMetadata");
+        cb.constructor(mods("private"), "ModelMetadata").end().newLine();
+
+        // qualified class name -> generated class name, grouped by top-level class
+        Map<String, String> qualifiedClassNameMap = new TreeMap<>();
+        for (String generatedClassName : generatedClassNames) {
+            qualifiedClassNameMap.put(getQualifiedClassName(generatedClassName), generatedClassName);
+        }
+        Map<String, List<String>> topLevelClassNameMap = new LinkedHashMap<>();
+        for (String generatedClassName : qualifiedClassNameMap.values()) {
+            String topLevelClassName = generatedClassName.contains(".") ? generatedClassName.substring(0, generatedClassName.indexOf(".")) : generatedClassName;
+            topLevelClassNameMap.computeIfAbsent(topLevelClassName, k -> new ArrayList<>()).add(generatedClassName);
+        }
+
+        cb.method(mods("static"), "void", "build", params("ModelMetadataBuilder builder"));
+        for (String topLevelClassName : topLevelClassNameMap.keySet()) {
+            cb.invoke("build" + topLevelClassName, args("builder"));
+        }
+        cb.end();
+
+        for (String topLevelClassName : topLevelClassNameMap.keySet()) {
+            cb.newLine();
+            cb.method(mods("private", "static"), "void", "build" + topLevelClassName, params("ModelMetadataBuilder builder"));
+            for (String generatedClassName : topLevelClassNameMap.get(topLevelClassName)) {
+                String superClassName = superClassMap.get(generatedClassName);
+                if (superClassName == null) {
+                    cb.invoke("builder", "modelClass", args(generatedClassName + ".class"));
+                } else {
+                    cb.invoke("builder", "modelClass", args(generatedClassName + ".class", superClassName + ".class"));
+                }
+                for (String constraint : constraintMetadataMap.getOrDefault(generatedClassName, Collections.emptyList())) {
+                    cb.statement("%s", constraint);
+                }
+                for (String element : elementMetadataMap.getOrDefault(generatedClassName, Collections.emptyList())) {
+                    cb.statement("%s", element);
+                }
+            }
+            cb.end();
+        }
+
+        cb._end();
+
+        File file = new File(basePath + "/" + packageName.replace(".", "/") + "/ModelMetadata.java");
+        try {
+            if (!file.exists()) {
+                file.getParentFile().mkdirs();
+                Files.createFile(file.toPath());
+            }
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(cb.toString());
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+
+    /**
+     * @return the ModelMetadataBuilder statement which declares the element
+     */
+    private String getElementMetadata(String modelClassName, JsonObject elementDefinition, String path, String fieldType, boolean binding, List<String> referenceTypes) {
+        List<String> flags = new ArrayList<>();
+        if (isRequired(elementDefinition)) {
+            flags.add("REQUIRED");
+        }
+        if (isSummary(elementDefinition)) {
+            flags.add("SUMMARY");
+        }
+        if (isRepeating(elementDefinition)) {
+            flags.add("REPEATING");
+        }
+        if (binding) {
+            flags.add("BINDING");
+        }
+        String flagsString = flags.isEmpty() ? "0" : String.join(" | ", flags);
+        String elementName = quote(getElementName(elementDefinition, path));
+        List<String> quotedReferenceTypes = referenceTypes.stream().map(s -> quote(s)).collect(Collectors.toList());
+
+        if (isChoiceElement(elementDefinition)) {
+            List<String> arguments = new ArrayList<>(Arrays.asList(elementName, flagsString));
+            if (!referenceTypes.isEmpty()) {
+                arguments.add("new java.lang.String[] { " + String.join(", ", quotedReferenceTypes) + " }");
+            }
+            getChoiceTypeNames(elementDefinition).forEach(s -> arguments.add(s + ".class"));
+            return "builder.choiceElement(" + String.join(", ", arguments) + ")";
+        }
+
+        String elementType = fieldType.startsWith("List<") ? fieldType.substring("List<".length(), fieldType.length() - 1) : fieldType;
+        switch (elementType) {
+        case "TemporalAccessor":
+            elementType = "java.time.temporal.TemporalAccessor";
+            break;
+        case "BigDecimal":
+            elementType = "java.math.BigDecimal";
+            break;
+        case "ZonedDateTime":
+            elementType = "java.time.ZonedDateTime";
+            break;
+        case "LocalTime":
+            elementType = "java.time.LocalTime";
+            break;
+        default:
+            if (!hasContentReference(elementDefinition) && !elementType.contains(".") &&
+                    (getTypes(elementDefinition).isEmpty() || isBackboneElement(elementDefinition))) {
+                // nested class
+                elementType = modelClassName + "." + elementType;
+            }
+            break;
+        }
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(elementName, elementType + ".class", flagsString));
+        arguments.addAll(quotedReferenceTypes);
+        return "builder.element(" + String.join(", ", arguments) + ")";
+    }
+
+    private void addConstraintMetadata(String className, Map<String, String> valueMap) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(valueMap.get("id"), valueMap.get("level"), valueMap.get("location"), valueMap.get("description"), valueMap.get("expression")));
+        if (valueMap.containsKey("modelChecked") || valueMap.containsKey("generated")) {
+            arguments.add(valueMap.getOrDefault("modelChecked", "false"));
+            arguments.add(valueMap.getOrDefault("generated", "false"));
+        }
+        constraintMetadataMap.computeIfAbsent(className, k -> new ArrayList<>()).add("builder.constraint(" + String.join(", ", arguments) + ")");
+    }
+
     private void generateDefaultVisitorClass(String basePath) {
         CodeBuilder cb = new CodeBuilder();
 
@@ -922,10 +1089,12 @@ public class CodeGenerator {
             cb.javadoc(javadocLines);
 
             String className = nested ? titleCase(path.substring(path.lastIndexOf(".") + 1)) : titleCase(structureDefinition.getString("name"));
+            String modelClassName = className;
             if (nested) {
                 String nestedClassName = Arrays.asList(path.split("\\.")).stream().map(s -> titleCase(s)).collect(Collectors.joining("."));
                 generatedClassNames.add(nestedClassName);
                 superClassMap.put(nestedClassName, "BackboneElement");
+                modelClassName = nestedClassName;
             } else {
                 generatedClassNames.add(className);
                 if (isPrimitiveType(structureDefinition)) {
@@ -1010,12 +1179,16 @@ public class CodeGenerator {
 
             String visibility = nested ? "private" : visibility(structureDefinition);
 
+            List<String> elementMetadata = new ArrayList<>();
+            elementMetadataMap.put(modelClassName, elementMetadata);
+
             int fieldCount = 0;
             for (JsonObject elementDefinition : elementDefinitions) {
                 String basePath = elementDefinition.getJsonObject("base").getString("path");
                 if (elementDefinition.getString("path").equals(basePath)) {
                     String fieldName = getFieldName(elementDefinition, path);
                     String fieldType = getFieldType(structureDefinition, elementDefinition);
+                    List<String> referenceTargets = Collections.emptyList();
                     if (isSummary(elementDefinition)) {
                         cb.annotation("Summary");
                     }
@@ -1025,6 +1198,7 @@ public class CodeGenerator {
                             if (!referenceTypes.isEmpty()) {
                                 String referenceTypesString = getReferenceTypes(elementDefinition).stream().collect(Collectors.joining("\", \""));
                                 cb.annotation("ReferenceTarget", "{ \"" + referenceTypesString + "\" }");
+                                referenceTargets = referenceTypes;
                             }
                         }
                     }
@@ -1035,6 +1209,7 @@ public class CodeGenerator {
                             if (!referenceTypes.isEmpty()) {
                                 String referenceTypesString = getReferenceTypes(elementDefinition).stream().collect(Collectors.joining("\", \""));
                                 cb.annotation("ReferenceTarget", "{ \"" + referenceTypesString + "\" }");
+                                referenceTargets = referenceTypes;
                             }
                         }
                         cb.annotation("Choice", "{ " + types + " }");
@@ -1044,13 +1219,15 @@ public class CodeGenerator {
                         if (!referenceTypes.isEmpty()) {
                             String referenceTypesString = getReferenceTypes(elementDefinition).stream().collect(Collectors.joining("\", \""));
                             cb.annotation("ReferenceTarget", "{ \"" + referenceTypesString + "\" }");
+                            referenceTargets = referenceTypes;
                         }
                     }
-                    generateBindingAnnotation(structureDefinition, cb, className, elementDefinition);
+                    boolean binding = generateBindingAnnotation(structureDefinition, cb, className, elementDefinition);
                     if (isRequired(elementDefinition)) {
                         cb.annotation("Required");
                     }
                     cb.field(mods(visibility, "final"), fieldType, fieldName);
+                    elementMetadata.add(getElementMetadata(modelClassName, elementDefinition, path, fieldType, binding, referenceTargets));
                     if (isBackboneElement(elementDefinition)) {
                         nestedPaths.add(elementDefinition.getString("path"));
                     }
@@ -1337,7 +1514,10 @@ public class CodeGenerator {
         return referenceTypes;
     }
 
-    private void generateBindingAnnotation(JsonObject structureDefinition, CodeBuilder cb, String className, JsonObject elementDefinition) {
+    /**
+     * @return true if a binding annotation was generated; otherwise false
+     */
+    private boolean generateBindingAnnotation(JsonObject structureDefinition, CodeBuilder cb, String className, JsonObject elementDefinition) {
         JsonObject binding = getBinding(elementDefinition);
         if (binding != null) {
             String bindingName = getBindingName(binding);
@@ -1382,8 +1562,10 @@ public class CodeGenerator {
                 }
 
                 cb.annotation(prefix + "Binding", valueMap);
+                return true;
             }
         }
+        return false;
     }
 
     @SuppressWarnings("unused")
@@ -1533,6 +1715,7 @@ public class CodeGenerator {
                 valueMap.put("modelChecked", "true");
             }
             cb.annotation("Constraint", valueMap);
+            addConstraintMetadata(className, valueMap);
         }
 
         // Generate constraint annotations from extensible and preferred bindings
@@ -1582,6 +1765,7 @@ public class CodeGenerator {
                 valueMap.put("expression", quote(expression));
                 valueMap.put("generated", "true");
                 cb.annotation("Constraint", valueMap);
+                addConstraintMetadata(className, valueMap);
             }
         }
     }
@@ -2280,8 +2464,10 @@ public class CodeGenerator {
 
         cb._import("java.io.InputStream");
         cb._import("java.io.Reader");
+        cb._import("java.util.Objects");
         cb._import("java.util.Stack");
         cb._import("java.util.StringJoiner");
+        cb._import("java.util.function.Consumer");
         cb.newLine();
 
         cb._import("javax.annotation.Generated");
@@ -2310,6 +2496,7 @@ public class CodeGenerator {
         cb.newLine();
 
         cb.field(mods("private", "final"), "Stack<java.lang.String>", "stack", _new("Stack<>"));
+        cb.field(mods("private"), "Consumer<Bundle.Entry>", "entryConsumer");
         cb.newLine();
 
         cb.constructor(mods(), "FHIRXMLParser");
@@ -2359,11 +2546,31 @@ public class CodeGenerator {
         .end();
         cb.newLine();
 
+        generateXMLParseBundleEntriesMethod("InputStream in", "in", cb);
+        generateXMLParseBundleEntriesMethod("Reader reader", "reader", cb);
+
         cb.method(mods("private"), "void", "reset")
             .invoke("stack", "clear", args())
         .end();
         cb.newLine();
 
+        cb.override();
+        cb.method(mods("public"), "boolean", "isPropertySupported", params("java.lang.String name"))
+            ._if("FHIRParser.PROPERTY_INTERN_PRIMITIVES.equals(name)")
+                ._return("true")
+            ._end()
+            ._return("false")
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "<T extends Element> T", "intern", params("T element"))
+            ._if("getPropertyOrDefault(FHIRParser.PROPERTY_INTERN_PRIMITIVES, java.lang.Boolean.FALSE, java.lang.Boolean.class)")
+                ._return("PrimitivePool.intern(element)")
+            ._end()
+            ._return("element")
+        .end();
+        cb.newLine();
+
         cb.method(mods("private"), "Resource", "parseResource", params("java.lang.String elementName", "XMLStreamReader reader", "int elementIndex"), throwsExceptions("XMLStreamException"));
         cb._if("isResourceContainer(elementName)")
             .invoke("reader", "nextTag", args())
@@ -2466,6 +2673,34 @@ public class CodeGenerator {
         }
     }
 
+    private void generateXMLParseBundleEntriesMethod(String param, String arg, CodeBuilder cb) {
+        cb.override();
+        cb.method(mods("public"), "Bundle", "parseBundleEntries", params(param, "Consumer<Bundle.Entry> entryConsumer"), throwsExceptions("FHIRParserException"))
+            ._try("StreamReaderDelegate delegate = createStreamReaderDelegate(" + arg + ")")
+                .invoke("reset", args())
+                .assign("this.entryConsumer", "Objects.requireNonNull(entryConsumer)")
+                ._while("delegate.hasNext()")
+                    .assign("int eventType", "delegate.next()")
+                    ._switch("eventType")
+                    ._case("XMLStreamReader.START_ELEMENT")
+                        .invoke("requireNamespace", args("delegate", "FHIR_NS_URI"))
+                        .assign("java.lang.String resourceType", "getResourceType(delegate)")
+                        ._if("!\"Bundle\".equals(resourceType)")
+                            ._throw("new IllegalArgumentException(\"Expected resource type: 'Bundle' but found: '\" + resourceType + \"'\")")
+                        ._end()
+                        ._return("parseBundle(resourceType, delegate, -1)")
+                    ._end()
+                ._end()
+                ._throw(_new("XMLStreamException", args(quote("Unexpected end of stream"))))
+            ._catch("Exception e")
+                ._throw(_new("FHIRParserException", args("e.getMessage()", "getPath()", "e")))
+            ._finally()
+                .assign("this.entryConsumer", "null")
+            ._end()
+        .end();
+        cb.newLine();
+    }
+
     private void generateXMLParseMethod(String generatedClassName, JsonObject structureDefinition, CodeBuilder cb) {
         if (isAbstract(structureDefinition)) {
             return;
@@ -2582,7 +2817,16 @@ public class CodeGenerator {
                 cb._case(quote(elementName));
                 cb.assign("position", "checkElementOrder(" + quote(elementName) + ", " + orderIndex + ", position, " + isRepeating(elementDefinition) + ")");
                 String parseMethodInvocation = buildParseMethodInvocation(elementDefinition, elementName, fieldType);
-                cb.invoke("builder", fieldName, args(parseMethodInvocation));
+                if ("Bundle".equals(generatedClassName) && "entry".equals(elementName)) {
+                    // top-level entries are handed to the consumer (if any) instead of being collected in the bundle
+                    cb._if("entryConsumer != null && stack.size() == 1")
+                        .invoke("entryConsumer", "accept", args(parseMethodInvocation))
+                    ._else()
+                        .invoke("builder", fieldName, args(parseMethodInvocation))
+                    ._end();
+                } else {
+                    cb.invoke("builder", fieldName, args(parseMethodInvocation));
+                }
                 cb._break();
             } else {
                 // generate choice element cases
@@ -2604,10 +2848,12 @@ public class CodeGenerator {
 
         cb._break();
 
+        // shared instances for repeated primitive values, if enabled
+        String result = ("String".equals(generatedClassName) || "Uri".equals(generatedClassName)) ? "intern(builder.build())" : "builder.build()";
         cb._case("XMLStreamReader.END_ELEMENT")
             ._if("reader.getLocalName().equals(elementName)")
                 .invoke("stackPop", args())
-                ._return("builder.build()")
+                ._return(result)
             ._end()
             ._break();
 
@@ -2672,20 +2918,28 @@ public class CodeGenerator {
         cb._import("java.io.InputStream");
         cb._import("java.io.Reader");
         cb._import("java.nio.charset.StandardCharsets");
+        cb._import("java.util.ArrayList");
         cb._import("java.util.Collection");
+        cb._import("java.util.Collections");
+        cb._import("java.util.Objects");
         cb._import("java.util.Stack");
         cb._import("java.util.StringJoiner");
+        cb._import("java.util.function.Consumer");
         cb.newLine();
 
         cb._import("javax.annotation.Generated");
         cb._import("javax.json.Json");
         cb._import("javax.json.JsonArray");
+        cb._import("javax.json.JsonBuilderFactory");
         cb._import("javax.json.JsonNumber");
         cb._import("javax.json.JsonObject");
+        cb._import("javax.json.JsonObjectBuilder");
         cb._import("javax.json.JsonReader");
         cb._import("javax.json.JsonReaderFactory");
         cb._import("javax.json.JsonString");
         cb._import("javax.json.JsonValue");
+        cb._import("javax.json.stream.JsonParser");
+        cb._import("javax.json.stream.JsonParserFactory");
         cb.newLine();
 
         cb._import("com.ibm.fhir.model.parser.FHIRParser");
@@ -2708,9 +2962,12 @@ public class CodeGenerator {
         cb._class(mods("public"), "FHIRJsonParser", "FHIRAbstractParser");
         cb.field(mods("public", "static"), "boolean", "DEBUG", "false");
         cb.field(mods("private", "static", "final"), "JsonReaderFactory", "JSON_READER_FACTORY", "Json.createReaderFactory(null)");
+        cb.field(mods("private", "static", "final"), "JsonParserFactory", "JSON_PARSER_FACTORY", "Json.createParserFactory(null)");
+        cb.field(mods("private", "static", "final"), "JsonBuilderFactory", "JSON_BUILDER_FACTORY", "Json.createBuilderFactory(null)");
         cb.newLine();
 
         cb.field(mods("private", "final"), "Stack<java.lang.String>", "stack", _new("Stack<>"));
+        cb.field(mods("private"), "Consumer<Bundle.Entry>", "entryConsumer");
         cb.newLine();
 
         cb.constructor(mods(), "FHIRJsonParser");
@@ -2727,6 +2984,15 @@ public class CodeGenerator {
 
         // public <T extends Resource> T parseAndFilter(InputStream in, java.util.List<java.lang.String> elementsToInclude) throws FHIRException
         cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("InputStream in", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            ._if("isStreamingBundleEntries()")
+                ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8)")
+                    ._return("parseAndFilter(jsonParser, elementsToInclude)")
+                ._catch("FHIRParserException e")
+                    ._throw("e")
+                ._catch("Exception e")
+                    ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+                ._end()
+            ._end()
             ._try("JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingInputStream(in), StandardCharsets.UTF_8)")
                 .assign("JsonObject jsonObject", "jsonReader.readObject()")
                 ._return("parseAndFilter(jsonObject, elementsToInclude)")
@@ -2747,6 +3013,15 @@ public class CodeGenerator {
 
         // public <T extends Resource> T parseAndFilter(Reader reader, java.util.List<java.lang.String> elementsToInclude) throws FHIRException
         cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("Reader reader", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            ._if("isStreamingBundleEntries()")
+                ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader))")
+                    ._return("parseAndFilter(jsonParser, elementsToInclude)")
+                ._catch("FHIRParserException e")
+                    ._throw("e")
+                ._catch("Exception e")
+                    ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+                ._end()
+            ._end()
             ._try("JsonReader jsonReader = JSON_READER_FACTORY.createReader(nonClosingReader(reader))")
                 .assign("JsonObject jsonObject", "jsonReader.readObject()")
                 ._return("parseAndFilter(jsonObject, elementsToInclude)")
@@ -2780,6 +3055,8 @@ public class CodeGenerator {
         .end();
         cb.newLine();
 
+        generateStreamingParseMethods(cb);
+
         cb.method(mods("private"), "void", "reset")
             .invoke("stack", "clear", args())
         .end();
@@ -2790,10 +3067,29 @@ public class CodeGenerator {
             ._if("FHIRParser.PROPERTY_IGNORE_UNRECOGNIZED_ELEMENTS.equals(name)")
                 ._return("true")
             ._end()
+            ._if("FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES.equals(name)")
+                ._return("true")
+            ._end()
+            ._if("FHIRParser.PROPERTY_INTERN_PRIMITIVES.equals(name)")
+                ._return("true")
+            ._end()
             ._return("false")
         .end();
         cb.newLine();
 
+        cb.method(mods("private"), "boolean", "isStreamingBundleEntries")
+            ._return("getPropertyOrDefault(FHIRParser.PROPERTY_STREAM_BUNDLE_ENTRIES, java.lang.Boolean.FALSE, java.lang.Boolean.class)")
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "<T extends Element> T", "intern", params("T element"))
+            ._if("getPropertyOrDefault(FHIRParser.PROPERTY_INTERN_PRIMITIVES, java.lang.Boolean.FALSE, java.lang.Boolean.class)")
+                ._return("PrimitivePool.intern(element)")
+            ._end()
+            ._return("element")
+        .end();
+        cb.newLine();
+
         cb.method(mods("private"), "Resource", "parseResource", params("java.lang.String elementName", "JsonObject jsonObject", "int elementIndex"));
         cb._if("jsonObject == null");
         cb._return("null");
@@ -2877,6 +3173,154 @@ public class CodeGenerator {
         }
     }
 
+    /**
+     * Generate the methods that parse a resource from a javax.json.stream.JsonParser.
+     *
+     * <p>These methods only split the entries of a Bundle: each entry is read into a JsonObject and converted before
+     * the next one is read, so that the JSON tree for all of the entries is never held in memory alongside the
+     * resulting model object. The other top-level elements are still collected into a JsonObject and converted by the
+     * tree-based parse methods, so a resource other than a Bundle gets no memory benefit.
+     */
+    private void generateStreamingParseMethods(CodeBuilder cb) {
+        cb.override();
+        cb.method(mods("public"), "Bundle", "parseBundleEntries", params("InputStream in", "Consumer<Bundle.Entry> entryConsumer"), throwsExceptions("FHIRParserException"))
+            ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingInputStream(in), StandardCharsets.UTF_8)")
+                ._return("parseBundleEntries(jsonParser, entryConsumer)")
+            ._catch("FHIRParserException e")
+                ._throw("e")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._end()
+        .end();
+        cb.newLine();
+
+        cb.override();
+        cb.method(mods("public"), "Bundle", "parseBundleEntries", params("Reader reader", "Consumer<Bundle.Entry> entryConsumer"), throwsExceptions("FHIRParserException"))
+            ._try("JsonParser jsonParser = JSON_PARSER_FACTORY.createParser(nonClosingReader(reader))")
+                ._return("parseBundleEntries(jsonParser, entryConsumer)")
+            ._catch("FHIRParserException e")
+                ._throw("e")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._end()
+        .end();
+        cb.newLine();
+
+        cb.method(mods("public"), "Bundle", "parseBundleEntries", params("JsonParser jsonParser", "Consumer<Bundle.Entry> entryConsumer"), throwsExceptions("FHIRParserException"))
+            ._try()
+                .invoke("reset", args())
+                .assign("this.entryConsumer", "Objects.requireNonNull(entryConsumer)")
+                .assign("Bundle bundle", "(Bundle) parseResource(jsonParser, null)")
+                ._if("!bundle.getEntry().isEmpty()")
+                    .comment("entries that precede the resourceType element are parsed with the rest of the bundle")
+                    .invoke("bundle.getEntry()", "forEach", args("entryConsumer"))
+                    .assign("bundle", "bundle.toBuilder().entry(Collections.emptyList()).build()")
+                ._end()
+                ._return("bundle")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._finally()
+                .assign("this.entryConsumer", "null")
+            ._end()
+        .end();
+        cb.newLine();
+
+        cb.method(mods("public"), "<T extends Resource> T", "parse", params("JsonParser jsonParser"), throwsExceptions("FHIRParserException"))
+            ._return("parseAndFilter(jsonParser, null)")
+        .end();
+        cb.newLine();
+
+        cb.annotation("SuppressWarnings", quote("unchecked"));
+        cb.method(mods("public"), "<T extends Resource> T", "parseAndFilter", params("JsonParser jsonParser", "Collection<java.lang.String> elementsToInclude"), throwsExceptions("FHIRParserException"))
+            ._try()
+                .invoke("reset", args())
+                ._return("(T) parseResource(jsonParser, elementsToInclude)")
+            ._catch("Exception e")
+                ._throw("new FHIRParserException(e.getMessage(), getPath(), e)")
+            ._end()
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "Resource", "parseResource", params("JsonParser jsonParser", "Collection<java.lang.String> elementsToInclude"))
+            ._if("!jsonParser.hasNext() || jsonParser.next() != JsonParser.Event.START_OBJECT")
+                ._throw("new IllegalArgumentException(\"Expected: OBJECT at the start of the input\")")
+            ._end()
+            .assign("JsonObjectBuilder objectBuilder", "JSON_BUILDER_FACTORY.createObjectBuilder()")
+            .assign("Class<?> resourceType", "null")
+            .assign("ElementFilter elementFilter", "null")
+            .assign("java.util.List<Bundle.Entry> entries", "null")
+            ._while("jsonParser.next() == JsonParser.Event.KEY_NAME")
+                .assign("java.lang.String key", "jsonParser.getString()")
+                .assign("JsonParser.Event event", "jsonParser.next()")
+                ._if("elementFilter != null && !elementFilter.includes(key)")
+                    .invoke("skipValue", args("jsonParser", "event"))
+                    ._continue()
+                ._end()
+                ._if("resourceType == Bundle.class && \"entry\".equals(key) && event == JsonParser.Event.START_ARRAY")
+                    .assign("entries", "parseBundleEntryArray(jsonParser)")
+                    ._continue()
+                ._end()
+                ._if("\"resourceType\".equals(key) && event == JsonParser.Event.VALUE_STRING")
+                    .assign("resourceType", "getResourceType(jsonParser.getString())")
+                    ._if("entryConsumer != null && resourceType != Bundle.class")
+                        ._throw("new IllegalArgumentException(\"Expected resource type: 'Bundle' but found: '\" + resourceType.getSimpleName() + \"'\")")
+                    ._end()
+                    ._if("elementsToInclude != null")
+                        .assign("elementFilter", "new ElementFilter(resourceType, elementsToInclude)")
+                    ._end()
+                ._end()
+                .invoke("objectBuilder", "add", args("key", "jsonParser.getValue()"))
+            ._end()
+            .assign("JsonObject jsonObject", "objectBuilder.build()")
+            ._if("resourceType == null")
+                .assign("resourceType", "getResourceType(jsonObject)")
+                ._if("entryConsumer != null && resourceType != Bundle.class")
+                    ._throw("new IllegalArgumentException(\"Expected resource type: 'Bundle' but found: '\" + resourceType.getSimpleName() + \"'\")")
+                ._end()
+            ._end()
+            ._if("elementsToInclude != null")
+                .assign("jsonObject", "new ElementFilter(resourceType, elementsToInclude).apply(jsonObject)")
+            ._end()
+            .assign("Resource resource", "parseResource(resourceType.getSimpleName(), jsonObject, -1)")
+            ._if("entries != null")
+                .assign("resource", "((Bundle) resource).toBuilder().entry(entries).build()")
+            ._end()
+            ._return("resource")
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "java.util.List<Bundle.Entry>", "parseBundleEntryArray", params("JsonParser jsonParser"))
+            .assign("java.util.List<Bundle.Entry> entries", "new ArrayList<>()")
+            .invoke("stackPush", args(quote("Bundle"), "-1"))
+            .assign("int elementIndex", "0")
+            .assign("JsonParser.Event event", "jsonParser.next()")
+            ._while("event != JsonParser.Event.END_ARRAY")
+                ._if("event != JsonParser.Event.START_OBJECT")
+                    ._throw("new IllegalArgumentException(\"Expected: OBJECT but found: \" + event + \" for element: entry\")")
+                ._end()
+                .assign("Bundle.Entry entry", "parseBundleEntry(\"entry\", jsonParser.getObject(), elementIndex++)")
+                ._if("entryConsumer != null")
+                    .invoke("entryConsumer", "accept", args("entry"))
+                ._else()
+                    .invoke("entries", "add", args("entry"))
+                ._end()
+                .assign("event", "jsonParser.next()")
+            ._end()
+            .invoke("stackPop", args())
+            ._return("entries")
+        .end();
+        cb.newLine();
+
+        cb.method(mods("private"), "void", "skipValue", params("JsonParser jsonParser", "JsonParser.Event event"))
+            ._if("event == JsonParser.Event.START_OBJECT")
+                .invoke("jsonParser", "skipObject", args())
+            ._elseif("event == JsonParser.Event.START_ARRAY")
+                .invoke("jsonParser", "skipArray", args())
+            ._end()
+        .end();
+        cb.newLine();
+    }
+
     private void generateParseChoiceElementMethod(CodeBuilder cb) {
         cb.method(mods("private"), "Element", "parseChoiceElement", params("java.lang.String name", "JsonObject jsonObject", "Class<?>... choiceTypes"));
         cb._if("jsonObject == null")
@@ -3124,7 +3568,12 @@ public class CodeGenerator {
         }
 
         cb.invoke("stackPop", args());
-        cb._return("builder.build()");
+        if ("String".equals(generatedClassName) || "Uri".equals(generatedClassName)) {
+            // shared instances for repeated primitive values, if enabled
+            cb._return("intern(builder.build())");
+        } else {
+            cb._return("builder.build()");
+        }
         cb.end().newLine();
 
         if ("String".equals(generatedClassName) || "Uri".equals(generatedClassName) || "Integer".equals(generatedClassName)) {
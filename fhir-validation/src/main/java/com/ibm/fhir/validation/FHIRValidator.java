@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2019, 2020
+ * (C) Copyright IBM Corp. 2019, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -21,6 +21,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,12 +49,26 @@ import com.ibm.fhir.profile.ProfileSupport;
 import com.ibm.fhir.registry.FHIRRegistry;
 import com.ibm.fhir.validation.exception.FHIRValidationException;
 
+/**
+ * Validates resources against the constraints in the base specification and in profiles.
+ *
+ * <p>Instances are thread-safe. A validator created with {@link #validator(Executor)} evaluates the constraints of
+ * large resources, such as bundles, concurrently on the given executor.
+ */
 public class FHIRValidator {
     private static final Logger log = Logger.getLogger(FHIRValidator.class.getName());
 
-    private final ValidatingNodeVisitor visitor = new ValidatingNodeVisitor();
+    // resources with fewer constraints to evaluate than this are validated serially, even in parallel mode
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
 
-    private FHIRValidator() { }
+    // the executor used to evaluate constraints concurrently, or null to evaluate them serially
+    private final Executor executor;
+
+    private FHIRValidator(Executor executor) {
+        this.executor = executor;
+    }
 
     /**
      * Validate a {@link Resource} against constraints in the base specification and
@@ -169,7 +187,9 @@ public class FHIRValidator {
         try {
             List<Issue> issues = new ArrayList<>();
             validateProfileReferences(evaluationContext.getTree().getRoot().asResourceNode(), Arrays.asList(profiles), false, issues);
-            issues.addAll(visitor.validate(evaluationContext, includeResourceAssertedProfiles, profiles));
+            ValidatingNodeVisitor visitor = new ValidatingNodeVisitor(includeResourceAssertedProfiles, Arrays.asList(profiles));
+            evaluationContext.getTree().getRoot().accept(visitor);
+            issues.addAll(evaluate(evaluationContext, visitor.getChecks()));
             Collections.sort(issues, ISSUE_COMPARATOR);
             return Collections.unmodifiableList(issues);
         } catch (Exception e) {
@@ -177,8 +197,35 @@ public class FHIRValidator {
         }
     }
 
+    /**
+     * Static factory method for creating FHIRValidator instances which evaluate constraints serially
+     *
+     * @return
+     *     a new FHIRValidator instance
+     */
     public static FHIRValidator validator() {
-        return new FHIRValidator();
+        return new FHIRValidator(null);
+    }
+
+    /**
+     * Static factory method for creating FHIRValidator instances
+     *
+     * <p>In parallel mode, the constraints which apply to the nodes of the resource (including contained resources
+     * and bundle entries) and the constraints of each profile are evaluated concurrently. The validation result is
+     * the same as in serial mode.
+     *
+     * <p>The calling thread also evaluates constraints while it waits, so the executor may be one whose threads
+     * call the validator. The tasks run with whatever thread context the executor gives them; an executor which
+     * needs the caller's context (e.g. the request context used to look up tenant-specific profiles) must
+     * propagate it.
+     *
+     * @param executor
+     *     the executor used to evaluate the constraints of large resources concurrently, or null to evaluate them serially
+     * @return
+     *     a new FHIRValidator instance
+     */
+    public static FHIRValidator validator(Executor executor) {
+        return new FHIRValidator(executor);
     }
 
     /**
@@ -227,26 +274,106 @@ public class FHIRValidator {
             .build();
     }
 
-    private static class ValidatingNodeVisitor extends FHIRPathDefaultNodeVisitor {
-        private FHIRPathEvaluator evaluator = FHIRPathEvaluator.evaluator();
-        private EvaluationContext evaluationContext;
-        private boolean includeResourceAssertedProfiles;
-        private List<String> profiles;
-        private List<Issue> issues = new ArrayList<>();
+    /**
+     * Evaluate the checks collected from the tree. In parallel mode, consecutive runs of checks are evaluated
+     * concurrently on the executor, each with its own copy of the evaluation context, and the issues are
+     * merged in the order of the checks so that the result is the same as when they are evaluated serially.
+     */
+    private List<Issue> evaluate(EvaluationContext evaluationContext, List<Check> checks) {
+        if (executor == null || checks.size() < PARALLEL_THRESHOLD) {
+            return new ConstraintEvaluator(evaluationContext).evaluate(checks, 0, checks.size());
+        }
 
-        private ValidatingNodeVisitor() { }
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (checks.size() + PARALLELISM * 4 - 1) / (PARALLELISM * 4));
+        List<FutureTask<List<Issue>>> tasks = new ArrayList<>();
+        for (int from = 0; from < checks.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, checks.size());
+            // copy the context here, the tasks must not read the caller's context while another task changes it
+            ConstraintEvaluator constraintEvaluator = new ConstraintEvaluator(evaluationContext.copy());
+            int start = from;
+            FutureTask<List<Issue>> task = new FutureTask<>(() -> constraintEvaluator.evaluate(checks, start, to));
+            tasks.add(task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the caller runs it below
+                log.fine("Constraint evaluation rejected by the executor; evaluating the constraints serially");
+                break;
+            }
+        }
 
-        private List<Issue> validate(EvaluationContext evaluationContext, boolean includeResourceAssertedProfiles, String... profiles) {
-            reset();
-            this.evaluationContext = evaluationContext;
+        List<Issue> issues = new ArrayList<>();
+        try {
+            for (FutureTask<List<Issue>> task : tasks) {
+                // run the task here if no executor thread has started it yet; this does nothing if one has
+                task.run();
+            }
+            for (FutureTask<List<Issue>> task : tasks) {
+                issues.addAll(task.get());
+            }
+            // evaluate any checks left over when the executor rejected a task
+            int evaluated = tasks.size() * chunkSize;
+            if (evaluated < checks.size()) {
+                issues.addAll(new ConstraintEvaluator(evaluationContext).evaluate(checks, evaluated, checks.size()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (FutureTask<List<Issue>> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * A constraint to evaluate for a node, or an issue found while collecting the constraints
+     */
+    private static class Check {
+        private final Class<?> type;
+        private final FHIRPathNode node;
+        private final Constraint constraint;
+        private final Issue issue;
+
+        private Check(Class<?> type, FHIRPathNode node, Constraint constraint) {
+            this.type = type;
+            this.node = node;
+            this.constraint = constraint;
+            this.issue = null;
+        }
+
+        private Check(Issue issue) {
+            this.type = null;
+            this.node = null;
+            this.constraint = null;
+            this.issue = issue;
+        }
+    }
+
+    /**
+     * Walks the tree and collects the constraints which apply to each node, in the order they are evaluated
+     */
+    private static class ValidatingNodeVisitor extends FHIRPathDefaultNodeVisitor {
+        private final boolean includeResourceAssertedProfiles;
+        private final List<String> profiles;
+        private final List<Check> checks = new ArrayList<>();
+
+        private ValidatingNodeVisitor(boolean includeResourceAssertedProfiles, List<String> profiles) {
             this.includeResourceAssertedProfiles = includeResourceAssertedProfiles;
-            this.profiles = Arrays.asList(profiles);
-            this.evaluationContext.getTree().getRoot().accept(this);
-            return issues;
+            this.profiles = profiles;
         }
 
-        private void reset() {
-            issues.clear();
+        private List<Check> getChecks() {
+            return checks;
         }
 
         @Override
@@ -259,9 +386,6 @@ public class FHIRValidator {
             validate(node);
         }
 
-        /**
-         * @throws RuntimeException if the registered constraints cannot be evaluated for the passed element node
-         */
         private void validate(FHIRPathElementNode elementNode) {
             Class<?> elementType = elementNode.element().getClass();
             Collection<Constraint> constraints = ModelSupport.getConstraints(elementType);
@@ -272,7 +396,7 @@ public class FHIRValidator {
                         constraints = new ArrayList<>(constraints);
                         constraints.add(createConstraint("generated-ext-1", Constraint.LEVEL_RULE, Constraint.LOCATION_BASE, "Extension must conform to definition '" + url + "'", "conformsTo('" + url + "')", false, true));
                     } else {
-                        issues.add(issue(IssueSeverity.WARNING, IssueType.NOT_SUPPORTED, "Extension definition '" + url + "' is not supported", elementNode));
+                        checks.add(new Check(issue(IssueSeverity.WARNING, IssueType.NOT_SUPPORTED, "Extension definition '" + url + "' is not supported", elementNode)));
                     }
                 }
             }
@@ -288,15 +412,16 @@ public class FHIRValidator {
             return false;
         }
 
-        /**
-         * @throws RuntimeException if the registered constraints cannot be evaluated for the passed resource node
-         */
         private void validate(FHIRPathResourceNode resourceNode) {
             Class<?> resourceType = resourceNode.resource().getClass();
             validate(resourceType, resourceNode, ModelSupport.getConstraints(resourceType));
             if (includeResourceAssertedProfiles) {
                 List<String> resourceAssertedProfiles = ProfileSupport.getResourceAssertedProfiles(resourceNode.resource());
+                List<Issue> issues = new ArrayList<>();
                 validateProfileReferences(resourceNode, resourceAssertedProfiles, true, issues);
+                for (Issue issue : issues) {
+                    checks.add(new Check(issue));
+                }
                 validate(resourceType, resourceNode, ProfileSupport.getConstraints(resourceAssertedProfiles, resourceType));
             }
             if (!profiles.isEmpty() && !resourceNode.path().contains(".")) {
@@ -304,9 +429,6 @@ public class FHIRValidator {
             }
         }
 
-        /**
-         * @throws RuntimeException if one of the passed constraints cannot be evaluated for the passed node
-         */
         private void validate(Class<?> type, FHIRPathNode node, Collection<Constraint> constraints) {
             for (Constraint constraint : constraints) {
                 if (constraint.modelChecked()) {
@@ -315,16 +437,43 @@ public class FHIRValidator {
                     }
                     continue;
                 }
-                evaluationContext.setConstraint(constraint);
-                validate(type, node, constraint);
+                checks.add(new Check(type, node, constraint));
+            }
+        }
+    }
+
+    /**
+     * Evaluates checks against an evaluation context. Instances are used by one thread at a time.
+     */
+    private static class ConstraintEvaluator {
+        private final FHIRPathEvaluator evaluator = FHIRPathEvaluator.evaluator();
+        private final EvaluationContext evaluationContext;
+
+        private ConstraintEvaluator(EvaluationContext evaluationContext) {
+            this.evaluationContext = evaluationContext;
+        }
+
+        /**
+         * @throws RuntimeException if one of the checks cannot be evaluated
+         */
+        private List<Issue> evaluate(List<Check> checks, int from, int to) {
+            List<Issue> issues = new ArrayList<>();
+            for (Check check : checks.subList(from, to)) {
+                if (check.issue != null) {
+                    issues.add(check.issue);
+                    continue;
+                }
+                evaluationContext.setConstraint(check.constraint);
+                validate(check.type, check.node, check.constraint, issues);
                 evaluationContext.unsetConstraint();
             }
+            return issues;
         }
 
         /**
          * @throws RuntimeException if the passed constraint cannot be evaluated for the passed node
          */
-        private void validate(Class<?> type, FHIRPathNode node, Constraint constraint) {
+        private void validate(Class<?> type, FHIRPathNode node, Constraint constraint, List<Issue> issues) {
             String path = node.path();
             try {
                 if (log.isLoggable(Level.FINER)) {
@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright IBM Corp. 2021
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.ibm.fhir.validation.test;
+
+import static com.ibm.fhir.model.type.String.string;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.ibm.fhir.model.resource.Bundle;
+import com.ibm.fhir.model.resource.Bundle.Entry;
+import com.ibm.fhir.model.resource.OperationOutcome.Issue;
+import com.ibm.fhir.model.resource.Patient;
+import com.ibm.fhir.model.type.Extension;
+import com.ibm.fhir.model.type.HumanName;
+import com.ibm.fhir.model.type.Uri;
+import com.ibm.fhir.model.type.code.BundleType;
+import com.ibm.fhir.validation.FHIRValidator;
+
+/**
+ * The issues found by a validator in parallel mode must be the same, and in the same order, as in serial mode
+ */
+public class ParallelValidationTest {
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void teardown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSameIssues() throws Exception {
+        Bundle bundle = bundle(200);
+        List<Issue> expected = FHIRValidator.validator().validate(bundle);
+        assertFalse(expected.isEmpty());
+
+        List<Issue> actual = FHIRValidator.validator(executor).validate(bundle);
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testSmallResource() throws Exception {
+        Bundle bundle = bundle(1);
+        assertEquals(FHIRValidator.validator(executor).validate(bundle), FHIRValidator.validator().validate(bundle));
+    }
+
+    @Test
+    public void testSharedValidator() throws Exception {
+        Bundle bundle = bundle(50);
+        List<Issue> expected = FHIRValidator.validator().validate(bundle);
+
+        // the validations run on the same executor as their constraints, so every executor thread may be
+        // waiting on constraints which no executor thread is free to evaluate
+        FHIRValidator validator = FHIRValidator.validator(executor);
+        List<Future<List<Issue>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> validator.validate(bundle)));
+        }
+        for (Future<List<Issue>> result : results) {
+            assertEquals(result.get(), expected);
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        Bundle bundle = bundle(200);
+        ExecutorService shutdownExecutor = Executors.newSingleThreadExecutor();
+        shutdownExecutor.shutdown();
+        assertEquals(FHIRValidator.validator(shutdownExecutor).validate(bundle), FHIRValidator.validator().validate(bundle));
+    }
+
+    /**
+     * A bundle with a mix of valid entries, entries which violate a constraint and entries with an
+     * extension which isn't known to the registry
+     */
+    private static Bundle bundle(int count) {
+        Bundle.Builder builder = Bundle.builder().type(BundleType.COLLECTION);
+        for (int i = 0; i < count; i++) {
+            Patient.Builder patient = Patient.builder()
+                    .id("patient-" + i)
+                    .name(HumanName.builder().family(string("Doe" + i)).build());
+            if (i % 3 == 1) {
+                // pat-1: SHALL at least contain a contact's details or a reference to an organization
+                patient.contact(Patient.Contact.builder().gender(com.ibm.fhir.model.type.code.AdministrativeGender.MALE).build());
+            }
+            if (i % 5 == 2) {
+                patient.extension(Extension.builder()
+                    .url("http://example.com/unknown-extension-" + i)
+                    .value(string("value"))
+                    .build());
+            }
+            builder.entry(Entry.builder()
+                .fullUrl(Uri.of("urn:uuid:00000000-0000-0000-0000-" + String.format("%012d", i)))
+                .resource(patient.build())
+                .build());
+        }
+        return builder.build();
+    }
+}
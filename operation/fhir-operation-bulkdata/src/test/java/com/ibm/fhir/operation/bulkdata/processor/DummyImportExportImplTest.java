@@ -34,9 +34,11 @@ import com.ibm.fhir.operation.bulkdata.model.type.Input;
 import com.ibm.fhir.operation.bulkdata.model.type.StorageDetail;
 import com.ibm.fhir.operation.bulkdata.processor.impl.DummyImportExportImpl;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.persistence.ReindexProgress;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
 import com.ibm.fhir.server.operation.spi.FHIRRestOperationResponse;
+import com.ibm.fhir.server.reindex.ReindexEngine;
 
 /**
  * Test DummyImportExportImpl
@@ -309,6 +311,22 @@ public class DummyImportExportImplTest {
             public int doReindex(FHIROperationContext operationContext, OperationOutcome.Builder oob, java.time.Instant tstamp, String resourceLogicalId) throws Exception {
                 return 0;
             }
+
+            @Override
+            public boolean startReindex(FHIROperationContext operationContext, java.time.Instant tstamp, String resourceType, int workers,
+                    int rangeSize, int batchSize) throws Exception {
+                return false;
+            }
+
+            @Override
+            public ReindexEngine getReindexEngine() {
+                return null;
+            }
+
+            @Override
+            public List<ReindexProgress> getReindexProgress() throws Exception {
+                return Collections.emptyList();
+            }
         };
     }
 }
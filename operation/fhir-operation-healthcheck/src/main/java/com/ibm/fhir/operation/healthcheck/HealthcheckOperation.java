@@ -1,11 +1,13 @@
 /*
- * (C) Copyright IBM Corp. 2018, 2020
+ * (C) Copyright IBM Corp. 2018, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
 
 package com.ibm.fhir.operation.healthcheck;
 
+import static com.ibm.fhir.model.type.String.string;
+
 import java.io.InputStream;
 import java.util.List;
 
@@ -18,8 +20,11 @@ import com.ibm.fhir.model.resource.OperationOutcome.Issue;
 import com.ibm.fhir.model.resource.Parameters;
 import com.ibm.fhir.model.resource.Resource;
 import com.ibm.fhir.model.type.code.IssueSeverity;
+import com.ibm.fhir.model.type.code.IssueType;
+import com.ibm.fhir.notification.FHIRNotificationService;
 import com.ibm.fhir.persistence.FHIRPersistence;
 import com.ibm.fhir.persistence.FHIRPersistenceTransaction;
+import com.ibm.fhir.server.cache.ResourceCache;
 import com.ibm.fhir.server.operation.spi.AbstractOperation;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
@@ -54,6 +59,18 @@ public class HealthcheckOperation extends AbstractOperation {
             try {
                 OperationOutcome operationOutcome = pl.getHealth();
                 checkOperationOutcome(operationOutcome);
+                ResourceCache resourceCache = ResourceCache.getInstance();
+                if (resourceCache != null) {
+                    operationOutcome = operationOutcome.toBuilder()
+                            .issue(buildResourceCacheIssue(resourceCache))
+                            .build();
+                }
+                FHIRNotificationService notificationService = FHIRNotificationService.getInstance();
+                if (notificationService.isDispatching()) {
+                    operationOutcome = operationOutcome.toBuilder()
+                            .issue(buildNotificationIssue(notificationService))
+                            .build();
+                }
                 return FHIROperationUtil.getOutputParameters(operationOutcome);
             } catch (Throwable t) {
                 tx.setRollbackOnly();
@@ -80,6 +97,40 @@ public class HealthcheckOperation extends AbstractOperation {
         }
     }
 
+    /**
+     * Report the resource cache metrics as an informational issue
+     */
+    private Issue buildResourceCacheIssue(ResourceCache resourceCache) {
+        long hits = resourceCache.getHitCount();
+        long lookups = hits + resourceCache.getMissCount();
+        String diagnostics = "Resource cache: size=" + resourceCache.size()
+                + ", maxEntries=" + resourceCache.getMaxEntries()
+                + ", hits=" + hits
+                + ", misses=" + resourceCache.getMissCount()
+                + ", hitRatio=" + (lookups == 0 ? "0.00" : String.format("%.2f", (double) hits / lookups))
+                + ", evictions=" + resourceCache.getEvictionCount()
+                + ", invalidations=" + resourceCache.getInvalidationCount();
+        return Issue.builder()
+                .severity(IssueSeverity.INFORMATION)
+                .code(IssueType.INFORMATIONAL)
+                .diagnostics(string(diagnostics))
+                .build();
+    }
+
+    /**
+     * Report the notification queue metrics as an informational issue
+     */
+    private Issue buildNotificationIssue(FHIRNotificationService notificationService) {
+        String diagnostics = "Notification queue: pending=" + notificationService.getPendingCount()
+                + ", lagMillis=" + notificationService.getLagMillis()
+                + ", dropped=" + notificationService.getDroppedCount();
+        return Issue.builder()
+                .severity(IssueSeverity.INFORMATION)
+                .code(IssueType.INFORMATIONAL)
+                .diagnostics(string(diagnostics))
+                .build();
+    }
+
     private String getCausedByMessage(Throwable throwable) {
         return throwable.getClass().getName() + ": " + throwable.getMessage();
     }
@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2020
+ * (C) Copyright IBM Corp. 2020, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -12,6 +12,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -23,12 +24,17 @@ import com.ibm.fhir.model.resource.OperationDefinition;
 import com.ibm.fhir.model.resource.OperationOutcome;
 import com.ibm.fhir.model.resource.OperationOutcome.Issue;
 import com.ibm.fhir.model.resource.Parameters;
+import com.ibm.fhir.model.resource.Parameters.Parameter;
 import com.ibm.fhir.model.resource.Resource;
+import com.ibm.fhir.model.type.Decimal;
 import com.ibm.fhir.model.type.code.IssueSeverity;
 import com.ibm.fhir.model.type.code.IssueType;
+import com.ibm.fhir.model.util.ModelSupport;
+import com.ibm.fhir.persistence.ReindexProgress;
 import com.ibm.fhir.server.operation.spi.AbstractOperation;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
+import com.ibm.fhir.server.reindex.ReindexEngine;
 import com.ibm.fhir.server.util.FHIROperationUtil;
 
 /**
@@ -40,10 +46,20 @@ public class ReindexOperation extends AbstractOperation {
     private static final String PARAM_TSTAMP = "tstamp";
     private static final String PARAM_RESOURCE_COUNT = "resourceCount";
     private static final String PARAM_RESOURCE_LOGICAL_ID = "resourceLogicalId";
+    private static final String PARAM_WORKERS = "workers";
+    private static final String PARAM_RANGE_SIZE = "rangeSize";
+    private static final String PARAM_BATCH_SIZE = "batchSize";
+    private static final String PARAM_STOP = "stop";
 
-    // The max number of resources we allow to be processed by one request
+    // The max number of resources we allow to be processed by one request (or one server-side reindex transaction)
     private static final int MAX_RESOURCE_COUNT = 1000;
 
+    // The max number of server-side reindex worker threads
+    private static final int MAX_WORKERS = 64;
+
+    private static final int DEFAULT_RANGE_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     static final DateTimeFormatter DAY_FORMAT = new DateTimeFormatterBuilder()
             .appendPattern("yyyy-MM-dd")
             .parseDefaulting(ChronoField.NANO_OF_DAY, 0)
@@ -68,8 +84,17 @@ public class ReindexOperation extends AbstractOperation {
             String logicalId, String versionId, Parameters parameters, FHIRResourceHelpers resourceHelper)
             throws FHIROperationException {
 
-        // Allow only POST because we're changing the state of the database
+        // GET reports the progress of the server-side reindex. Otherwise allow only POST because
+        // we're changing the state of the database
         String method = (String) operationContext.getProperty(FHIROperationContext.PROPNAME_METHOD_TYPE);
+        if ("GET".equalsIgnoreCase(method)) {
+            try {
+                return getProgress(resourceHelper);
+            } catch (Throwable t) {
+                throw new FHIROperationException("Unexpected error occurred while processing request for operation '"
+                        + getName() + "': " + getCausedByMessage(t), t);
+            }
+        }
         if (!"POST".equalsIgnoreCase(method)) {
             throw new FHIROperationException("HTTP method not supported: " + method);
         }
@@ -78,6 +103,10 @@ public class ReindexOperation extends AbstractOperation {
             Instant tstamp = Instant.now();
             int resourceCount = 10;
             String resourceLogicalId = null;
+            Integer workers = null;
+            int rangeSize = DEFAULT_RANGE_SIZE;
+            int batchSize = DEFAULT_BATCH_SIZE;
+            boolean stop = false;
 
             if (parameters != null) {
                 for (Parameters.Parameter parameter : parameters.getParameter()) {
@@ -109,10 +138,47 @@ public class ReindexOperation extends AbstractOperation {
                     } else if (PARAM_RESOURCE_LOGICAL_ID.equals(parameter.getName().getValue())) {
                         // reindex a specific resource (useful for debug/testing)
                         resourceLogicalId = parameter.getValue().as(com.ibm.fhir.model.type.String.class).getValue();
+                    } else if (PARAM_WORKERS.equals(parameter.getName().getValue())) {
+                        Integer val = parameter.getValue().as(com.ibm.fhir.model.type.Integer.class).getValue();
+                        if (val != null) {
+                            if (val > MAX_WORKERS) {
+                                logger.info("Clamping workers " + val + " to max allowed: " + MAX_WORKERS);
+                                val = MAX_WORKERS;
+                            }
+                            workers = val;
+                        }
+                    } else if (PARAM_RANGE_SIZE.equals(parameter.getName().getValue())) {
+                        Integer val = parameter.getValue().as(com.ibm.fhir.model.type.Integer.class).getValue();
+                        if (val != null) {
+                            rangeSize = val;
+                        }
+                    } else if (PARAM_BATCH_SIZE.equals(parameter.getName().getValue())) {
+                        Integer val = parameter.getValue().as(com.ibm.fhir.model.type.Integer.class).getValue();
+                        if (val != null) {
+                            if (val > MAX_RESOURCE_COUNT) {
+                                logger.info("Clamping batchSize " + val + " to max allowed: " + MAX_RESOURCE_COUNT);
+                                val = MAX_RESOURCE_COUNT;
+                            }
+                            batchSize = val;
+                        }
+                    } else if (PARAM_STOP.equals(parameter.getName().getValue())) {
+                        stop = Boolean.TRUE.equals(parameter.getValue().as(com.ibm.fhir.model.type.Boolean.class).getValue());
                     }
                 }
             }
 
+            if (stop) {
+                ReindexEngine engine = resourceHelper.getReindexEngine();
+                if (engine != null) {
+                    engine.stop();
+                }
+                return getProgress(resourceHelper);
+            }
+
+            if (workers != null) {
+                return startReindex(operationContext, resourceHelper, tstamp, resourceLogicalId, workers, rangeSize, batchSize);
+            }
+
             // Delegate the heavy lifting to the helper
             OperationOutcome.Builder result = OperationOutcome.builder();
             int totalProcessed = 0;
@@ -139,6 +205,91 @@ public class ReindexOperation extends AbstractOperation {
         }
     }
 
+    /**
+     * Start the server-side reindex
+     * @param operationContext
+     * @param resourceHelper
+     * @param tstamp
+     * @param resourceLogicalId optional resource type to limit the reindex to
+     * @param workers
+     * @param rangeSize
+     * @param batchSize
+     * @return the progress of the reindex
+     * @throws Exception
+     */
+    private Parameters startReindex(FHIROperationContext operationContext, FHIRResourceHelpers resourceHelper, Instant tstamp,
+            String resourceLogicalId, int workers, int rangeSize, int batchSize) throws Exception {
+        if (workers < 1 || rangeSize < 1 || batchSize < 1) {
+            throw buildExceptionWithIssue("The workers, rangeSize and batchSize parameters must be greater than 0", IssueType.INVALID);
+        }
+        if (resourceLogicalId != null && !ModelSupport.isResourceType(resourceLogicalId)) {
+            throw buildExceptionWithIssue("The server-side reindex can only be limited to a resource type: " + resourceLogicalId, IssueType.INVALID);
+        }
+
+        // The plan is keyed by the tstamp, so keep to a precision every database stores exactly
+        // (otherwise a restarted reindex won't find the plan to resume)
+        if (!resourceHelper.startReindex(operationContext, tstamp.truncatedTo(ChronoUnit.MILLIS), resourceLogicalId, workers, rangeSize, batchSize)) {
+            throw buildExceptionWithIssue("A reindex is already running on this server", IssueType.CONFLICT);
+        }
+        return getProgress(resourceHelper);
+    }
+
+    /**
+     * Report the state of the server-side reindex engine on this server, and the progress of
+     * each resource type recorded in the database
+     * @param resourceHelper
+     * @return
+     * @throws Exception
+     */
+    private Parameters getProgress(FHIRResourceHelpers resourceHelper) throws Exception {
+        Parameters.Builder result = Parameters.builder();
+        ReindexEngine engine = resourceHelper.getReindexEngine();
+        if (engine != null) {
+            Parameter.Builder engineParameter = Parameter.builder().name(string("engine"));
+            engineParameter.part(part("running", com.ibm.fhir.model.type.Boolean.of(engine.isRunning())));
+            engineParameter.part(part("tstamp", string(engine.getTstamp().toString())));
+            engineParameter.part(part("workers", com.ibm.fhir.model.type.Integer.of(engine.getWorkers())));
+            engineParameter.part(part("startTime", string(engine.getStartTime().toString())));
+            if (engine.getEndTime() != null) {
+                engineParameter.part(part("endTime", string(engine.getEndTime().toString())));
+            }
+            engineParameter.part(part("resourceCount", integer(engine.getResourceCount())));
+            engineParameter.part(part("rangeCount", integer(engine.getRangeCount())));
+            engineParameter.part(part("failedRangeCount", integer(engine.getFailedRangeCount())));
+            engineParameter.part(part("throughput", Decimal.of(Math.round(engine.getThroughput() * 10) / 10.0)));
+            if (engine.getFailure() != null) {
+                engineParameter.part(part("failure", string(getCausedByMessage(engine.getFailure()))));
+            }
+            result.parameter(engineParameter.build());
+        }
+
+        for (ReindexProgress progress : resourceHelper.getReindexProgress()) {
+            result.parameter(Parameter.builder()
+                .name(string("progress"))
+                .part(part("resourceType", string(progress.getResourceType())))
+                .part(part("tstamp", string(progress.getReindexTstamp().toString())))
+                .part(part("rangeCount", com.ibm.fhir.model.type.Integer.of(progress.getRangeCount())))
+                .part(part("completeRangeCount", com.ibm.fhir.model.type.Integer.of(progress.getCompleteRangeCount())))
+                .part(part("runningRangeCount", com.ibm.fhir.model.type.Integer.of(progress.getRunningRangeCount())))
+                .part(part("resourceCount", integer(progress.getResourceCount())))
+                .build());
+        }
+        return result.build();
+    }
+
+    private static Parameter part(String name, com.ibm.fhir.model.type.Element value) {
+        return Parameter.builder().name(string(name)).value(value).build();
+    }
+
+    private static com.ibm.fhir.model.type.String string(String value) {
+        return com.ibm.fhir.model.type.String.of(value);
+    }
+
+    private static com.ibm.fhir.model.type.Integer integer(long value) {
+        // FHIR integers are 32-bit
+        return com.ibm.fhir.model.type.Integer.of((int) Math.min(value, Integer.MAX_VALUE));
+    }
+
     /**
      * Check the OperationOutcome for any errors
      * @param oo
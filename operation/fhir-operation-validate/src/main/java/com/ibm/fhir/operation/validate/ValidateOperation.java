@@ -1,5 +1,5 @@
 /*
- * (C) Copyright IBM Corp. 2016,2019
+ * (C) Copyright IBM Corp. 2016, 2021
  *
  * SPDX-License-Identifier: Apache-2.0
  */
@@ -32,6 +32,7 @@ import com.ibm.fhir.server.operation.spi.AbstractOperation;
 import com.ibm.fhir.server.operation.spi.FHIROperationContext;
 import com.ibm.fhir.server.operation.spi.FHIRResourceHelpers;
 import com.ibm.fhir.server.util.FHIROperationUtil;
+import com.ibm.fhir.server.util.RequestContextExecutor;
 import com.ibm.fhir.validation.FHIRValidator;
 
 public class ValidateOperation extends AbstractOperation {
@@ -63,9 +64,9 @@ public class ValidateOperation extends AbstractOperation {
             if (profileParameter != null && profileParameter.getValue() != null) {
                 Uri profileUri = profileParameter.getValue().as(Uri.class);
                 String profile = profileUri == null ? null : profileUri.getValue();
-                issues = FHIRValidator.validator().validate(resource, profile);
+                issues = FHIRValidator.validator(RequestContextExecutor.managedExecutor()).validate(resource, profile);
             } else {
-                issues = FHIRValidator.validator().validate(resource);
+                issues = FHIRValidator.validator(RequestContextExecutor.managedExecutor()).validate(resource);
             }
 
             return FHIROperationUtil.getOutputParameters(buildResourceValidOperationOutcome(issues));